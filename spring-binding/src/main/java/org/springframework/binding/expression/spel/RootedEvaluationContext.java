@@ -0,0 +1,119 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.binding.expression.spel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.binding.expression.Expression;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+
+/**
+ * An {@link EvaluationContext} for a single evaluation, rooted at the given root object and sharing the property
+ * accessors, resolvers and type converter of a context that is built once and never modified afterwards.
+ * <p>
+ * Expression variables are evaluated against the root object when first referenced, and variables assigned during
+ * the evaluation are kept in this context only.
+ *
+ * @see StandardEvaluationContextFactory
+ */
+final class RootedEvaluationContext implements EvaluationContext {
+
+	private final EvaluationContext sharedContext;
+
+	private final Object rootObject;
+
+	private final TypedValue root;
+
+	private final Map<String, Expression> expressionVariables;
+
+	private Map<String, Object> variables;
+
+	RootedEvaluationContext(EvaluationContext sharedContext, Object rootObject,
+			Map<String, Expression> expressionVariables) {
+		this.sharedContext = sharedContext;
+		this.rootObject = rootObject;
+		this.root = (rootObject != null ? new TypedValue(rootObject) : TypedValue.NULL);
+		this.expressionVariables = expressionVariables;
+	}
+
+	public TypedValue getRootObject() {
+		return root;
+	}
+
+	public List<PropertyAccessor> getPropertyAccessors() {
+		return sharedContext.getPropertyAccessors();
+	}
+
+	public List<ConstructorResolver> getConstructorResolvers() {
+		return sharedContext.getConstructorResolvers();
+	}
+
+	public List<MethodResolver> getMethodResolvers() {
+		return sharedContext.getMethodResolvers();
+	}
+
+	public BeanResolver getBeanResolver() {
+		return sharedContext.getBeanResolver();
+	}
+
+	public TypeLocator getTypeLocator() {
+		return sharedContext.getTypeLocator();
+	}
+
+	public TypeConverter getTypeConverter() {
+		return sharedContext.getTypeConverter();
+	}
+
+	public TypeComparator getTypeComparator() {
+		return sharedContext.getTypeComparator();
+	}
+
+	public OperatorOverloader getOperatorOverloader() {
+		return sharedContext.getOperatorOverloader();
+	}
+
+	public void setVariable(String name, Object value) {
+		if (variables == null) {
+			variables = new HashMap<>(4);
+		}
+		variables.put(name, value);
+	}
+
+	public Object lookupVariable(String name) {
+		if (variables != null && variables.containsKey(name)) {
+			return variables.get(name);
+		}
+		Expression expression = (expressionVariables != null ? expressionVariables.get(name) : null);
+		if (expression == null) {
+			return null;
+		}
+		Object value = expression.getValue(rootObject);
+		setVariable(name, value);
+		return value;
+	}
+
+}
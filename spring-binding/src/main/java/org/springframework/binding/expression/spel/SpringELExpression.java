@@ -17,6 +17,11 @@ package org.springframework.binding.expression.spel;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.binding.expression.EvaluationException;
 import org.springframework.binding.expression.Expression;
@@ -26,7 +31,9 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.Assert;
 
@@ -34,17 +41,46 @@ import org.springframework.util.Assert;
  * A wrapper for a Spring EL {@link org.springframework.expression.Expression}
  * allowing it to be used under the Spring Binding {@link Expression} abstraction.
  *
+ * <p>When created with {@link SpelCompilerMode#IMMEDIATE IMMEDIATE} or
+ * {@link SpelCompilerMode#MIXED MIXED} compiler mode, the expression is compiled
+ * to bytecode after it has been interpreted, once right away in immediate mode or
+ * once it has proven to be hot in mixed mode. In mixed mode a compiled expression
+ * that fails is reverted to interpretation. The counters exposed by this class
+ * tell whether an expression compiled and how often it fell back.
+ *
  * @author Rossen Stoyanchev
  * @since 2.1.0
  */
 public class SpringELExpression implements Expression {
 
+	private static final Log logger = LogFactory.getLog(SpringELExpression.class);
+
+	/**
+	 * The default number of interpreted evaluations after which compilation is attempted in mixed mode.
+	 */
+	static final int DEFAULT_MIXED_MODE_COMPILE_THRESHOLD = 100;
+
+	/**
+	 * The default number of failed compilation attempts after which compilation is no longer attempted.
+	 */
+	static final int DEFAULT_MAX_FAILED_COMPILATIONS = 100;
+
 	private final org.springframework.expression.Expression expression;
 
 	private final Class<?> expectedType;
 
 	private final EvaluationContextFactory contextFactory;
 
+	private boolean evaluationContextExtended;
+
+	private final SpelCompilerMode compilerMode;
+
+	private final Compilation compilation;
+
+	private int mixedModeCompileThreshold = DEFAULT_MIXED_MODE_COMPILE_THRESHOLD;
+
+	private int maxFailedCompilations = DEFAULT_MAX_FAILED_COMPILATIONS;
+
 
 	/**
 	 * Constructor for SpringELExpression.
@@ -73,24 +109,97 @@ public class SpringELExpression implements Expression {
 	public SpringELExpression(org.springframework.expression.Expression expression, Class<?> expectedType,
 			EvaluationContextFactory contextFactory) {
 
+		this(expression, expectedType, contextFactory, SpelCompilerMode.OFF);
+	}
+
+	/**
+	 * Constructor variant that also accepts the {@link SpelCompilerMode} to use.
+	 * Compilation only applies to non-template expressions parsed by the
+	 * {@link org.springframework.expression.spel.standard.SpelExpressionParser}.
+	 * @since 3.0
+	 */
+	public SpringELExpression(org.springframework.expression.Expression expression, Class<?> expectedType,
+			EvaluationContextFactory contextFactory, SpelCompilerMode compilerMode) {
+
 		Assert.notNull(expression, "The SpelExpression is required for evaluation");
 		Assert.notNull(contextFactory, "The EvaluationContextFactory is required");
+		Assert.notNull(compilerMode, "The SpelCompilerMode is required");
 		this.expression = expression;
 		this.expectedType = expectedType;
 		this.contextFactory = contextFactory;
+		this.compilerMode = compilerMode;
+		this.compilation = (compilerMode != SpelCompilerMode.OFF && expression instanceof SpelExpression) ?
+				new Compilation((SpelExpression) expression) : null;
+	}
+
+	/**
+	 * Set the number of interpreted evaluations after which compilation is attempted in mixed mode, and the number of
+	 * failed compilation attempts after which this expression is only interpreted.
+	 */
+	void setCompilationThresholds(int mixedModeCompileThreshold, int maxFailedCompilations) {
+		this.mixedModeCompileThreshold = mixedModeCompileThreshold;
+		this.maxFailedCompilations = maxFailedCompilations;
+	}
+
+	/**
+	 * The compiler mode this expression was created with.
+	 * @since 3.0
+	 */
+	public SpelCompilerMode getCompilerMode() {
+		return compilerMode;
+	}
+
+	/**
+	 * Whether this expression is currently evaluated as compiled bytecode.
+	 * @since 3.0
+	 */
+	public boolean isCompiled() {
+		return (compilation != null && compilation.compiled);
+	}
+
+	/**
+	 * The number of value evaluations that ran compiled bytecode.
+	 * @since 3.0
+	 */
+	public long getCompiledCount() {
+		return (compilation != null ? compilation.compiledCount.sum() : 0);
+	}
+
+	/**
+	 * The number of value evaluations that were interpreted while compilation was enabled.
+	 * @since 3.0
+	 */
+	public long getInterpretedCount() {
+		return (compilation != null ? compilation.interpretedCount.sum() : 0);
+	}
+
+	/**
+	 * The number of times compiled bytecode failed and this expression fell back to interpretation.
+	 * @since 3.0
+	 */
+	public long getFallbackCount() {
+		return (compilation != null ? compilation.fallbackCount.sum() : 0);
+	}
+
+	/**
+	 * The number of compilation attempts that failed, for example because a property
+	 * accessor or method involved in the expression does not support compilation.
+	 * @since 3.0
+	 */
+	public int getFailedCompilationCount() {
+		return (compilation != null ? compilation.failedCompilations.get() : 0);
 	}
 
 	public String getExpressionString() {
 		return expression.getExpressionString();
 	}
 
-	@SuppressWarnings("deprecation")
 	public Object getValue(Object rootObject) throws EvaluationException {
 		try {
-			EvaluationContext context = contextFactory.createContext(rootObject);
-			if (context instanceof StandardEvaluationContext) {
-				extendEvaluationContext((StandardEvaluationContext) context);
+			if (compilation != null) {
+				return getValueWithCompilation(rootObject);
 			}
+			EvaluationContext context = createEvaluationContext(rootObject);
 			return expression.getValue(context, expectedType);
 		} catch (SpelEvaluationException e) {
 			if (e.getMessageCode().equals(SpelMessage.PROPERTY_OR_FIELD_NOT_READABLE)) {
@@ -105,13 +214,9 @@ public class SpringELExpression implements Expression {
 		}
 	}
 
-	@SuppressWarnings("deprecation")
 	public Class<?> getValueType(Object rootObject) throws EvaluationException {
 		try {
-			EvaluationContext context = contextFactory.createContext(rootObject);
-			if (context instanceof StandardEvaluationContext) {
-				extendEvaluationContext((StandardEvaluationContext) context);
-			}
+			EvaluationContext context = createEvaluationContext(rootObject);
 			return expression.getValueType(context);
 		} catch (SpelEvaluationException e) {
 			if (e.getMessageCode().equals(SpelMessage.PROPERTY_OR_FIELD_NOT_READABLE)) {
@@ -123,13 +228,9 @@ public class SpringELExpression implements Expression {
 		}
 	}
 
-	@SuppressWarnings("deprecation")
 	public void setValue(Object rootObject, Object value) throws EvaluationException {
 		try {
-			EvaluationContext context = contextFactory.createContext(rootObject);
-			if (context instanceof StandardEvaluationContext) {
-				extendEvaluationContext((StandardEvaluationContext) context);
-			}
+			EvaluationContext context = createEvaluationContext(rootObject);
 			expression.setValue(context, value);
 		} catch (SpelEvaluationException e) {
 			if (e.getMessageCode().equals(SpelMessage.PROPERTY_OR_FIELD_NOT_WRITABLE)) {
@@ -144,9 +245,64 @@ public class SpringELExpression implements Expression {
 		}
 	}
 
+	private Object getValueWithCompilation(Object rootObject) {
+		if (compilation.compiled) {
+			try {
+				Object value = expression.getValue(createEvaluationContext(rootObject), expectedType);
+				compilation.compiledCount.increment();
+				return value;
+			} catch (SpelEvaluationException e) {
+				if (compilerMode != SpelCompilerMode.MIXED
+						|| !e.getMessageCode().equals(SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION)) {
+					throw e;
+				}
+				compilation.revert();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Compiled expression '" + getExpressionString()
+							+ "' failed, falling back to interpretation", e);
+				}
+			}
+		}
+		Object value = expression.getValue(createEvaluationContext(rootObject), expectedType);
+		compilation.interpretedCount.increment();
+		int threshold = (compilerMode == SpelCompilerMode.IMMEDIATE ? 1 : mixedModeCompileThreshold);
+		if (compilation.interpretedSinceCompile.incrementAndGet() >= threshold) {
+			compilation.compile(maxFailedCompilations);
+		}
+		return value;
+	}
+
+	@SuppressWarnings("deprecation")
+	private EvaluationContext createEvaluationContext(Object rootObject) {
+		EvaluationContext context;
+		if (evaluationContextExtended && contextFactory instanceof StandardEvaluationContextFactory) {
+			// extensions may modify the context, so it must not share state with other evaluations
+			context = ((StandardEvaluationContextFactory) contextFactory).createStandardContext(rootObject);
+		} else {
+			context = contextFactory.createContext(rootObject);
+		}
+		if (context instanceof StandardEvaluationContext) {
+			extendEvaluationContext((StandardEvaluationContext) context);
+		}
+		return context;
+	}
+
+	/**
+	 * Set whether this expression customizes its evaluation contexts in {@link #extendEvaluationContext}, typically
+	 * from the constructor of the subclass that overrides it. When set, each evaluation gets its own
+	 * {@link StandardEvaluationContext} from a {@link StandardEvaluationContextFactory}, rather than a context sharing
+	 * its configuration with other evaluations, which is never passed to {@link #extendEvaluationContext}.
+	 * @since 3.0
+	 */
+	protected void setEvaluationContextExtended(boolean evaluationContextExtended) {
+		this.evaluationContextExtended = evaluationContextExtended;
+	}
+
 	/**
 	 * Invoked every time an evaluation context is created allowing further
-	 * initialization from sub-classes.
+	 * initialization from sub-classes. Contexts created by a
+	 * {@link StandardEvaluationContextFactory} are only passed in once
+	 * {@link #setEvaluationContextExtended} has been called.
 	 * @deprecated as of 2.4.8, to customize the context, please use the constructor
 	 * that accepts an {@link EvaluationContextFactory}.
 	 */
@@ -158,4 +314,60 @@ public class SpringELExpression implements Expression {
 		return getExpressionString();
 	}
 
+
+	/**
+	 * Holds the compilation state and counters of an expression evaluated with the compiler enabled.
+	 */
+	private static class Compilation {
+
+		private final SpelExpression expression;
+
+		private volatile boolean compiled;
+
+		private final LongAdder compiledCount = new LongAdder();
+
+		private final LongAdder interpretedCount = new LongAdder();
+
+		private final LongAdder fallbackCount = new LongAdder();
+
+		private final AtomicInteger interpretedSinceCompile = new AtomicInteger();
+
+		private final AtomicInteger failedCompilations = new AtomicInteger();
+
+		Compilation(SpelExpression expression) {
+			this.expression = expression;
+		}
+
+		void compile(int maxFailedCompilations) {
+			if (compiled || failedCompilations.get() >= maxFailedCompilations) {
+				return;
+			}
+			interpretedSinceCompile.set(0);
+			boolean success;
+			try {
+				success = expression.compileExpression();
+			} catch (SpelEvaluationException e) {
+				success = false;
+			}
+			if (success) {
+				compiled = true;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Compiled expression '" + expression.getExpressionString() + "'");
+				}
+			} else {
+				failedCompilations.incrementAndGet();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Expression '" + expression.getExpressionString() + "' could not be compiled");
+				}
+			}
+		}
+
+		void revert() {
+			compiled = false;
+			interpretedSinceCompile.set(0);
+			expression.revertToInterpreted();
+			fallbackCount.increment();
+		}
+	}
+
 }
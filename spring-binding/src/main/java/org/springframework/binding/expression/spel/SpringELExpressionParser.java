@@ -32,6 +32,7 @@ import org.springframework.binding.expression.support.SimpleParserContext;
 import org.springframework.context.expression.MapAccessor;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
 
@@ -39,6 +40,10 @@ import org.springframework.util.Assert;
  * Adapt the Spring EL {@link SpelExpressionParser} to the Spring Binding
  * {@link ExpressionParser} contract.
  *
+ * <p>Parsed expressions are interpreted unless a {@link #setCompilerMode compiler mode}
+ * is set, in which case they are compiled to bytecode as described in
+ * {@link SpringELExpression}.
+ *
  * @author Rossen Stoyanchev
  * @since 2.1.0
  */
@@ -52,6 +57,14 @@ public class SpringELExpressionParser implements ExpressionParser {
 
 	private final SimpleEvaluationContextFactory simpleContextFactory;
 
+	private SpelCompilerMode compilerMode = SpelCompilerMode.OFF;
+
+	private int mixedModeCompileThreshold = SpringELExpression.DEFAULT_MIXED_MODE_COMPILE_THRESHOLD;
+
+	private int maxFailedCompilations = SpringELExpression.DEFAULT_MAX_FAILED_COMPILATIONS;
+
+	private volatile StandardEvaluationContextFactory.SharedContext sharedContext;
+
 
 	public SpringELExpressionParser(SpelExpressionParser expressionParser) {
 		this(expressionParser, new DefaultConversionService());
@@ -70,6 +83,66 @@ public class SpringELExpressionParser implements ExpressionParser {
 
 	public void addPropertyAccessor(PropertyAccessor propertyAccessor) {
 		propertyAccessors.add(propertyAccessor);
+		StandardEvaluationContextFactory.SharedContext sharedContext = this.sharedContext;
+		if (sharedContext != null) {
+			sharedContext.invalidate();
+		}
+	}
+
+	/**
+	 * Return the compiler mode of the expressions created by this parser.
+	 * @since 3.0
+	 */
+	public SpelCompilerMode getCompilerMode() {
+		return compilerMode;
+	}
+
+	/**
+	 * Set the compiler mode of the expressions created by this parser: {@link SpelCompilerMode#IMMEDIATE}
+	 * to compile expressions after their first evaluation, or {@link SpelCompilerMode#MIXED} to compile
+	 * them once they have been evaluated a number of times and fall back to interpretation if the
+	 * compiled code fails. Defaults to {@link SpelCompilerMode#OFF}.
+	 * @since 3.0
+	 */
+	public void setCompilerMode(SpelCompilerMode compilerMode) {
+		Assert.notNull(compilerMode, "The SpelCompilerMode is required");
+		this.compilerMode = compilerMode;
+	}
+
+	/**
+	 * Return the number of interpreted evaluations after which an expression is compiled in mixed mode.
+	 * @since 3.0
+	 */
+	public int getMixedModeCompileThreshold() {
+		return mixedModeCompileThreshold;
+	}
+
+	/**
+	 * Set the number of interpreted evaluations after which an expression is compiled in
+	 * {@link SpelCompilerMode#MIXED} mode, counted again each time compiled code fails. Defaults to 100.
+	 * @since 3.0
+	 */
+	public void setMixedModeCompileThreshold(int mixedModeCompileThreshold) {
+		Assert.isTrue(mixedModeCompileThreshold > 0, "The mixed mode compile threshold must be greater than 0");
+		this.mixedModeCompileThreshold = mixedModeCompileThreshold;
+	}
+
+	/**
+	 * Return the number of failed compilation attempts after which an expression is only interpreted.
+	 * @since 3.0
+	 */
+	public int getMaxFailedCompilations() {
+		return maxFailedCompilations;
+	}
+
+	/**
+	 * Set the number of failed compilation attempts after which an expression is no longer compiled,
+	 * for example because a property accessor it uses does not support compilation. Defaults to 100.
+	 * @since 3.0
+	 */
+	public void setMaxFailedCompilations(int maxFailedCompilations) {
+		Assert.isTrue(maxFailedCompilations > 0, "The max number of failed compilations must be greater than 0");
+		this.maxFailedCompilations = maxFailedCompilations;
 	}
 
 	public Expression parseExpression(String expression, ParserContext context) throws ParserException {
@@ -83,9 +156,11 @@ public class SpringELExpressionParser implements ExpressionParser {
 		Class<?> expectedResultType = context.getExpectedEvaluationResultType();
 		org.springframework.core.convert.ConversionService cs = conversionService.getDelegateConversionService();
 
-		return context instanceof SimpleParserContext ?
-				new SpringELExpression(spelExpression, expectedResultType, simpleContextFactory) :
+		SpringELExpression result = context instanceof SimpleParserContext ?
+				new SpringELExpression(spelExpression, expectedResultType, simpleContextFactory, compilerMode) :
 				createSpringELExpression(expressionVars, spelExpression, expectedResultType, cs);
+		result.setCompilationThresholds(mixedModeCompileThreshold, maxFailedCompilations);
+		return result;
 	}
 
 	/**
@@ -99,8 +174,24 @@ public class SpringELExpressionParser implements ExpressionParser {
 			org.springframework.expression.Expression spelExpression, Class<?> expectedResultType,
 			org.springframework.core.convert.ConversionService conversionService) {
 
-		return new SpringELExpression(spelExpression, expressionVars,
-				expectedResultType, conversionService, propertyAccessors);
+		return new SpringELExpression(spelExpression, expectedResultType,
+				new StandardEvaluationContextFactory(getSharedContext(conversionService), expressionVars),
+				compilerMode);
+	}
+
+	/**
+	 * Returns the evaluation context setup shared by the expressions of this parser that use the given conversion
+	 * service.
+	 */
+	private StandardEvaluationContextFactory.SharedContext getSharedContext(
+			org.springframework.core.convert.ConversionService conversionService) {
+
+		StandardEvaluationContextFactory.SharedContext sharedContext = this.sharedContext;
+		if (sharedContext == null || sharedContext.getConversionService() != conversionService) {
+			sharedContext = new StandardEvaluationContextFactory.SharedContext(propertyAccessors, conversionService);
+			this.sharedContext = sharedContext;
+		}
+		return sharedContext;
 	}
 
 	private org.springframework.expression.Expression parseSpelExpression(String expression, ParserContext context) {
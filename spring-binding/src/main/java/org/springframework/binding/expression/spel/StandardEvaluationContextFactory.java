@@ -15,6 +15,7 @@
  */
 package org.springframework.binding.expression.spel;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -23,21 +24,34 @@ import java.util.Map;
 import org.springframework.binding.expression.Expression;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
 import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.spel.support.ReflectiveConstructorResolver;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.support.StandardTypeConverter;
+import org.springframework.expression.spel.support.StandardTypeLocator;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
- * Creates a {@link StandardEvaluationContext} enabling the full power of SpEL.
+ * Creates evaluation contexts enabling the full power of SpEL, as a {@link StandardEvaluationContext} does.
+ * <p>
+ * The property accessors, resolvers and type converter are set up once, in a {@link StandardEvaluationContext} shared
+ * by all evaluations, so each evaluation only allocates a lightweight context rooted at its root object. Expression
+ * variables are evaluated when they are first referenced rather than up front.
+ * <p>
+ * The property accessors are copied when the shared context is built, so later changes to the given list are not
+ * seen. Types referenced with {@code T(...)} are loaded with the thread context class loader of each evaluation.
  *
  * @author Rossen Stoyanchev
  * @since 2.4.8
  */
 public class StandardEvaluationContextFactory implements EvaluationContextFactory {
 
-	private final List<PropertyAccessor> propertyAccessors;
-
-	private final ConversionService conversionService;
+	private final SharedContext sharedContext;
 
 	private final Map<String, Expression> expressionVariables;
 
@@ -45,18 +59,35 @@ public class StandardEvaluationContextFactory implements EvaluationContextFactor
 	public StandardEvaluationContextFactory(List<PropertyAccessor> propertyAccessors,
 			ConversionService conversionService, Map<String, Expression> expressionVariables) {
 
-		this.propertyAccessors = propertyAccessors;
-		this.conversionService = conversionService;
+		this(new SharedContext(propertyAccessors, conversionService), expressionVariables);
+	}
+
+	/**
+	 * Create a factory using a shared context managed by its creator, e.g. a {@link SpringELExpressionParser} that
+	 * invalidates it when property accessors are added.
+	 */
+	StandardEvaluationContextFactory(SharedContext sharedContext, Map<String, Expression> expressionVariables) {
+		this.sharedContext = sharedContext;
 		this.expressionVariables = expressionVariables;
 	}
 
 
 	@Override
 	public EvaluationContext createContext(Object rootObject) {
+		return new RootedEvaluationContext(sharedContext.get(), rootObject, expressionVariables);
+	}
+
+	/**
+	 * Create a standalone {@link StandardEvaluationContext} that can be modified without affecting other evaluations,
+	 * with all expression variables evaluated against the root object.
+	 * @param rootObject the root object
+	 * @return the created context instance
+	 */
+	StandardEvaluationContext createStandardContext(Object rootObject) {
 		StandardEvaluationContext context = new StandardEvaluationContext(rootObject);
 		context.setVariables(getVariableValues(rootObject));
-		context.setTypeConverter(new StandardTypeConverter(conversionService));
-		context.getPropertyAccessors().addAll(propertyAccessors);
+		context.setTypeConverter(new StandardTypeConverter(sharedContext.conversionService));
+		context.getPropertyAccessors().addAll(sharedContext.propertyAccessors);
 		return context;
 	}
 
@@ -76,4 +107,66 @@ public class StandardEvaluationContextFactory implements EvaluationContextFactor
 		}
 		return variableValues;
 	}
+
+
+	/**
+	 * Holds the {@link StandardEvaluationContext} shared by evaluations, built on first use from a copy of the property
+	 * accessors and built again after {@link #invalidate()}. The lists it exposes cannot be modified.
+	 */
+	static class SharedContext {
+
+		private final List<PropertyAccessor> propertyAccessors;
+
+		private final ConversionService conversionService;
+
+		private volatile StandardEvaluationContext context;
+
+		SharedContext(List<PropertyAccessor> propertyAccessors, ConversionService conversionService) {
+			this.propertyAccessors = propertyAccessors;
+			this.conversionService = conversionService;
+		}
+
+		ConversionService getConversionService() {
+			return conversionService;
+		}
+
+		StandardEvaluationContext get() {
+			StandardEvaluationContext context = this.context;
+			if (context == null) {
+				context = new StandardEvaluationContext();
+				List<PropertyAccessor> accessors = new ArrayList<>(propertyAccessors.size() + 1);
+				accessors.add(new ReflectivePropertyAccessor());
+				accessors.addAll(propertyAccessors);
+				context.setPropertyAccessors(List.copyOf(accessors));
+				context.setConstructorResolvers(List.of(new ReflectiveConstructorResolver()));
+				context.setMethodResolvers(List.of(new ReflectiveMethodResolver()));
+				context.setTypeLocator(new ContextClassLoaderTypeLocator());
+				context.setTypeConverter(new StandardTypeConverter(conversionService));
+				this.context = context;
+			}
+			return context;
+		}
+
+		/**
+		 * Discard the shared context so that the next evaluation builds it again from the current property accessors.
+		 */
+		void invalidate() {
+			this.context = null;
+		}
+	}
+
+
+	/**
+	 * Finds types with the thread context class loader of the calling thread, keeping a {@link StandardTypeLocator}
+	 * per class loader rather than the one of the thread that built the shared context.
+	 */
+	private static class ContextClassLoaderTypeLocator implements TypeLocator {
+
+		private final Map<ClassLoader, StandardTypeLocator> typeLocators = new ConcurrentReferenceHashMap<>(4);
+
+		public Class<?> findType(String typeName) throws EvaluationException {
+			return typeLocators.computeIfAbsent(ClassUtils.getDefaultClassLoader(), StandardTypeLocator::new)
+					.findType(typeName);
+		}
+	}
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.binding.expression.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.binding.expression.Expression;
+import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.ExpressionVariable;
+import org.springframework.binding.expression.ParserContext;
+import org.springframework.binding.expression.ParserException;
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * An expression parser decorator that caches the expressions parsed by a target parser. Expressions are cached by
+ * expression string and by the values of the {@link ParserContext}: the evaluation context type, the expected
+ * evaluation result type, whether the expression is a template and the expression variables, including the parser
+ * contexts of their value expressions.
+ * <p>
+ * The cache is thread-safe and bounded, evicting the least recently used expressions once the cache limit is reached,
+ * so a single instance can be shared by all the flows built from the same target parser. Parse failures are not cached.
+ * Cache hit and miss counts are tracked for monitoring.
+ * <p>
+ * Expressions returned by the target parser must be safe to share, which is the case for the expressions of the
+ * parsers provided with Spring Binding and Spring Web Flow.
+ */
+public class CachingExpressionParser implements ExpressionParser {
+
+	/**
+	 * The default maximum number of cached expressions.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	private final ExpressionParser targetParser;
+
+	private final ConcurrentLruCache<CacheKey, Expression> cache;
+
+	private final LongAdder requestCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * Create a caching expression parser with the {@link #DEFAULT_CACHE_LIMIT default cache limit}.
+	 * @param targetParser the parser to parse expressions not in the cache (required)
+	 */
+	public CachingExpressionParser(ExpressionParser targetParser) {
+		this(targetParser, DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a caching expression parser.
+	 * @param targetParser the parser to parse expressions not in the cache (required)
+	 * @param cacheLimit the maximum number of cached expressions
+	 */
+	public CachingExpressionParser(ExpressionParser targetParser, int cacheLimit) {
+		Assert.notNull(targetParser, "The target expression parser is required");
+		Assert.isTrue(cacheLimit > 0, "The cache limit must be greater than 0");
+		this.targetParser = targetParser;
+		this.cache = new ConcurrentLruCache<>(cacheLimit, this::parseTargetExpression);
+	}
+
+	/**
+	 * Returns the parser expressions not in the cache are parsed with.
+	 */
+	public ExpressionParser getTargetParser() {
+		return targetParser;
+	}
+
+	/**
+	 * Returns the maximum number of cached expressions.
+	 */
+	public int getCacheLimit() {
+		return cache.sizeLimit();
+	}
+
+	/**
+	 * Returns the number of cached expressions.
+	 */
+	public int getCacheSize() {
+		return cache.size();
+	}
+
+	/**
+	 * Returns the number of expressions returned from the cache.
+	 */
+	public long getHitCount() {
+		return requestCount.sum() - missCount.sum();
+	}
+
+	/**
+	 * Returns the number of expressions that were not in the cache and were parsed by the target parser.
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Removes all cached expressions. Hit and miss counts are retained.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	public Expression parseExpression(String expressionString, ParserContext context) throws ParserException {
+		if (expressionString == null) {
+			return targetParser.parseExpression(expressionString, context);
+		}
+		requestCount.increment();
+		return cache.get(new CacheKey(expressionString, context));
+	}
+
+	private Expression parseTargetExpression(CacheKey key) {
+		missCount.increment();
+		return targetParser.parseExpression(key.expressionString, key.parserContext);
+	}
+
+	public String toString() {
+		return new ToStringCreator(this).append("targetParser", targetParser).append("cacheSize", getCacheSize())
+				.append("hitCount", getHitCount()).append("missCount", getMissCount()).toString();
+	}
+
+	/**
+	 * Identifies a parsed expression by its expression string and the values of its parser context.
+	 */
+	private static final class CacheKey {
+
+		private final String expressionString;
+
+		private final ParserContext parserContext;
+
+		private final ContextKey contextKey;
+
+		private final int hashCode;
+
+		CacheKey(String expressionString, ParserContext parserContext) {
+			this.expressionString = expressionString;
+			this.parserContext = parserContext;
+			this.contextKey = ContextKey.of(parserContext);
+			this.hashCode = expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(contextKey);
+		}
+
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) o;
+			return expressionString.equals(other.expressionString)
+					&& ObjectUtils.nullSafeEquals(contextKey, other.contextKey);
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * The values of a parser context that influence parsing.
+	 */
+	private static final class ContextKey {
+
+		private final Class<?> evaluationContextType;
+
+		private final Class<?> expectedEvaluationResultType;
+
+		private final boolean template;
+
+		private final List<Object> expressionVariables;
+
+		private ContextKey(ParserContext context) {
+			this.evaluationContextType = context.getEvaluationContextType();
+			this.expectedEvaluationResultType = context.getExpectedEvaluationResultType();
+			this.template = context.isTemplate();
+			ExpressionVariable[] variables = context.getExpressionVariables();
+			if (ObjectUtils.isEmpty(variables)) {
+				this.expressionVariables = Collections.emptyList();
+			} else {
+				this.expressionVariables = new ArrayList<>(variables.length * 3);
+				for (ExpressionVariable variable : variables) {
+					expressionVariables.add(variable.getName());
+					expressionVariables.add(variable.getValueExpression());
+					expressionVariables.add(of(variable.getParserContext()));
+				}
+			}
+		}
+
+		/**
+		 * Returns the key for the given parser context, or null for a null context.
+		 */
+		static ContextKey of(ParserContext context) {
+			return (context != null ? new ContextKey(context) : null);
+		}
+
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ContextKey)) {
+				return false;
+			}
+			ContextKey other = (ContextKey) o;
+			return evaluationContextType == other.evaluationContextType
+					&& expectedEvaluationResultType == other.expectedEvaluationResultType
+					&& template == other.template && expressionVariables.equals(other.expressionVariables);
+		}
+
+		public int hashCode() {
+			int hashCode = ObjectUtils.nullSafeHashCode(evaluationContextType);
+			hashCode = hashCode * 29 + ObjectUtils.nullSafeHashCode(expectedEvaluationResultType);
+			hashCode = hashCode * 29 + (template ? 1 : 0);
+			return hashCode * 29 + expressionVariables.hashCode();
+		}
+	}
+
+}
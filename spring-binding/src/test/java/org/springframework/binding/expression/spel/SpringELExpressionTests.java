@@ -0,0 +1,262 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.binding.expression.spel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.binding.expression.Expression;
+import org.springframework.binding.expression.ExpressionVariable;
+import org.springframework.binding.expression.PropertyNotFoundException;
+import org.springframework.binding.expression.el.TestBean;
+import org.springframework.binding.expression.support.FluentParserContext;
+import org.springframework.context.expression.MapAccessor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+public class SpringELExpressionTests {
+
+	private SpringELExpressionParser parser = new SpringELExpressionParser(new SpelExpressionParser());
+
+	@Test
+	public void testContextSharesConfiguration() {
+		List<PropertyAccessor> accessors = new ArrayList<>();
+		accessors.add(new MapAccessor());
+		StandardEvaluationContextFactory factory = new StandardEvaluationContextFactory(accessors,
+				new DefaultConversionService(), null);
+		EvaluationContext context = factory.createContext(new TestBean());
+		EvaluationContext context2 = factory.createContext(new TestBean());
+		assertSame(context.getPropertyAccessors(), context2.getPropertyAccessors());
+		assertSame(context.getTypeConverter(), context2.getTypeConverter());
+		assertEquals(2, context.getPropertyAccessors().size());
+		accessors.add(new MapAccessor());
+		assertEquals(2, factory.createContext(new TestBean()).getPropertyAccessors().size());
+		assertThrows(UnsupportedOperationException.class, () -> context.getPropertyAccessors().add(new MapAccessor()));
+	}
+
+	@Test
+	public void testPropertyAccessorAddedAfterParsing() {
+		Expression exp = parser.parseExpression("extra", null);
+		assertThrows(PropertyNotFoundException.class, () -> exp.getValue(new TestBean()));
+		parser.addPropertyAccessor(new ExtraPropertyAccessor());
+		assertEquals("extra", exp.getValue(new TestBean()));
+	}
+
+	@Test
+	public void testTypesFoundWithContextClassLoader() {
+		Expression exp = parser.parseExpression("T(org.springframework.binding.expression.el.TestBean)", null);
+		assertSame(TestBean.class, exp.getValue(new TestBean()));
+		List<String> loadedNames = new ArrayList<>();
+		ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+			protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+				loadedNames.add(name);
+				return super.loadClass(name, resolve);
+			}
+		};
+		Thread thread = Thread.currentThread();
+		ClassLoader original = thread.getContextClassLoader();
+		thread.setContextClassLoader(classLoader);
+		try {
+			assertSame(TestBean.class, exp.getValue(new TestBean()));
+		} finally {
+			thread.setContextClassLoader(original);
+		}
+		assertTrue(loadedNames.contains(TestBean.class.getName()));
+	}
+
+	@Test
+	public void testVariablesResolvedLazily() {
+		Expression exp = parser.parseExpression("#max", new FluentParserContext()
+				.variable(new ExpressionVariable("max", "maximum"))
+				.variable(new ExpressionVariable("bogus", "bogus")));
+		assertEquals(2, exp.getValue(new TestBean()));
+	}
+
+	@Test
+	public void testVariableResolvedOncePerEvaluation() {
+		Map<String, Expression> variables = Collections.singletonMap("max", new CountingExpression());
+		StandardEvaluationContextFactory factory = new StandardEvaluationContextFactory(new ArrayList<>(),
+				new DefaultConversionService(), variables);
+		SpringELExpression exp = new SpringELExpression(new SpelExpressionParser().parseExpression("#max + #max"),
+				null, factory);
+		assertEquals(2, exp.getValue(new TestBean()));
+		assertEquals(4, exp.getValue(new TestBean()));
+	}
+
+	@Test
+	public void testAssignedVariablesNotShared() {
+		Expression exp = parser.parseExpression("#count == null ? (#count = 1) : 2", null);
+		assertEquals(1, exp.getValue(new TestBean()));
+		assertEquals(1, exp.getValue(new TestBean()));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testExtendEvaluationContext() {
+		List<PropertyAccessor> accessors = new ArrayList<>();
+		SpringELExpression exp = new SpringELExpression(new SpelExpressionParser().parseExpression("#extended"),
+				null, new StandardEvaluationContextFactory(accessors, new DefaultConversionService(), null)) {
+			{
+				setEvaluationContextExtended(true);
+			}
+
+			protected void extendEvaluationContext(StandardEvaluationContext context) {
+				context.addPropertyAccessor(new MapAccessor());
+				context.setVariable("extended", true);
+			}
+		};
+		assertTrue((Boolean) exp.getValue(new TestBean()));
+		assertTrue((Boolean) exp.getValue(new TestBean()));
+		assertFalse(accessors.iterator().hasNext());
+	}
+
+	@Test
+	public void testNotCompiledByDefault() {
+		SpringELExpression exp = (SpringELExpression) parser.parseExpression("maximum", null);
+		assertEquals(2, exp.getValue(new TestBean()));
+		assertEquals(2, exp.getValue(new TestBean()));
+		assertEquals(SpelCompilerMode.OFF, exp.getCompilerMode());
+		assertFalse(exp.isCompiled());
+		assertEquals(0, exp.getInterpretedCount());
+		assertEquals(0, exp.getCompiledCount());
+	}
+
+	@Test
+	public void testImmediateCompilation() {
+		parser.setCompilerMode(SpelCompilerMode.IMMEDIATE);
+		SpringELExpression exp = (SpringELExpression) parser.parseExpression("maximum", null);
+		assertFalse(exp.isCompiled());
+		assertEquals(2, exp.getValue(new TestBean()));
+		assertTrue(exp.isCompiled());
+		assertEquals(2, exp.getValue(new TestBean()));
+		assertEquals(1, exp.getInterpretedCount());
+		assertEquals(1, exp.getCompiledCount());
+		assertEquals(0, exp.getFailedCompilationCount());
+	}
+
+	@Test
+	public void testMixedCompilationFallback() {
+		parser.setCompilerMode(SpelCompilerMode.MIXED);
+		SpringELExpression exp = (SpringELExpression) parser.parseExpression("maximum", null);
+		for (int i = 0; i < 99; i++) {
+			exp.getValue(new TestBean());
+		}
+		assertFalse(exp.isCompiled());
+		exp.getValue(new TestBean());
+		assertTrue(exp.isCompiled());
+		assertEquals(5, exp.getValue(new OtherBean()));
+		assertFalse(exp.isCompiled());
+		assertEquals(1, exp.getFallbackCount());
+		assertEquals(101, exp.getInterpretedCount());
+		assertEquals(0, exp.getCompiledCount());
+	}
+
+	@Test
+	public void testMixedCompilationThresholds() {
+		parser.setCompilerMode(SpelCompilerMode.MIXED);
+		parser.setMixedModeCompileThreshold(2);
+		parser.setMaxFailedCompilations(1);
+		SpringELExpression exp = (SpringELExpression) parser.parseExpression("maximum", null);
+		exp.getValue(new TestBean());
+		assertFalse(exp.isCompiled());
+		exp.getValue(new TestBean());
+		assertTrue(exp.isCompiled());
+
+		SpringELExpression notCompilable = (SpringELExpression) parser.parseExpression("list.![#this]", null);
+		for (int i = 0; i < 10; i++) {
+			notCompilable.getValue(new TestBean());
+		}
+		assertFalse(notCompilable.isCompiled());
+		assertEquals(1, notCompilable.getFailedCompilationCount());
+	}
+
+	@Test
+	public void testTemplateNotCompiled() {
+		parser.setCompilerMode(SpelCompilerMode.IMMEDIATE);
+		SpringELExpression exp = (SpringELExpression) parser.parseExpression("max: #{maximum}",
+				new FluentParserContext().template());
+		assertEquals("max: 2", exp.getValue(new TestBean()));
+		assertEquals("max: 2", exp.getValue(new TestBean()));
+		assertFalse(exp.isCompiled());
+		assertEquals(0, exp.getInterpretedCount());
+	}
+
+	public static class OtherBean {
+
+		public int getMaximum() {
+			return 5;
+		}
+	}
+
+	private static class CountingExpression implements Expression {
+
+		private int count;
+
+		public Object getValue(Object context) {
+			return ++count;
+		}
+
+		public void setValue(Object context, Object value) {
+		}
+
+		public Class<?> getValueType(Object context) {
+			return Integer.class;
+		}
+
+		public String getExpressionString() {
+			return "count";
+		}
+	}
+
+
+	private static class ExtraPropertyAccessor implements PropertyAccessor {
+
+		public Class<?>[] getSpecificTargetClasses() {
+			return new Class<?>[] { TestBean.class };
+		}
+
+		public boolean canRead(EvaluationContext context, Object target, String name) {
+			return "extra".equals(name);
+		}
+
+		public TypedValue read(EvaluationContext context, Object target, String name) {
+			return new TypedValue(name);
+		}
+
+		public boolean canWrite(EvaluationContext context, Object target, String name) {
+			return false;
+		}
+
+		public void write(EvaluationContext context, Object target, String name, Object newValue) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.binding.expression.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.binding.expression.Expression;
+import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.ExpressionVariable;
+import org.springframework.binding.expression.ParserException;
+
+public class CachingExpressionParserTests {
+
+	private List<String> parsed = new ArrayList<>();
+
+	private ExpressionParser targetParser = (expressionString, context) -> {
+		if (expressionString.equals("bogus")) {
+			throw new ParserException(expressionString, null);
+		}
+		parsed.add(expressionString);
+		return new StaticExpression(expressionString);
+	};
+
+	private CachingExpressionParser parser = new CachingExpressionParser(targetParser, 2);
+
+	@Test
+	public void testCacheHit() {
+		Expression expression = parser.parseExpression("flowScope.order", new FluentParserContext().evaluate(
+				String.class));
+		assertSame(expression, parser.parseExpression("flowScope.order", new FluentParserContext().evaluate(
+				String.class)));
+		assertEquals(List.of("flowScope.order"), parsed);
+		assertEquals(1, parser.getHitCount());
+		assertEquals(1, parser.getMissCount());
+		assertEquals(1, parser.getCacheSize());
+	}
+
+	@Test
+	public void testNullContext() {
+		Expression expression = parser.parseExpression("flowScope.order", null);
+		assertSame(expression, parser.parseExpression("flowScope.order", null));
+		assertEquals(1, parser.getMissCount());
+	}
+
+	@Test
+	public void testKeyedByParserContext() {
+		Expression expression = parser.parseExpression("flowScope.order", new FluentParserContext());
+		assertNotSame(expression, parser.parseExpression("flowScope.order", new FluentParserContext().evaluate(
+				String.class)));
+		assertNotSame(expression, parser.parseExpression("flowScope.order", new FluentParserContext()
+				.expectResult(Integer.class)));
+		assertNotSame(expression, parser.parseExpression("flowScope.order", new FluentParserContext().template()));
+		assertEquals(4, parser.getMissCount());
+		assertEquals(0, parser.getHitCount());
+	}
+
+	@Test
+	public void testKeyedByExpressionVariables() {
+		Expression expression = parser.parseExpression("order", new FluentParserContext()
+				.variable(new ExpressionVariable("order", "flowScope.order")));
+		assertSame(expression, parser.parseExpression("order", new FluentParserContext()
+				.variable(new ExpressionVariable("order", "flowScope.order"))));
+		assertNotSame(expression, parser.parseExpression("order", new FluentParserContext()
+				.variable(new ExpressionVariable("order", "conversationScope.order"))));
+		assertNotSame(expression, parser.parseExpression("order", new FluentParserContext()
+				.variable(new ExpressionVariable("order", "flowScope.order", new FluentParserContext().template()))));
+		assertEquals(3, parser.getMissCount());
+	}
+
+	@Test
+	public void testBounded() {
+		parser.parseExpression("one", null);
+		parser.parseExpression("two", null);
+		parser.parseExpression("three", null);
+		assertEquals(2, parser.getCacheSize());
+		parser.parseExpression("one", null);
+		assertEquals(List.of("one", "two", "three", "one"), parsed);
+	}
+
+	@Test
+	public void testParseFailureNotCached() {
+		for (int i = 0; i < 2; i++) {
+			try {
+				parser.parseExpression("bogus", null);
+				fail("Should have failed");
+			} catch (ParserException e) {
+			}
+		}
+		assertEquals(0, parser.getCacheSize());
+		assertEquals(2, parser.getMissCount());
+	}
+
+	@Test
+	public void testClear() {
+		parser.parseExpression("one", null);
+		parser.clear();
+		parser.parseExpression("one", null);
+		assertEquals(2, parser.getMissCount());
+	}
+
+}
@@ -15,8 +15,11 @@
  */
 package org.springframework.webflow.config;
 
+import org.springframework.core.io.Resource;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistryImpl;
+import org.springframework.webflow.engine.builder.DefaultFlowHolder;
+import org.springframework.webflow.engine.builder.FlowChangeMonitor;
 import org.springframework.webflow.engine.model.registry.FlowModelRegistry;
 import org.springframework.webflow.engine.model.registry.FlowModelRegistryImpl;
 
@@ -28,10 +31,35 @@ class DefaultFlowRegistry extends FlowDefinitionRegistryImpl {
 
 	private FlowModelRegistry flowModelRegistry = new FlowModelRegistryImpl();
 
+	private FlowChangeMonitor flowChangeMonitor;
+
 	public FlowModelRegistry getFlowModelRegistry() {
 		return flowModelRegistry;
 	}
 
+	/**
+	 * Returns the monitor detecting changes to the flows in this registry in the background, or null if changes are
+	 * detected on access.
+	 */
+	public FlowChangeMonitor getFlowChangeMonitor() {
+		return flowChangeMonitor;
+	}
+
+	public void setFlowChangeMonitor(FlowChangeMonitor flowChangeMonitor) {
+		this.flowChangeMonitor = flowChangeMonitor;
+	}
+
+	/**
+	 * Register a flow definition holder, watching the given resource for changes if this registry has a
+	 * {@link FlowChangeMonitor}.
+	 */
+	public void registerFlowDefinition(DefaultFlowHolder holder, Resource flowResource) {
+		registerFlowDefinition(holder);
+		if (flowChangeMonitor != null) {
+			flowChangeMonitor.register(holder, flowResource);
+		}
+	}
+
 	public void setParent(FlowDefinitionRegistry parent) {
 		super.setParent(parent);
 		if (parent instanceof DefaultFlowRegistry) {
@@ -40,4 +68,11 @@ class DefaultFlowRegistry extends FlowDefinitionRegistryImpl {
 			flowModelRegistry.setParent(parentFlowRegistry.getFlowModelRegistry());
 		}
 	}
+
+	public void destroy() {
+		if (flowChangeMonitor != null) {
+			flowChangeMonitor.destroy();
+		}
+		super.destroy();
+	}
 }
\ No newline at end of file
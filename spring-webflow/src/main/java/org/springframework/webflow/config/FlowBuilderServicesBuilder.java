@@ -18,6 +18,7 @@ package org.springframework.webflow.config;
 import org.springframework.binding.convert.ConversionService;
 import org.springframework.binding.convert.service.DefaultConversionService;
 import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.support.CachingExpressionParser;
 import org.springframework.context.ApplicationContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
@@ -43,6 +44,8 @@ public class FlowBuilderServicesBuilder {
 
 	private ExpressionParser expressionParser;
 
+	private int expressionCacheLimit = CachingExpressionParser.DEFAULT_CACHE_LIMIT;
+
 	private ViewFactoryCreator viewFactoryCreator;
 
 	private Validator validator;
@@ -86,6 +89,18 @@ public class FlowBuilderServicesBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the maximum number of expressions parsed by flow builders to cache.
+	 * The cache is shared by all flows built with the same services.
+	 * By default {@link CachingExpressionParser#DEFAULT_CACHE_LIMIT} expressions
+	 * are cached; set to 0 to disable the cache.
+	 * @param expressionCacheLimit the maximum number of cached expressions
+	 */
+	public FlowBuilderServicesBuilder setExpressionCacheLimit(int expressionCacheLimit) {
+		this.expressionCacheLimit = expressionCacheLimit;
+		return this;
+	}
+
 	/**
 	 * Set a custom {@link ViewFactoryCreator} to use for rendering.
 	 * By default an {@link MvcViewFactoryCreator} instance is used.
@@ -135,6 +150,7 @@ public class FlowBuilderServicesBuilder {
 		FlowBuilderServices flowBuilderServices = new FlowBuilderServices();
 		flowBuilderServices.setConversionService(this.conversionService);
 		flowBuilderServices.setExpressionParser(getExpressionParser());
+		flowBuilderServices.setExpressionCacheLimit(this.expressionCacheLimit);
 		flowBuilderServices.setViewFactoryCreator(this.viewFactoryCreator);
 		flowBuilderServices.setValidator(this.validator);
 		flowBuilderServices.setValidationHintResolver(this.validationHintResolver);
@@ -32,11 +32,14 @@ import org.springframework.webflow.engine.builder.DefaultFlowHolder;
 import org.springframework.webflow.engine.builder.FlowAssembler;
 import org.springframework.webflow.engine.builder.FlowBuilder;
 import org.springframework.webflow.engine.builder.FlowBuilderContext;
+import org.springframework.webflow.engine.builder.FlowChangeMonitor;
 import org.springframework.webflow.engine.builder.model.FlowModelFlowBuilder;
 import org.springframework.webflow.engine.builder.support.FlowBuilderContextImpl;
 import org.springframework.webflow.engine.builder.support.FlowBuilderServices;
 import org.springframework.webflow.engine.model.builder.DefaultFlowModelHolder;
 import org.springframework.webflow.engine.model.builder.FlowModelBuilder;
+import org.springframework.webflow.engine.model.builder.FlowModelCache;
+import org.springframework.webflow.engine.model.builder.xml.StaxFlowModelBuilder;
 import org.springframework.webflow.engine.model.builder.xml.XmlFlowModelBuilder;
 import org.springframework.webflow.engine.model.registry.FlowModelHolder;
 
@@ -62,6 +65,14 @@ public class FlowDefinitionRegistryBuilder {
 
 	private FlowDefinitionResourceFactory flowResourceFactory;
 
+	private boolean watchFlowChanges;
+
+	private boolean warmUp;
+
+	private FlowModelCache flowModelCache;
+
+	private boolean streamingXmlParsing;
+
 
 	/**
 	 * Create a new instance with the given ApplicationContext.
@@ -218,6 +229,50 @@ public class FlowDefinitionRegistryBuilder {
 		return this;
 	}
 
+	/**
+	 * Detect changes to flows under development in the background, using a
+	 * {@link FlowChangeMonitor} that watches the directories of the flow
+	 * definition resources, rather than on each access. Changed flows are
+	 * reassembled off the request path. Only applies in development mode.
+	 * @param watchFlowChanges whether to watch for flow changes
+	 */
+	public FlowDefinitionRegistryBuilder setWatchFlowChanges(boolean watchFlowChanges) {
+		this.watchFlowChanges = watchFlowChanges;
+		return this;
+	}
+
+	/**
+	 * Assemble all registered flows when the registry is built, in parallel on a
+	 * fork-join pool, rather than on first use. The time it took to assemble each
+	 * flow is logged at info level.
+	 * @param warmUp whether to assemble flows eagerly
+	 */
+	public FlowDefinitionRegistryBuilder setWarmUp(boolean warmUp) {
+		this.warmUp = warmUp;
+		return this;
+	}
+
+	/**
+	 * Configure a cache of built flow models, so flow definitions that have
+	 * not changed since they were cached are not parsed again on startup.
+	 * @param flowModelCache the flow model cache
+	 */
+	public FlowDefinitionRegistryBuilder setFlowModelCache(FlowModelCache flowModelCache) {
+		this.flowModelCache = flowModelCache;
+		return this;
+	}
+
+	/**
+	 * Parse XML flow definitions in a single pass over a StAX stream with a
+	 * {@link StaxFlowModelBuilder}, rather than loading each one into a DOM,
+	 * to lower startup time and memory use when many flows are registered.
+	 * @param streamingXmlParsing whether to parse flow definitions with StAX
+	 */
+	public FlowDefinitionRegistryBuilder setStreamingXmlParsing(boolean streamingXmlParsing) {
+		this.streamingXmlParsing = streamingXmlParsing;
+		return this;
+	}
+
 	/**
 	 * Create and return a {@link FlowDefinitionRegistry} instance.
 	 */
@@ -225,11 +280,18 @@ public class FlowDefinitionRegistryBuilder {
 
 		DefaultFlowRegistry flowRegistry = new DefaultFlowRegistry();
 		flowRegistry.setParent(this.parent);
+		if (this.watchFlowChanges && this.flowBuilderServices.getDevelopment()) {
+			flowRegistry.setFlowChangeMonitor(new FlowChangeMonitor());
+		}
 
 		registerFlowLocations(flowRegistry);
 		registerFlowLocationPatterns(flowRegistry);
 		registerFlowBuilders(flowRegistry);
 
+		if (this.warmUp) {
+			flowRegistry.warmUp();
+		}
+
 		return flowRegistry;
 	}
 
@@ -266,7 +328,11 @@ public class FlowDefinitionRegistryBuilder {
 	private void registerFlow(FlowDefinitionResource resource, DefaultFlowRegistry flowRegistry) {
 		FlowModelBuilder flowModelBuilder;
 		if (resource.getPath().getFilename().endsWith(".xml")) {
-			flowModelBuilder = new XmlFlowModelBuilder(resource.getPath(), flowRegistry.getFlowModelRegistry());
+			XmlFlowModelBuilder xmlFlowModelBuilder = (this.streamingXmlParsing ?
+					new StaxFlowModelBuilder(resource.getPath(), flowRegistry.getFlowModelRegistry()) :
+					new XmlFlowModelBuilder(resource.getPath(), flowRegistry.getFlowModelRegistry()));
+			xmlFlowModelBuilder.setFlowModelCache(this.flowModelCache);
+			flowModelBuilder = xmlFlowModelBuilder;
 		} else {
 			throw new IllegalArgumentException(resource
 					+ " is not a supported resource type; supported types are [.xml]");
@@ -279,7 +345,7 @@ public class FlowDefinitionRegistryBuilder {
 		DefaultFlowHolder flowHolder = new DefaultFlowHolder(assembler);
 
 		flowRegistry.getFlowModelRegistry().registerFlowModel(resource.getId(), flowModelHolder);
-		flowRegistry.registerFlowDefinition(flowHolder);
+		flowRegistry.registerFlowDefinition(flowHolder, resource.getPath());
 	}
 
 	private void registerFlowBuilders(DefaultFlowRegistry flowRegistry) {
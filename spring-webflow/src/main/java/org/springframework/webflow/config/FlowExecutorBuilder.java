@@ -15,21 +15,27 @@
  */
 package org.springframework.webflow.config;
 
+import java.util.concurrent.Executor;
+
 import org.springframework.context.ApplicationContext;
 import org.springframework.util.Assert;
 import org.springframework.webflow.conversation.ConversationManager;
 import org.springframework.webflow.conversation.impl.SessionBindingConversationManager;
 import org.springframework.webflow.core.collection.LocalAttributeMap;
 import org.springframework.webflow.definition.registry.FlowDefinitionLocator;
+import org.springframework.webflow.engine.impl.CopyOnWriteFlowExecutionSnapshotFactory;
 import org.springframework.webflow.engine.impl.FlowExecutionImplFactory;
 import org.springframework.webflow.execution.FlowExecutionFactory;
 import org.springframework.webflow.execution.FlowExecutionListener;
 import org.springframework.webflow.execution.factory.ConditionalFlowExecutionListenerLoader;
 import org.springframework.webflow.execution.factory.FlowExecutionListenerCriteriaFactory;
 import org.springframework.webflow.execution.repository.impl.DefaultFlowExecutionRepository;
+import org.springframework.webflow.execution.repository.impl.MappedSnapshotStore;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSerializer;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SimpleFlowExecutionSnapshotFactory;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotCompressor;
 import org.springframework.webflow.executor.FlowExecutor;
 import org.springframework.webflow.executor.FlowExecutorImpl;
 
@@ -49,6 +55,20 @@ public class FlowExecutorBuilder {
 
 	private Integer maxFlowExecutionSnapshots;
 
+	private Long maxFlowExecutionSnapshotBytes;
+
+	private Long maxTotalFlowExecutionSnapshotBytes;
+
+	private MappedSnapshotStore snapshotStore;
+
+	private Integer maxHeapSnapshots;
+
+	private Integer fullSnapshotInterval;
+
+	private Executor snapshotExecutor;
+
+	private boolean copyOnWriteSnapshots;
+
 	private LocalAttributeMap<Object> executionAttributes = new LocalAttributeMap<>();
 
 	private ConditionalFlowExecutionListenerLoader listenerLoader;
@@ -57,6 +77,10 @@ public class FlowExecutorBuilder {
 
 	private ConversationManager conversationManager;
 
+	private FlowExecutionSerializer flowExecutionSerializer;
+
+	private SnapshotCompressor snapshotCompressor;
+
 
 	public FlowExecutorBuilder(FlowDefinitionLocator flowRegistry) {
 		Assert.notNull(flowRegistry, "FlowDefinitionLocator is required");
@@ -149,6 +173,76 @@ public class FlowExecutorBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the maximum number of bytes the history snapshots of a single flow
+	 * execution may retain, -1 for unlimited. When exceeded the oldest snapshots
+	 * are discarded, always keeping the most recent one.
+	 * @param maxBytes the max number of bytes
+	 */
+	public FlowExecutorBuilder setMaxFlowExecutionSnapshotBytes(long maxBytes) {
+		this.maxFlowExecutionSnapshotBytes = maxBytes;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of bytes the history snapshots of all flow
+	 * executions may retain together, -1 for unlimited. When exceeded, a flow
+	 * execution being stored keeps only its most recent snapshot.
+	 * @param maxBytes the max number of bytes
+	 */
+	public FlowExecutorBuilder setMaxTotalFlowExecutionSnapshotBytes(long maxBytes) {
+		this.maxTotalFlowExecutionSnapshotBytes = maxBytes;
+		return this;
+	}
+
+	/**
+	 * Set a store to move older history snapshots to, keeping only the most
+	 * recent snapshots of each flow execution on the heap. The store should be
+	 * destroyed by the caller when no longer needed.
+	 * @param snapshotStore the store to use
+	 * @param maxHeapSnapshots the number of most recent snapshots kept on the heap
+	 */
+	public FlowExecutorBuilder setSnapshotStore(MappedSnapshotStore snapshotStore, int maxHeapSnapshots) {
+		this.snapshotStore = snapshotStore;
+		this.maxHeapSnapshots = maxHeapSnapshots;
+		return this;
+	}
+
+	/**
+	 * Store only every n-th history snapshot of a flow execution in full, and
+	 * the snapshots in between as a delta against the previous one.
+	 * @param fullSnapshotInterval every how many snapshots a full snapshot is
+	 * stored, 1 to store all snapshots in full
+	 */
+	public FlowExecutorBuilder setFullSnapshotInterval(int fullSnapshotInterval) {
+		this.fullSnapshotInterval = fullSnapshotInterval;
+		return this;
+	}
+
+	/**
+	 * Set a bounded executor to create history snapshots in the background,
+	 * after the request that paused the flow execution completes. The next
+	 * request for the flow execution waits for its snapshot if necessary.
+	 * @param snapshotExecutor the executor to use
+	 */
+	public FlowExecutorBuilder setSnapshotExecutor(Executor snapshotExecutor) {
+		this.snapshotExecutor = snapshotExecutor;
+		return this;
+	}
+
+	/**
+	 * Whether to take history snapshots as in-memory copies of the flow
+	 * scopes rather than by serializing flow executions. Objects in the scopes
+	 * are shared with the snapshots, so flows should replace rather than
+	 * modify them for the back button to work as expected.
+	 * @param copyOnWriteSnapshots whether to use copy-on-write snapshots
+	 * @see CopyOnWriteFlowExecutionSnapshotFactory
+	 */
+	public FlowExecutorBuilder setCopyOnWriteSnapshots(boolean copyOnWriteSnapshots) {
+		this.copyOnWriteSnapshots = copyOnWriteSnapshots;
+		return this;
+	}
+
 	/**
 	 * Set the ConversationManager implementation to use for storing conversations
 	 * in the session effectively controlling how state is stored physically when
@@ -161,6 +255,30 @@ public class FlowExecutorBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the serializer used to convert flow executions to history snapshots. By
+	 * default standard Java serialization is used. Has no effect when the max
+	 * number of flow execution snapshots is 0.
+	 * @param flowExecutionSerializer the serializer to use
+	 * @see org.springframework.webflow.engine.impl.CompactFlowExecutionSerializer
+	 */
+	public FlowExecutorBuilder setFlowExecutionSerializer(FlowExecutionSerializer flowExecutionSerializer) {
+		this.flowExecutionSerializer = flowExecutionSerializer;
+		return this;
+	}
+
+	/**
+	 * Set the compressor used to compress history snapshots. By default GZIP
+	 * compression is used. Has no effect when the max number of flow execution
+	 * snapshots is 0.
+	 * @param snapshotCompressor the compressor to use
+	 * @see org.springframework.webflow.execution.repository.snapshot.DeflaterSnapshotCompressor
+	 */
+	public FlowExecutorBuilder setSnapshotCompressor(SnapshotCompressor snapshotCompressor) {
+		this.snapshotCompressor = snapshotCompressor;
+		return this;
+	}
+
 	/**
 	 * Create and return a {@link FlowExecutor} instance.
 	 */
@@ -188,6 +306,22 @@ public class FlowExecutorBuilder {
 		if (this.maxFlowExecutionSnapshots != null) {
 			repository.setMaxSnapshots((this.maxFlowExecutionSnapshots == 0) ? 1 : this.maxFlowExecutionSnapshots);
 		}
+		if (this.maxFlowExecutionSnapshotBytes != null) {
+			repository.setMaxSnapshotBytes(this.maxFlowExecutionSnapshotBytes);
+		}
+		if (this.maxTotalFlowExecutionSnapshotBytes != null) {
+			repository.setMaxTotalSnapshotBytes(this.maxTotalFlowExecutionSnapshotBytes);
+		}
+		if (this.snapshotStore != null) {
+			repository.setSnapshotStore(this.snapshotStore);
+			repository.setMaxHeapSnapshots(this.maxHeapSnapshots);
+		}
+		if (this.fullSnapshotInterval != null) {
+			repository.setFullSnapshotInterval(this.fullSnapshotInterval);
+		}
+		if (this.snapshotExecutor != null) {
+			repository.setSnapshotExecutor(this.snapshotExecutor);
+		}
 		return repository;
 	}
 
@@ -207,8 +341,15 @@ public class FlowExecutorBuilder {
 		if (this.maxFlowExecutionSnapshots != null && this.maxFlowExecutionSnapshots == 0) {
 			factory = new SimpleFlowExecutionSnapshotFactory(executionFactory, this.flowRegistry);
 		}
+		else if (this.copyOnWriteSnapshots) {
+			factory = new CopyOnWriteFlowExecutionSnapshotFactory(executionFactory, this.flowRegistry);
+		}
 		else {
-			factory = new SerializedFlowExecutionSnapshotFactory(executionFactory, this.flowRegistry);
+			SerializedFlowExecutionSnapshotFactory serializedFactory =
+					new SerializedFlowExecutionSnapshotFactory(executionFactory, this.flowRegistry);
+			serializedFactory.setFlowExecutionSerializer(this.flowExecutionSerializer);
+			serializedFactory.setCompressor(this.snapshotCompressor);
+			factory = serializedFactory;
 		}
 		return factory;
 	}
@@ -69,6 +69,26 @@ class FlowRegistryBeanDefinitionParser extends AbstractSingleBeanDefinitionParse
 			definitionBuilder.addPropertyValue("basePath", basePath);
 		}
 
+		String watchFlowChanges = element.getAttribute("watch-flow-changes");
+		if (StringUtils.hasText(watchFlowChanges)) {
+			definitionBuilder.addPropertyValue("watchFlowChanges", watchFlowChanges);
+		}
+
+		String warmUp = element.getAttribute("warm-up");
+		if (StringUtils.hasText(warmUp)) {
+			definitionBuilder.addPropertyValue("warmUp", warmUp);
+		}
+
+		String flowModelCache = element.getAttribute("flow-model-cache");
+		if (StringUtils.hasText(flowModelCache)) {
+			definitionBuilder.addPropertyReference("flowModelCache", flowModelCache);
+		}
+
+		String streamingXmlParsing = element.getAttribute("streaming-xml-parsing");
+		if (StringUtils.hasText(streamingXmlParsing)) {
+			definitionBuilder.addPropertyValue("streamingXmlParsing", streamingXmlParsing);
+		}
+
 		definitionBuilder.addPropertyValue("flowLocations", parseLocations(element));
 		definitionBuilder.addPropertyValue("flowLocationPatterns", parseLocationPatterns(element));
 		definitionBuilder.addPropertyValue("flowBuilders", parseFlowBuilders(element));
@@ -31,17 +31,19 @@ import org.springframework.webflow.core.collection.LocalAttributeMap;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.definition.FlowDefinition;
 import org.springframework.webflow.definition.registry.FlowDefinitionConstructionException;
-import org.springframework.webflow.definition.registry.FlowDefinitionHolder;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.engine.builder.DefaultFlowHolder;
 import org.springframework.webflow.engine.builder.FlowAssembler;
 import org.springframework.webflow.engine.builder.FlowBuilder;
 import org.springframework.webflow.engine.builder.FlowBuilderContext;
+import org.springframework.webflow.engine.builder.FlowChangeMonitor;
 import org.springframework.webflow.engine.builder.model.FlowModelFlowBuilder;
 import org.springframework.webflow.engine.builder.support.FlowBuilderContextImpl;
 import org.springframework.webflow.engine.builder.support.FlowBuilderServices;
 import org.springframework.webflow.engine.model.builder.DefaultFlowModelHolder;
 import org.springframework.webflow.engine.model.builder.FlowModelBuilder;
+import org.springframework.webflow.engine.model.builder.FlowModelCache;
+import org.springframework.webflow.engine.model.builder.xml.StaxFlowModelBuilder;
 import org.springframework.webflow.engine.model.builder.xml.XmlFlowModelBuilder;
 import org.springframework.webflow.engine.model.registry.FlowModelHolder;
 
@@ -71,6 +73,14 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 
 	private ClassLoader classLoader;
 
+	private boolean watchFlowChanges;
+
+	private boolean warmUp;
+
+	private FlowModelCache flowModelCache;
+
+	private boolean streamingXmlParsing;
+
 	/**
 	 * The definition registry produced by this factory bean.
 	 */
@@ -125,6 +135,37 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 		this.parent = parent;
 	}
 
+	/**
+	 * Whether changes to flows under development should be detected in the background by a {@link FlowChangeMonitor}
+	 * rather than on each access. Only applies in development mode.
+	 */
+	public void setWatchFlowChanges(boolean watchFlowChanges) {
+		this.watchFlowChanges = watchFlowChanges;
+	}
+
+	/**
+	 * Whether all registered flows should be assembled when this factory bean is initialized, in parallel on a
+	 * fork-join pool, rather than on first use.
+	 */
+	public void setWarmUp(boolean warmUp) {
+		this.warmUp = warmUp;
+	}
+
+	/**
+	 * The cache of built flow models, used to skip parsing flow definitions that have not changed. Optional.
+	 */
+	public void setFlowModelCache(FlowModelCache flowModelCache) {
+		this.flowModelCache = flowModelCache;
+	}
+
+	/**
+	 * Whether XML flow definitions should be parsed in a single pass over a StAX stream by a
+	 * {@link StaxFlowModelBuilder} rather than loaded into a DOM.
+	 */
+	public void setStreamingXmlParsing(boolean streamingXmlParsing) {
+		this.streamingXmlParsing = streamingXmlParsing;
+	}
+
 	// implement BeanClassLoaderAware
 
 	public void setBeanClassLoader(ClassLoader classLoader) {
@@ -138,9 +179,15 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 		}
 		flowRegistry = new DefaultFlowRegistry();
 		flowRegistry.setParent(parent);
+		if (watchFlowChanges && flowBuilderServices.getDevelopment()) {
+			flowRegistry.setFlowChangeMonitor(new FlowChangeMonitor());
+		}
 		registerFlowLocations();
 		registerFlowLocationPatterns();
 		registerFlowBuilders();
+		if (warmUp) {
+			flowRegistry.warmUp();
+		}
 	}
 
 	public FlowDefinitionRegistry getObject() {
@@ -164,7 +211,7 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 	private void registerFlowLocations() {
 		if (flowLocations != null) {
 			for (FlowLocation location : flowLocations) {
-				flowRegistry.registerFlowDefinition(createFlowDefinitionHolder(createResource(location)));
+				registerFlowDefinition(createResource(location));
 			}
 		}
 	}
@@ -183,7 +230,7 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 					throw ise;
 				}
 				for (FlowDefinitionResource resource : resources) {
-					flowRegistry.registerFlowDefinition(createFlowDefinitionHolder(resource));
+					registerFlowDefinition(resource);
 				}
 			}
 		}
@@ -197,7 +244,11 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 		}
 	}
 
-	private FlowDefinitionHolder createFlowDefinitionHolder(FlowDefinitionResource flowResource) {
+	private void registerFlowDefinition(FlowDefinitionResource flowResource) {
+		flowRegistry.registerFlowDefinition(createFlowDefinitionHolder(flowResource), flowResource.getPath());
+	}
+
+	private DefaultFlowHolder createFlowDefinitionHolder(FlowDefinitionResource flowResource) {
 		FlowBuilder builder = createFlowBuilder(flowResource);
 		FlowBuilderContext builderContext = new FlowBuilderContextImpl(flowResource.getId(),
 				flowResource.getAttributes(), flowRegistry, flowBuilderServices);
@@ -241,7 +292,14 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 
 	private FlowModelBuilder createFlowModelBuilder(FlowDefinitionResource resource) {
 		if (isXml(resource.getPath())) {
-			return new XmlFlowModelBuilder(resource.getPath(), flowRegistry.getFlowModelRegistry());
+			XmlFlowModelBuilder flowModelBuilder;
+			if (streamingXmlParsing) {
+				flowModelBuilder = new StaxFlowModelBuilder(resource.getPath(), flowRegistry.getFlowModelRegistry());
+			} else {
+				flowModelBuilder = new XmlFlowModelBuilder(resource.getPath(), flowRegistry.getFlowModelRegistry());
+			}
+			flowModelBuilder.setFlowModelCache(flowModelCache);
+			return flowModelBuilder;
 		} else {
 			throw new IllegalArgumentException(resource
 					+ " is not a supported resource type; supported types are [.xml]");
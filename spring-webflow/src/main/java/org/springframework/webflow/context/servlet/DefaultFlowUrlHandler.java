@@ -75,7 +75,7 @@ public class DefaultFlowUrlHandler implements FlowUrlHandler {
 	}
 
 	public String getFlowExecutionKey(HttpServletRequest request) {
-		return request.getParameter(FLOW_EXECUTION_KEY_PARAMETER);
+		return HttpServletRequestParameterSnapshot.of(request).getParameter(FLOW_EXECUTION_KEY_PARAMETER);
 	}
 
 	public String getFlowId(HttpServletRequest request) {
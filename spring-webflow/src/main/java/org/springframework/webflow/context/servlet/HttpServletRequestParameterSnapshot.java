@@ -0,0 +1,164 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.context.servlet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.util.Assert;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.webflow.core.collection.LocalParameterMap;
+
+/**
+ * An immutable snapshot of the parameters of an HTTP servlet request, including the files of a multi-part request,
+ * taken once and shared for the request through {@link #of(HttpServletRequest)}. In addition to hash lookups by name,
+ * parameter names are indexed in sorted order so that names sharing a prefix, such as the field marker parameters of
+ * a form or the event parameters of submit buttons, are found without scanning all parameters.
+ * <p>
+ * Values follow the conventions of {@link HttpServletRequestParameterMap}: a single value is exposed as a String or
+ * {@link MultipartFile}, multiple values as a String array or a list of files.
+ *
+ * @since 3.0
+ * @see ServletExternalContext#getRequestParameterMap()
+ * @see DefaultFlowUrlHandler#getFlowExecutionKey(HttpServletRequest)
+ */
+public class HttpServletRequestParameterSnapshot extends LocalParameterMap {
+
+	private static final String SNAPSHOT_ATTRIBUTE = HttpServletRequestParameterSnapshot.class.getName();
+
+	/**
+	 * The request the snapshot was taken for; a forward or include dispatches another request object, whose parameters
+	 * may differ.
+	 */
+	private final transient HttpServletRequest request;
+
+	private final NavigableSet<String> parameterNames;
+
+	private transient Map<String, Set<String>> markedFields;
+
+	/**
+	 * Take a snapshot of the parameters of the given request.
+	 * @param request the request
+	 */
+	public HttpServletRequestParameterSnapshot(HttpServletRequest request) {
+		super(createParameters(request, request.getParameterMap()));
+		this.request = request;
+		this.parameterNames = Collections.unmodifiableNavigableSet(new TreeSet<>(asMap().keySet()));
+	}
+
+	/**
+	 * Returns the parameter snapshot of the given request, taking it on first access. The snapshot is reused as is for
+	 * the rest of the dispatch, without checking the request parameters again.
+	 * @param request the request
+	 * @return the parameter snapshot
+	 */
+	public static HttpServletRequestParameterSnapshot of(HttpServletRequest request) {
+		Assert.notNull(request, "The HTTP servlet request is required");
+		Object attribute = request.getAttribute(SNAPSHOT_ATTRIBUTE);
+		if (attribute instanceof HttpServletRequestParameterSnapshot
+				&& ((HttpServletRequestParameterSnapshot) attribute).request == request) {
+			return (HttpServletRequestParameterSnapshot) attribute;
+		}
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		request.setAttribute(SNAPSHOT_ATTRIBUTE, snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * Returns the first String value of a request parameter, like {@link HttpServletRequest#getParameter(String)}.
+	 * @param name the parameter name
+	 * @return the first value, or null if the parameter is not present or is a file
+	 */
+	public String getParameter(String name) {
+		Object value = asMap().get(name);
+		if (value instanceof String) {
+			return (String) value;
+		} else if (value instanceof String[]) {
+			String[] values = (String[]) value;
+			return (values.length > 0 ? values[0] : null);
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the names of the parameters starting with the given prefix, in sorted order, using the name index.
+	 * @param prefix the name prefix
+	 * @return the matching parameter names
+	 */
+	public SortedSet<String> getParameterNames(String prefix) {
+		return parameterNames.subSet(prefix, true, prefix + Character.MAX_VALUE, true);
+	}
+
+	/**
+	 * Returns the fields marked by a parameter named with the given field marker prefix followed by the field name,
+	 * e.g. "subscribeToNewsletter" for a "_subscribeToNewsletter" parameter. The field names are split off once and
+	 * cached per prefix.
+	 * @param fieldMarkerPrefix the field marker prefix
+	 * @return the names of the marked fields
+	 */
+	public Set<String> getMarkedFields(String fieldMarkerPrefix) {
+		if (markedFields == null) {
+			markedFields = new HashMap<>(2);
+		}
+		Set<String> fields = markedFields.get(fieldMarkerPrefix);
+		if (fields == null) {
+			fields = new LinkedHashSet<>();
+			for (String name : getParameterNames(fieldMarkerPrefix)) {
+				fields.add(name.substring(fieldMarkerPrefix.length()));
+			}
+			fields = Collections.unmodifiableSet(fields);
+			markedFields.put(fieldMarkerPrefix, fields);
+		}
+		return fields;
+	}
+
+	public boolean hasFieldMarker(String fieldMarkerPrefix, String field) {
+		return getMarkedFields(fieldMarkerPrefix).contains(field);
+	}
+
+	private static Map<String, Object> createParameters(HttpServletRequest request, Map<String, String[]> source) {
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		if (request instanceof MultipartHttpServletRequest) {
+			MultipartHttpServletRequest multipartRequest = (MultipartHttpServletRequest) request;
+			for (Map.Entry<String, List<MultipartFile>> entry : multipartRequest.getMultiFileMap().entrySet()) {
+				List<MultipartFile> files = entry.getValue();
+				if (files != null && files.size() > 0) {
+					parameters.put(entry.getKey(), (files.size() == 1 ? files.get(0) : files));
+				}
+			}
+		}
+		for (Map.Entry<String, String[]> entry : source.entrySet()) {
+			if (!parameters.containsKey(entry.getKey())) {
+				String[] values = entry.getValue();
+				parameters.put(entry.getKey(), (values != null && values.length == 1 ? values[0] : values));
+			}
+		}
+		return Collections.unmodifiableMap(parameters);
+	}
+
+}
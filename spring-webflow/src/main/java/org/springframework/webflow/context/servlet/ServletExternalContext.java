@@ -26,7 +26,6 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.webflow.context.ExternalContext;
 import org.springframework.webflow.core.collection.LocalAttributeMap;
-import org.springframework.webflow.core.collection.LocalParameterMap;
 import org.springframework.webflow.core.collection.LocalSharedAttributeMap;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.core.collection.ParameterMap;
@@ -57,7 +56,7 @@ public class ServletExternalContext implements ExternalContext {
 	private HttpServletResponse response;
 
 	/**
-	 * An accessor for the HTTP request parameter map.
+	 * The snapshot of the HTTP request parameters.
 	 */
 	private ParameterMap requestParameterMap;
 
@@ -157,6 +156,10 @@ public class ServletExternalContext implements ExternalContext {
 		return request.getContextPath();
 	}
 
+	/**
+	 * Returns the {@link HttpServletRequestParameterSnapshot parameter snapshot} of the request, which is taken once
+	 * and shared with the flow url handler and the views rendering or binding the request.
+	 */
 	public ParameterMap getRequestParameterMap() {
 		return requestParameterMap;
 	}
@@ -353,7 +356,7 @@ public class ServletExternalContext implements ExternalContext {
 		this.context = context;
 		this.request = request;
 		this.response = response;
-		this.requestParameterMap = new LocalParameterMap(new HttpServletRequestParameterMap(request));
+		this.requestParameterMap = HttpServletRequestParameterSnapshot.of(request);
 		this.requestMap = new LocalAttributeMap<>(new HttpServletRequestMap(request));
 		this.sessionMap = new LocalSharedAttributeMap<>(new HttpSessionMap(request));
 		this.applicationMap = new LocalSharedAttributeMap<>(new HttpServletContextMap(context));
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation;
+
+/**
+ * Implemented by conversation attribute values that are modified in place and know whether their state has changed.
+ * A conversation manager can use this to avoid writing back, and replicating, a conversation whose attributes did not
+ * change while it was locked.
+ * 
+ * @see Conversation#putAttribute(Object, Object)
+ */
+public interface ChangeTrackingAttribute {
+
+	/**
+	 * Returns whether the state of this value changed since change tracking was last reset.
+	 */
+	boolean hasChanged();
+
+	/**
+	 * Reset change tracking, typically after the value has been written back to its storage.
+	 */
+	void resetChanged();
+
+}
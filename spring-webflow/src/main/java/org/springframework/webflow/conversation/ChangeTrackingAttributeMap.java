@@ -0,0 +1,199 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.webflow.core.collection.AttributeMap;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+/**
+ * A {@link LocalAttributeMap} that records changes made to it, including changes made through its {@link #asMap() map
+ * view}, so that a conversation holding it is only written back when it changed. Used for conversation and flash
+ * scope.
+ * <p>
+ * Values are not copied, so a value modified in place cannot be detected. The map is therefore also considered changed
+ * when it holds a value that is neither a simple value, an empty attribute map nor a {@link ChangeTrackingAttribute}
+ * itself.
+ * 
+ * @param <V> the type of values in the map
+ */
+public class ChangeTrackingAttributeMap<V> extends LocalAttributeMap<V> implements ChangeTrackingAttribute {
+
+	private transient boolean changed;
+
+	private transient Map<String, V> trackingMap;
+
+	/**
+	 * Creates a new, empty change tracking attribute map.
+	 */
+	public ChangeTrackingAttributeMap() {
+		super();
+	}
+
+	public Map<String, V> asMap() {
+		return getMapInternal();
+	}
+
+	public boolean hasChanged() {
+		if (changed) {
+			return true;
+		}
+		for (V value : super.getMapInternal().values()) {
+			if (value instanceof ChangeTrackingAttribute) {
+				if (((ChangeTrackingAttribute) value).hasChanged()) {
+					return true;
+				}
+			} else if (!isUnmodified(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void resetChanged() {
+		changed = false;
+		resetChanges(super.getMapInternal().values());
+	}
+
+	/**
+	 * Reset change tracking of the given attribute values and determine whether any of them changed. Values that do
+	 * not track their own changes are considered changed unless they are known not to be modifiable in place.
+	 * @param values the attribute values
+	 * @return whether any of the values changed or may have been modified in place
+	 */
+	public static boolean resetChanges(Collection<?> values) {
+		boolean changed = false;
+		for (Object value : values) {
+			if (value instanceof ChangeTrackingAttribute) {
+				ChangeTrackingAttribute trackingValue = (ChangeTrackingAttribute) value;
+				if (trackingValue.hasChanged()) {
+					trackingValue.resetChanged();
+					changed = true;
+				}
+			} else if (!isUnmodified(value)) {
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Returns a view of the wrapped map that records changes, so that changes made by the inherited methods of
+	 * {@link LocalAttributeMap} are tracked as well.
+	 */
+	protected Map<String, V> getMapInternal() {
+		if (trackingMap == null) {
+			trackingMap = new TrackingMap(super.getMapInternal());
+		}
+		return trackingMap;
+	}
+
+	private static boolean isUnmodified(Object value) {
+		return value == null || BeanUtils.isSimpleValueType(value.getClass())
+				|| (value instanceof AttributeMap && ((AttributeMap<?>) value).isEmpty());
+	}
+
+	private class TrackingMap extends AbstractMap<String, V> {
+
+		private final Map<String, V> target;
+
+		private TrackingMap(Map<String, V> target) {
+			this.target = target;
+		}
+
+		public int size() {
+			return target.size();
+		}
+
+		public boolean containsKey(Object key) {
+			return target.containsKey(key);
+		}
+
+		public V get(Object key) {
+			return target.get(key);
+		}
+
+		public V put(String key, V value) {
+			boolean contained = target.containsKey(key);
+			V previous = target.put(key, value);
+			if (!contained || previous != value) {
+				changed = true;
+			}
+			return previous;
+		}
+
+		public V remove(Object key) {
+			if (!target.containsKey(key)) {
+				return null;
+			}
+			changed = true;
+			return target.remove(key);
+		}
+
+		public void clear() {
+			if (!target.isEmpty()) {
+				changed = true;
+				target.clear();
+			}
+		}
+
+		public Set<Map.Entry<String, V>> entrySet() {
+			return new AbstractSet<>() {
+
+				public int size() {
+					return target.size();
+				}
+
+				public Iterator<Map.Entry<String, V>> iterator() {
+					Iterator<Map.Entry<String, V>> iterator = target.entrySet().iterator();
+					return new Iterator<>() {
+
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						public Map.Entry<String, V> next() {
+							Map.Entry<String, V> entry = iterator.next();
+							return new SimpleEntry<>(entry) {
+
+								public V setValue(V value) {
+									if (entry.getValue() != value) {
+										changed = true;
+									}
+									super.setValue(value);
+									return entry.setValue(value);
+								}
+							};
+						}
+
+						public void remove() {
+							iterator.remove();
+							changed = true;
+						}
+					};
+				}
+			};
+		}
+	}
+
+}
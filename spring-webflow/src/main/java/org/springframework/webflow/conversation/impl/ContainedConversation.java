@@ -1,5 +1,5 @@
 /*
- * Copyright 2004-2012 the original author or authors.
+ * Copyright 2004-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,14 +21,21 @@ import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.conversation.ChangeTrackingAttribute;
+import org.springframework.webflow.conversation.ChangeTrackingAttributeMap;
 import org.springframework.webflow.conversation.Conversation;
 import org.springframework.webflow.conversation.ConversationId;
-import org.springframework.webflow.core.collection.SharedAttributeMap;
 
 /**
  * Internal {@link Conversation} implementation used by the conversation container.
  * <p>
+ * Each contained conversation is bound in the session under its own attribute, so that a session replicator only has
+ * to ship the conversations that actually changed. The conversation tracks changes made to its attributes while it was
+ * locked and is only re-bound on {@link #unlock()} when it changed. Attribute values implementing
+ * {@link ChangeTrackingAttribute} report their own changes, as do the conversation and flash scopes of flow executions,
+ * which are {@link ChangeTrackingAttributeMap}s. Other values that may have been modified in place are conservatively
+ * considered changed, unless they are simple values or empty attribute maps.
+ * <p>
  * This is an internal helper class of the {@link SessionBindingConversationManager}.
  * 
  * @author Erwin Vervaet
@@ -37,7 +44,7 @@ public class ContainedConversation implements Conversation, Serializable {
 
 	private static final Log logger = LogFactory.getLog(SessionBindingConversationManager.class);
 
-	private ConversationContainer container;
+	private transient ConversationContainer container;
 
 	private ConversationId id;
 
@@ -45,6 +52,9 @@ public class ContainedConversation implements Conversation, Serializable {
 
 	private Map<Object, Object> attributes;
 
+	/** Whether an attribute was put or removed since this conversation was last bound in the session. */
+	private transient boolean attributesChanged;
+
 	/**
 	 * Create a new contained conversation.
 	 * @param container the container containing the conversation
@@ -85,14 +95,18 @@ public class ContainedConversation implements Conversation, Serializable {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Putting conversation attribute '" + name + "' with value " + value);
 		}
-		this.attributes.put(name, value);
+		if (this.attributes.put(name, value) != value) {
+			this.attributesChanged = true;
+		}
 	}
 
 	public void removeAttribute(Object name) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Removing conversation attribute '" + name + "'");
 		}
-		this.attributes.remove(name);
+		if (this.attributes.remove(name) != null) {
+			this.attributesChanged = true;
+		}
 	}
 
 	public void end() {
@@ -106,18 +120,32 @@ public class ContainedConversation implements Conversation, Serializable {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Unlocking conversation " + this.id);
 		}
+		// determine and reset the changes while still holding the lock,
+		// the next owner of the lock may start changing this conversation right away
+		boolean changed = resetChanges();
 		this.lock.unlock();
-		// re-bind the conversation container in the session
+		// re-bind the conversation in the session
 		// this is required to make session replication work correctly in
 		// a clustered environment
 		// we do this after releasing the lock since we're no longer
 		// manipulating the contents of the conversation
-		SharedAttributeMap<Object> sessionMap = ExternalContextHolder.getExternalContext().getSessionMap();
-		synchronized (sessionMap.getMutex()) {
-			sessionMap.put(this.container.getSessionKey(), this.container);
+		if (changed) {
+			this.container.bindConversation(this);
+		} else if (logger.isDebugEnabled()) {
+			logger.debug("Conversation " + this.id + " has not changed; not re-binding it in the session");
 		}
 	}
 
+	/**
+	 * Determine whether this conversation changed since it was last bound in the session and reset change tracking.
+	 * @return whether this conversation changed
+	 */
+	protected boolean resetChanges() {
+		boolean changed = this.attributesChanged;
+		this.attributesChanged = false;
+		return ChangeTrackingAttributeMap.resetChanges(this.attributes.values()) || changed;
+	}
+
 	public String toString() {
 		return getId().toString();
 	}
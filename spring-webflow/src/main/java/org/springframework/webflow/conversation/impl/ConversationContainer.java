@@ -1,5 +1,5 @@
 /*
- * Copyright 2004-2020 the original author or authors.
+ * Copyright 2004-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,23 +15,45 @@
  */
 package org.springframework.webflow.conversation.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.webflow.context.ExternalContextHolder;
 import org.springframework.webflow.conversation.Conversation;
 import org.springframework.webflow.conversation.ConversationId;
 import org.springframework.webflow.conversation.ConversationParameters;
 import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.core.collection.SharedAttributeMap;
 
 /**
  * Container for conversations that is stored in the session. When the session
  * expires this container will go with it, implicitly expiring all contained
  * conversations.
  *
+ * <p>Conversations are indexed by {@link ConversationId} so that lookups do
+ * not need to acquire the container lock: concurrent requests resuming
+ * conversations in the same session can proceed in parallel. Only creating
+ * and removing conversations is synchronized, which also protects the
+ * creation order used to end the oldest conversation when the maximum is
+ * exceeded.
+ *
+ * <p>Each conversation is bound in the session under its own attribute, see
+ * {@link #getConversationSessionKey(ConversationId)}, while the container
+ * itself only serializes the ids of its conversations. Changing a single
+ * conversation therefore only requires a session replicator to ship that
+ * conversation. After deserialization, conversations are resolved from their
+ * session attributes on first access.
+ *
  * <p>This is an internal helper class of the
  * {@link SessionBindingConversationManager}.
  *
@@ -48,8 +70,11 @@ public class ConversationContainer implements Serializable {
 	/** The key of this conversation container in the session. */
 	private String sessionKey;
 
-	/** The contained conversations. A list of {@link ContainedConversation} objects. */
-	private List<ContainedConversation> conversations;
+	/** The contained conversations resolved so far, indexed by id. */
+	private transient Map<ConversationId, ContainedConversation> conversations;
+
+	/** The ids of the contained conversations in creation order, oldest first. Guarded by this container. */
+	private Set<ConversationId> conversationOrder;
 
 	/** The sequence for unique conversation identifiers within this container. */
 	private int conversationIdSequence;
@@ -63,7 +88,8 @@ public class ConversationContainer implements Serializable {
 	public ConversationContainer(int maxConversations, String sessionKey) {
 		this.maxConversations = maxConversations;
 		this.sessionKey = sessionKey;
-		this.conversations = new CopyOnWriteArrayList<>();
+		this.conversations = new ConcurrentHashMap<>();
+		this.conversationOrder = new LinkedHashSet<>();
 	}
 
 	/**
@@ -74,12 +100,20 @@ public class ConversationContainer implements Serializable {
 		return sessionKey;
 	}
 
+	/**
+	 * Return the key of the identified conversation in the session.
+	 * @param id the conversation id
+	 */
+	protected String getConversationSessionKey(ConversationId id) {
+		return sessionKey + "." + id;
+	}
+
 	/**
 	 * Return the current size of the conversation container:
 	 * the number of conversations contained within it.
 	 */
-	public int size() {
-		return conversations.size();
+	public synchronized int size() {
+		return conversationOrder.size();
 	}
 
 	/**
@@ -93,15 +127,24 @@ public class ConversationContainer implements Serializable {
 		conversation.putAttribute("name", parameters.getName());
 		conversation.putAttribute("caption", parameters.getCaption());
 		conversation.putAttribute("description", parameters.getDescription());
-		conversations.add(conversation);
+		conversations.put(conversation.getId(), conversation);
+		conversationOrder.add(conversation.getId());
+		bindConversation(conversation);
 		if (maxExceeded()) {
+			ConversationId oldestId = conversationOrder.iterator().next();
 			if (logger.isDebugEnabled()) {
 				logger.debug("The max number of flow executions has been exceeded for the current user. " +
-						"Removing the oldest conversation with id: " + conversations.get(0).getId());
+						"Removing the oldest conversation with id: " + oldestId);
 			}
 			// end oldest conversation
-			conversations.get(0).end();
+			ContainedConversation oldest = lookupConversation(oldestId);
+			if (oldest != null) {
+				oldest.end();
+			} else {
+				removeConversation(oldestId);
+			}
 		}
+		bindContainer();
 		return conversation;
 	}
 
@@ -115,28 +158,91 @@ public class ConversationContainer implements Serializable {
 	 * @return the conversation
 	 * @throws NoSuchConversationException if the conversation cannot be found
 	 */
-	public synchronized Conversation getConversation(ConversationId id) throws NoSuchConversationException {
-		for (ContainedConversation conversation : conversations) {
-			if (conversation.getId().equals(id)) {
-				return conversation;
-			}
+	public Conversation getConversation(ConversationId id) throws NoSuchConversationException {
+		ContainedConversation conversation = lookupConversation(id);
+		if (conversation == null) {
+			throw new NoSuchConversationException(id);
 		}
-		throw new NoSuchConversationException(id);
+		return conversation;
 	}
 
-	protected final List<ContainedConversation> getConversations() {
-		return conversations;
+	/**
+	 * Return a snapshot of the contained conversations in creation order, oldest first.
+	 */
+	protected final synchronized List<ContainedConversation> getConversations() {
+		List<ContainedConversation> result = new ArrayList<>(conversationOrder.size());
+		for (ConversationId id : conversationOrder) {
+			ContainedConversation conversation = lookupConversation(id);
+			if (conversation != null) {
+				result.add(conversation);
+			}
+		}
+		return result;
 	}
 
 	/**
 	 * Remove identified conversation from this container.
 	 */
 	public synchronized void removeConversation(ConversationId id) {
-		for (ContainedConversation conversation : conversations) {
-			if (conversation.getId().equals(id)) {
-				conversations.remove(conversation);
-				break;
+		if (conversationOrder.remove(id)) {
+			conversations.remove(id);
+			SharedAttributeMap<Object> sessionMap = ExternalContextHolder.getExternalContext().getSessionMap();
+			synchronized (sessionMap.getMutex()) {
+				sessionMap.remove(getConversationSessionKey(id));
 			}
+			bindContainer();
+		}
+	}
+
+	/**
+	 * (Re-)bind the given conversation in the session, unless it has been removed from this container.
+	 * For package level use only.
+	 */
+	void bindConversation(ContainedConversation conversation) {
+		SharedAttributeMap<Object> sessionMap = ExternalContextHolder.getExternalContext().getSessionMap();
+		synchronized (sessionMap.getMutex()) {
+			if (conversations.get(conversation.getId()) == conversation) {
+				sessionMap.put(getConversationSessionKey(conversation.getId()), conversation);
+			}
+		}
+	}
+
+	/**
+	 * Re-bind this container in the session after the set of contained conversations changed.
+	 */
+	private void bindContainer() {
+		SharedAttributeMap<Object> sessionMap = ExternalContextHolder.getExternalContext().getSessionMap();
+		synchronized (sessionMap.getMutex()) {
+			sessionMap.put(sessionKey, this);
+		}
+	}
+
+	/**
+	 * Lookup the identified conversation, resolving it from its session attribute if it has not been accessed since
+	 * this container was deserialized.
+	 * @return the conversation or <code>null</code> if it is not contained in this container
+	 */
+	private ContainedConversation lookupConversation(ConversationId id) {
+		ContainedConversation conversation = conversations.get(id);
+		if (conversation != null) {
+			return conversation;
+		}
+		SharedAttributeMap<Object> sessionMap = ExternalContextHolder.getExternalContext().getSessionMap();
+		Object value = sessionMap.get(getConversationSessionKey(id));
+		if (!(value instanceof ContainedConversation)) {
+			return null;
+		}
+		synchronized (this) {
+			if (!conversationOrder.contains(id)) {
+				return null;
+			}
+			conversation = conversations.get(id);
+			if (conversation == null) {
+				conversation = (ContainedConversation) value;
+				conversation.setContainer(this);
+				conversations.put(id, conversation);
+			}
+			return conversation;
 		}
 	}
 
@@ -144,7 +250,12 @@ public class ConversationContainer implements Serializable {
 	 * Has the maximum number of allowed concurrent conversations in the session been exceeded?
 	 */
 	private boolean maxExceeded() {
-		return maxConversations > 0 && conversations.size() > maxConversations;
+		return maxConversations > 0 && conversationOrder.size() > maxConversations;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		conversations = new ConcurrentHashMap<>();
 	}
 
 	// Hook methods
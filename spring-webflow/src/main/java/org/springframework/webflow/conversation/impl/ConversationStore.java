@@ -0,0 +1,91 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import java.util.List;
+
+import org.springframework.webflow.conversation.ConversationId;
+
+/**
+ * Storage strategy for the conversations of a {@link StoreBackedConversationManager}. Implementations may keep
+ * conversations in node-local memory or in a store shared by all nodes of a cluster.
+ * <p>
+ * The store also supplies the lock of each conversation. The default lock only excludes concurrent requests on the
+ * local node, so a store shared by several nodes must override {@link #createLock(ConversationId, int)} to return a
+ * lock providing mutual exclusion across the cluster, unless requests of a user are always routed to the same node.
+ * <p>
+ * A store is responsible for expiring conversations that have not been used for some time, since the conversations
+ * no longer go away together with the session.
+ * 
+ * @see InMemoryConversationStore
+ */
+public interface ConversationStore {
+
+	/**
+	 * Returns the identified conversation.
+	 * @param id the conversation id
+	 * @return the conversation, or <code>null</code> if it does not exist or has expired
+	 */
+	StoredConversation getConversation(ConversationId id);
+
+	/**
+	 * Adds a new conversation to this store.
+	 * @param conversation the conversation
+	 */
+	void addConversation(StoredConversation conversation);
+
+	/**
+	 * Writes back the state of a conversation previously added to this store and resets its expiry. Does nothing if
+	 * the conversation has been removed or has expired in the meantime, so an ended conversation is never revived.
+	 * @param conversation the conversation
+	 */
+	void updateConversation(StoredConversation conversation);
+
+	/**
+	 * Resets the expiry of a conversation that was used without being changed. The default implementation writes the
+	 * conversation back using {@link #updateConversation(StoredConversation)}; stores where writes are expensive
+	 * should override this to only refresh the expiry.
+	 * @param conversation the conversation
+	 */
+	default void touchConversation(StoredConversation conversation) {
+		updateConversation(conversation);
+	}
+
+	/**
+	 * Removes the identified conversation from this store. Does nothing if the conversation does not exist.
+	 * @param id the conversation id
+	 */
+	void removeConversation(ConversationId id);
+
+	/**
+	 * Returns the ids of the conversations owned by the given owner, oldest first.
+	 * @param ownerKey the key identifying the owner, typically a user session
+	 * @return the conversation ids, never <code>null</code>
+	 */
+	List<ConversationId> getConversationIds(String ownerKey);
+
+	/**
+	 * Creates the lock of a new conversation. The lock is kept with the conversation. The default implementation
+	 * returns a {@link JdkConcurrentConversationLock}, which is only effective within the local node.
+	 * @param id the id of the new conversation
+	 * @param lockTimeoutSeconds the time to wait for the lock before timing out
+	 * @return the conversation lock
+	 */
+	default ConversationLock createLock(ConversationId id, int lockTimeoutSeconds) {
+		return new JdkConcurrentConversationLock(lockTimeoutSeconds);
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.webflow.conversation.ConversationId;
+
+/**
+ * A {@link ConversationStore} that keeps conversations in the memory of the local node. Conversations expire when
+ * they have not been updated for {@link #setTimeToLiveSeconds(int) timeToLiveSeconds}, 30 minutes by default, which
+ * matches the default servlet session timeout.
+ * <p>
+ * Expired conversations are removed lazily when accessed and in bulk, at most once a minute, when a conversation is
+ * added. Call
+ * {@link #removeExpiredConversations()} periodically to reclaim memory held by conversations of idle users.
+ * <p>
+ * Since conversations are not replicated, this store should be used with sticky sessions in a clustered environment.
+ */
+public class InMemoryConversationStore implements ConversationStore {
+
+	private static final Log logger = LogFactory.getLog(InMemoryConversationStore.class);
+
+	private static final long PURGE_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+	private final Map<ConversationId, Entry> conversations = new ConcurrentHashMap<>();
+
+	/** Ids of the stored conversations by owner, oldest first. Each set is only accessed inside a map operation. */
+	private final Map<String, Set<ConversationId>> ownerIndex = new ConcurrentHashMap<>();
+
+	private int timeToLiveSeconds = 1800;
+
+	private volatile long nextPurge = System.nanoTime();
+
+	/**
+	 * Returns the time in seconds a conversation is retained after it was last updated. The default is 1800 seconds.
+	 */
+	public int getTimeToLiveSeconds() {
+		return timeToLiveSeconds;
+	}
+
+	/**
+	 * Sets the time in seconds a conversation is retained after it was last updated. Set to -1 to never expire
+	 * conversations. The default is 1800 seconds.
+	 */
+	public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+		this.timeToLiveSeconds = timeToLiveSeconds;
+	}
+
+	/**
+	 * Returns the number of conversations currently held by this store, including expired conversations that have
+	 * not been removed yet.
+	 */
+	public int size() {
+		return conversations.size();
+	}
+
+	// implementing conversation store
+
+	public StoredConversation getConversation(ConversationId id) {
+		Entry entry = conversations.get(id);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.isExpired(System.nanoTime())) {
+			remove(id, entry);
+			return null;
+		}
+		return entry.conversation;
+	}
+
+	public void addConversation(StoredConversation conversation) {
+		long now = System.nanoTime();
+		if (now - nextPurge > 0) {
+			nextPurge = now + PURGE_INTERVAL;
+			removeExpiredConversations();
+		}
+		conversations.put(conversation.getId(), new Entry(conversation, expiresAt(now)));
+		ownerIndex.compute(conversation.getOwnerKey(), (ownerKey, ids) -> {
+			if (ids == null) {
+				ids = new LinkedHashSet<>();
+			}
+			ids.add(conversation.getId());
+			return ids;
+		});
+	}
+
+	public void updateConversation(StoredConversation conversation) {
+		// conversations are kept by reference, so there is no state to write back
+		touchConversation(conversation);
+	}
+
+	public void touchConversation(StoredConversation conversation) {
+		Entry entry = conversations.get(conversation.getId());
+		if (entry != null) {
+			entry.expiresAt = expiresAt(System.nanoTime());
+		}
+	}
+
+	public void removeConversation(ConversationId id) {
+		Entry entry = conversations.get(id);
+		if (entry != null) {
+			remove(id, entry);
+		}
+	}
+
+	public List<ConversationId> getConversationIds(String ownerKey) {
+		List<ConversationId> result = new ArrayList<>();
+		ownerIndex.computeIfPresent(ownerKey, (key, ids) -> {
+			result.addAll(ids);
+			return ids;
+		});
+		return result.isEmpty() ? Collections.emptyList() : result;
+	}
+
+	/**
+	 * Remove all conversations that have expired from this store.
+	 */
+	public void removeExpiredConversations() {
+		if (timeToLiveSeconds < 0) {
+			return;
+		}
+		long now = System.nanoTime();
+		for (Iterator<Map.Entry<ConversationId, Entry>> it = conversations.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<ConversationId, Entry> mapEntry = it.next();
+			if (mapEntry.getValue().isExpired(now)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Removing expired conversation " + mapEntry.getKey());
+				}
+				remove(mapEntry.getKey(), mapEntry.getValue());
+			}
+		}
+	}
+
+	// internal helpers
+
+	private long expiresAt(long now) {
+		return timeToLiveSeconds < 0 ? Long.MAX_VALUE : now + TimeUnit.SECONDS.toNanos(timeToLiveSeconds);
+	}
+
+	private void remove(ConversationId id, Entry entry) {
+		if (conversations.remove(id, entry)) {
+			ownerIndex.computeIfPresent(entry.conversation.getOwnerKey(), (ownerKey, ids) -> {
+				ids.remove(id);
+				return ids.isEmpty() ? null : ids;
+			});
+		}
+	}
+
+	private static class Entry {
+
+		private final StoredConversation conversation;
+
+		private volatile long expiresAt;
+
+		Entry(StoredConversation conversation, long expiresAt) {
+			this.conversation = conversation;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired(long now) {
+			return expiresAt != Long.MAX_VALUE && now - expiresAt > 0;
+		}
+	}
+
+}
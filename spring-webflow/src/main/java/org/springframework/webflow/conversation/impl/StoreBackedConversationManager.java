@@ -0,0 +1,216 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationException;
+import org.springframework.webflow.conversation.ConversationId;
+import org.springframework.webflow.conversation.ConversationManager;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.core.collection.SharedAttributeMap;
+
+/**
+ * Conversation manager that keeps conversations in a pluggable {@link ConversationStore} rather than in the session.
+ * The session only holds a small owner key identifying the conversations of the user, which is written once when the
+ * first conversation is started. Unlike with the {@link SessionBindingConversationManager}, the size of the session
+ * and the amount of session replication traffic do not grow with the number and size of active conversations.
+ * <p>
+ * Using the {@link #setMaxConversations(int) maxConversations} property, you can limit the number of concurrently
+ * active conversations allowed for a single owner. If the maximum is exceeded, the conversation manager will
+ * automatically end the oldest conversation. The default is 5. Set it to -1 for no limit. Expiry of conversations
+ * that are no longer used is the responsibility of the store.
+ * <p>
+ * Conversation ids are random, so they remain unique across all nodes sharing a store. Conversation locks are
+ * {@link ConversationStore#createLock(ConversationId, int) created by the store}, so only a store supplying a
+ * cluster-wide lock is safe to share between nodes without sticky sessions.
+ * 
+ * @see InMemoryConversationStore
+ */
+public class StoreBackedConversationManager implements ConversationManager {
+
+	private static final Log logger = LogFactory.getLog(StoreBackedConversationManager.class);
+
+	private final ConversationStore conversationStore;
+
+	private final Random random = new SecureRandom();
+
+	private String sessionKey = "webflowConversationOwner";
+
+	private int maxConversations = 5;
+
+	private int lockTimeoutSeconds = 30;
+
+	/**
+	 * Create a new conversation manager keeping conversations in a new {@link InMemoryConversationStore}.
+	 */
+	public StoreBackedConversationManager() {
+		this(new InMemoryConversationStore());
+	}
+
+	/**
+	 * Create a new conversation manager keeping conversations in the given store.
+	 * @param conversationStore the conversation store
+	 */
+	public StoreBackedConversationManager(ConversationStore conversationStore) {
+		Assert.notNull(conversationStore, "The conversation store is required");
+		this.conversationStore = conversationStore;
+	}
+
+	/**
+	 * Returns the store holding the conversations.
+	 */
+	public ConversationStore getConversationStore() {
+		return conversationStore;
+	}
+
+	/**
+	 * Returns the key of the session attribute holding the owner key of the current user.
+	 */
+	public String getSessionKey() {
+		return sessionKey;
+	}
+
+	/**
+	 * Sets the key of the session attribute holding the owner key of the current user.
+	 * @param sessionKey the session key
+	 */
+	public void setSessionKey(String sessionKey) {
+		this.sessionKey = sessionKey;
+	}
+
+	/**
+	 * Returns the maximum number of allowed concurrent conversations per owner. The default is 5.
+	 */
+	public int getMaxConversations() {
+		return maxConversations;
+	}
+
+	/**
+	 * Set the maximum number of allowed concurrent conversations per owner. Set to -1 for no limit. The default is 5.
+	 */
+	public void setMaxConversations(int maxConversations) {
+		this.maxConversations = maxConversations;
+	}
+
+	/**
+	 * Returns the time period that can elapse before a timeout occurs on an attempt to acquire a conversation lock. The
+	 * default is 30 seconds.
+	 */
+	public int getLockTimeoutSeconds() {
+		return lockTimeoutSeconds;
+	}
+
+	/**
+	 * Sets the time period that can elapse before a timeout occurs on an attempt to acquire a conversation lock. The
+	 * default is 30 seconds.
+	 * @param lockTimeoutSeconds the timeout period in seconds
+	 */
+	public void setLockTimeoutSeconds(int lockTimeoutSeconds) {
+		this.lockTimeoutSeconds = lockTimeoutSeconds;
+	}
+
+	// implementing conversation manager
+
+	public Conversation beginConversation(ConversationParameters conversationParameters) throws ConversationException {
+		String ownerKey = getOwnerKey(true);
+		ConversationId id = nextConversationId();
+		ConversationLock lock = conversationStore.createLock(id, lockTimeoutSeconds);
+		StoredConversation conversation = createStoredConversation(id, ownerKey, lock);
+		conversation.putAttribute("name", conversationParameters.getName());
+		conversation.putAttribute("caption", conversationParameters.getCaption());
+		conversation.putAttribute("description", conversationParameters.getDescription());
+		conversation.setStore(conversationStore);
+		conversationStore.addConversation(conversation);
+		conversation.resetChanges();
+		if (maxConversations > 0) {
+			List<ConversationId> ids = conversationStore.getConversationIds(ownerKey);
+			for (int i = 0; i < ids.size() - maxConversations; i++) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("The max number of flow executions has been exceeded for the current user. "
+							+ "Removing the oldest conversation with id: " + ids.get(i));
+				}
+				StoredConversation oldest = conversationStore.getConversation(ids.get(i));
+				if (oldest != null) {
+					oldest.setStore(conversationStore);
+					oldest.end();
+				}
+			}
+		}
+		return conversation;
+	}
+
+	public Conversation getConversation(ConversationId id) throws ConversationException {
+		String ownerKey = getOwnerKey(false);
+		StoredConversation conversation = conversationStore.getConversation(id);
+		// never hand out conversations of other users
+		if (conversation == null || ownerKey == null || !ownerKey.equals(conversation.getOwnerKey())) {
+			throw new NoSuchConversationException(id);
+		}
+		conversation.setStore(conversationStore);
+		return conversation;
+	}
+
+	public ConversationId parseConversationId(String encodedId) throws ConversationException {
+		try {
+			return new SimpleConversationId(Long.valueOf(encodedId));
+		} catch (NumberFormatException e) {
+			throw new BadlyFormattedConversationIdException(encodedId, e);
+		}
+	}
+
+	// hooks for subclassing
+
+	/**
+	 * Generate the id of a new conversation. The default implementation returns a random positive number.
+	 */
+	protected ConversationId nextConversationId() {
+		return new SimpleConversationId(random.nextLong() & Long.MAX_VALUE);
+	}
+
+	protected StoredConversation createStoredConversation(ConversationId id, String ownerKey, ConversationLock lock) {
+		return new StoredConversation(id, ownerKey, lock);
+	}
+
+	/**
+	 * Obtain the owner key of the current user from the session.
+	 * @param create whether to create and store a new owner key if the session does not contain one yet
+	 * @return the owner key, or <code>null</code> if there is none and <code>create</code> is false
+	 */
+	protected final String getOwnerKey(boolean create) {
+		SharedAttributeMap<Object> sessionMap = ExternalContextHolder.getExternalContext().getSessionMap();
+		String ownerKey = (String) sessionMap.get(sessionKey);
+		if (ownerKey == null && create) {
+			synchronized (sessionMap.getMutex()) {
+				ownerKey = (String) sessionMap.get(sessionKey);
+				if (ownerKey == null) {
+					ownerKey = UUID.randomUUID().toString();
+					sessionMap.put(sessionKey, ownerKey);
+				}
+			}
+		}
+		return ownerKey;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.webflow.conversation.ChangeTrackingAttributeMap;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationId;
+
+/**
+ * Internal {@link Conversation} implementation kept in a {@link ConversationStore}. Ending the conversation removes
+ * it from the store, while unlocking writes its state back to the store if it changed while locked, and otherwise
+ * only refreshes its expiry. Changes are detected as by the {@link ContainedConversation}.
+ * <p>
+ * This is an internal helper class of the {@link StoreBackedConversationManager}.
+ */
+public class StoredConversation implements Conversation, Serializable {
+
+	private static final Log logger = LogFactory.getLog(StoreBackedConversationManager.class);
+
+	private ConversationId id;
+
+	private String ownerKey;
+
+	private ConversationLock lock;
+
+	private Map<Object, Object> attributes;
+
+	private transient ConversationStore store;
+
+	private transient volatile boolean ended;
+
+	/** Whether an attribute was put or removed since this conversation was last written to the store. */
+	private transient boolean attributesChanged;
+
+	/**
+	 * Create a new stored conversation.
+	 * @param id the unique id assigned to the conversation
+	 * @param ownerKey the key of the owner of the conversation
+	 * @param lock the conversation lock
+	 */
+	public StoredConversation(ConversationId id, String ownerKey, ConversationLock lock) {
+		this.id = id;
+		this.ownerKey = ownerKey;
+		this.lock = lock;
+		this.attributes = new HashMap<>();
+	}
+
+	/**
+	 * Returns the key of the owner of this conversation.
+	 */
+	public String getOwnerKey() {
+		return ownerKey;
+	}
+
+	/**
+	 * Set the store this conversation is kept in. Called by the conversation manager whenever the conversation is
+	 * obtained from the store, since the store reference is not part of the stored state.
+	 */
+	protected void setStore(ConversationStore store) {
+		this.store = store;
+	}
+
+	public ConversationId getId() {
+		return id;
+	}
+
+	public void lock() {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Locking conversation " + id);
+		}
+		lock.lock();
+	}
+
+	public Object getAttribute(Object name) {
+		return attributes.get(name);
+	}
+
+	public void putAttribute(Object name, Object value) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Putting conversation attribute '" + name + "' with value " + value);
+		}
+		if (attributes.put(name, value) != value) {
+			attributesChanged = true;
+		}
+	}
+
+	public void removeAttribute(Object name) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Removing conversation attribute '" + name + "'");
+		}
+		if (attributes.remove(name) != null) {
+			attributesChanged = true;
+		}
+	}
+
+	public void end() {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Ending conversation " + id);
+		}
+		ended = true;
+		store.removeConversation(id);
+	}
+
+	public void unlock() {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Unlocking conversation " + id);
+		}
+		// write the conversation back while still holding the lock so a shared store
+		// never receives an older state after a newer one
+		try {
+			if (!ended) {
+				if (resetChanges()) {
+					store.updateConversation(this);
+				} else {
+					store.touchConversation(this);
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Determine whether this conversation changed since it was last written to the store and reset change tracking.
+	 * @return whether this conversation changed
+	 */
+	protected boolean resetChanges() {
+		boolean changed = attributesChanged;
+		attributesChanged = false;
+		return ChangeTrackingAttributeMap.resetChanges(attributes.values()) || changed;
+	}
+
+	public String toString() {
+		return id.toString();
+	}
+
+	// id based equality
+
+	public boolean equals(Object obj) {
+		return obj instanceof StoredConversation && id.equals(((StoredConversation) obj).id);
+	}
+
+	public int hashCode() {
+		return id.hashCode();
+	}
+
+}
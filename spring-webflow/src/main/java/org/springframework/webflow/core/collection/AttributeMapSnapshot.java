@@ -0,0 +1,163 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.core.collection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable copy of the contents of an attribute map, taken to be restored later as a new, independent mutable
+ * attribute map.
+ * <p>
+ * Copies are cheap and structurally shared: a map restored from a snapshot reads the entries of the snapshot until it
+ * is first modified, and taking a snapshot of such an unmodified map returns the snapshot it was restored from.
+ * Nested {@link LocalAttributeMap} values, such as the view scope held in a flow scope, are snapshotted the same way,
+ * so a flow scope is only copied when its own entries change, not when its view scope does. Other values are shared
+ * by reference, so they are only isolated when they are replaced rather than modified.
+ * 
+ * @param <V> the type of values in the map
+ */
+public final class AttributeMapSnapshot<V> implements Serializable {
+
+	private static final String[] NO_KEYS = new String[0];
+
+	private final Map<String, Object> entries;
+
+	private final String[] nestedKeys;
+
+	private AttributeMapSnapshot(Map<String, Object> entries, String[] nestedKeys) {
+		this.entries = entries;
+		this.nestedKeys = nestedKeys;
+	}
+
+	/**
+	 * Take a snapshot of the given attribute map.
+	 * @param map the attribute map
+	 * @return the snapshot
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> AttributeMapSnapshot<V> of(AttributeMap<V> map) {
+		Map<String, V> source = map.asMap();
+		if (map instanceof LocalAttributeMap) {
+			source = ((LocalAttributeMap<V>) map).getMapInternal();
+			if (source instanceof CopyOnWriteMap) {
+				CopyOnWriteMap<V> copyOnWriteMap = (CopyOnWriteMap<V>) source;
+				AttributeMapSnapshot<V> shared = copyOnWriteMap.getSharedSnapshot();
+				if (shared != null) {
+					return shared.withNestedMaps(copyOnWriteMap.getNestedMaps());
+				}
+			}
+		}
+		Map<String, Object> entries = new HashMap<>(Math.max(16, (int) (source.size() / 0.75f) + 1));
+		List<String> nestedKeys = null;
+		for (Map.Entry<String, V> entry : source.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof LocalAttributeMap) {
+				value = new NestedMap(of((LocalAttributeMap<?>) value));
+				if (nestedKeys == null) {
+					nestedKeys = new ArrayList<>(1);
+				}
+				nestedKeys.add(entry.getKey());
+			}
+			entries.put(entry.getKey(), value);
+		}
+		return new AttributeMapSnapshot<>(entries, nestedKeys != null ? nestedKeys.toArray(NO_KEYS) : NO_KEYS);
+	}
+
+	/**
+	 * Create a new mutable attribute map holding the contents of this snapshot. Changes to the returned map do not
+	 * affect this snapshot.
+	 */
+	public LocalAttributeMap<V> restore() {
+		return new LocalAttributeMap<>(new CopyOnWriteMap<>(this));
+	}
+
+	/**
+	 * Returns the number of entries in this snapshot.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the entries of this snapshot, for reading by a map restored from it. Nested maps are represented by
+	 * markers, to be read from the maps {@link #restoreNestedMaps() restored} from them instead.
+	 */
+	@SuppressWarnings("unchecked")
+	Map<String, V> getEntries() {
+		return (Map<String, V>) entries;
+	}
+
+	/**
+	 * Restore the nested maps of this snapshot, keyed by the name of their entry.
+	 */
+	@SuppressWarnings("unchecked")
+	Map<String, V> restoreNestedMaps() {
+		if (nestedKeys.length == 0) {
+			return Collections.emptyMap();
+		}
+		Map<String, V> nestedMaps = new HashMap<>(nestedKeys.length * 2);
+		for (String key : nestedKeys) {
+			nestedMaps.put(key, (V) ((NestedMap) entries.get(key)).snapshot.restore());
+		}
+		return nestedMaps;
+	}
+
+	/**
+	 * Returns this snapshot if the given maps restored from its nested maps are unchanged, or otherwise a snapshot
+	 * sharing the other entries of this snapshot.
+	 * @param nestedMaps the maps restored from the nested maps of this snapshot
+	 */
+	private AttributeMapSnapshot<V> withNestedMaps(Map<String, V> nestedMaps) {
+		Map<String, Object> changedEntries = null;
+		for (String key : nestedKeys) {
+			AttributeMapSnapshot<?> nested = of((LocalAttributeMap<?>) nestedMaps.get(key));
+			if (nested != ((NestedMap) entries.get(key)).snapshot) {
+				if (changedEntries == null) {
+					changedEntries = new HashMap<>(entries);
+				}
+				changedEntries.put(key, new NestedMap(nested));
+			}
+		}
+		return changedEntries != null ? new AttributeMapSnapshot<>(changedEntries, nestedKeys) : this;
+	}
+
+	public String toString() {
+		return entries.toString();
+	}
+
+	/**
+	 * Marks the snapshot of a nested attribute map, distinguishing it from snapshots stored as values by application
+	 * code.
+	 */
+	private static final class NestedMap implements Serializable {
+
+		private final AttributeMapSnapshot<?> snapshot;
+
+		private NestedMap(AttributeMapSnapshot<?> snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		public String toString() {
+			return snapshot.toString();
+		}
+	}
+
+}
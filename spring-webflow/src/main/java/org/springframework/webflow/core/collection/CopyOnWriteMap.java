@@ -0,0 +1,174 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.core.collection;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A map restored from an {@link AttributeMapSnapshot}, reading the entries of the snapshot until the first change,
+ * which copies them. Changes made through views, iterators and entries are supported as well.
+ * <p>
+ * Maps nested in the snapshot are restored up front and read instead of the shared entries. They can change without
+ * this map being copied; {@link AttributeMapSnapshot#of(AttributeMap)} checks them when reusing the shared snapshot.
+ * 
+ * @param <V> the type of values in the map
+ */
+class CopyOnWriteMap<V> extends AbstractMap<String, V> implements Serializable {
+
+	private AttributeMapSnapshot<V> sharedSnapshot;
+
+	private Map<String, V> entries;
+
+	private Map<String, V> nestedMaps;
+
+	CopyOnWriteMap(AttributeMapSnapshot<V> snapshot) {
+		this.sharedSnapshot = snapshot;
+		this.entries = snapshot.getEntries();
+		this.nestedMaps = snapshot.restoreNestedMaps();
+	}
+
+	/**
+	 * Returns the snapshot this map was restored from if it was not changed since, or <code>null</code> otherwise.
+	 */
+	AttributeMapSnapshot<V> getSharedSnapshot() {
+		return sharedSnapshot;
+	}
+
+	/**
+	 * Returns the maps restored from the nested maps of the shared snapshot, empty once this map was changed.
+	 */
+	Map<String, V> getNestedMaps() {
+		return nestedMaps;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	public boolean containsKey(Object key) {
+		return entries.containsKey(key);
+	}
+
+	public boolean containsValue(Object value) {
+		return nestedMaps.containsValue(value) || entries.containsValue(value);
+	}
+
+	public V get(Object key) {
+		if (!nestedMaps.isEmpty()) {
+			V nestedMap = nestedMaps.get(key);
+			if (nestedMap != null) {
+				return nestedMap;
+			}
+		}
+		return entries.get(key);
+	}
+
+	public V put(String key, V value) {
+		return copy().put(key, value);
+	}
+
+	public V remove(Object key) {
+		if (sharedSnapshot != null && !entries.containsKey(key)) {
+			return null;
+		}
+		return copy().remove(key);
+	}
+
+	public void clear() {
+		if (sharedSnapshot != null && entries.isEmpty()) {
+			return;
+		}
+		copy().clear();
+	}
+
+	public Set<Map.Entry<String, V>> entrySet() {
+		return new EntrySet();
+	}
+
+	private Map<String, V> copy() {
+		if (sharedSnapshot != null) {
+			entries = new HashMap<>(entries);
+			entries.putAll(nestedMaps);
+			nestedMaps = Collections.emptyMap();
+			sharedSnapshot = null;
+		}
+		return entries;
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		Map<String, V> map = new HashMap<>(entries);
+		map.putAll(nestedMaps);
+		return map;
+	}
+
+	private class EntrySet extends AbstractSet<Map.Entry<String, V>> {
+
+		public int size() {
+			return entries.size();
+		}
+
+		public Iterator<Map.Entry<String, V>> iterator() {
+			if (sharedSnapshot == null) {
+				return entries.entrySet().iterator();
+			}
+			// iterate the shared entries, which are never changed, applying changes to a copy
+			Iterator<Map.Entry<String, V>> iterator = entries.entrySet().iterator();
+			Map<String, V> sharedNestedMaps = nestedMaps;
+			return new Iterator<>() {
+
+				private Map.Entry<String, V> current;
+
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				public Map.Entry<String, V> next() {
+					Map.Entry<String, V> entry = iterator.next();
+					V entryValue = sharedNestedMaps.containsKey(entry.getKey()) ? sharedNestedMaps.get(entry.getKey())
+							: entry.getValue();
+					current = new SimpleEntry<>(entry.getKey(), entryValue) {
+						public V setValue(V value) {
+							super.setValue(value);
+							return CopyOnWriteMap.this.put(getKey(), value);
+						}
+					};
+					return current;
+				}
+
+				public void remove() {
+					if (current == null) {
+						throw new IllegalStateException();
+					}
+					CopyOnWriteMap.this.remove(current.getKey());
+					current = null;
+				}
+			};
+		}
+	}
+
+}
@@ -15,6 +15,10 @@
  */
 package org.springframework.webflow.core.collection;
 
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
 import org.springframework.binding.collection.MapAdaptable;
 import org.springframework.binding.convert.ConversionExecutionException;
 import org.springframework.web.multipart.MultipartFile;
@@ -276,4 +280,62 @@ public interface ParameterMap extends MapAdaptable<String, Object> {
 	 */
 	AttributeMap<Object> asAttributeMap();
 
+
+	/**
+	 * Returns the names of the parameters starting with the given prefix, in sorted order. The default implementation
+	 * scans all parameter names.
+	 * @param prefix the name prefix
+	 * @return the matching parameter names
+	 * @since 3.0
+	 */
+	default SortedSet<String> getParameterNames(String prefix) {
+		SortedSet<String> names = new TreeSet<>();
+		for (String name : asMap().keySet()) {
+			if (name.startsWith(prefix)) {
+				names.add(name);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Find a parameter value the way {@link org.springframework.web.util.WebUtils#findParameterValue(Map, String)}
+	 * does: the value of the parameter with the given name, or else the value encoded in the name of a parameter named
+	 * "name_value", optionally suffixed with ".x" or ".y" as sent by image buttons. If several parameters are named
+	 * that way, the first in sorted order is used.
+	 * @param name the name of the parameter
+	 * @return the parameter value, or null if not found
+	 * @since 3.0
+	 */
+	default String findParameterValue(String name) {
+		Object value = asMap().get(name);
+		if (value instanceof String[]) {
+			String[] values = (String[]) value;
+			return (values.length > 0 ? values[0] : null);
+		} else if (value != null) {
+			return value.toString();
+		}
+		String prefix = name + "_";
+		for (String parameterName : getParameterNames(prefix)) {
+			if (parameterName.endsWith(".x") || parameterName.endsWith(".y")) {
+				return parameterName.substring(prefix.length(), parameterName.length() - 2);
+			}
+			return parameterName.substring(prefix.length());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether a parameter named with the given field marker prefix followed by the field name is present, e.g.
+	 * "_subscribeToNewsletter" for a "subscribeToNewsletter" field with a "_" prefix. Such parameters mark fields that
+	 * may not be submitted, like unchecked checkboxes.
+	 * @param fieldMarkerPrefix the field marker prefix
+	 * @param field the field name
+	 * @return whether the field is marked
+	 * @since 3.0
+	 */
+	default boolean hasFieldMarker(String fieldMarkerPrefix, String field) {
+		return contains(fieldMarkerPrefix + field);
+	}
+
 }
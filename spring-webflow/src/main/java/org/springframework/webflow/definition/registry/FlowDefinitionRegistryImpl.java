@@ -15,8 +15,13 @@
  */
 package org.springframework.webflow.definition.registry;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -112,8 +117,78 @@ public class FlowDefinitionRegistryImpl implements FlowDefinitionRegistry {
 		}
 	}
 
+	/**
+	 * Eagerly assembles all flow definitions registered in this registry, instead of on first use, assembling flows in
+	 * parallel on a new {@link ForkJoinPool}.
+	 * @return the time in milliseconds it took to assemble each flow, keyed by flow id
+	 * @see #warmUp(ForkJoinPool)
+	 */
+	public Map<String, Long> warmUp() {
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			return warmUp(pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Eagerly assembles all flow definitions registered in this registry, instead of on first use, assembling flows in
+	 * parallel on the given pool. A flow extending a parent flow waits for the parent flow model, which is built once
+	 * and shared by all flows that need it. Subflows are located when a flow executes, so they do not need to be
+	 * assembled first. A flow that cannot be assembled is logged and left to fail on first use, as it would without
+	 * warm-up. Flows of the parent registry are not assembled.
+	 * <p>
+	 * Flows are assembled with the thread context class loader of the calling thread, as pool threads do not inherit
+	 * it.
+	 * @param pool the pool to assemble flows on
+	 * @return the time in milliseconds it took to assemble each flow, keyed by flow id; flows that could not be
+	 * assembled are not included
+	 */
+	public Map<String, Long> warmUp(ForkJoinPool pool) {
+		Assert.notNull(pool, "The pool to assemble flows on is required");
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		List<ForkJoinTask<Long>> tasks = new ArrayList<>(flowDefinitions.size());
+		for (FlowDefinitionHolder holder : flowDefinitions.values()) {
+			tasks.add(pool.submit(() -> assembleFlowDefinition(holder, classLoader)));
+		}
+		Map<String, Long> assemblyTimes = new TreeMap<>();
+		int i = 0;
+		for (String id : flowDefinitions.keySet()) {
+			Long assemblyTime = tasks.get(i++).join();
+			if (assemblyTime != null) {
+				assemblyTimes.put(id, assemblyTime);
+			}
+		}
+		return assemblyTimes;
+	}
+
 	// internal helpers
 
+	/**
+	 * Assembles the flow definition of the given holder with the given context class loader, returning the time it
+	 * took in milliseconds, or null if the flow could not be assembled.
+	 */
+	private Long assembleFlowDefinition(FlowDefinitionHolder holder, ClassLoader classLoader) {
+		Thread thread = Thread.currentThread();
+		ClassLoader previousClassLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(classLoader);
+		long start = System.nanoTime();
+		try {
+			holder.getFlowDefinition();
+		} catch (RuntimeException e) {
+			logger.warn("Unable to assemble flow definition '" + holder.getFlowDefinitionId() + "' during warm-up", e);
+			return null;
+		} finally {
+			thread.setContextClassLoader(previousClassLoader);
+		}
+		long assemblyTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		if (logger.isInfoEnabled()) {
+			logger.info("Assembled flow definition '" + holder.getFlowDefinitionId() + "' in " + assemblyTime + " ms");
+		}
+		return assemblyTime;
+	}
+
 	/**
 	 * Returns the identified flow definition holder. Throws an exception if it cannot be found.
 	 */
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine;
+
+import org.springframework.util.Assert;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.execution.RequestContext;
+
+/**
+ * Transition criteria that matches a single, literal event id. Created at flow build time for plain
+ * <code>on="eventId"</code> criteria so the owning {@link TransitionSet} can select the transition with a lookup
+ * instead of evaluating an expression.
+ * 
+ * @see TransitionSet#getTransition(RequestContext)
+ */
+public class EventIdTransitionCriteria implements TransitionCriteria {
+
+	/*
+	 * Implementation note: not located in webflow.engine.support package to avoid a cyclic dependency with
+	 * TransitionSet.
+	 */
+
+	/**
+	 * The event id to match.
+	 */
+	private String eventId;
+
+	/**
+	 * Create a new transition criteria object matching the given event id.
+	 * @param eventId the event id to match
+	 */
+	public EventIdTransitionCriteria(String eventId) {
+		Assert.hasText(eventId, "The event id to match is required");
+		this.eventId = eventId;
+	}
+
+	/**
+	 * Returns the event id matched by this criteria.
+	 */
+	public String getEventId() {
+		return eventId;
+	}
+
+	public boolean test(RequestContext context) {
+		Event event = context.getCurrentEvent();
+		return event != null && eventId.equals(event.getId());
+	}
+
+	public String toString() {
+		return eventId;
+	}
+}
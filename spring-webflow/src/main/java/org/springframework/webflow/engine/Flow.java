@@ -16,6 +16,7 @@
 package org.springframework.webflow.engine;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -125,6 +126,11 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
 	 */
 	private Set<State> states = new LinkedHashSet<>(9);
 
+	/**
+	 * The states of this flow indexed by id, maintained as states are added. Only read once the flow is built.
+	 */
+	private Map<String, State> stateIndex = new HashMap<>(16);
+
 	/**
 	 * The default start state for this flow.
 	 */
@@ -252,13 +258,14 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
 			throw new IllegalArgumentException("State " + state + " cannot be added to this flow '" + getId()
 					+ "' -- it already belongs to a different flow: '" + state.getFlow().getId() + "'");
 		}
-		if (this.states.contains(state) || this.containsState(state.getId())) {
+		if (this.states.contains(state) || this.stateIndex.containsKey(state.getId())) {
 			throw new IllegalArgumentException("This flow '" + getId() + "' already contains a state with id '"
 					+ state.getId() + "' -- state ids must be locally unique to the flow definition; "
 					+ "existing state-ids of this flow include: " + StylerUtils.style(getStateIds()));
 		}
 		boolean firstAdd = states.isEmpty();
 		states.add(state);
+		stateIndex.put(state.getId(), state);
 		if (firstAdd) {
 			setStartState(state);
 		}
@@ -278,12 +285,7 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
 	 * @return true if yes, false otherwise
 	 */
 	public boolean containsState(String stateId) {
-		for (State state : states) {
-			if (state.getId().equals(stateId)) {
-				return true;
-			}
-		}
-		return false;
+		return stateIndex.containsKey(stateId);
 	}
 
 	/**
@@ -334,10 +336,9 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
 		if (!StringUtils.hasText(stateId)) {
 			throw new IllegalArgumentException("The specified stateId is invalid: state identifiers must be non-blank");
 		}
-		for (State state : states) {
-			if (state.getId().equals(stateId)) {
-				return state;
-			}
+		State state = stateIndex.get(stateId);
+		if (state != null) {
+			return state;
 		}
 		throw new IllegalArgumentException("Cannot find state with id '" + stateId + "' in flow '" + getId() + "' -- "
 				+ "Known state ids are '" + StylerUtils.style(getStateIds()) + "'");
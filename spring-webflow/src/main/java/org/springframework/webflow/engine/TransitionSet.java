@@ -15,16 +15,25 @@
  */
 package org.springframework.webflow.engine;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.core.style.StylerUtils;
 import org.springframework.webflow.core.collection.CollectionUtils;
+import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.execution.RequestContext;
 
 /**
  * A typed set of transitions for use internally by artifacts that can apply transition execution logic.
+ * <p>
+ * Transitions matching a literal event id (see {@link EventIdTransitionCriteria}) are compiled into an event id keyed
+ * dispatch table on first use, so selecting a transition does not require testing every transition in turn. Other
+ * transitions, such as guarded or wildcard ones, are still tested in their declared order. The table is rebuilt when
+ * this set changes; the matching criteria of a contained transition should not be changed once the set is in use.
  * 
  * @see TransitionableState#getTransitionSet()
  * @see Flow#getGlobalTransitionSet()
@@ -38,6 +47,11 @@ public class TransitionSet implements Iterable<Transition> {
 	 */
 	private List<Transition> transitions = new LinkedList<>();
 
+	/**
+	 * The compiled dispatch table, lazily built and discarded when this set changes.
+	 */
+	private volatile DispatchTable dispatchTable;
+
 	/**
 	 * Add a transition to this set.
 	 * @param transition the transition to add
@@ -47,6 +61,7 @@ public class TransitionSet implements Iterable<Transition> {
 		if (contains(transition)) {
 			return false;
 		}
+		dispatchTable = null;
 		return transitions.add(transition);
 	}
 
@@ -56,6 +71,7 @@ public class TransitionSet implements Iterable<Transition> {
 	 * @return true if this set's contents changed as a result of the add operation
 	 */
 	public boolean addAll(Transition... transitions) {
+		dispatchTable = null;
 		return CollectionUtils.addAllNoDuplicates(this.transitions, transitions);
 	}
 
@@ -74,6 +90,7 @@ public class TransitionSet implements Iterable<Transition> {
 	 * @return true if this list's contents changed as a result of the remove operation
 	 */
 	public boolean remove(Transition transition) {
+		dispatchTable = null;
 		return transitions.remove(transition);
 	}
 
@@ -90,7 +107,21 @@ public class TransitionSet implements Iterable<Transition> {
 	 * @return an iterator
 	 */
 	public Iterator<Transition> iterator() {
-		return transitions.iterator();
+		Iterator<Transition> it = transitions.iterator();
+		return new Iterator<>() {
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			public Transition next() {
+				return it.next();
+			}
+
+			public void remove() {
+				dispatchTable = null;
+				it.remove();
+			}
+		};
 	}
 
 	/**
@@ -120,12 +151,12 @@ public class TransitionSet implements Iterable<Transition> {
 	 * @return the transition, or null if no transition matches
 	 */
 	public Transition getTransition(RequestContext context) {
-		for (Transition transition : transitions) {
-			if (transition.matches(context)) {
-				return transition;
-			}
+		DispatchTable table = dispatchTable;
+		if (table == null) {
+			table = new DispatchTable(transitions);
+			dispatchTable = table;
 		}
-		return null;
+		return table.getTransition(context);
 	}
 
 	/**
@@ -139,4 +170,46 @@ public class TransitionSet implements Iterable<Transition> {
 	public String toString() {
 		return StylerUtils.style(transitions);
 	}
+
+	/**
+	 * Immutable view of the transitions in a set, indexing literal event id transitions by event id while keeping the
+	 * declared position of each transition so the first matching transition is still the one selected.
+	 */
+	private static class DispatchTable {
+
+		private final Map<String, Integer> literalPositions = new HashMap<>();
+
+		private final Transition[] transitions;
+
+		private final int[] guardedPositions;
+
+		public DispatchTable(List<Transition> transitions) {
+			this.transitions = transitions.toArray(new Transition[0]);
+			List<Integer> guarded = new ArrayList<>();
+			for (int i = 0; i < this.transitions.length; i++) {
+				TransitionCriteria criteria = this.transitions[i].getMatchingCriteria();
+				if (criteria instanceof EventIdTransitionCriteria) {
+					literalPositions.putIfAbsent(((EventIdTransitionCriteria) criteria).getEventId(), i);
+				} else {
+					guarded.add(i);
+				}
+			}
+			guardedPositions = guarded.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		public Transition getTransition(RequestContext context) {
+			Event event = context.getCurrentEvent();
+			Integer literalPosition = (event != null ? literalPositions.get(event.getId()) : null);
+			int limit = (literalPosition != null ? literalPosition : transitions.length);
+			for (int position : guardedPositions) {
+				if (position >= limit) {
+					break;
+				}
+				if (transitions[position].matches(context)) {
+					return transitions[position];
+				}
+			}
+			return (literalPosition != null ? transitions[literalPosition] : null);
+		}
+	}
 }
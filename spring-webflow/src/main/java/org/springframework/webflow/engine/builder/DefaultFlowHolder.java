@@ -27,7 +27,10 @@ import org.springframework.webflow.definition.registry.FlowDefinitionHolder;
  * A flow definition holder that can detect changes on an underlying flow definition resource and refresh that resource
  * automatically.
  * <p>
- * This class is thread-safe.
+ * This class is thread-safe. Once assembled, the flow definition is published through a volatile reference and read
+ * without locking; only initial assembly, and change detection and reassembly of a flow under development, are
+ * synchronized. A holder registered with a {@link FlowChangeMonitor} does not check for changes on access at all; the
+ * monitor reassembles its flow in the background instead.
  * <p>
  * Note that this {@link FlowDefinition} holder uses a {@link FlowAssembler}. This class bridges the <i>abstract</i>
  * world of {@link FlowDefinition flow definitions} with the <i>concrete</i> world of flow implementations.
@@ -44,7 +47,7 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
 	/**
 	 * The flow definition assembled by this assembler, initially null.
 	 */
-	private FlowDefinition flowDefinition;
+	private volatile FlowDefinition flowDefinition;
 
 	/**
 	 * The flow assembler.
@@ -52,10 +55,16 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
 	private FlowAssembler assembler;
 
 	/**
-	 * A flag indicating whether or not this holder is in the middle of the assembly process.
+	 * A flag indicating whether or not this holder is in the middle of the assembly process. Guarded by this holder's
+	 * monitor.
 	 */
 	private boolean assembling;
 
+	/**
+	 * A flag indicating whether or not changes to the flow are detected by a {@link FlowChangeMonitor}.
+	 */
+	private volatile boolean monitored;
+
 	/**
 	 * Creates a new refreshable flow definition holder that uses the configured assembler (GOF director) to drive flow
 	 * assembly, on initial use and on any resource change or refresh.
@@ -74,7 +83,49 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
 		return assembler.getFlowBuilder().getFlowResourceString();
 	}
 
-	public synchronized FlowDefinition getFlowDefinition() throws FlowDefinitionConstructionException {
+	public FlowDefinition getFlowDefinition() throws FlowDefinitionConstructionException {
+		FlowDefinition flowDefinition = this.flowDefinition;
+		if (flowDefinition != null && (monitored || !flowDefinition.inDevelopment())) {
+			return flowDefinition;
+		}
+		return getOrAssembleFlowDefinition();
+	}
+
+	public synchronized void refresh() throws FlowDefinitionConstructionException {
+		assembleFlow();
+	}
+
+	public void destroy() {
+		FlowDefinition flowDefinition = this.flowDefinition;
+		if (flowDefinition != null) {
+			flowDefinition.destroy();
+		}
+	}
+
+	// package private methods used by FlowChangeMonitor
+
+	/**
+	 * Sets whether changes to the flow are detected by a {@link FlowChangeMonitor} rather than on access.
+	 * @param monitored whether the flow is monitored
+	 */
+	void setMonitored(boolean monitored) {
+		this.monitored = monitored;
+	}
+
+	/**
+	 * Reassembles the flow if it has been assembled, is under development and has changed. The previously assembled
+	 * definition is kept if reassembly fails.
+	 */
+	synchronized void refreshIfChanged() throws FlowDefinitionConstructionException {
+		if (flowDefinition != null && flowDefinition.inDevelopment() && getFlowBuilder().hasFlowChanged()) {
+			logger.debug("The flow under development has changed; reassembling...");
+			assembleFlow();
+		}
+	}
+
+	// internal helpers
+
+	private synchronized FlowDefinition getOrAssembleFlowDefinition() throws FlowDefinitionConstructionException {
 		if (assembling) {
 			// must return early assembly result for when a flow calls itself recursively
 			return getFlowBuilder().getFlow();
@@ -91,18 +142,6 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
 		return flowDefinition;
 	}
 
-	public synchronized void refresh() throws FlowDefinitionConstructionException {
-		assembleFlow();
-	}
-
-	public void destroy() {
-		if (flowDefinition != null) {
-			flowDefinition.destroy();
-		}
-	}
-
-	// internal helpers
-
 	private void assembleFlow() throws FlowDefinitionConstructionException {
 		try {
 			assembling = true;
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.builder;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * Watches the directories of flow definition resources for changes in the background and reassembles the affected
+ * {@link DefaultFlowHolder flow holders}, so flows under development are not checked for changes on every access.
+ * <p>
+ * When a change is detected in any watched directory, each monitored holder checks whether its flow has changed and,
+ * if so, reassembles it off the request path and swaps in the new definition. Since flows can extend flows defined in
+ * other resources, all holders are checked, not just the ones whose resource changed. Resources that are not available
+ * in the file system, for example flows packaged in a jar, cannot be watched; their holders keep checking for changes
+ * on access.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @see DefaultFlowHolder
+ */
+public class FlowChangeMonitor implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(FlowChangeMonitor.class);
+
+	private final List<DefaultFlowHolder> holders = new CopyOnWriteArrayList<>();
+
+	private final Set<Path> directories = new HashSet<>();
+
+	private long quietPeriod = 100;
+
+	private WatchService watchService;
+
+	/**
+	 * Returns the time in milliseconds to wait for further changes before reassembling changed flows.
+	 */
+	public long getQuietPeriod() {
+		return quietPeriod;
+	}
+
+	/**
+	 * Sets the time in milliseconds to wait for further changes before reassembling changed flows, so a burst of
+	 * changes, like an editor saving a file, causes a single reassembly. Defaults to 100.
+	 */
+	public void setQuietPeriod(long quietPeriod) {
+		Assert.isTrue(quietPeriod >= 0, "The quiet period cannot be negative");
+		this.quietPeriod = quietPeriod;
+	}
+
+	/**
+	 * Register a flow holder whose flow is defined by the given resource.
+	 * @param holder the flow holder
+	 * @param resource the resource defining the flow
+	 * @return true if the resource is watched and the holder no longer checks for changes on access, false if the
+	 * resource cannot be watched
+	 */
+	public synchronized boolean register(DefaultFlowHolder holder, Resource resource) {
+		Assert.notNull(holder, "The flow holder is required");
+		Path directory = getDirectory(resource);
+		if (directory == null) {
+			return false;
+		}
+		try {
+			if (watchService == null) {
+				watchService = FileSystems.getDefault().newWatchService();
+				Thread thread = new Thread(this::watch, "webflow-flow-change-monitor");
+				thread.setDaemon(true);
+				thread.start();
+			}
+			if (!directories.contains(directory)) {
+				directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+				directories.add(directory);
+			}
+		} catch (IOException | ClosedWatchServiceException e) {
+			logger.warn("Unable to watch " + directory + " for flow changes; changes to " + resource
+					+ " will be detected on access", e);
+			return false;
+		}
+		holder.setMonitored(true);
+		if (!holders.contains(holder)) {
+			holders.add(holder);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of directories being watched.
+	 */
+	public synchronized int getDirectoryCount() {
+		return directories.size();
+	}
+
+	public synchronized void destroy() {
+		for (DefaultFlowHolder holder : holders) {
+			holder.setMonitored(false);
+		}
+		holders.clear();
+		directories.clear();
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				logger.warn("Unable to close the flow change watch service", e);
+			}
+			watchService = null;
+		}
+	}
+
+	/**
+	 * Checks all monitored holders and reassembles the flows that have changed. Called by the monitor thread.
+	 */
+	void refreshChangedFlows() {
+		for (DefaultFlowHolder holder : holders) {
+			try {
+				holder.refreshIfChanged();
+			} catch (RuntimeException e) {
+				logger.warn("Unable to reassemble changed flow '" + holder.getFlowDefinitionId() + "'", e);
+			}
+		}
+	}
+
+	// internal helpers
+
+	private void watch() {
+		WatchService watchService;
+		synchronized (this) {
+			watchService = this.watchService;
+		}
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				while (key != null) {
+					key.pollEvents();
+					key.reset();
+					key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+				}
+				refreshChangedFlows();
+			}
+		} catch (ClosedWatchServiceException e) {
+			// monitor destroyed
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Path getDirectory(Resource resource) {
+		if (resource == null || !resource.isFile()) {
+			return null;
+		}
+		try {
+			return resource.getFile().toPath().toAbsolutePath().getParent();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+}
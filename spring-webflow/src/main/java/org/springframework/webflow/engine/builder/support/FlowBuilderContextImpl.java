@@ -99,7 +99,7 @@ public class FlowBuilderContextImpl implements FlowBuilderContext {
 	}
 
 	public ExpressionParser getExpressionParser() {
-		return flowBuilderServices.getExpressionParser();
+		return flowBuilderServices.getFlowBuilderExpressionParser();
 	}
 
 	public ApplicationContext getApplicationContext() {
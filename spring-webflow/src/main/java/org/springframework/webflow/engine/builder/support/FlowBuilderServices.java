@@ -19,6 +19,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.binding.convert.ConversionService;
 import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.support.CachingExpressionParser;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.util.Assert;
@@ -67,6 +68,16 @@ public class FlowBuilderServices implements ApplicationContextAware, Initializin
 	 */
 	private ExpressionParser expressionParser;
 
+	/**
+	 * The maximum number of expressions parsed by flow builders to cache. Caching is disabled if 0.
+	 */
+	private int expressionCacheLimit = CachingExpressionParser.DEFAULT_CACHE_LIMIT;
+
+	/**
+	 * The expression parser decorator shared by the flow builders using these services. Created on first use.
+	 */
+	private volatile CachingExpressionParser cachingExpressionParser;
+
 	/**
 	 * A Validator instance to use for validating a model declared on a view state. A JSR-303 validation adapter is
 	 * installed by default if a JSR-303 provider is present on the classpath.
@@ -118,6 +129,37 @@ public class FlowBuilderServices implements ApplicationContextAware, Initializin
 
 	public void setExpressionParser(ExpressionParser expressionParser) {
 		this.expressionParser = expressionParser;
+		this.cachingExpressionParser = null;
+	}
+
+	public int getExpressionCacheLimit() {
+		return expressionCacheLimit;
+	}
+
+	/**
+	 * Set the maximum number of parsed expressions to cache for flow builders. Defaults to
+	 * {@link CachingExpressionParser#DEFAULT_CACHE_LIMIT}; set to 0 to disable the cache.
+	 */
+	public void setExpressionCacheLimit(int expressionCacheLimit) {
+		this.expressionCacheLimit = expressionCacheLimit;
+		this.cachingExpressionParser = null;
+	}
+
+	/**
+	 * Returns the parser flow builders parse expressions with. This is the configured {@link #getExpressionParser()
+	 * expression parser} decorated with a {@link CachingExpressionParser}, so expressions are parsed once for all the
+	 * flows built with these services, unless the expression cache is disabled.
+	 */
+	public ExpressionParser getFlowBuilderExpressionParser() {
+		if (expressionParser == null || expressionCacheLimit <= 0) {
+			return expressionParser;
+		}
+		CachingExpressionParser parser = cachingExpressionParser;
+		if (parser == null) {
+			parser = new CachingExpressionParser(expressionParser, expressionCacheLimit);
+			cachingExpressionParser = parser;
+		}
+		return parser;
 	}
 
 	public Validator getValidator() {
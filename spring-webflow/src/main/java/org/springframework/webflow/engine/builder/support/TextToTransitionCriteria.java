@@ -19,8 +19,11 @@ import org.springframework.binding.convert.ConversionExecutionException;
 import org.springframework.binding.convert.converters.Converter;
 import org.springframework.binding.expression.Expression;
 import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.spel.SpringELExpression;
 import org.springframework.binding.expression.support.FluentParserContext;
+import org.springframework.binding.expression.support.LiteralExpression;
 import org.springframework.util.StringUtils;
+import org.springframework.webflow.engine.EventIdTransitionCriteria;
 import org.springframework.webflow.engine.TransitionCriteria;
 import org.springframework.webflow.engine.WildcardTransitionCriteria;
 import org.springframework.webflow.engine.builder.FlowBuilderContext;
@@ -34,7 +37,9 @@ import org.springframework.webflow.execution.RequestContext;
  * This converter supports the following encoded forms:
  * <ul>
  * <li>"*" - will result in a TransitionCriteria object that matches on everything.</li>
- * <li>"eventId" - will result in a TransitionCriteria object that matches given event id.</li>
+ * <li>"eventId" - will result in a TransitionCriteria object that matches given event id. When the expression parser
+ * treats the text as a literal, an {@link EventIdTransitionCriteria} is created so the transition can be dispatched by
+ * event id.</li>
  * <li>"${...}" - will result in a TransitionCriteria object that evaluates given condition, expressed as an expression.
  * </li>
  * </ul>
@@ -90,6 +95,17 @@ class TextToTransitionCriteria implements Converter {
 			ExpressionParser parser) throws ConversionExecutionException {
 		Expression expression = parser.parseExpression(encodedCriteria,
 				new FluentParserContext().template().evaluate(RequestContext.class));
+		if (isLiteral(encodedCriteria, expression)) {
+			return new EventIdTransitionCriteria(encodedCriteria);
+		}
 		return new DefaultTransitionCriteria(expression);
 	}
+
+	private boolean isLiteral(String encodedCriteria, Expression expression) {
+		if (expression instanceof LiteralExpression) {
+			return true;
+		}
+		return expression instanceof SpringELExpression && !encodedCriteria.contains("#{")
+				&& !encodedCriteria.contains("${");
+	}
 }
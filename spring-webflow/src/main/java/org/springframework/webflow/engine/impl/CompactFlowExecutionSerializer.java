@@ -0,0 +1,377 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSerializer;
+
+/**
+ * A {@link FlowExecutionSerializer} using a compact binary format for the state of a {@link FlowExecutionImpl}: its
+ * status, its flow sessions and their flow and view scopes. Unlike standard Java serialization, no class descriptors are
+ * written for these structures and repeated strings such as flow, state and attribute names are written only once.
+ * <p>
+ * Scope entries holding strings, numbers, booleans or nested {@link LocalAttributeMap attribute maps} are written
+ * directly. All other values, typically application objects, fall back to standard Java serialization through a single
+ * object stream shared by the whole execution, so references between application objects are preserved.
+ * <p>
+ * Flow executions that are not plain {@link FlowExecutionImpl} instances are written using standard Java serialization.
+ * Data written by standard Java serialization is recognized when deserializing, so existing snapshots remain readable
+ * after switching to this serializer.
+ * 
+ * @see org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshotFactory
+ */
+public class CompactFlowExecutionSerializer implements FlowExecutionSerializer {
+
+	private static final int MAGIC = 0x5746;
+
+	private static final int VERSION = 1;
+
+	private static final int JAVA_STREAM_MAGIC = 0xACED;
+
+	/** Longer strings may not fit the modified UTF-8 encoding of {@link DataOutputStream#writeUTF(String)}. */
+	private static final int MAX_STRING_LENGTH = 0xFFFF / 3;
+
+	private static final int NULL = 0;
+
+	private static final int STRING = 1;
+
+	private static final int STRING_REF = 2;
+
+	private static final int INTEGER = 3;
+
+	private static final int LONG = 4;
+
+	private static final int TRUE = 5;
+
+	private static final int FALSE = 6;
+
+	private static final int ATTRIBUTE_MAP = 7;
+
+	private static final int ATTRIBUTE_MAP_REF = 8;
+
+	private static final int SERIALIZED = 9;
+
+	public byte[] serialize(FlowExecution flowExecution) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+		if (isCompactable(flowExecution)) {
+			new Writer().writeExecution((FlowExecutionImpl) flowExecution, out);
+		} else {
+			try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+				oos.writeObject(flowExecution);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	public FlowExecution deserialize(byte[] data, ClassLoader classLoader) throws IOException,
+			ClassNotFoundException {
+		int magic = data.length < 2 ? -1 : ((data[0] & 0xFF) << 8) | (data[1] & 0xFF);
+		if (magic == JAVA_STREAM_MAGIC) {
+			try (ObjectInputStream ois = createObjectInputStream(new ByteArrayInputStream(data), classLoader)) {
+				return (FlowExecution) ois.readObject();
+			}
+		}
+		if (magic != MAGIC) {
+			throw new StreamCorruptedException("Not a serialized flow execution");
+		}
+		return new Reader(data, classLoader).readExecution();
+	}
+
+	/**
+	 * Create the object input stream used to read application objects and flow executions written using standard
+	 * Java serialization. The default implementation resolves classes through the thread context class loader if set,
+	 * and the given class loader otherwise.
+	 */
+	protected ObjectInputStream createObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		return new ConfigurableObjectInputStream(in, contextClassLoader != null ? contextClassLoader : classLoader);
+	}
+
+	private boolean isCompactable(FlowExecution flowExecution) {
+		if (flowExecution.getClass() != FlowExecutionImpl.class) {
+			return false;
+		}
+		for (FlowSessionImpl session : ((FlowExecutionImpl) flowExecution).getFlowSessions()) {
+			if (session.getClass() != FlowSessionImpl.class) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a single flow execution. The output starts with a header followed by the length of the compact structure
+	 * section, the structure itself and finally the Java serialization stream holding any application objects.
+	 */
+	private static class Writer {
+
+		private final ByteArrayOutputStream structure = new ByteArrayOutputStream(512);
+
+		private final DataOutputStream out = new DataOutputStream(structure);
+
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		private final Map<Object, Integer> maps = new IdentityHashMap<>();
+
+		private ByteArrayOutputStream objectData;
+
+		private ObjectOutputStream objects;
+
+		void writeExecution(FlowExecutionImpl execution, OutputStream target) throws IOException {
+			out.writeByte(execution.getStatus().ordinal());
+			List<FlowSessionImpl> sessions = execution.getFlowSessions();
+			writeInt(sessions.size());
+			for (FlowSessionImpl session : sessions) {
+				writeString(session.getFlowId());
+				writeString(session.getStateId());
+				writeValue(session.getScope());
+			}
+			if (objects != null) {
+				objects.close();
+			}
+			DataOutputStream header = new DataOutputStream(target);
+			header.writeShort(MAGIC);
+			header.writeByte(VERSION);
+			header.writeInt(structure.size());
+			structure.writeTo(target);
+			if (objectData != null) {
+				objectData.writeTo(target);
+			}
+		}
+
+		private void writeValue(Object value) throws IOException {
+			if (value == null) {
+				out.writeByte(NULL);
+			} else if (value instanceof String && ((String) value).length() <= MAX_STRING_LENGTH) {
+				writeString((String) value);
+			} else if (value instanceof Integer) {
+				out.writeByte(INTEGER);
+				writeInt((Integer) value);
+			} else if (value instanceof Long) {
+				out.writeByte(LONG);
+				out.writeLong((Long) value);
+			} else if (value instanceof Boolean) {
+				out.writeByte((Boolean) value ? TRUE : FALSE);
+			} else if (value.getClass() == LocalAttributeMap.class) {
+				writeAttributeMap((LocalAttributeMap<?>) value);
+			} else {
+				out.writeByte(SERIALIZED);
+				getObjectStream().writeObject(value);
+			}
+		}
+
+		private void writeAttributeMap(LocalAttributeMap<?> map) throws IOException {
+			Integer index = maps.get(map);
+			if (index != null) {
+				out.writeByte(ATTRIBUTE_MAP_REF);
+				writeInt(index);
+				return;
+			}
+			maps.put(map, maps.size());
+			out.writeByte(ATTRIBUTE_MAP);
+			Map<String, ?> entries = map.asMap();
+			writeInt(entries.size());
+			for (Map.Entry<String, ?> entry : entries.entrySet()) {
+				writeString(entry.getKey());
+				writeValue(entry.getValue());
+			}
+		}
+
+		private void writeString(String value) throws IOException {
+			if (value == null) {
+				out.writeByte(NULL);
+				return;
+			}
+			Integer index = strings.get(value);
+			if (index != null) {
+				out.writeByte(STRING_REF);
+				writeInt(index);
+			} else {
+				strings.put(value, strings.size());
+				out.writeByte(STRING);
+				out.writeUTF(value);
+			}
+		}
+
+		/**
+		 * Write a non-negative int using a variable length encoding, 7 bits per byte.
+		 */
+		private void writeInt(int value) throws IOException {
+			while ((value & ~0x7F) != 0) {
+				out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte(value);
+		}
+
+		private ObjectOutputStream getObjectStream() throws IOException {
+			if (objects == null) {
+				objectData = new ByteArrayOutputStream(512);
+				objects = new ObjectOutputStream(objectData);
+			}
+			return objects;
+		}
+	}
+
+	/**
+	 * Reads a single flow execution written by a {@link Writer}.
+	 */
+	private class Reader {
+
+		private final byte[] data;
+
+		private final ClassLoader classLoader;
+
+		private final DataInputStream in;
+
+		private final int objectDataOffset;
+
+		private final List<String> strings = new ArrayList<>();
+
+		private final List<LocalAttributeMap<Object>> maps = new ArrayList<>();
+
+		private ObjectInputStream objects;
+
+		Reader(byte[] data, ClassLoader classLoader) throws IOException {
+			this.data = data;
+			this.classLoader = classLoader;
+			this.in = new DataInputStream(new ByteArrayInputStream(data));
+			in.readShort();
+			int version = in.readUnsignedByte();
+			if (version != VERSION) {
+				throw new StreamCorruptedException("Unsupported serialized flow execution version " + version);
+			}
+			int structureLength = in.readInt();
+			this.objectDataOffset = 7 + structureLength;
+		}
+
+		FlowExecutionImpl readExecution() throws IOException, ClassNotFoundException {
+			try {
+				FlowExecutionStatus status = FlowExecutionStatus.values()[in.readUnsignedByte()];
+				int sessionCount = readInt();
+				LinkedList<FlowSessionImpl> sessions = new LinkedList<>();
+				FlowSessionImpl parent = null;
+				for (int i = 0; i < sessionCount; i++) {
+					String flowId = readString(in.readUnsignedByte());
+					String stateId = readString(in.readUnsignedByte());
+					@SuppressWarnings("unchecked")
+					MutableAttributeMap<Object> scope = (MutableAttributeMap<Object>) readValue();
+					FlowSessionImpl session = new FlowSessionImpl(flowId, stateId, scope, parent);
+					sessions.add(session);
+					parent = session;
+				}
+				return new FlowExecutionImpl(status, sessions);
+			} finally {
+				if (objects != null) {
+					objects.close();
+				}
+			}
+		}
+
+		private Object readValue() throws IOException, ClassNotFoundException {
+			int tag = in.readUnsignedByte();
+			switch (tag) {
+			case NULL:
+			case STRING:
+			case STRING_REF:
+				return readString(tag);
+			case INTEGER:
+				return readInt();
+			case LONG:
+				return in.readLong();
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case ATTRIBUTE_MAP:
+				return readAttributeMap();
+			case ATTRIBUTE_MAP_REF:
+				return maps.get(readInt());
+			case SERIALIZED:
+				return getObjectStream().readObject();
+			default:
+				throw new StreamCorruptedException("Unknown value tag " + tag);
+			}
+		}
+
+		private LocalAttributeMap<Object> readAttributeMap() throws IOException, ClassNotFoundException {
+			int size = readInt();
+			LocalAttributeMap<Object> map = new LocalAttributeMap<>(new HashMap<>(Math.max(16, size * 4 / 3 + 1)));
+			maps.add(map);
+			for (int i = 0; i < size; i++) {
+				String key = readString(in.readUnsignedByte());
+				map.put(key, readValue());
+			}
+			return map;
+		}
+
+		private String readString(int tag) throws IOException {
+			switch (tag) {
+			case NULL:
+				return null;
+			case STRING:
+				String value = in.readUTF();
+				strings.add(value);
+				return value;
+			case STRING_REF:
+				return strings.get(readInt());
+			default:
+				throw new StreamCorruptedException("Expected a string but found value tag " + tag);
+			}
+		}
+
+		private int readInt() throws IOException {
+			int value = 0;
+			for (int shift = 0; shift < 32; shift += 7) {
+				int b = in.readUnsignedByte();
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new StreamCorruptedException("Malformed variable length int");
+		}
+
+		private ObjectInputStream getObjectStream() throws IOException {
+			if (objects == null) {
+				objects = createObjectInputStream(
+						new ByteArrayInputStream(data, objectDataOffset, data.length - objectDataOffset), classLoader);
+			}
+			return objects;
+		}
+	}
+
+}
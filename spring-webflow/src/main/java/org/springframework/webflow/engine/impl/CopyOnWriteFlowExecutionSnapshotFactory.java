@@ -0,0 +1,160 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.webflow.core.collection.AttributeMapSnapshot;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.definition.FlowDefinition;
+import org.springframework.webflow.definition.registry.FlowDefinitionLocator;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.execution.FlowExecutionFactory;
+import org.springframework.webflow.execution.FlowExecutionKey;
+import org.springframework.webflow.execution.FlowExecutionKeyFactory;
+import org.springframework.webflow.execution.FlowExecutionStatus;
+import org.springframework.webflow.execution.repository.FlowExecutionRestorationFailureException;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotCreationException;
+
+/**
+ * A factory creating snapshots that copy the state of a {@link FlowExecutionImpl} on the heap: its status, its flow
+ * sessions and the contents of their flow and view scopes, as {@link AttributeMapSnapshot attribute map snapshots}.
+ * <p>
+ * This sits between the {@link org.springframework.webflow.execution.repository.snapshot.SimpleFlowExecutionSnapshotFactory
+ * simple factory}, which shares the live execution between all snapshots, and the
+ * {@link org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshotFactory serialized
+ * factory}, which fully serializes the execution. Adding, replacing or removing scope entries does not affect earlier
+ * snapshots, so the back button works as expected, while taking a snapshot costs little more than copying references.
+ * Scopes that did not change since the execution was restored share their copy with the previous snapshot.
+ * <p>
+ * Objects stored in the scopes are shared between the live execution and its snapshots. Changes made to such an object,
+ * rather than replacing it, are therefore visible in earlier snapshots as well. Use the serialized factory when flows
+ * modify objects in place and history must be isolated from such changes.
+ */
+public class CopyOnWriteFlowExecutionSnapshotFactory implements FlowExecutionSnapshotFactory {
+
+	private FlowExecutionFactory flowExecutionFactory;
+
+	private FlowDefinitionLocator flowDefinitionLocator;
+
+	/**
+	 * Creates a new copy-on-write flow execution snapshot factory
+	 * @param flowExecutionFactory the flow execution factory
+	 * @param flowDefinitionLocator the flow definition locator
+	 */
+	public CopyOnWriteFlowExecutionSnapshotFactory(FlowExecutionFactory flowExecutionFactory,
+			FlowDefinitionLocator flowDefinitionLocator) {
+		Assert.notNull(flowExecutionFactory, "The FlowExecutionFactory to restore transient flow state is required");
+		Assert.notNull(flowDefinitionLocator, "The FlowDefinitionLocator to restore FlowDefinitions is required");
+		this.flowExecutionFactory = flowExecutionFactory;
+		this.flowDefinitionLocator = flowDefinitionLocator;
+	}
+
+	public FlowExecutionSnapshot createSnapshot(FlowExecution flowExecution) throws SnapshotCreationException {
+		if (!(flowExecution instanceof FlowExecutionImpl)) {
+			throw new SnapshotCreationException(flowExecution, "Could not snapshot flow execution; only "
+					+ FlowExecutionImpl.class.getName() + " instances are supported by this factory", null);
+		}
+		FlowExecutionImpl execution = (FlowExecutionImpl) flowExecution;
+		List<FlowSessionImpl> flowSessions = execution.getFlowSessions();
+		List<SessionSnapshot> sessions = new ArrayList<>(flowSessions.size());
+		for (FlowSessionImpl session : flowSessions) {
+			sessions.add(new SessionSnapshot(session.getFlowId(), session.getStateId(),
+					AttributeMapSnapshot.of(session.getScope())));
+		}
+		return new CopyOnWriteFlowExecutionSnapshot(execution.getStatus(), sessions);
+	}
+
+	public FlowExecution restoreExecution(FlowExecutionSnapshot snapshot, String flowId, FlowExecutionKey key,
+			MutableAttributeMap<Object> conversationScope, FlowExecutionKeyFactory keyFactory)
+			throws FlowExecutionRestorationFailureException {
+		CopyOnWriteFlowExecutionSnapshot snapshotImpl = (CopyOnWriteFlowExecutionSnapshot) snapshot;
+		LinkedList<FlowSessionImpl> flowSessions = new LinkedList<>();
+		FlowSessionImpl parent = null;
+		for (SessionSnapshot session : snapshotImpl.sessions) {
+			parent = new FlowSessionImpl(session.flowId, session.stateId, session.scope.restore(), parent);
+			flowSessions.add(parent);
+		}
+		FlowExecutionImpl execution = new FlowExecutionImpl(snapshotImpl.status, flowSessions);
+		FlowDefinition def = flowDefinitionLocator.getFlowDefinition(flowId);
+		flowExecutionFactory.restoreFlowExecution(execution, def, key, conversationScope, flowDefinitionLocator);
+		return execution;
+	}
+
+	private static class CopyOnWriteFlowExecutionSnapshot extends FlowExecutionSnapshot {
+
+		private final FlowExecutionStatus status;
+
+		private final List<SessionSnapshot> sessions;
+
+		private CopyOnWriteFlowExecutionSnapshot(FlowExecutionStatus status, List<SessionSnapshot> sessions) {
+			this.status = status;
+			this.sessions = sessions;
+		}
+
+		/**
+		 * Snapshots are equal when they share the copies of all scopes, which is cheap to check and lets a snapshot
+		 * group recognize an unchanged execution.
+		 */
+		public boolean equals(Object o) {
+			if (!(o instanceof CopyOnWriteFlowExecutionSnapshot)) {
+				return false;
+			}
+			CopyOnWriteFlowExecutionSnapshot other = (CopyOnWriteFlowExecutionSnapshot) o;
+			return status == other.status && sessions.equals(other.sessions);
+		}
+
+		public int hashCode() {
+			return status.hashCode() * 31 + sessions.hashCode();
+		}
+	}
+
+	private static class SessionSnapshot implements Serializable {
+
+		private final String flowId;
+
+		private final String stateId;
+
+		private final AttributeMapSnapshot<Object> scope;
+
+		private SessionSnapshot(String flowId, String stateId, AttributeMapSnapshot<Object> scope) {
+			this.flowId = flowId;
+			this.stateId = stateId;
+			this.scope = scope;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof SessionSnapshot)) {
+				return false;
+			}
+			SessionSnapshot other = (SessionSnapshot) o;
+			return flowId.equals(other.flowId) && ObjectUtils.nullSafeEquals(stateId, other.stateId)
+					&& scope == other.scope;
+		}
+
+		public int hashCode() {
+			return flowId.hashCode() * 31 + System.identityHashCode(scope);
+		}
+	}
+
+}
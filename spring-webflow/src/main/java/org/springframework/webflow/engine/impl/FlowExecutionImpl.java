@@ -32,6 +32,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.Assert;
 import org.springframework.webflow.context.ExternalContext;
+import org.springframework.webflow.conversation.ChangeTrackingAttributeMap;
 import org.springframework.webflow.core.collection.AttributeMap;
 import org.springframework.webflow.core.collection.CollectionUtils;
 import org.springframework.webflow.core.collection.LocalAttributeMap;
@@ -148,8 +149,20 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
 		listeners = new FlowExecutionListeners();
 		attributes = CollectionUtils.EMPTY_ATTRIBUTE_MAP;
 		flowSessions = new LinkedList<>();
-		conversationScope = new LocalAttributeMap<>();
-		conversationScope.put(FLASH_SCOPE_ATTRIBUTE, new LocalAttributeMap<>());
+		conversationScope = new ChangeTrackingAttributeMap<>();
+		conversationScope.put(FLASH_SCOPE_ATTRIBUTE, new ChangeTrackingAttributeMap<>());
+	}
+
+	/**
+	 * Create a flow execution from previously serialized state. The transient state of the execution must be restored
+	 * by the {@link FlowExecutionImplFactory}, as after standard deserialization.
+	 * @param status the status of the execution
+	 * @param flowSessions the stack of flow sessions, root session first
+	 * @see CompactFlowExecutionSerializer
+	 */
+	FlowExecutionImpl(FlowExecutionStatus status, LinkedList<FlowSessionImpl> flowSessions) {
+		this.status = status;
+		this.flowSessions = flowSessions;
 	}
 
 	public String getCaption() {
@@ -472,6 +485,13 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
 
 	// Used by {@link FlowExecutionImplFactory}
 
+	/**
+	 * Returns the status of this execution.
+	 */
+	FlowExecutionStatus getStatus() {
+		return status;
+	}
+
 	/**
 	 * Returns the list of flow session maintained by this flow execution.
 	 */
@@ -561,8 +581,11 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
 
 	private void saveFlashMessages(RequestContext context) {
 		StateManageableMessageContext messageContext = (StateManageableMessageContext) context.getMessageContext();
-		Serializable messagesMemento = messageContext.createMessagesMemento();
-		getFlashScope().put("messagesMemento", messagesMemento);
+		// only store messages when there are some, so requests without messages leave flash scope unchanged
+		if (messageContext.getAllMessages().length > 0) {
+			Serializable messagesMemento = messageContext.createMessagesMemento();
+			getFlashScope().put("messagesMemento", messagesMemento);
+		}
 	}
 
 	private FlowExecutionException wrap(Exception e) {
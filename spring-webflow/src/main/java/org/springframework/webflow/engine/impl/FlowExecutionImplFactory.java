@@ -20,9 +20,9 @@ import java.util.Iterator;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.util.Assert;
+import org.springframework.webflow.conversation.ChangeTrackingAttributeMap;
 import org.springframework.webflow.core.collection.AttributeMap;
 import org.springframework.webflow.core.collection.CollectionUtils;
-import org.springframework.webflow.core.collection.LocalAttributeMap;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.definition.FlowDefinition;
 import org.springframework.webflow.definition.registry.FlowDefinitionLocator;
@@ -107,7 +107,7 @@ public class FlowExecutionImplFactory implements FlowExecutionFactory {
 		}
 		execution.setKey(flowExecutionKey);
 		if (conversationScope == null) {
-			conversationScope = new LocalAttributeMap<>();
+			conversationScope = new ChangeTrackingAttributeMap<>();
 		}
 		execution.setConversationScope(conversationScope);
 		execution.setAttributes(executionAttributes);
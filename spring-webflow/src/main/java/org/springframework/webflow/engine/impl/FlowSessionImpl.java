@@ -95,6 +95,22 @@ class FlowSessionImpl implements FlowSession, Externalizable {
 		this.parent = parent;
 	}
 
+	/**
+	 * Create a flow session from previously serialized state. The flow and state must be restored by the
+	 * {@link FlowExecutionImplFactory}, as after standard deserialization.
+	 * @param flowId the id of the flow of this session
+	 * @param stateId the id of the current state, may be null
+	 * @param scope the flow scope
+	 * @param parent this session's parent (may be null)
+	 * @see CompactFlowExecutionSerializer
+	 */
+	FlowSessionImpl(String flowId, String stateId, MutableAttributeMap<Object> scope, FlowSessionImpl parent) {
+		this.flowId = flowId;
+		this.stateId = stateId;
+		this.scope = scope;
+		this.parent = parent;
+	}
+
 	// implementing FlowSession
 
 	public FlowDefinition getDefinition() {
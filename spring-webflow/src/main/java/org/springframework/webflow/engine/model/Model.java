@@ -15,12 +15,15 @@
  */
 package org.springframework.webflow.engine.model;
 
+import java.io.Serializable;
+
 /**
  * Interface defining models. All models must be able to handle merging of their content with an eligible model.
+ * Models are serializable so built flow models can be cached.
  * 
  * @author Scott Andrews
  */
-public interface Model {
+public interface Model extends Serializable {
 
 	/**
 	 * Determine if the model is able to be merged into the current model
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.model.builder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.webflow.engine.model.FlowModel;
+
+/**
+ * An on-disk cache of built {@link FlowModel flow models}, used to skip parsing flow definition resources that have
+ * not changed since a previous run.
+ * <p>
+ * Models are cached after merging with their parent flows and states, keyed by a hash of the content of the flow
+ * definition resource. Each cached model records a digest of every flow model it was merged with, so a cached model is
+ * only used while the models it inherits from are unchanged as well.
+ * <p>
+ * Cached models are read with Java serialization, restricted to flow model types. The cache directory should only be
+ * writable by the application.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @see org.springframework.webflow.engine.model.builder.xml.XmlFlowModelBuilder#setFlowModelCache(FlowModelCache)
+ */
+public class FlowModelCache {
+
+	private static final Log logger = LogFactory.getLog(FlowModelCache.class);
+
+	/**
+	 * Version of the cache format, changed when flow models are built differently from the same resource.
+	 */
+	private static final String FORMAT_VERSION = "1";
+
+	private static final String SUFFIX = ".model";
+
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+			.createFilter("org.springframework.webflow.engine.model.**;java.util.*;java.lang.*;!*");
+
+	private final File directory;
+
+	/**
+	 * Create a new flow model cache storing models in the given directory, which is created if necessary.
+	 * @param directory the cache directory
+	 */
+	public FlowModelCache(File directory) {
+		Assert.notNull(directory, "The cache directory is required");
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the directory models are cached in.
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the key to cache the model built from the given resource under, a hash of the resource's content.
+	 * @param resource the flow definition resource
+	 * @return the cache key
+	 * @throws IOException when the resource cannot be read
+	 */
+	public String getKey(Resource resource) throws IOException {
+		MessageDigest digest = createDigest();
+		digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+		try (InputStream in = new DigestInputStream(resource.getInputStream(), digest)) {
+			StreamUtils.drain(in);
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Returns a digest of the content of the given flow model, used to detect changes to models a cached model was
+	 * merged with.
+	 * @param flowModel the flow model
+	 * @return the digest
+	 */
+	public String getDigest(FlowModel flowModel) {
+		MessageDigest digest = createDigest();
+		try (ObjectOutputStream out = new ObjectOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(),
+				digest))) {
+			out.writeObject(flowModel);
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to compute the digest of " + flowModel, e);
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Returns the model cached under the given key.
+	 * @param key the cache key
+	 * @return the cached model, or null if no model is cached under the key or it cannot be read
+	 */
+	public CachedFlowModel get(String key) {
+		File file = getFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			in.setObjectInputFilter(FILTER);
+			return (CachedFlowModel) in.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring unreadable cached flow model " + file, e);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Cache the given model under the given key. Failure to write the cache is logged and otherwise ignored.
+	 * @param key the cache key
+	 * @param flowModel the flow model, merged with its parents
+	 * @param dependencies the digests of the flow models the model was merged with, keyed by flow id
+	 */
+	public void put(String key, FlowModel flowModel, Map<String, String> dependencies) {
+		File file = getFile(key);
+		try {
+			Files.createDirectories(directory.toPath());
+			Path temp = Files.createTempFile(directory.toPath(), key, ".tmp");
+			try {
+				try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(
+						Files.newOutputStream(temp)))) {
+					out.writeObject(new CachedFlowModel(flowModel, dependencies));
+				}
+				Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			logger.warn("Unable to cache flow model in " + file, e);
+		}
+	}
+
+	// internal helpers
+
+	private File getFile(String key) {
+		return new File(directory, key + SUFFIX);
+	}
+
+	private MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		return HexFormat.of().formatHex(bytes);
+	}
+
+	/**
+	 * A flow model read from the cache, along with the digests of the flow models it was merged with.
+	 */
+	public static final class CachedFlowModel implements Serializable {
+
+		private final FlowModel flowModel;
+
+		private final LinkedHashMap<String, String> dependencies;
+
+		private CachedFlowModel(FlowModel flowModel, Map<String, String> dependencies) {
+			this.flowModel = flowModel;
+			this.dependencies = new LinkedHashMap<>(dependencies);
+		}
+
+		/**
+		 * Returns the cached flow model.
+		 */
+		public FlowModel getFlowModel() {
+			return flowModel;
+		}
+
+		/**
+		 * Returns the digests of the flow models the cached model was merged with, keyed by flow id.
+		 */
+		public Map<String, String> getDependencies() {
+			return Collections.unmodifiableMap(dependencies);
+		}
+	}
+
+}
@@ -0,0 +1,582 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.model.builder.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.LinkedList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.xml.SimpleSaxErrorHandler;
+import org.springframework.webflow.engine.model.AbstractActionModel;
+import org.springframework.webflow.engine.model.AbstractStateModel;
+import org.springframework.webflow.engine.model.ActionStateModel;
+import org.springframework.webflow.engine.model.AttributeModel;
+import org.springframework.webflow.engine.model.BeanImportModel;
+import org.springframework.webflow.engine.model.BinderModel;
+import org.springframework.webflow.engine.model.BindingModel;
+import org.springframework.webflow.engine.model.DecisionStateModel;
+import org.springframework.webflow.engine.model.EndStateModel;
+import org.springframework.webflow.engine.model.EvaluateModel;
+import org.springframework.webflow.engine.model.ExceptionHandlerModel;
+import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.IfModel;
+import org.springframework.webflow.engine.model.InputModel;
+import org.springframework.webflow.engine.model.OutputModel;
+import org.springframework.webflow.engine.model.PersistenceContextModel;
+import org.springframework.webflow.engine.model.RenderModel;
+import org.springframework.webflow.engine.model.SecuredModel;
+import org.springframework.webflow.engine.model.SetModel;
+import org.springframework.webflow.engine.model.SubflowStateModel;
+import org.springframework.webflow.engine.model.TransitionModel;
+import org.springframework.webflow.engine.model.VarModel;
+import org.springframework.webflow.engine.model.ViewStateModel;
+import org.springframework.webflow.engine.model.builder.FlowModelBuilderException;
+import org.springframework.webflow.engine.model.registry.FlowModelLocator;
+import org.xml.sax.SAXException;
+
+/**
+ * Builds a flow model from a XML-based flow definition resource in a single pass over a StAX stream, without loading
+ * the document into a DOM. Produces the same flow model as {@link XmlFlowModelBuilder}, including flow and state
+ * inheritance and flow model caching, while keeping only the flow model in memory.
+ * <p>
+ * When validating, the resource is first streamed through a validator for the spring-webflow schema, which does not
+ * build a document either. Validation can be turned off to read each resource only once.
+ *
+ * @see XmlFlowModelBuilder
+ */
+public class StaxFlowModelBuilder extends XmlFlowModelBuilder {
+
+	private static final Log logger = LogFactory.getLog(StaxFlowModelBuilder.class);
+
+	private static final String SCHEMA_RESOURCE = "spring-webflow.xsd";
+
+	private static volatile Schema schema;
+
+	private boolean validating = true;
+
+	private boolean loaded;
+
+	/**
+	 * Create a new StAX flow model builder that will parse the XML document at the specified resource location.
+	 * @param resource the path to the XML flow definition (required)
+	 */
+	public StaxFlowModelBuilder(Resource resource) {
+		super(resource);
+	}
+
+	/**
+	 * Create a new StAX flow model builder that will parse the XML document at the specified resource location and use
+	 * the provided locator to access parent flow models.
+	 * @param resource the path to the XML flow definition (required)
+	 * @param modelLocator a locator for parent flow models to support flow inheritance
+	 */
+	public StaxFlowModelBuilder(Resource resource, FlowModelLocator modelLocator) {
+		super(resource, modelLocator);
+	}
+
+	/**
+	 * Returns whether the XML document is validated against the spring-webflow schema.
+	 */
+	public boolean isValidating() {
+		return validating;
+	}
+
+	/**
+	 * Set if the XML document should be validated against the spring-webflow schema. Defaults to true.
+	 */
+	public void setValidating(boolean validating) {
+		this.validating = validating;
+	}
+
+	protected void loadFlowModelResource() throws IOException, ParserConfigurationException, SAXException {
+		if (validating) {
+			Validator validator = getSchema().newValidator();
+			validator.setErrorHandler(new SimpleSaxErrorHandler(logger));
+			try (InputStream is = getFlowModelResource().getInputStream()) {
+				validator.validate(new StreamSource(is));
+			}
+		}
+		loaded = true;
+	}
+
+	protected FlowModel parseFlowModel() throws FlowModelBuilderException {
+		if (!loaded) {
+			throw new FlowModelBuilderException(
+					"The FlowModelBuilder must be initialized first -- called init() before calling build()");
+		}
+		try (InputStream is = getFlowModelResource().getInputStream()) {
+			XMLStreamReader reader = createInputFactory().createXMLStreamReader(is);
+			try {
+				if (!nextElement(reader)) {
+					throw new FlowModelBuilderException("The XML flow definition document at "
+							+ getFlowModelResource() + " has no root element");
+				}
+				return parseFlow(reader);
+			} finally {
+				reader.close();
+			}
+		} catch (IOException e) {
+			throw new FlowModelBuilderException("Could not access the XML flow definition at "
+					+ getFlowModelResource(), e);
+		} catch (XMLStreamException e) {
+			throw new FlowModelBuilderException("Could not parse the XML flow definition document at "
+					+ getFlowModelResource(), e);
+		}
+	}
+
+	public void dispose() throws FlowModelBuilderException {
+		super.dispose();
+		loaded = false;
+	}
+
+	private static Schema getSchema() throws SAXException {
+		Schema schema = StaxFlowModelBuilder.schema;
+		if (schema == null) {
+			URL url = StaxFlowModelBuilder.class.getResource(SCHEMA_RESOURCE);
+			if (url == null) {
+				throw new IllegalStateException("Unable to find the spring-webflow schema '" + SCHEMA_RESOURCE
+						+ "' on the classpath");
+			}
+			schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(url);
+			StaxFlowModelBuilder.schema = schema;
+		}
+		return schema;
+	}
+
+	private XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+
+	// stream navigation
+
+	/**
+	 * Advances the reader to the start of the next child element of the current element. Returns false, with the
+	 * reader positioned at the end of the current element, if there are no more child elements.
+	 */
+	private boolean nextElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		while (nextElement(reader)) {
+			skipElement(reader);
+		}
+	}
+
+	private String getAttribute(XMLStreamReader reader, String name) {
+		String value = reader.getAttributeValue(null, name);
+		return (value != null ? value : "");
+	}
+
+	private String getTextValue(XMLStreamReader reader) throws XMLStreamException {
+		StringBuilder text = new StringBuilder();
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+					|| event == XMLStreamConstants.SPACE) {
+				text.append(reader.getText());
+			} else if (event == XMLStreamConstants.START_ELEMENT) {
+				skipElement(reader);
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				break;
+			}
+		}
+		return text.toString();
+	}
+
+	private static <T> LinkedList<T> add(LinkedList<T> list, T element) {
+		if (list == null) {
+			list = new LinkedList<>();
+		}
+		list.add(element);
+		return list;
+	}
+
+	private static LinkedList<AbstractActionModel> getActions(Children children) {
+		return (children != null ? children.actions : null);
+	}
+
+	/**
+	 * Reads the child elements of the current element into their models. Like {@link XmlFlowModelBuilder}, only the
+	 * first of the elements that may occur once is used.
+	 */
+	private Children parseChildren(XMLStreamReader reader) throws XMLStreamException {
+		Children children = new Children();
+		while (nextElement(reader)) {
+			String name = reader.getLocalName();
+			if ("attribute".equals(name)) {
+				children.attributes = add(children.attributes, parseAttribute(reader));
+			} else if ("value".equals(name)) {
+				String value = getTextValue(reader);
+				if (children.value == null) {
+					children.value = value;
+				}
+			} else if ("secured".equals(name)) {
+				SecuredModel secured = parseSecured(reader);
+				if (children.secured == null) {
+					children.secured = secured;
+				}
+			} else if ("persistence-context".equals(name)) {
+				skipElement(reader);
+				if (children.persistenceContext == null) {
+					children.persistenceContext = new PersistenceContextModel();
+				}
+			} else if ("var".equals(name)) {
+				children.vars = add(children.vars, parseVar(reader));
+			} else if ("input".equals(name)) {
+				children.inputs = add(children.inputs, parseInput(reader));
+			} else if ("output".equals(name)) {
+				children.outputs = add(children.outputs, parseOutput(reader));
+			} else if ("evaluate".equals(name)) {
+				children.actions = add(children.actions, parseEvaluate(reader));
+			} else if ("render".equals(name)) {
+				children.actions = add(children.actions, parseRender(reader));
+			} else if ("set".equals(name)) {
+				children.actions = add(children.actions, parseSet(reader));
+			} else if ("view-state".equals(name)) {
+				children.states = add(children.states, parseViewState(reader));
+			} else if ("action-state".equals(name)) {
+				children.states = add(children.states, parseActionState(reader));
+			} else if ("decision-state".equals(name)) {
+				children.states = add(children.states, parseDecisionState(reader));
+			} else if ("subflow-state".equals(name)) {
+				children.states = add(children.states, parseSubflowState(reader));
+			} else if ("end-state".equals(name)) {
+				children.states = add(children.states, parseEndState(reader));
+			} else if ("transition".equals(name)) {
+				children.transitions = add(children.transitions, parseTransition(reader));
+			} else if ("global-transitions".equals(name)) {
+				children.globalTransitions = parseSingleElement(reader, children.globalTransitions);
+			} else if ("exception-handler".equals(name)) {
+				children.exceptionHandlers = add(children.exceptionHandlers, parseExceptionHandler(reader));
+			} else if ("bean-import".equals(name)) {
+				children.beanImports = add(children.beanImports, parseBeanImport(reader));
+			} else if ("if".equals(name)) {
+				children.ifs = add(children.ifs, parseIf(reader));
+			} else if ("on-start".equals(name)) {
+				children.onStart = parseSingleElement(reader, children.onStart);
+			} else if ("on-entry".equals(name)) {
+				children.onEntry = parseSingleElement(reader, children.onEntry);
+			} else if ("on-render".equals(name)) {
+				children.onRender = parseSingleElement(reader, children.onRender);
+			} else if ("on-exit".equals(name)) {
+				children.onExit = parseSingleElement(reader, children.onExit);
+			} else if ("on-end".equals(name)) {
+				children.onEnd = parseSingleElement(reader, children.onEnd);
+			} else if ("binder".equals(name)) {
+				Children binderChildren = parseChildren(reader);
+				if (children.binder == null) {
+					children.binder = new BinderModel();
+					children.binder.setBindings(binderChildren.bindings);
+				}
+			} else if ("binding".equals(name)) {
+				children.bindings = add(children.bindings, parseBinding(reader));
+			} else {
+				skipElement(reader);
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * Reads the children of an element that may occur once, such as on-entry or global-transitions. Returns the
+	 * children read from a previous element of the same name if there was one.
+	 */
+	private Children parseSingleElement(XMLStreamReader reader, Children previous) throws XMLStreamException {
+		Children children = parseChildren(reader);
+		return (previous != null ? previous : children);
+	}
+
+	// element parsing
+
+	private FlowModel parseFlow(XMLStreamReader reader) throws XMLStreamException {
+		FlowModel flow = new FlowModel();
+		flow.setAbstract(getAttribute(reader, "abstract"));
+		flow.setParent(getAttribute(reader, "parent"));
+		flow.setStartStateId(getAttribute(reader, "start-state"));
+		Children children = parseChildren(reader);
+		flow.setAttributes(children.attributes);
+		flow.setSecured(children.secured);
+		flow.setPersistenceContext(children.persistenceContext);
+		flow.setVars(children.vars);
+		flow.setInputs(children.inputs);
+		flow.setOnStartActions(getActions(children.onStart));
+		flow.setStates(children.states);
+		flow.setGlobalTransitions(children.globalTransitions != null ? children.globalTransitions.transitions : null);
+		flow.setOnEndActions(getActions(children.onEnd));
+		flow.setOutputs(children.outputs);
+		flow.setExceptionHandlers(children.exceptionHandlers);
+		flow.setBeanImports(children.beanImports);
+		return flow;
+	}
+
+	private AttributeModel parseAttribute(XMLStreamReader reader) throws XMLStreamException {
+		String name = getAttribute(reader, "name");
+		String type = getAttribute(reader, "type");
+		String value = reader.getAttributeValue(null, "value");
+		Children children = parseChildren(reader);
+		AttributeModel attribute = new AttributeModel(name, (value != null ? value : children.value));
+		attribute.setType(type);
+		return attribute;
+	}
+
+	private SecuredModel parseSecured(XMLStreamReader reader) throws XMLStreamException {
+		SecuredModel secured = new SecuredModel(getAttribute(reader, "attributes"));
+		secured.setMatch(getAttribute(reader, "match"));
+		skipElement(reader);
+		return secured;
+	}
+
+	private VarModel parseVar(XMLStreamReader reader) throws XMLStreamException {
+		VarModel var = new VarModel(getAttribute(reader, "name"), getAttribute(reader, "class"));
+		skipElement(reader);
+		return var;
+	}
+
+	private InputModel parseInput(XMLStreamReader reader) throws XMLStreamException {
+		InputModel input = new InputModel(getAttribute(reader, "name"), getAttribute(reader, "value"));
+		input.setType(getAttribute(reader, "type"));
+		input.setRequired(getAttribute(reader, "required"));
+		skipElement(reader);
+		return input;
+	}
+
+	private OutputModel parseOutput(XMLStreamReader reader) throws XMLStreamException {
+		OutputModel output = new OutputModel(getAttribute(reader, "name"), getAttribute(reader, "value"));
+		output.setType(getAttribute(reader, "type"));
+		output.setRequired(getAttribute(reader, "required"));
+		skipElement(reader);
+		return output;
+	}
+
+	private TransitionModel parseTransition(XMLStreamReader reader) throws XMLStreamException {
+		TransitionModel transition = new TransitionModel();
+		transition.setOn(getAttribute(reader, "on"));
+		transition.setTo(getAttribute(reader, "to"));
+		transition.setOnException(getAttribute(reader, "on-exception"));
+		transition.setBind(getAttribute(reader, "bind"));
+		transition.setValidate(getAttribute(reader, "validate"));
+		transition.setValidationHints(getAttribute(reader, "validation-hints"));
+		transition.setHistory(getAttribute(reader, "history"));
+		Children children = parseChildren(reader);
+		transition.setAttributes(children.attributes);
+		transition.setSecured(children.secured);
+		transition.setActions(children.actions);
+		return transition;
+	}
+
+	private ExceptionHandlerModel parseExceptionHandler(XMLStreamReader reader) throws XMLStreamException {
+		ExceptionHandlerModel exceptionHandler = new ExceptionHandlerModel(getAttribute(reader, "bean"));
+		skipElement(reader);
+		return exceptionHandler;
+	}
+
+	private BeanImportModel parseBeanImport(XMLStreamReader reader) throws XMLStreamException {
+		BeanImportModel beanImport = new BeanImportModel(getAttribute(reader, "resource"));
+		skipElement(reader);
+		return beanImport;
+	}
+
+	private IfModel parseIf(XMLStreamReader reader) throws XMLStreamException {
+		IfModel ifModel = new IfModel(getAttribute(reader, "test"), getAttribute(reader, "then"));
+		ifModel.setElse(getAttribute(reader, "else"));
+		skipElement(reader);
+		return ifModel;
+	}
+
+	private BindingModel parseBinding(XMLStreamReader reader) throws XMLStreamException {
+		BindingModel binding = new BindingModel(getAttribute(reader, "property"), getAttribute(reader, "converter"),
+				getAttribute(reader, "required"));
+		skipElement(reader);
+		return binding;
+	}
+
+	private EvaluateModel parseEvaluate(XMLStreamReader reader) throws XMLStreamException {
+		EvaluateModel evaluate = new EvaluateModel(getAttribute(reader, "expression"));
+		evaluate.setResult(getAttribute(reader, "result"));
+		evaluate.setResultType(getAttribute(reader, "result-type"));
+		evaluate.setAttributes(parseChildren(reader).attributes);
+		return evaluate;
+	}
+
+	private RenderModel parseRender(XMLStreamReader reader) throws XMLStreamException {
+		RenderModel render = new RenderModel(getAttribute(reader, "fragments"));
+		render.setAttributes(parseChildren(reader).attributes);
+		return render;
+	}
+
+	private SetModel parseSet(XMLStreamReader reader) throws XMLStreamException {
+		SetModel set = new SetModel(getAttribute(reader, "name"), getAttribute(reader, "value"));
+		set.setType(getAttribute(reader, "type"));
+		set.setAttributes(parseChildren(reader).attributes);
+		return set;
+	}
+
+	private ActionStateModel parseActionState(XMLStreamReader reader) throws XMLStreamException {
+		ActionStateModel state = new ActionStateModel(getAttribute(reader, "id"));
+		state.setParent(getAttribute(reader, "parent"));
+		Children children = parseChildren(reader);
+		state.setAttributes(children.attributes);
+		state.setSecured(children.secured);
+		state.setOnEntryActions(getActions(children.onEntry));
+		state.setTransitions(children.transitions);
+		state.setOnExitActions(getActions(children.onExit));
+		state.setActions(children.actions);
+		state.setExceptionHandlers(children.exceptionHandlers);
+		return state;
+	}
+
+	private ViewStateModel parseViewState(XMLStreamReader reader) throws XMLStreamException {
+		ViewStateModel state = new ViewStateModel(getAttribute(reader, "id"));
+		state.setParent(getAttribute(reader, "parent"));
+		state.setView(getAttribute(reader, "view"));
+		state.setRedirect(getAttribute(reader, "redirect"));
+		state.setPopup(getAttribute(reader, "popup"));
+		state.setModel(getAttribute(reader, "model"));
+		state.setValidationHints(getAttribute(reader, "validation-hints"));
+		Children children = parseChildren(reader);
+		state.setVars(children.vars);
+		state.setBinder(children.binder);
+		state.setOnRenderActions(getActions(children.onRender));
+		state.setAttributes(children.attributes);
+		state.setSecured(children.secured);
+		state.setOnEntryActions(getActions(children.onEntry));
+		state.setExceptionHandlers(children.exceptionHandlers);
+		state.setTransitions(children.transitions);
+		state.setOnExitActions(getActions(children.onExit));
+		return state;
+	}
+
+	private DecisionStateModel parseDecisionState(XMLStreamReader reader) throws XMLStreamException {
+		DecisionStateModel state = new DecisionStateModel(getAttribute(reader, "id"));
+		state.setParent(getAttribute(reader, "parent"));
+		Children children = parseChildren(reader);
+		state.setIfs(children.ifs);
+		state.setOnExitActions(getActions(children.onExit));
+		state.setAttributes(children.attributes);
+		state.setSecured(children.secured);
+		state.setOnEntryActions(getActions(children.onEntry));
+		state.setExceptionHandlers(children.exceptionHandlers);
+		return state;
+	}
+
+	private SubflowStateModel parseSubflowState(XMLStreamReader reader) throws XMLStreamException {
+		SubflowStateModel state = new SubflowStateModel(getAttribute(reader, "id"), getAttribute(reader, "subflow"));
+		state.setParent(getAttribute(reader, "parent"));
+		state.setSubflowAttributeMapper(getAttribute(reader, "subflow-attribute-mapper"));
+		Children children = parseChildren(reader);
+		state.setInputs(children.inputs);
+		state.setOutputs(children.outputs);
+		state.setAttributes(children.attributes);
+		state.setSecured(children.secured);
+		state.setOnEntryActions(getActions(children.onEntry));
+		state.setExceptionHandlers(children.exceptionHandlers);
+		state.setTransitions(children.transitions);
+		state.setOnExitActions(getActions(children.onExit));
+		return state;
+	}
+
+	private EndStateModel parseEndState(XMLStreamReader reader) throws XMLStreamException {
+		EndStateModel state = new EndStateModel(getAttribute(reader, "id"));
+		state.setParent(getAttribute(reader, "parent"));
+		state.setView(getAttribute(reader, "view"));
+		state.setCommit(getAttribute(reader, "commit"));
+		Children children = parseChildren(reader);
+		state.setOutputs(children.outputs);
+		state.setAttributes(children.attributes);
+		state.setSecured(children.secured);
+		state.setOnEntryActions(getActions(children.onEntry));
+		state.setExceptionHandlers(children.exceptionHandlers);
+		return state;
+	}
+
+	/**
+	 * The models read from the child elements of an element. Lists are null when there were no such elements.
+	 */
+	private static class Children {
+
+		private LinkedList<AttributeModel> attributes;
+
+		private String value;
+
+		private SecuredModel secured;
+
+		private PersistenceContextModel persistenceContext;
+
+		private LinkedList<VarModel> vars;
+
+		private LinkedList<InputModel> inputs;
+
+		private LinkedList<OutputModel> outputs;
+
+		private LinkedList<AbstractActionModel> actions;
+
+		private LinkedList<AbstractStateModel> states;
+
+		private LinkedList<TransitionModel> transitions;
+
+		private Children globalTransitions;
+
+		private LinkedList<ExceptionHandlerModel> exceptionHandlers;
+
+		private LinkedList<BeanImportModel> beanImports;
+
+		private LinkedList<IfModel> ifs;
+
+		private Children onStart;
+
+		private Children onEntry;
+
+		private Children onRender;
+
+		private Children onExit;
+
+		private Children onEnd;
+
+		private BinderModel binder;
+
+		private LinkedList<BindingModel> bindings;
+	}
+
+}
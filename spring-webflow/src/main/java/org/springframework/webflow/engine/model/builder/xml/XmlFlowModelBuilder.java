@@ -17,9 +17,10 @@ package org.springframework.webflow.engine.model.builder.xml;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -52,6 +53,8 @@ import org.springframework.webflow.engine.model.TransitionModel;
 import org.springframework.webflow.engine.model.VarModel;
 import org.springframework.webflow.engine.model.ViewStateModel;
 import org.springframework.webflow.engine.model.builder.FlowModelBuilder;
+import org.springframework.webflow.engine.model.builder.FlowModelCache;
+import org.springframework.webflow.engine.model.builder.FlowModelCache.CachedFlowModel;
 import org.springframework.webflow.engine.model.builder.FlowModelBuilderException;
 import org.springframework.webflow.engine.model.registry.FlowModelHolder;
 import org.springframework.webflow.engine.model.registry.FlowModelHolderLocator;
@@ -84,6 +87,17 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 
 	private final List<FlowModelHolder> parentHolders = new ArrayList<>(4);
 
+	private FlowModelCache flowModelCache;
+
+	private String cacheKey;
+
+	private CachedFlowModel cachedFlowModel;
+
+	/**
+	 * The flow models merged into the flow model being built, keyed by flow id. Only tracked when caching.
+	 */
+	private Map<String, FlowModel> dependencies;
+
 	/**
 	 * Create a new XML flow model builder that will parse the XML document at the specified resource location and use
 	 * the provided locator to access parent flow models.
@@ -113,9 +127,26 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 		this.documentLoader = documentLoader;
 	}
 
+	/**
+	 * Sets the cache of built flow models. When set, a flow model is read from the cache instead of being parsed if
+	 * the resource and the flow models it inherits from have not changed since it was cached. Optional.
+	 * @param flowModelCache the flow model cache
+	 */
+	public void setFlowModelCache(FlowModelCache flowModelCache) {
+		this.flowModelCache = flowModelCache;
+	}
+
 	public void init() throws FlowModelBuilderException {
 		try {
-			document = documentLoader.loadDocument(resource);
+			if (flowModelCache != null) {
+				cacheKey = flowModelCache.getKey(resource);
+				cachedFlowModel = getCachedFlowModel();
+				if (cachedFlowModel != null) {
+					initLastModifiedTimestamp();
+					return;
+				}
+			}
+			loadFlowModelResource();
 			initLastModifiedTimestamp();
 		} catch (IOException e) {
 			throw new FlowModelBuilderException("Could not access the XML flow definition at " + resource, e);
@@ -128,13 +159,20 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 	}
 
 	public void build() throws FlowModelBuilderException {
-		if (getDocumentElement() == null) {
-			throw new FlowModelBuilderException(
-					"The FlowModelBuilder must be initialized first -- called init() before calling build()");
+		if (cachedFlowModel != null) {
+			flowModel = cachedFlowModel.getFlowModel();
+			addParentHolders();
+			return;
+		}
+		flowModel = parseFlowModel();
+		if (flowModelCache != null) {
+			dependencies = new LinkedHashMap<>();
 		}
-		flowModel = parseFlow(getDocumentElement());
 		mergeFlows();
 		mergeStates();
+		if (flowModelCache != null) {
+			cacheFlowModel();
+		}
 	}
 
 	public FlowModel getFlowModel() throws FlowModelBuilderException {
@@ -148,6 +186,9 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 	public void dispose() throws FlowModelBuilderException {
 		document = null;
 		flowModel = null;
+		cacheKey = null;
+		cachedFlowModel = null;
+		dependencies = null;
 	}
 
 	public Resource getFlowModelResource() {
@@ -175,6 +216,31 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 		}
 	}
 
+	/**
+	 * Loads the XML flow definition resource on {@link #init()}. The default implementation parses the resource into
+	 * a DOM document with the configured {@link DocumentLoader}.
+	 * @throws IOException if the resource could not be accessed
+	 * @throws ParserConfigurationException if the parser could not be configured
+	 * @throws SAXException if the resource could not be parsed
+	 */
+	protected void loadFlowModelResource() throws IOException, ParserConfigurationException, SAXException {
+		document = documentLoader.loadDocument(resource);
+	}
+
+	/**
+	 * Parses the flow model from the resource loaded on {@link #init()}, before parent flows and states are merged
+	 * into it. The default implementation walks the DOM document.
+	 * @return the flow model as defined in the resource
+	 * @throws FlowModelBuilderException if the resource has not been loaded or could not be parsed
+	 */
+	protected FlowModel parseFlowModel() throws FlowModelBuilderException {
+		if (getDocumentElement() == null) {
+			throw new FlowModelBuilderException(
+					"The FlowModelBuilder must be initialized first -- called init() before calling build()");
+		}
+		return parseFlow(getDocumentElement());
+	}
+
 	/**
 	 * Returns the DOM document parsed from the XML file.
 	 */
@@ -203,6 +269,40 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 		}
 	}
 
+	private CachedFlowModel getCachedFlowModel() {
+		CachedFlowModel cachedFlowModel = flowModelCache.get(cacheKey);
+		if (cachedFlowModel == null) {
+			return null;
+		}
+		for (Map.Entry<String, String> dependency : cachedFlowModel.getDependencies().entrySet()) {
+			try {
+				FlowModel flowModel = (modelLocator != null ? modelLocator.getFlowModel(dependency.getKey()) : null);
+				if (flowModel == null || !flowModelCache.getDigest(flowModel).equals(dependency.getValue())) {
+					return null;
+				}
+			} catch (NoSuchFlowModelException e) {
+				return null;
+			}
+		}
+		return cachedFlowModel;
+	}
+
+	private void cacheFlowModel() {
+		Map<String, String> digests = new LinkedHashMap<>();
+		for (Map.Entry<String, FlowModel> dependency : dependencies.entrySet()) {
+			digests.put(dependency.getKey(), flowModelCache.getDigest(dependency.getValue()));
+		}
+		flowModelCache.put(cacheKey, flowModel, digests);
+	}
+
+	private FlowModel getFlowModel(String flowId) {
+		FlowModel flowModel = modelLocator.getFlowModel(flowId);
+		if (dependencies != null) {
+			dependencies.put(flowId, flowModel);
+		}
+		return flowModel;
+	}
+
 	private FlowModel parseFlow(Element element) {
 		FlowModel flow = new FlowModel();
 		flow.setAbstract(element.getAttribute("abstract"));
@@ -636,27 +736,44 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 	}
 
 	private void mergeFlows() {
+		for (String parentFlowId : getParentFlowIds()) {
+			try {
+				flowModel.merge(getFlowModel(parentFlowId));
+			} catch (NoSuchFlowModelException e) {
+				throw new FlowModelBuilderException("Unable to find flow '" + parentFlowId + "' to inherit from", e);
+			}
+			addParentHolder(parentFlowId);
+		}
+	}
+
+	private void addParentHolders() {
+		// the parent attribute is cleared by merging, so use the recorded dependencies, which include state parents
+		for (String parentFlowId : cachedFlowModel.getDependencies().keySet()) {
+			addParentHolder(parentFlowId);
+		}
+	}
+
+	private List<String> getParentFlowIds() {
+		List<String> parentFlowIds = new ArrayList<>();
 		if (flowModel.getParent() != null) {
-			List<String> parents = Arrays.asList(StringUtils.trimArrayElements(flowModel.getParent().split(",")));
-			for (String parentFlowId : parents) {
+			for (String parentFlowId : StringUtils.trimArrayElements(flowModel.getParent().split(","))) {
 				if (StringUtils.hasText(parentFlowId)) {
-					try {
-						flowModel.merge(modelLocator.getFlowModel(parentFlowId));
-					} catch (NoSuchFlowModelException e) {
-						throw new FlowModelBuilderException("Unable to find flow '" + parentFlowId
-								+ "' to inherit from", e);
-					}
-					try {
-						if (this.modelLocator instanceof FlowModelHolderLocator) {
-							FlowModelHolderLocator locator = (FlowModelHolderLocator) this.modelLocator;
-							this.parentHolders.add(locator.getFlowModelHolder(parentFlowId));
-						}
-					} catch (NoSuchFlowModelException e) {
-						// Ignore
-					}
+					parentFlowIds.add(parentFlowId);
 				}
 			}
 		}
+		return parentFlowIds;
+	}
+
+	private void addParentHolder(String parentFlowId) {
+		try {
+			if (this.modelLocator instanceof FlowModelHolderLocator) {
+				FlowModelHolderLocator locator = (FlowModelHolderLocator) this.modelLocator;
+				this.parentHolders.add(locator.getFlowModelHolder(parentFlowId));
+			}
+		} catch (NoSuchFlowModelException e) {
+			// Ignore
+		}
 	}
 
 	private void mergeStates() {
@@ -678,7 +795,7 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 				stateId = parent.substring(hashIndex + 1).trim();
 				try {
 					if (StringUtils.hasText(flowId)) {
-						parentState = modelLocator.getFlowModel(flowId).getStateById(stateId);
+						parentState = getFlowModel(flowId).getStateById(stateId);
 					} else {
 						parentState = flowModel.getStateById(stateId);
 					}
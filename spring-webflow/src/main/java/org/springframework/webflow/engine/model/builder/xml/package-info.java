@@ -15,7 +15,8 @@
  */
 
 /**
- * Defines the XmlFlowModelBuilder, for building FlowModels from XML-based resources.
+ * Defines the XmlFlowModelBuilder, for building FlowModels from XML-based resources, and the StaxFlowModelBuilder,
+ * which builds the same FlowModels from a StAX stream without loading a DOM.
  *
  * <p>This package also contains the definition of the XML-based flow definition language, defined within
  * {@code spring-webflow.xsd}.  See this schema for a detailed description of language elements.
@@ -16,7 +16,11 @@
 package org.springframework.webflow.execution.repository.impl;
 
 import java.io.Serializable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.util.Assert;
 import org.springframework.webflow.conversation.Conversation;
 import org.springframework.webflow.conversation.ConversationManager;
 import org.springframework.webflow.execution.FlowExecution;
@@ -25,6 +29,7 @@ import org.springframework.webflow.execution.repository.FlowExecutionRestoration
 import org.springframework.webflow.execution.repository.snapshot.AbstractSnapshottingFlowExecutionRepository;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoundException;
 
 /**
@@ -50,6 +55,23 @@ import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoun
  * This repository implementation also provides support for <i>execution invalidation after completion</i>, where once a
  * logical flow execution completes, it and all of its snapshots are removed. This cleans up memory and prevents the
  * possibility of duplicate submission after completion.
+ * <p>
+ * Besides limiting the number of snapshots, the memory taken by snapshots can be limited per execution with
+ * {@link #setMaxSnapshotBytes(long)} and for all executions together with {@link #setMaxTotalSnapshotBytes(long)},
+ * based on the {@link FlowExecutionSnapshot#getSize() size} of each snapshot. When a limit is exceeded the oldest
+ * snapshots of the execution being stored are discarded, always keeping its most recent snapshot.
+ * <p>
+ * When a {@link #setSnapshotStore(MappedSnapshotStore) snapshot store} is configured, only the
+ * {@link #setMaxHeapSnapshots(int) most recent snapshots} of each execution are kept on the heap, while the data of
+ * older serialized snapshots is moved to the store until needed for back button navigation.
+ * <p>
+ * Alternatively, with a {@link #setFullSnapshotInterval(int) full snapshot interval} greater than 1, only every n-th
+ * serialized snapshot of an execution is stored in full and the others as a compact delta against the previous
+ * snapshot. Incremental snapshots cannot be combined with a snapshot store.
+ * <p>
+ * With a {@link #setSnapshotExecutor(Executor) snapshot executor} snapshots are created in the background, after the
+ * conversation lock has been released, instead of before the request completes. The next request for the same
+ * execution waits for a snapshot that is still being created.
  * 
  * @author Keith Donald
  */
@@ -67,6 +89,36 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
 	 */
 	private int maxSnapshots = 30;
 
+	/**
+	 * The maximum number of bytes the snapshots of a single execution may retain. -1 for unlimited.
+	 */
+	private long maxSnapshotBytes = -1;
+
+	/**
+	 * The budget shared by the snapshot groups of all executions, tracking the bytes they retain together.
+	 */
+	private SnapshotMemoryBudget memoryBudget = new SnapshotMemoryBudget(-1);
+
+	/**
+	 * The store older snapshots are moved to, if any.
+	 */
+	private MappedSnapshotStore snapshotStore;
+
+	/**
+	 * The number of most recent snapshots per execution kept on the heap when a snapshot store is used.
+	 */
+	private int maxHeapSnapshots = 5;
+
+	/**
+	 * Every how many snapshots of an execution a full snapshot is stored. 1 or less stores all snapshots in full.
+	 */
+	private int fullSnapshotInterval = 1;
+
+	/**
+	 * The executor creating snapshots in the background, if any.
+	 */
+	private Executor snapshotExecutor;
+
 	/**
 	 * Create a new default flow execution repository using the given state restorer, conversation manager, and snapshot
 	 * factory.
@@ -93,6 +145,122 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
 		this.maxSnapshots = maxSnapshots;
 	}
 
+	/**
+	 * Returns the max number of snapshot bytes allowed per flow execution by this repository.
+	 */
+	public long getMaxSnapshotBytes() {
+		return maxSnapshotBytes;
+	}
+
+	/**
+	 * Sets the maximum number of bytes the snapshots of a single flow execution may retain. Use -1 for unlimited, which
+	 * is the default. Only snapshots reporting their {@link FlowExecutionSnapshot#getSize() size}, such as serialized
+	 * snapshots, count towards this limit.
+	 */
+	public void setMaxSnapshotBytes(long maxSnapshotBytes) {
+		this.maxSnapshotBytes = maxSnapshotBytes;
+	}
+
+	/**
+	 * Returns the max number of snapshot bytes allowed for all flow executions of this repository together.
+	 */
+	public long getMaxTotalSnapshotBytes() {
+		return memoryBudget.getMaxBytes();
+	}
+
+	/**
+	 * Sets the maximum number of bytes the snapshots of all flow executions of this repository may retain together. Use
+	 * -1 for unlimited, which is the default. When exceeded, the execution being stored keeps only its most recent
+	 * snapshots, bringing the total back within the limit as executions continue. This is a soft limit: the snapshots
+	 * of other executions are not discarded, so the total may exceed it until those executions are stored again.
+	 */
+	public void setMaxTotalSnapshotBytes(long maxTotalSnapshotBytes) {
+		this.memoryBudget = new SnapshotMemoryBudget(maxTotalSnapshotBytes);
+	}
+
+	/**
+	 * Returns the number of bytes currently retained by the snapshots of all flow executions of this repository. The
+	 * snapshots of executions in expired sessions count until they have been garbage collected.
+	 */
+	public long getRetainedSnapshotBytes() {
+		return memoryBudget.getRetainedBytes();
+	}
+
+	/**
+	 * Returns the store older snapshots are moved to, or <code>null</code> if all snapshots are kept on the heap.
+	 */
+	public MappedSnapshotStore getSnapshotStore() {
+		return snapshotStore;
+	}
+
+	/**
+	 * Sets the store older snapshots are moved to. By default all snapshots are kept on the heap. The store is not
+	 * destroyed by this repository.
+	 * @throws IllegalStateException if a {@link #setFullSnapshotInterval(int) full snapshot interval} greater than 1
+	 * is configured
+	 */
+	public void setSnapshotStore(MappedSnapshotStore snapshotStore) {
+		Assert.state(snapshotStore == null || fullSnapshotInterval <= 1,
+				"A snapshot store cannot be used with incremental snapshots");
+		this.snapshotStore = snapshotStore;
+	}
+
+	/**
+	 * Returns the number of most recent snapshots per flow execution kept on the heap when a snapshot store is used.
+	 */
+	public int getMaxHeapSnapshots() {
+		return maxHeapSnapshots;
+	}
+
+	/**
+	 * Sets the number of most recent snapshots per flow execution kept on the heap when a
+	 * {@link #setSnapshotStore(MappedSnapshotStore) snapshot store} is used. The default is 5.
+	 */
+	public void setMaxHeapSnapshots(int maxHeapSnapshots) {
+		this.maxHeapSnapshots = maxHeapSnapshots;
+	}
+
+	/**
+	 * Returns every how many snapshots of a flow execution a full snapshot is stored.
+	 */
+	public int getFullSnapshotInterval() {
+		return fullSnapshotInterval;
+	}
+
+	/**
+	 * Sets every how many snapshots of a flow execution a full snapshot is stored, with the snapshots in between stored
+	 * as a delta against the previous one. The default is 1, storing all snapshots in full. Only applies to serialized
+	 * snapshots; deltas work best when the snapshot factory does not compress the snapshots.
+	 * @throws IllegalStateException if an interval greater than 1 is set while a
+	 * {@link #setSnapshotStore(MappedSnapshotStore) snapshot store} is configured
+	 */
+	public void setFullSnapshotInterval(int fullSnapshotInterval) {
+		Assert.state(fullSnapshotInterval <= 1 || snapshotStore == null,
+				"Incremental snapshots cannot be used with a snapshot store");
+		this.fullSnapshotInterval = fullSnapshotInterval;
+	}
+
+	/**
+	 * Returns the executor creating snapshots in the background, or <code>null</code> if snapshots are created while
+	 * storing the flow execution.
+	 */
+	public Executor getSnapshotExecutor() {
+		return snapshotExecutor;
+	}
+
+	/**
+	 * Sets an executor to create snapshots in the background, taking their creation off the request processing path.
+	 * By default snapshots are created while storing the flow execution. Use a bounded executor; when it rejects a
+	 * snapshot, the snapshot is created right away instead.
+	 * <p>
+	 * The flow execution is snapshotted as it is when the executor gets to it, so objects in flow scopes must not be
+	 * modified from outside the flow execution, for example by other requests of the same session, after the request
+	 * completes. A snapshot that cannot be created fails the next request for the execution instead of the current one.
+	 */
+	public void setSnapshotExecutor(Executor snapshotExecutor) {
+		this.snapshotExecutor = snapshotExecutor;
+	}
+
 	// supporting flow execution key factory impl
 
 	protected Serializable nextSnapshotId(Serializable executionId) {
@@ -123,14 +291,38 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
 		FlowExecutionKey key = flowExecution.getKey();
 		Conversation conversation = getConversation(key);
 		FlowExecutionSnapshotGroup snapshotGroup = getSnapshotGroup(conversation);
-		FlowExecutionSnapshot snapshot = snapshot(flowExecution);
-		if (logger.isDebugEnabled()) {
-			logger.debug("Adding snapshot to group with id " + getSnapshotId(key));
+		if (snapshotExecutor != null && snapshotGroup instanceof SimpleFlowExecutionSnapshotGroup) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating snapshot with id " + getSnapshotId(key) + " in the background");
+			}
+			FutureTask<FlowExecutionSnapshot> snapshot = new FutureTask<>(() -> snapshot(flowExecution));
+			try {
+				snapshotExecutor.execute(snapshot);
+			} catch (RejectedExecutionException e) {
+				snapshot.run();
+			}
+			((SimpleFlowExecutionSnapshotGroup) snapshotGroup).addPendingSnapshot(getSnapshotId(key), snapshot);
+		} else {
+			FlowExecutionSnapshot snapshot = snapshot(flowExecution);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Adding snapshot to group with id " + getSnapshotId(key));
+			}
+			snapshotGroup.addSnapshot(getSnapshotId(key), snapshot);
 		}
-		snapshotGroup.addSnapshot(getSnapshotId(key), snapshot);
 		putConversationScope(flowExecution, conversation);
 	}
 
+	public void removeFlowExecution(FlowExecution flowExecution) {
+		assertKeySet(flowExecution);
+		Conversation conversation = getConversation(flowExecution.getKey());
+		Object group = conversation.getAttribute(SNAPSHOT_GROUP_ATTRIBUTE);
+		if (group instanceof SimpleFlowExecutionSnapshotGroup) {
+			// release the retained bytes now rather than when the group is garbage collected
+			((SimpleFlowExecutionSnapshotGroup) group).removeAllSnapshots();
+		}
+		super.removeFlowExecution(flowExecution);
+	}
+
 	// implementing flow execution key factory
 
 	public void updateFlowExecutionSnapshot(FlowExecution execution) {
@@ -163,8 +355,20 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
 	// hooks for subclassing
 
 	protected FlowExecutionSnapshotGroup createFlowExecutionSnapshotGroup() {
-		SimpleFlowExecutionSnapshotGroup group = new SimpleFlowExecutionSnapshotGroup();
+		SimpleFlowExecutionSnapshotGroup group;
+		if (fullSnapshotInterval > 1) {
+			IncrementalFlowExecutionSnapshotGroup incrementalGroup = new IncrementalFlowExecutionSnapshotGroup();
+			incrementalGroup.setFullSnapshotInterval(fullSnapshotInterval);
+			group = incrementalGroup;
+		} else if (snapshotStore != null) {
+			TieredFlowExecutionSnapshotGroup tieredGroup = new TieredFlowExecutionSnapshotGroup();
+			tieredGroup.setMaxHeapSnapshots(maxHeapSnapshots);
+			group = tieredGroup;
+		} else {
+			group = new SimpleFlowExecutionSnapshotGroup();
+		}
 		group.setMaxSnapshots(maxSnapshots);
+		group.setMaxSnapshotBytes(maxSnapshotBytes);
 		return group;
 	}
 
@@ -180,6 +384,26 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
 			group = createFlowExecutionSnapshotGroup();
 			conversation.putAttribute(SNAPSHOT_GROUP_ATTRIBUTE, group);
 		}
+		if (group instanceof SimpleFlowExecutionSnapshotGroup) {
+			initSnapshotGroup((SimpleFlowExecutionSnapshotGroup) group);
+		}
 		return group;
 	}
+
+	/**
+	 * Restore the transient state of a group that may have been deserialized, and add a snapshot that was created in
+	 * the background for a previous request.
+	 */
+	private void initSnapshotGroup(SimpleFlowExecutionSnapshotGroup group) {
+		group.setMemoryBudget(memoryBudget);
+		if (group instanceof TieredFlowExecutionSnapshotGroup) {
+			((TieredFlowExecutionSnapshotGroup) group).setSnapshotStore(snapshotStore);
+		}
+		if (group instanceof IncrementalFlowExecutionSnapshotGroup
+				&& getSnapshotFactory() instanceof SerializedFlowExecutionSnapshotFactory) {
+			((IncrementalFlowExecutionSnapshotGroup) group)
+					.setCompressor(((SerializedFlowExecutionSnapshotFactory) getSnapshotFactory()).getCompressor());
+		}
+		group.completePendingSnapshot();
+	}
 }
\ No newline at end of file
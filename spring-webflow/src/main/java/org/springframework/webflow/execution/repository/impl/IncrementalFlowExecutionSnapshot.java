@@ -0,0 +1,153 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotCompressor;
+
+/**
+ * A snapshot that is either a full serialized snapshot, the base, or a delta against the data of a parent snapshot.
+ * <p>
+ * Parents are referenced directly rather than by snapshot id. Before a snapshot is removed from its group, the
+ * snapshots building on it are {@link #detachFromParent(SnapshotCompressor) detached} from it, so no data is retained
+ * beyond what the group accounts for.
+ * 
+ * @see IncrementalFlowExecutionSnapshotGroup
+ */
+class IncrementalFlowExecutionSnapshot extends FlowExecutionSnapshot {
+
+	private SerializedFlowExecutionSnapshot base;
+
+	private IncrementalFlowExecutionSnapshot parent;
+
+	private byte[] delta;
+
+	/**
+	 * Create a base snapshot.
+	 * @param base the full snapshot
+	 */
+	IncrementalFlowExecutionSnapshot(SerializedFlowExecutionSnapshot base) {
+		this.base = base;
+		this.parent = null;
+		this.delta = null;
+	}
+
+	private IncrementalFlowExecutionSnapshot(IncrementalFlowExecutionSnapshot parent, byte[] delta) {
+		this.base = null;
+		this.parent = parent;
+		this.delta = delta;
+	}
+
+	/**
+	 * Create a snapshot holding the delta between the data of this snapshot and the given data.
+	 * @param data the uncompressed data of this snapshot
+	 * @param childData the uncompressed data of the new snapshot
+	 */
+	IncrementalFlowExecutionSnapshot createChild(byte[] data, byte[] childData) {
+		return new IncrementalFlowExecutionSnapshot(this, SnapshotDelta.create(data, childData));
+	}
+
+	/**
+	 * Returns the number of deltas that need to be applied to the base to rebuild this snapshot.
+	 */
+	int getDepth() {
+		int depth = 0;
+		for (IncrementalFlowExecutionSnapshot snapshot = this; !snapshot.isBase(); snapshot = snapshot.parent) {
+			depth++;
+		}
+		return depth;
+	}
+
+	/**
+	 * Returns whether this is a full snapshot.
+	 */
+	boolean isBase() {
+		return base != null;
+	}
+
+	/**
+	 * Returns whether this snapshot is a delta against the given snapshot.
+	 */
+	boolean isChildOf(IncrementalFlowExecutionSnapshot snapshot) {
+		return parent != null && parent == snapshot;
+	}
+
+	/**
+	 * Stop building on the parent snapshot, so that it can be discarded. A delta against a base becomes a base itself,
+	 * compressed with the given compressor if the parent was compressed with it. A delta against another delta becomes
+	 * a delta against the parent of that delta.
+	 * @param compressor the compressor the base snapshots were created with, <code>null</code> for GZIP
+	 */
+	void detachFromParent(SnapshotCompressor compressor) throws IOException {
+		if (isBase()) {
+			return;
+		}
+		if (parent.isBase()) {
+			byte[] data = SnapshotDelta.apply(parent.base.getFlowExecutionData(compressor), delta);
+			boolean compress = compressor != null && parent.base.isCompressed();
+			base = new SerializedFlowExecutionSnapshot(compress ? compressor.compress(data) : data, compress);
+			delta = null;
+			parent = null;
+		} else {
+			byte[] grandparentData = parent.parent.getData(compressor);
+			byte[] data = SnapshotDelta.apply(SnapshotDelta.apply(grandparentData, parent.delta), delta);
+			delta = SnapshotDelta.create(grandparentData, data);
+			parent = parent.parent;
+		}
+	}
+
+	/**
+	 * Returns the full snapshot, rebuilding it from the base and the deltas in between if necessary.
+	 * @param compressor the compressor the base snapshots were created with, <code>null</code> for GZIP
+	 */
+	SerializedFlowExecutionSnapshot toSerializedSnapshot(SnapshotCompressor compressor) throws IOException {
+		if (isBase()) {
+			return base;
+		}
+		return new SerializedFlowExecutionSnapshot(getData(compressor), false);
+	}
+
+	/**
+	 * Returns the uncompressed data of this snapshot, applying the deltas from the base onwards.
+	 * @param compressor the compressor the base snapshots were created with, <code>null</code> for GZIP
+	 */
+	byte[] getData(SnapshotCompressor compressor) throws IOException {
+		Deque<IncrementalFlowExecutionSnapshot> chain = new ArrayDeque<>();
+		IncrementalFlowExecutionSnapshot snapshot = this;
+		while (!snapshot.isBase()) {
+			chain.push(snapshot);
+			snapshot = snapshot.parent;
+		}
+		byte[] data = snapshot.base.getFlowExecutionData(compressor);
+		while (!chain.isEmpty()) {
+			data = SnapshotDelta.apply(data, chain.pop().delta);
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the size of the base snapshot data, or of the delta.
+	 */
+	public long getSize() {
+		return isBase() ? base.getSize() : delta.length;
+	}
+
+}
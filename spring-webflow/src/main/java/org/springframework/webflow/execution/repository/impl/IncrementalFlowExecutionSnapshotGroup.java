@@ -0,0 +1,167 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotCompressor;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoundException;
+
+/**
+ * A snapshot group that stores only every n-th serialized snapshot in full, and the others as a delta against the
+ * data of the snapshot added before it. Consecutive snapshots of an execution usually differ in a few scope entries
+ * only, so this considerably reduces the memory taken by long running executions with many snapshots.
+ * <p>
+ * Deltas are computed on the uncompressed data. The uncompressed data of the youngest snapshot is kept while this
+ * group is in memory, so adding a snapshot does not require rebuilding the previous one. Restoring a snapshot applies
+ * at most n - 1 deltas to its base.
+ * <p>
+ * When a snapshot is removed, the snapshots building on it are rebased: onto its parent if it is a delta, or into a
+ * full snapshot if it is a base. The bytes counted against the limits of this group are thus all that it retains.
+ */
+class IncrementalFlowExecutionSnapshotGroup extends SimpleFlowExecutionSnapshotGroup {
+
+	private static final Log logger = LogFactory.getLog(IncrementalFlowExecutionSnapshotGroup.class);
+
+	/**
+	 * Every how many snapshots a full snapshot is stored.
+	 */
+	private int fullSnapshotInterval = 10;
+
+	private transient SnapshotCompressor compressor;
+
+	private transient Serializable youngestId;
+
+	private transient IncrementalFlowExecutionSnapshot youngest;
+
+	private transient byte[] youngestData;
+
+	/**
+	 * Returns every how many snapshots a full snapshot is stored.
+	 */
+	public int getFullSnapshotInterval() {
+		return fullSnapshotInterval;
+	}
+
+	/**
+	 * Sets every how many snapshots a full snapshot is stored, at least 1.
+	 */
+	public void setFullSnapshotInterval(int fullSnapshotInterval) {
+		this.fullSnapshotInterval = Math.max(1, fullSnapshotInterval);
+	}
+
+	/**
+	 * Sets the compressor the added snapshots were created with, <code>null</code> if created with GZIP compression or
+	 * not compressed. Needs to be set again after this group was deserialized.
+	 */
+	void setCompressor(SnapshotCompressor compressor) {
+		this.compressor = compressor;
+	}
+
+	public FlowExecutionSnapshot getSnapshot(Serializable snapshotId) throws SnapshotNotFoundException {
+		FlowExecutionSnapshot snapshot = super.getSnapshot(snapshotId);
+		if (snapshot instanceof IncrementalFlowExecutionSnapshot) {
+			try {
+				return ((IncrementalFlowExecutionSnapshot) snapshot).toSerializedSnapshot(compressor);
+			} catch (IOException | RuntimeException e) {
+				logger.warn("Could not rebuild incremental snapshot " + snapshotId, e);
+				throw new SnapshotNotFoundException(snapshotId);
+			}
+		}
+		return snapshot;
+	}
+
+	public void addSnapshot(Serializable snapshotId, FlowExecutionSnapshot snapshot) {
+		if (!(snapshot instanceof SerializedFlowExecutionSnapshot)) {
+			super.addSnapshot(snapshotId, snapshot);
+			youngest = null;
+			youngestData = null;
+			return;
+		}
+		SerializedFlowExecutionSnapshot serializedSnapshot = (SerializedFlowExecutionSnapshot) snapshot;
+		byte[] data;
+		try {
+			data = serializedSnapshot.getFlowExecutionData(compressor);
+		} catch (IOException e) {
+			logger.warn("Could not read the data of snapshot " + snapshotId + "; storing it in full", e);
+			super.addSnapshot(snapshotId, snapshot);
+			youngest = null;
+			youngestData = null;
+			return;
+		}
+		IncrementalFlowExecutionSnapshot incrementalSnapshot;
+		if (youngest != null && snapshotId.equals(youngestId) && Arrays.equals(data, youngestData)) {
+			// re-adding an identical youngest snapshot
+			incrementalSnapshot = youngest;
+		} else if (youngest != null && youngest.getDepth() + 1 < fullSnapshotInterval) {
+			incrementalSnapshot = youngest.createChild(youngestData, data);
+		} else {
+			incrementalSnapshot = new IncrementalFlowExecutionSnapshot(serializedSnapshot);
+		}
+		super.addSnapshot(snapshotId, incrementalSnapshot);
+		youngestId = snapshotId;
+		youngest = incrementalSnapshot;
+		youngestData = data;
+	}
+
+	public void updateSnapshot(Serializable snapshotId, FlowExecutionSnapshot snapshot) {
+		if (snapshot instanceof SerializedFlowExecutionSnapshot) {
+			snapshot = new IncrementalFlowExecutionSnapshot((SerializedFlowExecutionSnapshot) snapshot);
+		}
+		super.updateSnapshot(snapshotId, snapshot);
+		if (snapshotId.equals(youngestId)) {
+			// the next snapshot will be a new base
+			youngest = null;
+			youngestData = null;
+		}
+	}
+
+	void snapshotRemoved(FlowExecutionSnapshot snapshot) {
+		if (snapshot == youngest) {
+			youngest = null;
+			youngestData = null;
+		}
+		if (!(snapshot instanceof IncrementalFlowExecutionSnapshot)) {
+			return;
+		}
+		IncrementalFlowExecutionSnapshot removed = (IncrementalFlowExecutionSnapshot) snapshot;
+		for (Serializable snapshotId : new ArrayList<>(getSnapshotIds())) {
+			FlowExecutionSnapshot retained = peekSnapshot(snapshotId);
+			if (!(retained instanceof IncrementalFlowExecutionSnapshot)) {
+				continue;
+			}
+			IncrementalFlowExecutionSnapshot child = (IncrementalFlowExecutionSnapshot) retained;
+			if (child.isChildOf(removed)) {
+				long size = child.getSize();
+				try {
+					child.detachFromParent(compressor);
+					adjustSnapshotBytes(child.getSize() - size);
+				} catch (IOException | RuntimeException e) {
+					logger.warn("Could not rebase incremental snapshot " + snapshotId + "; removing it", e);
+					removeSnapshot(snapshotId);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+/**
+ * Off-heap storage for snapshot data that is rarely needed, such as the data of old snapshots that is only read again
+ * when a user navigates back in the browser.
+ * <p>
+ * Data is appended to memory-mapped segment files in a directory, with an in-memory index holding the location of each
+ * entry. Once the active segment is full a new one is started. When the live data in a full segment drops below the
+ * {@link #setCompactionThreshold(float) compaction threshold} because entries were released, the remaining entries are
+ * copied to the active segment in the background and the segment file is deleted. Space for the copies is reserved
+ * up front, so the data is copied without blocking concurrent writes, reads and releases.
+ * <p>
+ * Stored data is not meant to survive a restart: all segment files are deleted when this store is destroyed.
+ * 
+ * @see TieredFlowExecutionSnapshotGroup
+ */
+public class MappedSnapshotStore implements DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(MappedSnapshotStore.class);
+
+	private final File directory;
+
+	private int segmentSize = 64 * 1024 * 1024;
+
+	private float compactionThreshold = 0.5f;
+
+	/** The location of each stored entry, keyed by entry id. Guarded by this. */
+	private final Map<Long, Location> index = new HashMap<>();
+
+	/** The full segments that are no longer appended to. Guarded by this. */
+	private final List<Segment> fullSegments = new ArrayList<>();
+
+	private Segment activeSegment;
+
+	private long entryIdSequence;
+
+	private boolean compactionScheduled;
+
+	/** Serializes compactions, which do most of their work without holding the lock on this store. */
+	private final Object compactionMonitor = new Object();
+
+	private boolean destroyed;
+
+	private ExecutorService compactionExecutor;
+
+	/**
+	 * Create a new store keeping its segment files in the given directory, which is created if necessary.
+	 * @param directory the directory for segment files
+	 */
+	public MappedSnapshotStore(File directory) {
+		Assert.notNull(directory, "The segment directory is required");
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the size of each segment file in bytes.
+	 */
+	public int getSegmentSize() {
+		return segmentSize;
+	}
+
+	/**
+	 * Sets the size of each segment file in bytes. Entries larger than this are stored in a segment of their own. The
+	 * default is 64 MB.
+	 */
+	public void setSegmentSize(int segmentSize) {
+		Assert.isTrue(segmentSize > 0, "The segment size must be positive");
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Returns the fraction of live data below which a full segment is compacted.
+	 */
+	public float getCompactionThreshold() {
+		return compactionThreshold;
+	}
+
+	/**
+	 * Sets the fraction of live data below which a full segment is compacted. The default is 0.5, meaning a full
+	 * segment is compacted once more than half of its data has been released.
+	 */
+	public void setCompactionThreshold(float compactionThreshold) {
+		Assert.isTrue(compactionThreshold >= 0 && compactionThreshold <= 1,
+				"The compaction threshold must be between 0 and 1");
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	/**
+	 * Append the given data to this store.
+	 * @param data the data to store
+	 * @return the id of the new entry, for reading and releasing it
+	 * @throws IOException when the data could not be written to a segment file
+	 */
+	public synchronized long write(byte[] data) throws IOException {
+		Assert.state(!destroyed, "This snapshot store has been destroyed");
+		long entryId = ++entryIdSequence;
+		index.put(entryId, append(data));
+		return entryId;
+	}
+
+	/**
+	 * Read the data of an entry.
+	 * @param entryId the id of the entry
+	 * @return the data, or <code>null</code> if there is no such entry
+	 */
+	public synchronized byte[] read(long entryId) {
+		Location location = index.get(entryId);
+		if (location == null) {
+			return null;
+		}
+		return location.segment.read(location.offset, location.length);
+	}
+
+	/**
+	 * Release an entry, allowing the space it takes to be reclaimed. Does nothing if there is no such entry.
+	 * @param entryId the id of the entry
+	 */
+	public synchronized void release(long entryId) {
+		Location location = index.remove(entryId);
+		if (location == null) {
+			return;
+		}
+		releaseBytes(location);
+	}
+
+	/**
+	 * Returns the number of entries in this store.
+	 */
+	public synchronized int getEntryCount() {
+		return index.size();
+	}
+
+	/**
+	 * Returns the number of segment files currently in use by this store.
+	 */
+	public synchronized int getSegmentCount() {
+		return fullSegments.size() + (activeSegment != null ? 1 : 0);
+	}
+
+	public synchronized void destroy() {
+		destroyed = true;
+		if (compactionExecutor != null) {
+			compactionExecutor.shutdownNow();
+		}
+		// segments being compacted are deleted when the compaction finishes
+		for (Segment segment : fullSegments) {
+			if (!segment.compacting) {
+				segment.delete();
+			}
+		}
+		fullSegments.clear();
+		if (activeSegment != null) {
+			activeSegment.delete();
+			activeSegment = null;
+		}
+		index.clear();
+	}
+
+	/**
+	 * Compact all full segments whose live data dropped below the compaction threshold, moving their entries to the
+	 * active segment and deleting their files. Normally invoked in the background.
+	 * <p>
+	 * The entries to move and the space for their copies are determined while holding the lock on this store. The data
+	 * is then copied without the lock, and the index is finally updated for the entries that were not released in the
+	 * meantime.
+	 */
+	void compact() {
+		synchronized (compactionMonitor) {
+			List<Move> moves = prepareCompaction();
+			if (moves == null) {
+				return;
+			}
+			for (Move move : moves) {
+				Location from = move.from;
+				move.to.segment.writeAt(move.to.offset, from.segment.read(from.offset, from.length));
+			}
+			completeCompaction(moves);
+		}
+	}
+
+	private synchronized List<Move> prepareCompaction() {
+		compactionScheduled = false;
+		if (destroyed) {
+			return null;
+		}
+		List<Segment> compacted = new ArrayList<>();
+		for (Segment segment : fullSegments) {
+			if (needsCompaction(segment)) {
+				segment.compacting = true;
+				compacted.add(segment);
+			}
+		}
+		if (compacted.isEmpty()) {
+			return null;
+		}
+		List<Move> moves = new ArrayList<>();
+		try {
+			for (Map.Entry<Long, Location> entry : index.entrySet()) {
+				Location location = entry.getValue();
+				if (location.segment.compacting) {
+					moves.add(new Move(entry.getKey(), location, reserve(location.length)));
+				}
+			}
+		} catch (IOException e) {
+			// keep the entries where they are
+			logger.warn("Could not compact snapshot segments in " + directory, e);
+			for (Move move : moves) {
+				releaseBytes(move.to);
+			}
+			for (Segment segment : compacted) {
+				segment.compacting = false;
+				if (segment.liveBytes == 0) {
+					fullSegments.remove(segment);
+					segment.delete();
+				}
+			}
+			return null;
+		}
+		return moves;
+	}
+
+	private synchronized void completeCompaction(List<Move> moves) {
+		// every compacted segment still had live entries, so each is the source of a move
+		List<Segment> compacted = new ArrayList<>();
+		for (Move move : moves) {
+			if (!compacted.contains(move.from.segment)) {
+				compacted.add(move.from.segment);
+			}
+		}
+		for (Move move : moves) {
+			if (!destroyed && index.get(move.entryId) == move.from) {
+				index.put(move.entryId, move.to);
+			} else {
+				// released while being copied
+				releaseBytes(move.to);
+			}
+		}
+		fullSegments.removeAll(compacted);
+		for (Segment segment : compacted) {
+			segment.delete();
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Compacted " + compacted.size() + " snapshot segment(s) in " + directory);
+		}
+	}
+
+	private void releaseBytes(Location location) {
+		Segment segment = location.segment;
+		segment.liveBytes -= location.length;
+		if (segment != activeSegment && !segment.compacting && !destroyed) {
+			if (segment.liveBytes == 0) {
+				fullSegments.remove(segment);
+				segment.delete();
+			} else if (needsCompaction(segment)) {
+				scheduleCompaction();
+			}
+		}
+	}
+
+	private boolean needsCompaction(Segment segment) {
+		return !segment.compacting && segment.liveBytes < compactionThreshold * segment.position;
+	}
+
+	private void scheduleCompaction() {
+		if (compactionScheduled || destroyed) {
+			return;
+		}
+		if (compactionExecutor == null) {
+			compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "webflow-snapshot-compaction");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		compactionScheduled = true;
+		compactionExecutor.execute(this::compact);
+	}
+
+	private Location append(byte[] data) throws IOException {
+		Location location = reserve(data.length);
+		location.segment.writeAt(location.offset, data);
+		return location;
+	}
+
+	/**
+	 * Reserve space for an entry of the given length in the active segment, starting a new segment if necessary. The
+	 * reserved bytes count as live data.
+	 */
+	private Location reserve(int length) throws IOException {
+		if (activeSegment == null || activeSegment.remaining() < length) {
+			if (activeSegment != null) {
+				if (activeSegment.liveBytes == 0) {
+					activeSegment.delete();
+				} else {
+					fullSegments.add(activeSegment);
+				}
+			}
+			activeSegment = null;
+			// on failure the next append tries again to start a segment
+			activeSegment = new Segment(Math.max(segmentSize, length));
+		}
+		Location location = new Location(activeSegment, activeSegment.position, length);
+		activeSegment.position += length;
+		activeSegment.liveBytes += length;
+		return location;
+	}
+
+	private class Segment {
+
+		private final File file;
+
+		private final FileChannel channel;
+
+		private final MappedByteBuffer buffer;
+
+		private int position;
+
+		private int liveBytes;
+
+		/** Whether the entries of this segment are being moved by a compaction. */
+		private boolean compacting;
+
+		private Segment(int size) throws IOException {
+			if (!directory.isDirectory() && !directory.mkdirs()) {
+				throw new IOException("Could not create snapshot segment directory " + directory);
+			}
+			file = File.createTempFile("snapshots-", ".segment", directory);
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+			try {
+				buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			} catch (IOException e) {
+				channel.close();
+				file.delete();
+				throw e;
+			}
+		}
+
+		private int remaining() {
+			return buffer.capacity() - position;
+		}
+
+		private void writeAt(int offset, byte[] data) {
+			ByteBuffer view = buffer.duplicate();
+			view.position(offset);
+			view.put(data);
+		}
+
+		private byte[] read(int offset, int length) {
+			byte[] data = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			view.position(offset);
+			view.get(data);
+			return data;
+		}
+
+		private void delete() {
+			// the mapping itself is released once the buffer is garbage collected, it stays valid
+			// for a compaction still copying from or to this segment after the store was destroyed
+			try {
+				channel.close();
+			} catch (IOException e) {
+				logger.debug("Could not close snapshot segment " + file, e);
+			}
+			if (!file.delete()) {
+				file.deleteOnExit();
+			}
+		}
+	}
+
+	private static class Move {
+
+		private final long entryId;
+
+		private final Location from;
+
+		private final Location to;
+
+		private Move(long entryId, Location from, Location to) {
+			this.entryId = entryId;
+			this.from = from;
+			this.to = to;
+		}
+	}
+
+	private static class Location {
+
+		private final Segment segment;
+
+		private final int offset;
+
+		private final int length;
+
+		private Location(Segment segment, int offset, int length) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+}
@@ -15,21 +15,37 @@
  */
 package org.springframework.webflow.execution.repository.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import org.springframework.util.ObjectUtils;
+import org.springframework.webflow.conversation.ChangeTrackingAttribute;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
 import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoundException;
 
 /**
  * A group of flow execution snapshots. Simple typed data structure backed by a map and linked list. Supports expelling
- * the oldest snapshot if the maximum size is met.
+ * the oldest snapshots if the maximum number of snapshots or the maximum number of bytes is exceeded, either for this
+ * group or for all groups sharing the same {@link SnapshotMemoryBudget}. Only the snapshots of the group being added to
+ * are expelled, and its youngest snapshot is always retained.
+ * <p>
+ * Tracks whether its contents changed, so that the conversation holding it does not need to be written back when a
+ * request re-adds an identical snapshot, for example when a view is merely rendered again.
  * 
  * @author Keith Donald
  */
-class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Serializable {
+class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, ChangeTrackingAttribute, Serializable {
 
 	/**
 	 * The snapshot map; the key is a snapshot id, and the value is a {@link FlowExecutionSnapshot} object.
@@ -47,11 +63,39 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
 	 */
 	private int maxSnapshots = -1;
 
+	/**
+	 * The maximum number of bytes the snapshots in this group may retain. -1 indicates no max limit.
+	 */
+	private long maxSnapshotBytes = -1;
+
+	/**
+	 * The number of bytes retained by the snapshots in this group.
+	 */
+	private long snapshotBytes;
+
+	/**
+	 * The registration with the budget shared by all groups of a repository, if any.
+	 */
+	private transient SnapshotMemoryBudget.Registration budgetRegistration;
+
 	/**
 	 * The snapshot id sequence ensuring unique snapshot ids within this group; snapshot ids start at 1.
 	 */
 	private int snapshotIdSequence = 1;
 
+	/**
+	 * Whether the contents of this group changed since change tracking was last reset.
+	 */
+	private transient boolean changed;
+
+	/**
+	 * A snapshot that is still being created, to be added under the pending snapshot id once complete. Guarded by this
+	 * group, as it may be serialized by another thread than the one holding the conversation lock.
+	 */
+	private transient Future<FlowExecutionSnapshot> pendingSnapshot;
+
+	private transient Serializable pendingSnapshotId;
+
 	/**
 	 * Returns the maximum number of snapshots allowed in this group.
 	 */
@@ -67,6 +111,41 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
 		this.maxSnapshots = maxSnapshots;
 	}
 
+	/**
+	 * Returns the maximum number of bytes the snapshots in this group may retain.
+	 */
+	public long getMaxSnapshotBytes() {
+		return maxSnapshotBytes;
+	}
+
+	/**
+	 * Sets the maximum number of bytes the snapshots in this group may retain, as reported by
+	 * {@link FlowExecutionSnapshot#getSize()}.
+	 * @param maxSnapshotBytes the max number of bytes
+	 */
+	public void setMaxSnapshotBytes(long maxSnapshotBytes) {
+		this.maxSnapshotBytes = maxSnapshotBytes;
+	}
+
+	/**
+	 * Returns the number of bytes retained by the snapshots in this group.
+	 */
+	public long getSnapshotBytes() {
+		return snapshotBytes;
+	}
+
+	/**
+	 * Share the given budget with the other groups of a repository. Does nothing if this group already uses the
+	 * budget. Needs to be called again after this group was deserialized.
+	 * @param budget the budget shared by all groups
+	 */
+	void setMemoryBudget(SnapshotMemoryBudget budget) {
+		if (budgetRegistration == null || budgetRegistration.getBudget() != budget) {
+			budgetRegistration = budget.register(this);
+			budgetRegistration.update(snapshotBytes);
+		}
+	}
+
 	public FlowExecutionSnapshot getSnapshot(Serializable snapshotId) throws SnapshotNotFoundException {
 		FlowExecutionSnapshot snapshot = snapshots.get(snapshotId);
 		if (snapshot == null) {
@@ -76,12 +155,22 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
 	}
 
 	public void addSnapshot(Serializable snapshotId, FlowExecutionSnapshot snapshot) {
-		snapshots.put(snapshotId, snapshot);
+		FlowExecutionSnapshot previous = snapshots.put(snapshotId, snapshot);
+		if (ObjectUtils.nullSafeEquals(previous, snapshot) && snapshotId.equals(snapshotIds.peekLast())) {
+			// re-adding an identical youngest snapshot
+			adjustSnapshotBytes(snapshot.getSize() - previous.getSize());
+			return;
+		}
+		changed = true;
 		if (snapshotIds.contains(snapshotId)) {
 			snapshotIds.remove(snapshotId);
 		}
 		snapshotIds.add(snapshotId);
-		if (maxExceeded()) {
+		adjustSnapshotBytes(snapshot.getSize() - sizeOf(previous));
+		if (previous != null && previous != snapshot) {
+			snapshotRemoved(previous);
+		}
+		while (snapshotIds.size() > 1 && (maxExceeded() || maxBytesExceeded() || budgetExceeded())) {
 			removeOldestSnapshot();
 		}
 	}
@@ -90,17 +179,41 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
 		if (!snapshots.containsKey(snapshotId)) {
 			return;
 		}
-		snapshots.put(snapshotId, snapshot);
+		FlowExecutionSnapshot previous = snapshots.put(snapshotId, snapshot);
+		if (!ObjectUtils.nullSafeEquals(previous, snapshot)) {
+			changed = true;
+		}
+		adjustSnapshotBytes(snapshot.getSize() - sizeOf(previous));
+		if (previous != snapshot) {
+			snapshotRemoved(previous);
+		}
 	}
 
 	public void removeSnapshot(Serializable snapshotId) {
-		snapshots.remove(snapshotId);
+		FlowExecutionSnapshot removed = snapshots.remove(snapshotId);
+		if (removed != null) {
+			changed = true;
+			adjustSnapshotBytes(-removed.getSize());
+			snapshotRemoved(removed);
+		}
 		snapshotIds.remove(snapshotId);
 	}
 
 	public void removeAllSnapshots() {
+		Future<FlowExecutionSnapshot> snapshot = takePendingSnapshot();
+		if (snapshot != null) {
+			snapshot.cancel(false);
+		}
+		if (!snapshotIds.isEmpty()) {
+			changed = true;
+		}
+		List<FlowExecutionSnapshot> removed = new ArrayList<>(snapshots.values());
 		snapshots.clear();
 		snapshotIds.clear();
+		adjustSnapshotBytes(-snapshotBytes);
+		for (FlowExecutionSnapshot snapshot : removed) {
+			snapshotRemoved(snapshot);
+		}
 	}
 
 	public int getSnapshotCount() {
@@ -110,9 +223,69 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
 	public Serializable nextSnapshotId() {
 		Integer nextSnapshotId = snapshotIdSequence;
 		snapshotIdSequence++;
+		changed = true;
 		return nextSnapshotId;
 	}
 
+	public boolean hasChanged() {
+		return changed;
+	}
+
+	public void resetChanged() {
+		changed = false;
+	}
+
+	/**
+	 * Register a snapshot that is being created in the background. It is added to this group by
+	 * {@link #completePendingSnapshot()}, which must be called before this group is used again.
+	 * @param snapshotId the id to add the snapshot under
+	 * @param snapshot the snapshot being created
+	 */
+	void addPendingSnapshot(Serializable snapshotId, Future<FlowExecutionSnapshot> snapshot) {
+		completePendingSnapshot();
+		synchronized (this) {
+			pendingSnapshotId = snapshotId;
+			pendingSnapshot = snapshot;
+		}
+	}
+
+	/**
+	 * Wait for a snapshot that is being created, if any, and add it to this group.
+	 */
+	void completePendingSnapshot() {
+		Serializable snapshotId;
+		Future<FlowExecutionSnapshot> snapshot;
+		synchronized (this) {
+			snapshotId = pendingSnapshotId;
+			snapshot = takePendingSnapshot();
+		}
+		if (snapshot != null) {
+			addSnapshot(snapshotId, awaitSnapshot(snapshot));
+		}
+	}
+
+	/**
+	 * Returns the ids of the snapshots in this group, from oldest to youngest.
+	 */
+	List<Serializable> getSnapshotIds() {
+		return Collections.unmodifiableList(snapshotIds);
+	}
+
+	/**
+	 * Returns the snapshot stored under the given id as is, or <code>null</code> if there is no such snapshot.
+	 */
+	FlowExecutionSnapshot peekSnapshot(Serializable snapshotId) {
+		return snapshots.get(snapshotId);
+	}
+
+	/**
+	 * Called when a snapshot was removed from or replaced in this group, after the bytes it retained were subtracted.
+	 * The default implementation does nothing.
+	 * @param snapshot the snapshot that is no longer part of this group
+	 */
+	void snapshotRemoved(FlowExecutionSnapshot snapshot) {
+	}
+
 	/**
 	 * Has the maximum number of snapshots in this group been exceeded?
 	 */
@@ -120,11 +293,112 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
 		return maxSnapshots > 0 && snapshotIds.size() > maxSnapshots;
 	}
 
+	/**
+	 * Has the maximum number of bytes retained by this group been exceeded?
+	 */
+	private boolean maxBytesExceeded() {
+		return maxSnapshotBytes > 0 && snapshotBytes > maxSnapshotBytes;
+	}
+
+	/**
+	 * Has the maximum number of bytes retained by all groups sharing the budget been exceeded?
+	 */
+	private boolean budgetExceeded() {
+		return budgetRegistration != null && budgetRegistration.getBudget().isExceeded();
+	}
+
 	/**
 	 * Remove the olders snapshot from this group.
 	 */
 	private void removeOldestSnapshot() {
-		snapshots.remove(snapshotIds.removeFirst());
+		FlowExecutionSnapshot removed = snapshots.remove(snapshotIds.removeFirst());
+		adjustSnapshotBytes(-sizeOf(removed));
+		if (removed != null) {
+			snapshotRemoved(removed);
+		}
+	}
+
+	/**
+	 * Adjust the number of bytes retained by this group, for example after a snapshot in this group changed in size.
+	 * @param delta the number of bytes retained in addition
+	 */
+	void adjustSnapshotBytes(long delta) {
+		if (delta != 0) {
+			snapshotBytes += delta;
+			if (budgetRegistration != null) {
+				budgetRegistration.update(snapshotBytes);
+			}
+		}
+	}
+
+	private synchronized Future<FlowExecutionSnapshot> takePendingSnapshot() {
+		Future<FlowExecutionSnapshot> snapshot = pendingSnapshot;
+		pendingSnapshot = null;
+		return snapshot;
+	}
+
+	/**
+	 * Writes a pending snapshot, once created, next to the snapshots of this group rather than adding it, as the
+	 * thread serializing this group need not hold the conversation lock.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		Serializable snapshotId;
+		Future<FlowExecutionSnapshot> snapshot;
+		synchronized (this) {
+			snapshotId = pendingSnapshotId;
+			snapshot = pendingSnapshot;
+		}
+		out.defaultWriteObject();
+		FlowExecutionSnapshot completed = null;
+		if (snapshot != null) {
+			try {
+				completed = awaitSnapshot(snapshot);
+			} catch (RuntimeException e) {
+				// leave the snapshot out, a request for it will not find it
+			}
+		}
+		if (completed != null) {
+			out.writeObject(snapshotId);
+			out.writeObject(completed);
+		} else {
+			out.writeObject(null);
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		Serializable snapshotId = (Serializable) in.readObject();
+		if (snapshotId != null) {
+			pendingSnapshotId = snapshotId;
+			pendingSnapshot = CompletableFuture.completedFuture((FlowExecutionSnapshot) in.readObject());
+		}
+	}
+
+	private static FlowExecutionSnapshot awaitSnapshot(Future<FlowExecutionSnapshot> snapshot) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return snapshot.get();
+				} catch (InterruptedException e) {
+					// the snapshot is needed regardless, so keep waiting
+					interrupted = true;
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException) e.getCause();
+					}
+					throw new IllegalStateException("Could not create flow execution snapshot", e.getCause());
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static long sizeOf(FlowExecutionSnapshot snapshot) {
+		return snapshot != null ? snapshot.getSize() : 0;
 	}
 
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates and applies compact binary deltas between two versions of serialized snapshot data.
+ * <p>
+ * A delta is a sequence of instructions rebuilding the target data from the source data: copying a range of the
+ * source, or inserting literal bytes. Ranges to copy are found by indexing fixed-size blocks of the source and looking
+ * up a rolling hash of the target at every position, so content that moved is still copied rather than inserted.
+ */
+final class SnapshotDelta {
+
+	private static final int BLOCK_SIZE = 16;
+
+	private static final int HASH_BASE = 31;
+
+	private static final int COPY = 0;
+
+	private static final int INSERT = 1;
+
+	private SnapshotDelta() {
+	}
+
+	/**
+	 * Create a delta turning the source into the target.
+	 * @param source the source data
+	 * @param target the target data
+	 * @return the delta
+	 */
+	static byte[] create(byte[] source, byte[] target) {
+		ByteArrayOutputStream delta = new ByteArrayOutputStream(Math.max(64, target.length / 8));
+		writeVarInt(delta, target.length);
+		Map<Integer, Integer> blocks = indexBlocks(source);
+		int highPower = power(BLOCK_SIZE - 1);
+		int insertStart = 0;
+		int position = 0;
+		int hash = 0;
+		boolean hashValid = false;
+		while (position + BLOCK_SIZE <= target.length) {
+			if (!hashValid) {
+				hash = hash(target, position);
+				hashValid = true;
+			}
+			Integer sourceOffset = blocks.get(hash);
+			if (sourceOffset != null && regionMatches(source, sourceOffset, target, position, BLOCK_SIZE)) {
+				int start = position;
+				int offset = sourceOffset;
+				// extend the match backwards into pending literal bytes, then forwards
+				while (start > insertStart && offset > 0 && source[offset - 1] == target[start - 1]) {
+					start--;
+					offset--;
+				}
+				int end = position + BLOCK_SIZE;
+				int sourceEnd = sourceOffset + BLOCK_SIZE;
+				while (end < target.length && sourceEnd < source.length && source[sourceEnd] == target[end]) {
+					end++;
+					sourceEnd++;
+				}
+				writeInsert(delta, target, insertStart, start);
+				delta.write(COPY);
+				writeVarInt(delta, offset);
+				writeVarInt(delta, end - start);
+				position = end;
+				insertStart = end;
+				hashValid = false;
+			} else {
+				if (position + BLOCK_SIZE < target.length) {
+					hash = (hash - (target[position] & 0xFF) * highPower) * HASH_BASE
+							+ (target[position + BLOCK_SIZE] & 0xFF);
+				}
+				position++;
+			}
+		}
+		writeInsert(delta, target, insertStart, target.length);
+		return delta.toByteArray();
+	}
+
+	/**
+	 * Apply a delta to the source it was created for.
+	 * @param source the source data
+	 * @param delta the delta
+	 * @return the target data
+	 */
+	static byte[] apply(byte[] source, byte[] delta) {
+		int[] position = new int[1];
+		byte[] target = new byte[readVarInt(delta, position)];
+		int targetPosition = 0;
+		while (position[0] < delta.length) {
+			int instruction = delta[position[0]++];
+			if (instruction == COPY) {
+				int offset = readVarInt(delta, position);
+				int length = readVarInt(delta, position);
+				System.arraycopy(source, offset, target, targetPosition, length);
+				targetPosition += length;
+			} else if (instruction == INSERT) {
+				int length = readVarInt(delta, position);
+				System.arraycopy(delta, position[0], target, targetPosition, length);
+				position[0] += length;
+				targetPosition += length;
+			} else {
+				throw new IllegalArgumentException("Corrupt snapshot delta: unknown instruction " + instruction);
+			}
+		}
+		if (targetPosition != target.length) {
+			throw new IllegalArgumentException("Corrupt snapshot delta: expected " + target.length + " bytes but was "
+					+ targetPosition);
+		}
+		return target;
+	}
+
+	private static Map<Integer, Integer> indexBlocks(byte[] source) {
+		Map<Integer, Integer> blocks = new HashMap<>(Math.max(16, source.length / BLOCK_SIZE * 2));
+		for (int offset = 0; offset + BLOCK_SIZE <= source.length; offset += BLOCK_SIZE) {
+			blocks.putIfAbsent(hash(source, offset), offset);
+		}
+		return blocks;
+	}
+
+	private static int hash(byte[] data, int offset) {
+		int hash = 0;
+		for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+			hash = hash * HASH_BASE + (data[i] & 0xFF);
+		}
+		return hash;
+	}
+
+	private static int power(int exponent) {
+		int result = 1;
+		for (int i = 0; i < exponent; i++) {
+			result *= HASH_BASE;
+		}
+		return result;
+	}
+
+	private static boolean regionMatches(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+		for (int i = 0; i < length; i++) {
+			if (a[aOffset + i] != b[bOffset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void writeInsert(ByteArrayOutputStream delta, byte[] target, int start, int end) {
+		if (end > start) {
+			delta.write(INSERT);
+			writeVarInt(delta, end - start);
+			delta.write(target, start, end - start);
+		}
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value) {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(byte[] data, int[] position) {
+		int value = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = data[position[0]++];
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the bytes retained by all snapshot groups of a repository and whether they exceed a global maximum.
+ * <p>
+ * Snapshot groups live in conversations and may silently go away together with an expired session. Each group is
+ * therefore registered through a weak reference, and the bytes of groups that have been garbage collected are no
+ * longer counted.
+ * <p>
+ * The maximum is a soft limit enforced on write: a group being added to discards its own oldest snapshots while the
+ * budget is exceeded. The snapshots of other groups are left alone, as a group may only be changed by the request
+ * holding the lock of its conversation, so the retained bytes can stay above the maximum until those groups are
+ * written to again or collected.
+ * 
+ * @see DefaultFlowExecutionRepository#setMaxTotalSnapshotBytes(long)
+ */
+class SnapshotMemoryBudget {
+
+	private final long maxBytes;
+
+	private final AtomicLong retainedBytes = new AtomicLong();
+
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	/** Keeps the registrations reachable until their group is collected. */
+	private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Create a new budget.
+	 * @param maxBytes the max number of bytes all snapshot groups together may retain, -1 for unlimited
+	 */
+	SnapshotMemoryBudget(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Returns the max number of bytes all snapshot groups together may retain, -1 for unlimited.
+	 */
+	long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Returns the number of bytes currently retained by all registered snapshot groups.
+	 */
+	long getRetainedBytes() {
+		expungeCollectedGroups();
+		return retainedBytes.get();
+	}
+
+	/**
+	 * Has the max number of retained bytes been exceeded?
+	 */
+	boolean isExceeded() {
+		return maxBytes > 0 && getRetainedBytes() > maxBytes;
+	}
+
+	/**
+	 * Register a snapshot group with this budget.
+	 * @param group the snapshot group
+	 * @return the registration to report the bytes retained by the group to
+	 */
+	Registration register(Object group) {
+		expungeCollectedGroups();
+		Registration registration = new Registration(group, queue);
+		registrations.add(registration);
+		return registration;
+	}
+
+	private void expungeCollectedGroups() {
+		for (Reference<?> reference = queue.poll(); reference != null; reference = queue.poll()) {
+			Registration registration = (Registration) reference;
+			if (registrations.remove(registration)) {
+				retainedBytes.addAndGet(-registration.bytes.getAndSet(0));
+			}
+		}
+	}
+
+	/**
+	 * The registration of a single snapshot group.
+	 */
+	class Registration extends WeakReference<Object> {
+
+		private final AtomicLong bytes = new AtomicLong();
+
+		private Registration(Object group, ReferenceQueue<Object> queue) {
+			super(group, queue);
+		}
+
+		/**
+		 * Update the number of bytes retained by the registered group.
+		 */
+		void update(long groupBytes) {
+			if (registrations.contains(this)) {
+				retainedBytes.addAndGet(groupBytes - bytes.getAndSet(groupBytes));
+			}
+		}
+
+		/**
+		 * Returns the budget this registration belongs to.
+		 */
+		SnapshotMemoryBudget getBudget() {
+			return SnapshotMemoryBudget.this;
+		}
+	}
+
+}
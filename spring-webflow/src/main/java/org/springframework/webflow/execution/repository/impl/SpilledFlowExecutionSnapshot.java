@@ -0,0 +1,111 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectStreamException;
+import java.lang.ref.Cleaner;
+
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+
+/**
+ * Stands in for a serialized snapshot whose data was moved to a {@link MappedSnapshotStore}. The data is released from
+ * the store when this snapshot is removed from its group, or at the latest when it is garbage collected, for example
+ * together with an expired session.
+ * <p>
+ * Serializing this snapshot, for example when the session is persisted, writes a regular
+ * {@link SerializedFlowExecutionSnapshot} holding the data.
+ */
+class SpilledFlowExecutionSnapshot extends FlowExecutionSnapshot {
+
+	private static final Cleaner cleaner = Cleaner.create();
+
+	private final transient MappedSnapshotStore store;
+
+	private final transient long entryId;
+
+	private final transient boolean compressed;
+
+	private final transient Cleaner.Cleanable cleanable;
+
+	/**
+	 * Move the data of the given snapshot to the given store.
+	 * @param snapshot the snapshot to spill
+	 * @param store the store to write the snapshot data to
+	 * @throws IOException when the data could not be written
+	 */
+	SpilledFlowExecutionSnapshot(SerializedFlowExecutionSnapshot snapshot, MappedSnapshotStore store)
+			throws IOException {
+		this.store = store;
+		this.entryId = store.write(snapshot.getSnapshotData());
+		this.compressed = snapshot.isCompressed();
+		this.cleanable = cleaner.register(this, new Release(store, entryId));
+	}
+
+	/**
+	 * Read the data back from the store.
+	 * @return a snapshot holding the data
+	 * @throws IOException when the data is no longer available
+	 */
+	SerializedFlowExecutionSnapshot load() throws IOException {
+		byte[] data = store.read(entryId);
+		if (data == null) {
+			throw new IOException("Snapshot data is no longer available in the snapshot store");
+		}
+		return new SerializedFlowExecutionSnapshot(data, compressed);
+	}
+
+	/**
+	 * Release the data from the store.
+	 */
+	void release() {
+		cleanable.clean();
+	}
+
+	/**
+	 * Returns 0 as the data of this snapshot is not held on the heap.
+	 */
+	public long getSize() {
+		return 0;
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		try {
+			return load();
+		} catch (IOException e) {
+			throw new NotSerializableException(e.getMessage());
+		}
+	}
+
+	private static class Release implements Runnable {
+
+		private final MappedSnapshotStore store;
+
+		private final long entryId;
+
+		private Release(MappedSnapshotStore store, long entryId) {
+			this.store = store;
+			this.entryId = entryId;
+		}
+
+		public void run() {
+			store.release(entryId);
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoundException;
+
+/**
+ * A snapshot group that keeps only its most recent snapshots on the heap. The data of older serialized snapshots,
+ * which is typically only needed again when a user navigates back in the browser, is moved to a
+ * {@link MappedSnapshotStore} and read back on demand.
+ * <p>
+ * The store is not serialized with this group. Spilled snapshots are written out in full instead, and are spilled
+ * again once the group is deserialized and a store is {@link #setSnapshotStore(MappedSnapshotStore) set}.
+ */
+class TieredFlowExecutionSnapshotGroup extends SimpleFlowExecutionSnapshotGroup {
+
+	private static final Log logger = LogFactory.getLog(TieredFlowExecutionSnapshotGroup.class);
+
+	/**
+	 * The number of most recent snapshots kept on the heap.
+	 */
+	private int maxHeapSnapshots = 5;
+
+	private transient MappedSnapshotStore snapshotStore;
+
+	/**
+	 * Returns the number of most recent snapshots kept on the heap.
+	 */
+	public int getMaxHeapSnapshots() {
+		return maxHeapSnapshots;
+	}
+
+	/**
+	 * Sets the number of most recent snapshots kept on the heap, at least 1.
+	 */
+	public void setMaxHeapSnapshots(int maxHeapSnapshots) {
+		this.maxHeapSnapshots = Math.max(1, maxHeapSnapshots);
+	}
+
+	/**
+	 * Sets the store older snapshots are moved to. Needs to be set again after this group was deserialized.
+	 */
+	void setSnapshotStore(MappedSnapshotStore snapshotStore) {
+		this.snapshotStore = snapshotStore;
+	}
+
+	public FlowExecutionSnapshot getSnapshot(Serializable snapshotId) throws SnapshotNotFoundException {
+		FlowExecutionSnapshot snapshot = super.getSnapshot(snapshotId);
+		if (snapshot instanceof SpilledFlowExecutionSnapshot) {
+			try {
+				return ((SpilledFlowExecutionSnapshot) snapshot).load();
+			} catch (IOException e) {
+				logger.warn("Could not load spilled snapshot " + snapshotId, e);
+				throw new SnapshotNotFoundException(snapshotId);
+			}
+		}
+		return snapshot;
+	}
+
+	public void addSnapshot(Serializable snapshotId, FlowExecutionSnapshot snapshot) {
+		super.addSnapshot(snapshotId, snapshot);
+		if (snapshotStore != null) {
+			spillOldSnapshots();
+		}
+	}
+
+	void snapshotRemoved(FlowExecutionSnapshot snapshot) {
+		if (snapshot instanceof SpilledFlowExecutionSnapshot) {
+			((SpilledFlowExecutionSnapshot) snapshot).release();
+		}
+	}
+
+	private void spillOldSnapshots() {
+		int spillCount = getSnapshotCount() - maxHeapSnapshots;
+		for (Serializable snapshotId : getSnapshotIds()) {
+			if (spillCount-- <= 0) {
+				return;
+			}
+			FlowExecutionSnapshot snapshot = peekSnapshot(snapshotId);
+			if (snapshot instanceof SerializedFlowExecutionSnapshot) {
+				try {
+					updateSnapshot(snapshotId, new SpilledFlowExecutionSnapshot(
+							(SerializedFlowExecutionSnapshot) snapshot, snapshotStore));
+				} catch (IOException e) {
+					// keep the snapshot on the heap
+					logger.warn("Could not spill snapshot " + snapshotId + " to the snapshot store", e);
+					return;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.snapshot;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SnapshotCompressor} based on the JDK {@link Deflater} and {@link Inflater}. Compared to the default GZIP
+ * compression of {@link SerializedFlowExecutionSnapshot}, this compressor:
+ * <ul>
+ * <li>uses a configurable compression level, {@link Deflater#BEST_SPEED} by default;
+ * <li>optionally primes compression with a preset dictionary, typically taken from representative snapshot data, which
+ * considerably improves the compression of small snapshots;
+ * <li>reuses pooled deflater and inflater instances instead of allocating new native zlib streams for every snapshot;
+ * <li>prefixes the compressed data with the uncompressed length, so data is decompressed into one exactly sized array.
+ * </ul>
+ * <p>
+ * The compression level and dictionary must be configured before the compressor is used. Data compressed with a
+ * dictionary can only be decompressed with the same dictionary, so the dictionary must not change while snapshots
+ * compressed with it exist, for example in replicated or persisted sessions.
+ */
+public class DeflaterSnapshotCompressor implements SnapshotCompressor {
+
+	private int level = Deflater.BEST_SPEED;
+
+	private byte[] dictionary;
+
+	private final BlockingQueue<Deflater> deflaters;
+
+	private final BlockingQueue<Inflater> inflaters;
+
+	/**
+	 * Create a new compressor pooling up to as many deflaters and inflaters as there are available processors.
+	 */
+	public DeflaterSnapshotCompressor() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a new compressor.
+	 * @param poolSize the max number of idle deflaters and inflaters to keep for reuse
+	 */
+	public DeflaterSnapshotCompressor(int poolSize) {
+		Assert.isTrue(poolSize > 0, "The pool size must be greater than 0");
+		this.deflaters = new ArrayBlockingQueue<>(poolSize);
+		this.inflaters = new ArrayBlockingQueue<>(poolSize);
+	}
+
+	/**
+	 * Returns the compression level. The default is {@link Deflater#BEST_SPEED}.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Set the compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}, or
+	 * {@link Deflater#DEFAULT_COMPRESSION}. The default is {@link Deflater#BEST_SPEED}.
+	 */
+	public void setLevel(int level) {
+		Assert.isTrue(level == Deflater.DEFAULT_COMPRESSION || (level >= 0 && level <= 9),
+				"Invalid compression level " + level);
+		this.level = level;
+	}
+
+	/**
+	 * Returns the preset dictionary, <code>null</code> if none.
+	 */
+	public byte[] getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Set the preset dictionary used to prime compression. Effective dictionaries contain byte sequences that occur in
+	 * most snapshots, such as class names and attribute names, with the most common sequences at the end.
+	 * @param dictionary the dictionary, or <code>null</code> for none
+	 */
+	public void setDictionary(byte[] dictionary) {
+		this.dictionary = dictionary;
+	}
+
+	public byte[] compress(byte[] data) throws IOException {
+		Deflater deflater = deflaters.poll();
+		if (deflater == null) {
+			deflater = new Deflater(level);
+		}
+		try {
+			if (dictionary != null) {
+				deflater.setDictionary(dictionary);
+			}
+			deflater.setInput(data);
+			deflater.finish();
+			// zlib's upper bound for the compressed size, so a single deflate call normally suffices
+			byte[] buffer = new byte[4 + data.length + (data.length >> 12) + (data.length >> 14) + 19];
+			writeLength(data.length, buffer);
+			int length = 4;
+			while (!deflater.finished()) {
+				if (length == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				length += deflater.deflate(buffer, length, buffer.length - length);
+			}
+			return Arrays.copyOf(buffer, length);
+		} finally {
+			deflater.reset();
+			if (!deflaters.offer(deflater)) {
+				deflater.end();
+			}
+		}
+	}
+
+	public byte[] decompress(byte[] data) throws IOException {
+		if (data.length < 4) {
+			throw new IOException("Compressed snapshot data is truncated");
+		}
+		byte[] result = new byte[readLength(data)];
+		Inflater inflater = inflaters.poll();
+		if (inflater == null) {
+			inflater = new Inflater();
+		}
+		try {
+			inflater.setInput(data, 4, data.length - 4);
+			int length = 0;
+			while (!inflater.finished()) {
+				int inflated = inflater.inflate(result, length, result.length - length);
+				length += inflated;
+				if (inflated == 0) {
+					if (inflater.needsDictionary()) {
+						if (dictionary == null) {
+							throw new IOException("Compressed snapshot data requires a preset dictionary");
+						}
+						inflater.setDictionary(dictionary);
+					} else if (inflater.needsInput()) {
+						break;
+					} else if (length == result.length) {
+						// all data inflated, let the inflater consume the remaining checksum
+						if (inflater.inflate(new byte[1]) != 0) {
+							throw new IOException("Compressed snapshot data exceeds its recorded length");
+						}
+						break;
+					}
+				}
+			}
+			if (!inflater.finished() || length != result.length) {
+				throw new IOException("Compressed snapshot data does not match its recorded length");
+			}
+			return result;
+		} catch (DataFormatException e) {
+			throw new IOException("Compressed snapshot data is corrupt", e);
+		} finally {
+			inflater.reset();
+			if (!inflaters.offer(inflater)) {
+				inflater.end();
+			}
+		}
+	}
+
+	private static void writeLength(int length, byte[] buffer) {
+		buffer[0] = (byte) (length >>> 24);
+		buffer[1] = (byte) (length >>> 16);
+		buffer[2] = (byte) (length >>> 8);
+		buffer[3] = (byte) length;
+	}
+
+	private static int readLength(byte[] data) throws IOException {
+		int length = (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF);
+		if (length < 0) {
+			throw new IOException("Compressed snapshot data has an invalid length");
+		}
+		return length;
+	}
+
+}
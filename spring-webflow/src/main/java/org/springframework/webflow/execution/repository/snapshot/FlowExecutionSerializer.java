@@ -0,0 +1,54 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.snapshot;
+
+import java.io.IOException;
+
+import org.springframework.webflow.execution.FlowExecution;
+
+/**
+ * Strategy for converting a flow execution to and from the raw data held by a {@link SerializedFlowExecutionSnapshot}.
+ * Allows plugging an alternative binary format into the {@link SerializedFlowExecutionSnapshotFactory} instead of
+ * standard Java serialization.
+ * <p>
+ * Implementations only need to capture the state a flow execution writes when it is serialized; transient state is
+ * restored by the flow execution factory after deserialization.
+ * 
+ * @see SerializedFlowExecutionSnapshotFactory#setFlowExecutionSerializer(FlowExecutionSerializer)
+ * @see org.springframework.webflow.engine.impl.CompactFlowExecutionSerializer
+ */
+public interface FlowExecutionSerializer {
+
+	/**
+	 * Serialize the given flow execution.
+	 * @param flowExecution the flow execution to serialize
+	 * @return the serialized flow execution data
+	 * @throws java.io.NotSerializableException when the flow execution references objects that cannot be serialized
+	 * @throws IOException when something else goes wrong during serialization
+	 */
+	byte[] serialize(FlowExecution flowExecution) throws IOException;
+
+	/**
+	 * Deserialize a flow execution from the given data.
+	 * @param data the serialized flow execution data
+	 * @param classLoader the class loader to use to resolve classes during deserialization
+	 * @return the deserialized flow execution
+	 * @throws IOException when something goes wrong during deserialization
+	 * @throws ClassNotFoundException when required classes cannot be loaded
+	 */
+	FlowExecution deserialize(byte[] data, ClassLoader classLoader) throws IOException, ClassNotFoundException;
+
+}
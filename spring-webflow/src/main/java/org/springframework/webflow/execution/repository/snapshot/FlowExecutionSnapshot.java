@@ -27,4 +27,12 @@ import java.io.Serializable;
  */
 public abstract class FlowExecutionSnapshot implements Serializable {
 
+	/**
+	 * Returns the approximate number of bytes of memory held by this snapshot, for use when limiting the memory taken
+	 * by snapshots. The default implementation returns 0, meaning the size is unknown.
+	 */
+	public long getSize() {
+		return 0;
+	}
+
 }
\ No newline at end of file
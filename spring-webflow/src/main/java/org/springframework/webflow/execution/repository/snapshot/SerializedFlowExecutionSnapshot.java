@@ -17,6 +17,7 @@ package org.springframework.webflow.execution.repository.snapshot;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -34,7 +35,6 @@ import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import org.springframework.util.ClassUtils;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.webflow.execution.FlowExecution;
 
 /**
@@ -66,10 +66,25 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
 	 */
 	public SerializedFlowExecutionSnapshot(FlowExecution flowExecution, boolean compress)
 			throws SnapshotCreationException {
+		this(flowExecution, compress, null, null);
+	}
+
+	/**
+	 * Creates a new serialized flow execution snapshot.
+	 * @param flowExecution the flow execution
+	 * @param compress whether or not to apply compression during snapshotting
+	 * @param serializer the serializer to use, or <code>null</code> to use {@link #serialize(FlowExecution) standard
+	 * Java serialization}
+	 * @param compressor the compressor to use if compression is applied, or <code>null</code> to use
+	 * {@link #compress(byte[]) GZIP compression}
+	 */
+	public SerializedFlowExecutionSnapshot(FlowExecution flowExecution, boolean compress,
+			FlowExecutionSerializer serializer, SnapshotCompressor compressor) throws SnapshotCreationException {
 		try {
-			flowExecutionData = serialize(flowExecution);
+			flowExecutionData = (serializer != null ? serializer.serialize(flowExecution) : serialize(flowExecution));
 			if (compress) {
-				flowExecutionData = compress(flowExecutionData);
+				flowExecutionData = (compressor != null ? compressor.compress(flowExecutionData)
+						: compress(flowExecutionData));
 			}
 		} catch (NotSerializableException e) {
 			throw new SnapshotCreationException(flowExecution, "Could not serialize flow execution; "
@@ -81,6 +96,17 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
 		this.compressed = compress;
 	}
 
+	/**
+	 * Creates a new serialized flow execution snapshot from data previously obtained from another snapshot using
+	 * {@link #getSnapshotData()}.
+	 * @param snapshotData the flow execution data
+	 * @param compressed whether or not the data is compressed
+	 */
+	public SerializedFlowExecutionSnapshot(byte[] snapshotData, boolean compressed) {
+		this.flowExecutionData = snapshotData;
+		this.compressed = compressed;
+	}
+
 	/**
 	 * Returns whether or not the flow execution data in this snapshot is compressed.
 	 */
@@ -88,6 +114,21 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
 		return compressed;
 	}
 
+	/**
+	 * Returns the length of the, possibly compressed, flow execution data held by this snapshot.
+	 */
+	public long getSize() {
+		return flowExecutionData.length;
+	}
+
+	/**
+	 * Returns the flow execution data held by this snapshot as is, that is compressed if this snapshot is
+	 * {@link #isCompressed() compressed}. The returned array is not copied and should not be modified.
+	 */
+	public byte[] getSnapshotData() {
+		return flowExecutionData;
+	}
+
 	/**
 	 * Unmarshal the flow execution from this snapshot's data.
 	 * @param classLoader the classloader to use to resolve types during execution deserialization
@@ -95,8 +136,24 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
 	 * @throws SnapshotUnmarshalException
 	 */
 	public FlowExecution unmarshal(ClassLoader classLoader) throws SnapshotUnmarshalException {
+		return unmarshal(classLoader, null, null);
+	}
+
+	/**
+	 * Unmarshal the flow execution from this snapshot's data.
+	 * @param classLoader the classloader to use to resolve types during execution deserialization
+	 * @param serializer the serializer the snapshot was created with, or <code>null</code> if it was created using
+	 * standard Java serialization
+	 * @param compressor the compressor the snapshot was created with, or <code>null</code> if it was created using
+	 * GZIP compression or is not compressed
+	 * @return the unmarashalled flow execution
+	 * @throws SnapshotUnmarshalException
+	 */
+	public FlowExecution unmarshal(ClassLoader classLoader, FlowExecutionSerializer serializer,
+			SnapshotCompressor compressor) throws SnapshotUnmarshalException {
 		try {
-			return deserialize(getFlowExecutionData(), classLoader);
+			byte[] data = getFlowExecutionData(compressor);
+			return (serializer != null ? serializer.deserialize(data, classLoader) : deserialize(data, classLoader));
 		} catch (IOException e) {
 			throw new SnapshotUnmarshalException(
 					"IOException thrown deserializing the flow execution stored in this snapshot -- this should not happen!",
@@ -145,6 +202,17 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
 		compressed = in.readBoolean();
 	}
 
+	/**
+	 * Returns the uncompressed flow execution data held by this snapshot.
+	 * @param compressor the compressor the snapshot was created with, or <code>null</code> if it was created using
+	 * GZIP compression or is not compressed
+	 * @throws IOException when the data cannot be decompressed
+	 */
+	public byte[] getFlowExecutionData(SnapshotCompressor compressor) throws IOException {
+		return (isCompressed() && compressor != null ? compressor.decompress(flowExecutionData)
+				: getFlowExecutionData());
+	}
+
 	// subclassing hooks
 
 	/**
@@ -196,7 +264,7 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
 	 * compression is desired.
 	 */
 	protected byte[] compress(byte[] dataToCompress) throws IOException {
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(dataToCompress.length / 4 + 32);
 		try (GZIPOutputStream gzipos = new GZIPOutputStream(baos)) {
 			gzipos.write(dataToCompress);
 			gzipos.flush();
@@ -209,14 +277,25 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
 	 * decompression is desired.
 	 */
 	protected byte[] decompress(byte[] dataToDecompress) throws IOException {
-		GZIPInputStream gzipin = new GZIPInputStream(new ByteArrayInputStream(dataToDecompress));
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		try {
-			FileCopyUtils.copy(gzipin, baos);
-		} finally {
-			gzipin.close();
+		// the GZIP trailer holds the uncompressed size, allowing decompression into an exactly sized array
+		int length = dataToDecompress.length;
+		int size = (dataToDecompress[length - 4] & 0xFF) | (dataToDecompress[length - 3] & 0xFF) << 8
+				| (dataToDecompress[length - 2] & 0xFF) << 16 | (dataToDecompress[length - 1] & 0xFF) << 24;
+		byte[] result = new byte[size];
+		try (GZIPInputStream gzipin = new GZIPInputStream(new ByteArrayInputStream(dataToDecompress))) {
+			int offset = 0;
+			while (offset < size) {
+				int read = gzipin.read(result, offset, size - offset);
+				if (read == -1) {
+					throw new EOFException("Unexpected end of compressed flow execution data");
+				}
+				offset += read;
+			}
+			if (gzipin.read() != -1) {
+				throw new IOException("Compressed flow execution data does not match its recorded size");
+			}
 		}
-		return baos.toByteArray();
+		return result;
 	}
 
 	private static class ConfigurableObjectInputStream extends ObjectInputStream {
@@ -39,6 +39,10 @@ public class SerializedFlowExecutionSnapshotFactory implements FlowExecutionSnap
 
 	private boolean compress = true;
 
+	private FlowExecutionSerializer flowExecutionSerializer;
+
+	private SnapshotCompressor compressor;
+
 	/**
 	 * Creates a new serialized flow execution snapshot factory
 	 * @param flowDefinitionLocator the flow definition locator
@@ -66,8 +70,40 @@ public class SerializedFlowExecutionSnapshotFactory implements FlowExecutionSnap
 		this.compress = compress;
 	}
 
+	/**
+	 * Returns the serializer used to convert flow executions to snapshot data, <code>null</code> if standard Java
+	 * serialization is used.
+	 */
+	public FlowExecutionSerializer getFlowExecutionSerializer() {
+		return flowExecutionSerializer;
+	}
+
+	/**
+	 * Set the serializer used to convert flow executions to snapshot data. By default standard Java serialization is
+	 * used.
+	 * @see org.springframework.webflow.engine.impl.CompactFlowExecutionSerializer
+	 */
+	public void setFlowExecutionSerializer(FlowExecutionSerializer flowExecutionSerializer) {
+		this.flowExecutionSerializer = flowExecutionSerializer;
+	}
+
+	/**
+	 * Returns the compressor used when snapshots are compressed, <code>null</code> if GZIP compression is used.
+	 */
+	public SnapshotCompressor getCompressor() {
+		return compressor;
+	}
+
+	/**
+	 * Set the compressor used when snapshots are compressed. By default GZIP compression is used.
+	 * @see DeflaterSnapshotCompressor
+	 */
+	public void setCompressor(SnapshotCompressor compressor) {
+		this.compressor = compressor;
+	}
+
 	public FlowExecutionSnapshot createSnapshot(FlowExecution flowExecution) throws SnapshotCreationException {
-		return new SerializedFlowExecutionSnapshot(flowExecution, compress);
+		return new SerializedFlowExecutionSnapshot(flowExecution, compress, flowExecutionSerializer, compressor);
 	}
 
 	public FlowExecution restoreExecution(FlowExecutionSnapshot snapshot, String flowId, FlowExecutionKey key,
@@ -77,7 +113,7 @@ public class SerializedFlowExecutionSnapshotFactory implements FlowExecutionSnap
 		FlowDefinition def = flowDefinitionLocator.getFlowDefinition(flowId);
 		FlowExecution execution;
 		try {
-			execution = snapshotImpl.unmarshal(def.getClassLoader());
+			execution = snapshotImpl.unmarshal(def.getClassLoader(), flowExecutionSerializer, compressor);
 		} catch (SnapshotUnmarshalException e) {
 			throw new FlowExecutionRestorationFailureException(key, e);
 		}
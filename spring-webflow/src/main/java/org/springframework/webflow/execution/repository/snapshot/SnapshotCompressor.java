@@ -0,0 +1,44 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Strategy for compressing the data of a {@link SerializedFlowExecutionSnapshot}. Implementations must be thread-safe.
+ * 
+ * @see SerializedFlowExecutionSnapshotFactory#setCompressor(SnapshotCompressor)
+ * @see DeflaterSnapshotCompressor
+ */
+public interface SnapshotCompressor {
+
+	/**
+	 * Compress the given snapshot data.
+	 * @param data the data to compress
+	 * @return the compressed data
+	 * @throws IOException when something goes wrong during compression
+	 */
+	byte[] compress(byte[] data) throws IOException;
+
+	/**
+	 * Decompress snapshot data previously compressed by this compressor.
+	 * @param data the compressed data
+	 * @return the original data
+	 * @throws IOException when the data cannot be decompressed
+	 */
+	byte[] decompress(byte[] data) throws IOException;
+
+}
@@ -15,10 +15,12 @@
  */
 package org.springframework.webflow.expression.spel;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.webflow.action.MultiAction;
 import org.springframework.webflow.execution.Action;
 import org.springframework.webflow.execution.AnnotatedAction;
@@ -26,7 +28,7 @@ import org.springframework.webflow.execution.AnnotatedAction;
 /**
  * <p>
  * Spring EL Property Accessor that allows invocation of methods against a resolved Web Flow action, typically a
- * {@link MultiAction} in expressions.
+ * {@link MultiAction} in expressions. Compiled expressions wrap the action the same way.
  * </p>
  * 
  * @see org.springframework.webflow.action.EvaluateAction
@@ -34,7 +36,7 @@ import org.springframework.webflow.execution.AnnotatedAction;
  * @author Rossen Stoyanchev
  * @since 2.1
  */
-public class ActionPropertyAccessor implements PropertyAccessor {
+public class ActionPropertyAccessor implements CompilablePropertyAccessor {
 
 	public Class<?>[] getSpecificTargetClasses() {
 		return new Class[] { Action.class };
@@ -45,9 +47,7 @@ public class ActionPropertyAccessor implements PropertyAccessor {
 	}
 
 	public TypedValue read(EvaluationContext context, Object target, String name) {
-		AnnotatedAction annotated = new AnnotatedAction((Action) target);
-		annotated.setMethod(name);
-		return new TypedValue(annotated);
+		return new TypedValue(readAction((Action) target, name));
 	}
 
 	public boolean canWrite(EvaluationContext context, Object target, String name) {
@@ -58,4 +58,30 @@ public class ActionPropertyAccessor implements PropertyAccessor {
 		throw new AccessException("The Action cannot be set with an expression.");
 	}
 
+	public boolean isCompilable() {
+		return true;
+	}
+
+	public Class<?> getPropertyType() {
+		return AnnotatedAction.class;
+	}
+
+	public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+		CompilablePropertyAccessorSupport.loadTarget(mv, cf, Action.class);
+		CompilablePropertyAccessorSupport.invokeRead(mv, ActionPropertyAccessor.class, "readAction", propertyName,
+				Action.class, String.class);
+	}
+
+	/**
+	 * Wrap the action so that the named method is invoked on it, also used by compiled expressions.
+	 * @param action the resolved action
+	 * @param name the name of the action method
+	 * @return the annotated action
+	 */
+	public static AnnotatedAction readAction(Action action, String name) {
+		AnnotatedAction annotated = new AnnotatedAction(action);
+		annotated.setMethod(name);
+		return annotated;
+	}
+
 }
@@ -16,22 +16,25 @@
 
 package org.springframework.webflow.expression.spel;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.webflow.execution.RequestContext;
 import org.springframework.webflow.execution.RequestContextHolder;
 
 /**
- * Spring EL PropertyAccessor for reading beans in a {@link org.springframework.beans.factory.BeanFactory}.
+ * Spring EL PropertyAccessor for reading beans in a {@link org.springframework.beans.factory.BeanFactory}. Reads
+ * can be compiled by the Spring EL compiler unless {@link #getBeanFactory()} is overridden.
  * 
  * @author Rossen Stoyanchev
  * @since 2.1
  */
-public class BeanFactoryPropertyAccessor implements PropertyAccessor {
+public class BeanFactoryPropertyAccessor implements CompilablePropertyAccessor {
 
 	private static final BeanFactory EMPTY_BEAN_FACTORY = new StaticListableBeanFactory();
 
@@ -55,7 +58,34 @@ public class BeanFactoryPropertyAccessor implements PropertyAccessor {
 		throw new AccessException("Beans in a BeanFactory are read-only");
 	}
 
+	public boolean isCompilable() {
+		return (getClass() == BeanFactoryPropertyAccessor.class);
+	}
+
+	public Class<?> getPropertyType() {
+		return Object.class;
+	}
+
+	public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+		CompilablePropertyAccessorSupport.discardTarget(mv, cf);
+		CompilablePropertyAccessorSupport.invokeRead(mv, BeanFactoryPropertyAccessor.class, "readBean",
+				propertyName, String.class);
+	}
+
+	/**
+	 * Look up a bean in the application context of the active flow, also used by compiled expressions.
+	 * @param name the bean name
+	 * @return the bean instance
+	 */
+	public static Object readBean(String name) {
+		return getActiveFlowBeanFactory().getBean(name);
+	}
+
 	protected BeanFactory getBeanFactory() {
+		return getActiveFlowBeanFactory();
+	}
+
+	private static BeanFactory getActiveFlowBeanFactory() {
 		RequestContext requestContext = RequestContextHolder.getRequestContext();
 		if (requestContext != null) {
 			BeanFactory beanFactory = requestContext.getActiveFlow().getApplicationContext();
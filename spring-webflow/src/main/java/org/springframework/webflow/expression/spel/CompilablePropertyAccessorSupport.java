@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.expression.spel;
+
+import java.lang.reflect.Method;
+
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Bytecode generation helpers shared by the compilable Web Flow property accessors. The generated code delegates to a
+ * public static read method of the accessor so that compiled and interpreted evaluation resolve properties the same
+ * way.
+ *
+ * @since 3.0
+ */
+final class CompilablePropertyAccessorSupport {
+
+	private CompilablePropertyAccessorSupport() {
+	}
+
+	/**
+	 * Make sure the target of the property access is on the stack, cast to the given type.
+	 * @param mv the method visitor to generate code with
+	 * @param cf the current code flow
+	 * @param targetType the type the generated read method expects the target to be
+	 */
+	static void loadTarget(MethodVisitor mv, CodeFlow cf, Class<?> targetType) {
+		String descriptor = cf.lastDescriptor();
+		if (descriptor == null) {
+			cf.loadTarget(mv);
+		}
+		String targetDescriptor = CodeFlow.toDescriptor(targetType);
+		if (!targetDescriptor.equals(descriptor)) {
+			CodeFlow.insertCheckCast(mv, targetDescriptor);
+		}
+	}
+
+	/**
+	 * Discard the target of the property access from the stack, for accessors that do not depend on it.
+	 * @param mv the method visitor to generate code with
+	 * @param cf the current code flow
+	 */
+	static void discardTarget(MethodVisitor mv, CodeFlow cf) {
+		String descriptor = cf.lastDescriptor();
+		if (descriptor != null) {
+			mv.visitInsn("J".equals(descriptor) || "D".equals(descriptor) ? Opcodes.POP2 : Opcodes.POP);
+		}
+	}
+
+	/**
+	 * Invoke a public static read method with the property name as its last argument.
+	 * @param mv the method visitor to generate code with
+	 * @param owner the class declaring the read method
+	 * @param methodName the name of the read method
+	 * @param propertyName the name of the property being read
+	 * @param parameterTypes the parameter types of the read method
+	 */
+	static void invokeRead(MethodVisitor mv, Class<?> owner, String methodName, String propertyName,
+			Class<?>... parameterTypes) {
+		Method method = ReflectionUtils.findMethod(owner, methodName, parameterTypes);
+		Assert.state(method != null, () -> "No read method '" + methodName + "' on " + owner);
+		mv.visitLdcInsn(propertyName);
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(owner), methodName,
+				Type.getMethodDescriptor(method), false);
+	}
+
+}
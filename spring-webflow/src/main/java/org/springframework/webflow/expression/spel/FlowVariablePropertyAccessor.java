@@ -18,10 +18,12 @@ package org.springframework.webflow.expression.spel;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.webflow.execution.RequestContext;
 import org.springframework.webflow.execution.RequestContextHolder;
@@ -42,10 +44,14 @@ import org.springframework.webflow.execution.RequestContextHolder;
  * expressions. Such properties are already handled by the {@link ReflectivePropertyAccessor}.
  * </p>
  * 
+ * <p>
+ * The reserved variables can also be read by compiled expressions.
+ * </p>
+ * 
  * @author Rossen Stoyanchev
  * @since 2.1
  */
-public class FlowVariablePropertyAccessor implements PropertyAccessor {
+public class FlowVariablePropertyAccessor implements CompilablePropertyAccessor {
 
 	private static Map<String, FlowVariableAccessor> variables = new HashMap<>();
 
@@ -66,8 +72,7 @@ public class FlowVariablePropertyAccessor implements PropertyAccessor {
 	}
 
 	public TypedValue read(EvaluationContext context, Object target, String name) {
-		FlowVariableAccessor var = variables.get(name);
-		return new TypedValue(var.getVariable());
+		return new TypedValue(readVariable(name));
 	}
 
 	public boolean canWrite(EvaluationContext context, Object target, String name) {
@@ -78,6 +83,29 @@ public class FlowVariablePropertyAccessor implements PropertyAccessor {
 		throw new AccessException(name + " is a flow reserved word and cannot be set with an expression.");
 	}
 
+	public boolean isCompilable() {
+		return true;
+	}
+
+	public Class<?> getPropertyType() {
+		return Object.class;
+	}
+
+	public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+		CompilablePropertyAccessorSupport.discardTarget(mv, cf);
+		CompilablePropertyAccessorSupport.invokeRead(mv, FlowVariablePropertyAccessor.class, "readVariable",
+				propertyName, String.class);
+	}
+
+	/**
+	 * Resolve a reserved flow variable, also used by compiled expressions.
+	 * @param name the name of the variable
+	 * @return the variable value
+	 */
+	public static Object readVariable(String name) {
+		return variables.get(name).getVariable();
+	}
+
 	private interface FlowVariableAccessor {
 		Object getVariable();
 	}
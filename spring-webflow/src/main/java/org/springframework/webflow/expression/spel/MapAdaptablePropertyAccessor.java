@@ -15,19 +15,22 @@
  */
 package org.springframework.webflow.expression.spel;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.binding.collection.MapAdaptable;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 
 /**
- * Spring EL PropertyAccessor for reading from {@link MapAdaptable} and writing to {@link MutableAttributeMap}.
+ * Spring EL PropertyAccessor for reading from {@link MapAdaptable} and writing to {@link MutableAttributeMap}. Map
+ * reads are supported in compiled expressions.
  * 
  * @author Rossen Stoyanchev
  * @since 2.1
  */
-public class MapAdaptablePropertyAccessor implements PropertyAccessor {
+public class MapAdaptablePropertyAccessor implements CompilablePropertyAccessor {
 
 	public Class<?>[] getSpecificTargetClasses() {
 		return new Class[] { MapAdaptable.class };
@@ -38,8 +41,7 @@ public class MapAdaptablePropertyAccessor implements PropertyAccessor {
 	}
 
 	public TypedValue read(EvaluationContext context, Object target, String name) {
-		MapAdaptable<?, ?> map = (MapAdaptable<?, ?>) target;
-		return new TypedValue(map.asMap().get(name));
+		return new TypedValue(readEntry((MapAdaptable<?, ?>) target, name));
 	}
 
 	public boolean canWrite(EvaluationContext context, Object target, String name) {
@@ -52,4 +54,28 @@ public class MapAdaptablePropertyAccessor implements PropertyAccessor {
 		map.put(name, newValue);
 	}
 
+	public boolean isCompilable() {
+		return true;
+	}
+
+	public Class<?> getPropertyType() {
+		return Object.class;
+	}
+
+	public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+		CompilablePropertyAccessorSupport.loadTarget(mv, cf, MapAdaptable.class);
+		CompilablePropertyAccessorSupport.invokeRead(mv, MapAdaptablePropertyAccessor.class, "readEntry",
+				propertyName, MapAdaptable.class, String.class);
+	}
+
+	/**
+	 * Read an entry of the map adapted from the given object, also used by compiled expressions.
+	 * @param map the map adaptable
+	 * @param name the key of the entry
+	 * @return the entry value, possibly null
+	 */
+	public static Object readEntry(MapAdaptable<?, ?> map, String name) {
+		return map.asMap().get(name);
+	}
+
 }
@@ -17,12 +17,14 @@ package org.springframework.webflow.expression.spel;
 
 import java.util.Locale;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.webflow.execution.RequestContext;
 import org.springframework.webflow.execution.RequestContextHolder;
 
@@ -38,21 +40,25 @@ import org.springframework.webflow.execution.RequestContextHolder;
  * resourceBundle['myErrorCode']
  * </pre>
  * 
+ * <p>
+ * Message lookups are supported in compiled expressions and resolve the locale the same way.
+ * </p>
+ * 
  * @author Rossen Stoyanchev
  * @since 2.1
  */
-public class MessageSourcePropertyAccessor implements PropertyAccessor {
+public class MessageSourcePropertyAccessor implements CompilablePropertyAccessor {
 
 	public Class<?>[] getSpecificTargetClasses() {
 		return new Class[] { MessageSource.class };
 	}
 
 	public boolean canRead(EvaluationContext context, Object target, String name) {
-		return (getMessage(target, name) != null);
+		return (readMessage((MessageSource) target, name) != null);
 	}
 
 	public TypedValue read(EvaluationContext context, Object target, String name) {
-		return new TypedValue(getMessage(target, name));
+		return new TypedValue(readMessage((MessageSource) target, name));
 	}
 
 	public boolean canWrite(EvaluationContext context, Object target, String name) {
@@ -63,11 +69,31 @@ public class MessageSourcePropertyAccessor implements PropertyAccessor {
 		throw new AccessException("The flow MessageSource is not writable.");
 	}
 
-	private String getMessage(Object target, String name) {
-		return ((MessageSource) target).getMessage(name, null, null, getLocale());
+	public boolean isCompilable() {
+		return true;
+	}
+
+	public Class<?> getPropertyType() {
+		return String.class;
+	}
+
+	public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+		CompilablePropertyAccessorSupport.loadTarget(mv, cf, MessageSource.class);
+		CompilablePropertyAccessorSupport.invokeRead(mv, MessageSourcePropertyAccessor.class, "readMessage",
+				propertyName, MessageSource.class, String.class);
+	}
+
+	/**
+	 * Resolve a message in the locale of the current request, also used by compiled expressions.
+	 * @param messageSource the message source
+	 * @param code the message code
+	 * @return the message, or null if not found
+	 */
+	public static String readMessage(MessageSource messageSource, String code) {
+		return messageSource.getMessage(code, null, null, getLocale());
 	}
 
-	private Locale getLocale() {
+	private static Locale getLocale() {
 		RequestContext requestContext = RequestContextHolder.getRequestContext();
 		return (requestContext != null) ? requestContext.getExternalContext().getLocale() : LocaleContextHolder
 				.getLocale();
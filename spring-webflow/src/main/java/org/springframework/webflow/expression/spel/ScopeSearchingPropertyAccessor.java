@@ -15,19 +15,22 @@
  */
 package org.springframework.webflow.expression.spel;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.execution.RequestContext;
 
 /**
- * Spring EL PropertyAccessor that searches through all Web Flow scopes.
+ * Spring EL PropertyAccessor that searches through all Web Flow scopes, in interpreted as well as in compiled
+ * expressions.
  * 
  * @author Rossen Stoyanchev
  * @since 2.1
  */
-public class ScopeSearchingPropertyAccessor implements PropertyAccessor {
+public class ScopeSearchingPropertyAccessor implements CompilablePropertyAccessor {
 
 	public Class<?>[] getSpecificTargetClasses() {
 		return new Class[] { RequestContext.class };
@@ -38,8 +41,7 @@ public class ScopeSearchingPropertyAccessor implements PropertyAccessor {
 	}
 
 	public TypedValue read(EvaluationContext context, Object target, String name) {
-		MutableAttributeMap<Object> scope = findScopeForAttribute((RequestContext) target, name);
-		return new TypedValue(scope == null ? null : scope.get(name));
+		return new TypedValue(readAttribute((RequestContext) target, name));
 	}
 
 	public boolean canWrite(EvaluationContext context, Object target, String name) {
@@ -53,7 +55,32 @@ public class ScopeSearchingPropertyAccessor implements PropertyAccessor {
 		}
 	}
 
-	private MutableAttributeMap<Object> findScopeForAttribute(RequestContext requestContext, String name) {
+	public boolean isCompilable() {
+		return true;
+	}
+
+	public Class<?> getPropertyType() {
+		return Object.class;
+	}
+
+	public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+		CompilablePropertyAccessorSupport.loadTarget(mv, cf, RequestContext.class);
+		CompilablePropertyAccessorSupport.invokeRead(mv, ScopeSearchingPropertyAccessor.class, "readAttribute",
+				propertyName, RequestContext.class, String.class);
+	}
+
+	/**
+	 * Read an attribute from the first scope that contains it, also used by compiled expressions.
+	 * @param requestContext the current request context
+	 * @param name the attribute name
+	 * @return the attribute value, or null if no scope contains the attribute
+	 */
+	public static Object readAttribute(RequestContext requestContext, String name) {
+		MutableAttributeMap<Object> scope = findScopeForAttribute(requestContext, name);
+		return (scope == null ? null : scope.get(name));
+	}
+
+	private static MutableAttributeMap<Object> findScopeForAttribute(RequestContext requestContext, String name) {
 		if (requestContext.getRequestScope().contains(name)) {
 			return requestContext.getRequestScope();
 		}
@@ -16,20 +16,42 @@
 package org.springframework.webflow.mvc.servlet;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
 import java.util.Map;
-
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.webflow.context.servlet.AjaxHandler;
 import org.springframework.webflow.context.servlet.DefaultAjaxHandler;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.servlet.FlashMap;
 import org.springframework.web.servlet.FlashMapManager;
 import org.springframework.web.servlet.HandlerAdapter;
@@ -70,6 +92,14 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 
 	private static final String SERVER_RELATIVE_LOCATION_PREFIX = "serverRelative:";
 
+	private static final String ASYNC_FAILURE_ATTRIBUTE = FlowHandlerAdapter.class.getName() + ".ASYNC_FAILURE";
+
+	private static final String ASYNC_THREAD_NAME_PREFIX = "webflow-async-";
+
+	private static final boolean SPRING_SECURITY_PRESENT = ClassUtils.isPresent(
+			"org.springframework.security.core.context.SecurityContextHolder",
+			FlowHandlerAdapter.class.getClassLoader());
+
 	/**
 	 * The entry point into Spring Web Flow.
 	 */
@@ -93,6 +123,12 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 
 	private boolean saveOutputToFlashScopeOnRedirect;
 
+	private boolean asyncProcessing;
+
+	private Executor asyncExecutor;
+
+	private Long asyncTimeout;
+
 	/**
 	 * Creates a new flow handler adapter.
 	 * @see #setFlowExecutor(FlowExecutor)
@@ -228,6 +264,75 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 		return this.saveOutputToFlashScopeOnRedirect;
 	}
 
+	/**
+	 * Set whether flow requests should be processed asynchronously. When enabled, requests supporting asynchronous
+	 * processing are put in asynchronous mode and the flow execution, including any wait for the conversation lock,
+	 * runs on the {@link #setAsyncExecutor(Executor) async executor}, which also sends redirects and renders the
+	 * response before completing the request. This frees container threads from slow or contended flow executions.
+	 * <p>
+	 * Off by default. Requires the DispatcherServlet and any filters in front of it to support asynchronous requests.
+	 * <p>
+	 * The thread processing the flow request is given the locale context of the request and, if Spring Security is
+	 * present, its security context, so that secured flows are authorized as usual. The request is exposed through
+	 * {@link RequestContextHolder}. Other thread-bound state, such as a transaction or a logging context set up by a
+	 * filter, is not carried over.
+	 * @param asyncProcessing whether to process flow requests asynchronously
+	 * @since 3.0
+	 */
+	public void setAsyncProcessing(boolean asyncProcessing) {
+		this.asyncProcessing = asyncProcessing;
+	}
+
+	/**
+	 * Whether flow requests are processed asynchronously.
+	 * @since 3.0
+	 */
+	public boolean getAsyncProcessing() {
+		return asyncProcessing;
+	}
+
+	/**
+	 * Set the executor running flow requests in {@link #setAsyncProcessing(boolean) asynchronous mode}. If not set, a
+	 * {@link SimpleAsyncTaskExecutor} creating a virtual thread per request is used on Java 21 and later, and a
+	 * platform thread per request otherwise, in which case configuring a bounded thread pool is recommended.
+	 * @param asyncExecutor the executor for asynchronous flow requests
+	 * @since 3.0
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * Returns the executor running flow requests in asynchronous mode.
+	 * @since 3.0
+	 */
+	public Executor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	/**
+	 * Set the time in milliseconds before an asynchronous flow request times out. If not set, the default timeout of
+	 * the servlet container is used. It should exceed the time flow executions may wait for a conversation lock.
+	 * <p>
+	 * A request that times out before its response is started is dispatched back to the container and fails with an
+	 * {@link AsyncRequestTimeoutException}, which the default exception resolvers turn into a 503 response. The flow
+	 * execution still completes, but can no longer write to the response. A response that is already being written
+	 * when the request times out is cut short.
+	 * @param asyncTimeout the timeout in milliseconds
+	 * @since 3.0
+	 */
+	public void setAsyncTimeout(Long asyncTimeout) {
+		this.asyncTimeout = asyncTimeout;
+	}
+
+	/**
+	 * Returns the time in milliseconds before an asynchronous flow request times out.
+	 * @since 3.0
+	 */
+	public Long getAsyncTimeout() {
+		return asyncTimeout;
+	}
+
 	public void afterPropertiesSet() throws Exception {
 		Assert.notNull(flowExecutor, "The FlowExecutor to execute flows is required");
 		if (flowUrlHandler == null) {
@@ -236,6 +341,9 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 		if (ajaxHandler == null) {
 			ajaxHandler = new DefaultAjaxHandler();
 		}
+		if (asyncProcessing && asyncExecutor == null) {
+			asyncExecutor = createDefaultAsyncExecutor();
+		}
 	}
 
 	public boolean supports(Object handler) {
@@ -245,27 +353,13 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 	public ModelAndView handle(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
 		FlowHandler flowHandler = (FlowHandler) handler;
+		rethrowAsyncFailure(request);
 		checkRequest(request);
 		prepareResponse(response);
-		String flowExecutionKey = flowUrlHandler.getFlowExecutionKey(request);
-		if (flowExecutionKey != null) {
-			try {
-				ServletExternalContext context = createServletExternalContext(request, response);
-				FlowExecutionResult result = flowExecutor.resumeExecution(flowExecutionKey, context);
-				handleFlowExecutionResult(result, context, request, response, flowHandler);
-			} catch (FlowException e) {
-				handleFlowException(e, request, response, flowHandler);
-			}
+		if (isAsyncProcessing(request)) {
+			startAsyncProcessing(request, response, flowHandler);
 		} else {
-			try {
-				String flowId = getFlowId(flowHandler, request);
-				MutableAttributeMap<Object> input = getInputMap(flowHandler, request);
-				ServletExternalContext context = createServletExternalContext(request, response);
-				FlowExecutionResult result = flowExecutor.launchExecution(flowId, input, context);
-				handleFlowExecutionResult(result, context, request, response, flowHandler);
-			} catch (FlowException e) {
-				handleFlowException(e, request, response, flowHandler);
-			}
+			processFlowRequest(request, response, flowHandler);
 		}
 		return null;
 	}
@@ -288,6 +382,20 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 		return context;
 	}
 
+	/**
+	 * Creates the executor for asynchronous flow requests when none is configured. This implementation returns a
+	 * {@link SimpleAsyncTaskExecutor} using virtual threads where the Java runtime supports them. Subclasses may
+	 * override.
+	 */
+	protected Executor createDefaultAsyncExecutor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(ASYNC_THREAD_NAME_PREFIX);
+		ThreadFactory threadFactory = createVirtualThreadFactory();
+		if (threadFactory != null) {
+			executor.setThreadFactory(threadFactory);
+		}
+		return executor;
+	}
+
 	/**
 	 * The default algorithm to determine the id of the flow to launch from the current request. Only called if
 	 * {@link FlowHandler#getFlowId()} returns null. This implementation delegates to the configured
@@ -430,6 +538,158 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 
 	// internal helpers
 
+	private void processFlowRequest(HttpServletRequest request, HttpServletResponse response, FlowHandler flowHandler)
+			throws IOException {
+		String flowExecutionKey = flowUrlHandler.getFlowExecutionKey(request);
+		if (flowExecutionKey != null) {
+			try {
+				ServletExternalContext context = createServletExternalContext(request, response);
+				FlowExecutionResult result = flowExecutor.resumeExecution(flowExecutionKey, context);
+				handleFlowExecutionResult(result, context, request, response, flowHandler);
+			} catch (FlowException e) {
+				handleFlowException(e, request, response, flowHandler);
+			}
+		} else {
+			try {
+				String flowId = getFlowId(flowHandler, request);
+				MutableAttributeMap<Object> input = getInputMap(flowHandler, request);
+				ServletExternalContext context = createServletExternalContext(request, response);
+				FlowExecutionResult result = flowExecutor.launchExecution(flowId, input, context);
+				handleFlowExecutionResult(result, context, request, response, flowHandler);
+			} catch (FlowException e) {
+				handleFlowException(e, request, response, flowHandler);
+			}
+		}
+	}
+
+	private boolean isAsyncProcessing(HttpServletRequest request) {
+		return asyncProcessing && request.isAsyncSupported() && !request.isAsyncStarted()
+				&& request.getDispatcherType() != DispatcherType.ASYNC;
+	}
+
+	private void startAsyncProcessing(HttpServletRequest request, HttpServletResponse response,
+			FlowHandler flowHandler) {
+		// registered with the async manager so the DispatcherServlet and its interceptors see the request as async
+		AsyncWebRequest asyncWebRequest = WebAsyncUtils.createAsyncWebRequest(request, response);
+		asyncWebRequest.setTimeout(asyncTimeout);
+		AsyncRequestState state = new AsyncRequestState();
+		asyncWebRequest.addTimeoutHandler(
+				() -> abandonAsyncRequest(new AsyncRequestTimeoutException(), state, request));
+		asyncWebRequest.addErrorHandler(e -> abandonAsyncRequest(e, state, request));
+		WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+		asyncWebRequest.startAsync();
+		AsyncContext asyncContext = request.getAsyncContext();
+		LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+		Object securityContext = (SPRING_SECURITY_PRESENT ? SecurityContextAccessor.getContext() : null);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Started asynchronous processing of flow request '" + request.getRequestURI() + "'");
+		}
+		try {
+			asyncExecutor.execute(() -> processAsyncFlowRequest(asyncContext, state, localeContext, securityContext,
+					request, response, flowHandler));
+		} catch (RejectedExecutionException e) {
+			if (state.finish()) {
+				dispatchAsyncFailure(e, asyncContext, request);
+			}
+		}
+	}
+
+	private void processAsyncFlowRequest(AsyncContext asyncContext, AsyncRequestState state,
+			LocaleContext localeContext, Object securityContext, HttpServletRequest request,
+			HttpServletResponse response, FlowHandler flowHandler) {
+		// the executor may run the request on a thread with thread-bound state of its own
+		LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+		RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+		Object previousSecurityContext = (securityContext != null ? SecurityContextAccessor.getContext() : null);
+		ServletRequestAttributes requestAttributes = new ServletRequestAttributes(request, response);
+		LocaleContextHolder.setLocaleContext(localeContext);
+		RequestContextHolder.setRequestAttributes(requestAttributes);
+		if (securityContext != null) {
+			SecurityContextAccessor.setContext(securityContext);
+		}
+		try {
+			try {
+				processFlowRequest(request, new AsyncResponseWrapper(response, state), flowHandler);
+			} finally {
+				requestAttributes.requestCompleted();
+			}
+			if (state.finish()) {
+				asyncContext.complete();
+			}
+		} catch (Throwable e) {
+			if (state.finish()) {
+				dispatchAsyncFailure(e, asyncContext, request);
+			} else if (logger.isDebugEnabled()) {
+				logger.debug("Asynchronous flow request '" + request.getRequestURI() + "' failed after it timed out",
+						e);
+			}
+		} finally {
+			LocaleContextHolder.setLocaleContext(previousLocaleContext);
+			RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+			if (securityContext != null) {
+				SecurityContextAccessor.setContext(previousSecurityContext);
+			}
+		}
+	}
+
+	/**
+	 * Takes the response away from the thread processing an asynchronous flow request that timed out or failed. If the
+	 * response was not started yet, the failure is dispatched so that it is handled like any other; otherwise the
+	 * request is completed as is.
+	 */
+	private void abandonAsyncRequest(Throwable failure, AsyncRequestState state, HttpServletRequest request) {
+		int previousState = state.abandon();
+		if (previousState == AsyncRequestState.PROCESSING) {
+			dispatchAsyncFailure(failure, request.getAsyncContext(), request);
+		} else if (previousState == AsyncRequestState.RESPONDING) {
+			try {
+				request.getAsyncContext().complete();
+			} catch (IllegalStateException e) {
+				// already completed by the container
+			}
+		}
+	}
+
+	/**
+	 * Dispatches the request back to the container so the failure is rethrown by {@link #handle} on a container
+	 * thread and reaches the configured exception resolvers, as it would without asynchronous processing.
+	 */
+	private void dispatchAsyncFailure(Throwable failure, AsyncContext asyncContext, HttpServletRequest request) {
+		try {
+			request.setAttribute(ASYNC_FAILURE_ATTRIBUTE, failure);
+			asyncContext.dispatch();
+		} catch (IllegalStateException e) {
+			logger.error("Asynchronous flow request processing failed after the request completed", failure);
+		}
+	}
+
+	private void rethrowAsyncFailure(HttpServletRequest request) throws Exception {
+		if (request.getDispatcherType() != DispatcherType.ASYNC) {
+			return;
+		}
+		Object failure = request.getAttribute(ASYNC_FAILURE_ATTRIBUTE);
+		if (failure != null) {
+			request.removeAttribute(ASYNC_FAILURE_ATTRIBUTE);
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			throw (Exception) failure;
+		}
+	}
+
+	private static ThreadFactory createVirtualThreadFactory() {
+		try {
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Method name = builderType.getMethod("name", String.class, long.class);
+			builder = name.invoke(builder, ASYNC_THREAD_NAME_PREFIX, 1L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			// virtual threads not available before Java 21
+			return null;
+		}
+	}
+
 	private void handleFlowExecutionResult(FlowExecutionResult result, ServletExternalContext context,
 			HttpServletRequest request, HttpServletResponse response, FlowHandler handler) throws IOException {
 		if (result.isPaused()) {
@@ -609,4 +869,119 @@ public class FlowHandlerAdapter extends WebContentGenerator implements HandlerAd
 			return defaultCreateFlowExecutionInputMap(request);
 		}
 	}
+
+	/**
+	 * The state of an asynchronous flow request, deciding whether the thread processing it or the container thread
+	 * reporting a timeout or error gets to respond.
+	 */
+	private static final class AsyncRequestState {
+
+		static final int PROCESSING = 0;
+
+		static final int RESPONDING = 1;
+
+		static final int FINISHED = 2;
+
+		static final int ABANDONED = 3;
+
+		private final AtomicInteger state = new AtomicInteger(PROCESSING);
+
+		/**
+		 * Called by the processing thread before it starts the response, returns false if the request was abandoned.
+		 */
+		boolean startResponse() {
+			return state.compareAndSet(PROCESSING, RESPONDING) || state.get() == RESPONDING;
+		}
+
+		/**
+		 * Called by the processing thread when done, returns false if the request was abandoned.
+		 */
+		boolean finish() {
+			int current = state.get();
+			return (current == PROCESSING || current == RESPONDING) && state.compareAndSet(current, FINISHED);
+		}
+
+		/**
+		 * Called on timeout or error, returns the state before the request was abandoned.
+		 */
+		int abandon() {
+			while (true) {
+				int current = state.get();
+				if (current == FINISHED || current == ABANDONED || state.compareAndSet(current, ABANDONED)) {
+					return current;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Keeps the thread processing an asynchronous flow request from rendering or redirecting once the request was
+	 * abandoned.
+	 */
+	private static final class AsyncResponseWrapper extends HttpServletResponseWrapper {
+
+		private final AsyncRequestState state;
+
+		AsyncResponseWrapper(HttpServletResponse response, AsyncRequestState state) {
+			super(response);
+			this.state = state;
+		}
+
+		public ServletOutputStream getOutputStream() throws IOException {
+			startResponse();
+			return super.getOutputStream();
+		}
+
+		public PrintWriter getWriter() throws IOException {
+			startResponse();
+			return super.getWriter();
+		}
+
+		public void sendError(int sc, String msg) throws IOException {
+			startResponse();
+			super.sendError(sc, msg);
+		}
+
+		public void sendError(int sc) throws IOException {
+			startResponse();
+			super.sendError(sc);
+		}
+
+		public void sendRedirect(String location) throws IOException {
+			startResponse();
+			super.sendRedirect(location);
+		}
+
+		public void setStatus(int sc) {
+			startResponse();
+			super.setStatus(sc);
+		}
+
+		public void flushBuffer() throws IOException {
+			startResponse();
+			super.flushBuffer();
+		}
+
+		private void startResponse() {
+			if (!state.startResponse()) {
+				throw new IllegalStateException("The asynchronous request timed out or failed before the response "
+						+ "was started");
+			}
+		}
+	}
+
+	/**
+	 * Isolates the Spring Security types, so that they are only loaded if Spring Security is present.
+	 */
+	private static final class SecurityContextAccessor {
+
+		static Object getContext() {
+			return SecurityContextHolder.getContext();
+		}
+
+		static void setContext(Object securityContext) {
+			SecurityContextHolder.setContext((SecurityContext) securityContext);
+		}
+	}
+
 }
@@ -19,7 +19,6 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,7 +50,6 @@ import org.springframework.util.Assert;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.MessageCodesResolver;
 import org.springframework.validation.Validator;
-import org.springframework.web.util.WebUtils;
 import org.springframework.webflow.core.collection.AttributeMap;
 import org.springframework.webflow.core.collection.ParameterMap;
 import org.springframework.webflow.definition.TransitionDefinition;
@@ -106,6 +104,10 @@ public abstract class AbstractMvcView implements View {
 
 	private ValidationHintResolver validationHintResolver = new BeanValidationHintResolver();
 
+	private BindingPlanCache bindingPlanCache;
+
+	private boolean bindingPlanResolved;
+
 	/**
 	 * Creates a new MVC view.
 	 * @param view the Spring MVC view to render
@@ -150,6 +152,15 @@ public abstract class AbstractMvcView implements View {
 		this.binderConfiguration = binderConfiguration;
 	}
 
+	/**
+	 * Sets the cache of binding plans shared by the views of a view state. When set, the mappings built by
+	 * {@link #bind(Object)} for a model type and a set of request parameter names are reused by later binds.
+	 * @param bindingPlanCache the binding plan cache
+	 */
+	void setBindingPlanCache(BindingPlanCache bindingPlanCache) {
+		this.bindingPlanCache = bindingPlanCache;
+	}
+
 	/**
 	 * Set the message codes resolver to use to resolve bind and validation failure message codes.
 	 * @param messageCodesResolver the binding error message code resolver to use
@@ -187,8 +198,7 @@ public abstract class AbstractMvcView implements View {
 	}
 
 	public void render() throws IOException {
-		Map<String, Object> model = new HashMap<>();
-		model.putAll(flowScopes());
+		Map<String, Object> model = createRenderModel();
 		exposeBindingModel(model);
 		model.put("flowRequestContext", requestContext);
 		FlowExecutionKey key = requestContext.getFlowExecutionContext().getKey();
@@ -369,7 +379,7 @@ public abstract class AbstractMvcView implements View {
 	 * @return the user event that occurred
 	 */
 	protected String determineEventId(RequestContext context) {
-		return WebUtils.findParameterValue(context.getRequestParameters().asMap(), eventIdParameterName);
+		return context.getRequestParameters().findParameterValue(eventIdParameterName);
 	}
 
 	/**
@@ -381,6 +391,11 @@ public abstract class AbstractMvcView implements View {
 	 * considered. In the absence of binding configuration all request parameters will be used to update matching fields
 	 * on the model.
 	 * </p>
+	 * <p>
+	 * When a binding plan cache is set by the view factory, the mapper built for a model type and a set of request
+	 * parameter names is cached and reused by later binds of the same view state, so subclasses customizing the
+	 * mappings should only depend on the model type and the parameter names.
+	 * </p>
 	 *
 	 * @param model the model to be updated
 	 * @return an instance of MappingResults with information about the results of the binding.
@@ -389,12 +404,25 @@ public abstract class AbstractMvcView implements View {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Binding to model");
 		}
-		DefaultMapper mapper = new DefaultMapper();
 		ParameterMap requestParameters = requestContext.getRequestParameters();
-		if (binderConfiguration != null) {
-			addModelBindings(mapper, requestParameters.asMap().keySet(), model);
+		Set<String> parameterNames = requestParameters.asMap().keySet();
+		DefaultMapper mapper = (bindingPlanCache != null ? bindingPlanCache.getPlan(model.getClass(), parameterNames)
+				: null);
+		if (mapper != null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Reusing the cached binding plan for parameters " + parameterNames);
+			}
 		} else {
-			addDefaultMappings(mapper, requestParameters.asMap().keySet(), model);
+			mapper = new DefaultMapper();
+			bindingPlanResolved = true;
+			if (binderConfiguration != null) {
+				addModelBindings(mapper, parameterNames, model);
+			} else {
+				addDefaultMappings(mapper, parameterNames, model);
+			}
+			if (bindingPlanCache != null && bindingPlanResolved) {
+				bindingPlanCache.putPlan(model.getClass(), parameterNames, mapper);
+			}
 		}
 		return mapper.map(requestParameters, model);
 	}
@@ -416,7 +444,8 @@ public abstract class AbstractMvcView implements View {
 			if (parameterNames.contains(parameterName)) {
 				addMapping(mapper, binding, model);
 			} else {
-				if (fieldMarkerPrefix != null && parameterNames.contains(fieldMarkerPrefix + parameterName)) {
+				if (fieldMarkerPrefix != null
+						&& requestContext.getRequestParameters().hasFieldMarker(fieldMarkerPrefix, parameterName)) {
 					addEmptyValueMapping(mapper, parameterName, model);
 				}
 			}
@@ -435,6 +464,10 @@ public abstract class AbstractMvcView implements View {
 	 * converters are supported for backwards compatibility only and will not result in use of the Spring 3 type
 	 * conversion system at runtime.
 	 * </p>
+	 * <p>
+	 * When the type of the model field cannot be determined, e.g. because a nested path is null, the named converter
+	 * is not applied and the binding plan is not cached, so that it is resolved again on the next bind.
+	 * </p>
 	 *
 	 * @param mapper the mapper to add the mapping to
 	 * @param binding the binding element
@@ -449,9 +482,19 @@ public abstract class AbstractMvcView implements View {
 		if (binding.getConverter() != null) {
 			Assert.notNull(conversionService,
 					"A ConversionService must be configured to use resolve custom converters to use during binding");
-			ConversionExecutor conversionExecutor = conversionService.getConversionExecutor(binding.getConverter(),
-					String.class, target.getValueType(model));
-			mapping.setTypeConverter(conversionExecutor);
+			Class<?> targetType = target.getValueType(model);
+			if (targetType != null) {
+				ConversionExecutor conversionExecutor = conversionService.getConversionExecutor(
+						binding.getConverter(), String.class, targetType);
+				mapping.setTypeConverter(conversionExecutor);
+			} else {
+				// the type of a nested property may be resolvable once the nested path is not null
+				bindingPlanResolved = false;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Type of '" + binding.getProperty() + "' is not known yet, binding it without the '"
+							+ binding.getConverter() + "' converter");
+				}
+			}
 		}
 		if (logger.isDebugEnabled()) {
 			logger.debug("Adding mapping for parameter '" + binding.getProperty() + "'");
@@ -493,6 +536,10 @@ public abstract class AbstractMvcView implements View {
 		Expression target = emptyValueExpressionParser.parseExpression(field, parserContext);
 		try {
 			Class<?> propertyType = target.getValueType(model);
+			if (propertyType == null && PropertyAccessorUtils.isNestedOrIndexedProperty(field)) {
+				// the type of a nested property may be resolvable once the nested path is not null
+				bindingPlanResolved = false;
+			}
 			Expression source = new StaticExpression(getEmptyValue(propertyType));
 			DefaultMapping mapping = new DefaultMapping(source, target);
 			if (logger.isDebugEnabled()) {
@@ -500,6 +547,7 @@ public abstract class AbstractMvcView implements View {
 			}
 			mapper.addMapping(mapping);
 		} catch (EvaluationException e) {
+			bindingPlanResolved = false;
 		}
 	}
 
@@ -594,15 +642,18 @@ public abstract class AbstractMvcView implements View {
 
 	// internal helpers
 
-	private Map<String, Object> flowScopes() {
+	/**
+	 * Creates the model to render, layered over the flow scopes without copying them. Request scope attributes shadow
+	 * flash, view, flow and conversation scope attributes, in that order.
+	 */
+	private Map<String, Object> createRenderModel() {
+		RenderModel model = new RenderModel();
+		model.addLayer(requestContext.getRequestScope().asMap()).addLayer(requestContext.getFlashScope().asMap());
 		if (requestContext.getCurrentState().isViewState()) {
-			return requestContext.getConversationScope().union(requestContext.getFlowScope())
-					.union(requestContext.getViewScope()).union(requestContext.getFlashScope())
-					.union(requestContext.getRequestScope()).asMap();
-		} else {
-			return requestContext.getConversationScope().union(requestContext.getFlowScope())
-					.union(requestContext.getFlashScope()).union(requestContext.getRequestScope()).asMap();
+			model.addLayer(requestContext.getViewScope().asMap());
 		}
+		model.addLayer(requestContext.getFlowScope().asMap()).addLayer(requestContext.getConversationScope().asMap());
+		return model;
 	}
 
 	private void exposeBindingModel(Map<String, Object> model) {
@@ -54,6 +54,8 @@ public abstract class AbstractMvcViewFactory implements ViewFactory {
 
 	private MessageCodesResolver messageCodesResolver;
 
+	private final BindingPlanCache bindingPlanCache = new BindingPlanCache();
+
 	/**
 	 * Creates a new MVC view factory.
 	 * @param viewId the id of the view as an expression
@@ -100,6 +102,7 @@ public abstract class AbstractMvcViewFactory implements ViewFactory {
 		mvcView.setMessageCodesResolver(messageCodesResolver);
 		mvcView.setValidator(validator);
 		mvcView.setValidationHintResolver(validationHintResolver);
+		mvcView.setBindingPlanCache(bindingPlanCache);
 		if (StringUtils.hasText(eventIdParameterName)) {
 			mvcView.setEventIdParameterName(eventIdParameterName);
 		}
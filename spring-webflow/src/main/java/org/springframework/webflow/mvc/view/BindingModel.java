@@ -19,6 +19,7 @@ import java.beans.PropertyEditor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,7 +32,6 @@ import org.springframework.binding.expression.ExpressionParser;
 import org.springframework.binding.expression.support.FluentParserContext;
 import org.springframework.binding.mapping.MappingResult;
 import org.springframework.binding.mapping.MappingResults;
-import org.springframework.binding.mapping.MappingResultsCriteria;
 import org.springframework.binding.message.Message;
 import org.springframework.binding.message.MessageContext;
 import org.springframework.binding.message.MessageCriteria;
@@ -51,6 +51,11 @@ import org.springframework.webflow.engine.builder.BinderConfiguration;
  * 
  * This class is a Spring Errors adapter, basically, for use with spring form and bind tags.
  * 
+ * A binding model is created for each render, and form tags typically access each field several times. Parsed field
+ * expressions, field types and property type descriptors are therefore cached by field. Field error messages and
+ * mapping errors are indexed by field on first access, as the message context and the mapping results are not
+ * expected to change while a view renders.
+ * 
  * @see AbstractMvcView
  * 
  * @author Keith Donald
@@ -73,6 +78,22 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 
 	private BinderConfiguration binderConfiguration;
 
+	private final Map<String, Expression> fieldExpressions = new HashMap<>();
+
+	private final Map<String, Expression> formattedFieldExpressions = new HashMap<>();
+
+	private final Map<String, Class<?>> fieldTypes = new HashMap<>();
+
+	private final Map<String, TypeDescriptor> fieldTypeDescriptors = new HashMap<>();
+
+	private BeanWrapper beanWrapper;
+
+	private Message[] fieldErrorMessages;
+
+	private Map<String, List<Message>> fieldErrorMessagesByField;
+
+	private Map<String, MappingResult> mappingErrorsByField;
+
 	/**
 	 * Creates a new Spring Binding model.
 	 * @param objectName the name of the bound model object
@@ -99,6 +120,7 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 	 */
 	public void setMappingResults(MappingResults results) {
 		this.mappingResults = results;
+		this.mappingErrorsByField = null;
 	}
 
 	public void setBinderConfiguration(BinderConfiguration binderConfiguration) {
@@ -117,26 +139,35 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 
 	public List<FieldError> getFieldErrors(String field) {
 		field = fixedField(field);
-		MessageCriteria messageCriteria;
+		Message[] messages;
 		if (field.endsWith("*")) {
 			String prefix = field.substring(0, field.length() - 1);
-			messageCriteria = new FieldPrefixErrorMessage(prefix);
+			MessageCriteria messageCriteria = new FieldPrefixErrorMessage(prefix);
+			List<Message> prefixMessages = new ArrayList<>();
+			for (Message message : getFieldErrorMessages()) {
+				if (messageCriteria.test(message)) {
+					prefixMessages.add(message);
+				}
+			}
+			messages = prefixMessages.toArray(new Message[prefixMessages.size()]);
 		} else {
-			messageCriteria = new FieldErrorMessage(field);
+			Assert.hasText(field, "The field name is required");
+			getFieldErrorMessages();
+			List<Message> fieldMessages = fieldErrorMessagesByField.get(field);
+			messages = (fieldMessages != null ? fieldMessages.toArray(new Message[fieldMessages.size()]) : null);
 		}
-		return toErrors(messageContext.getMessagesByCriteria(messageCriteria), FIELD_ERRORS);
+		return toErrors(messages, FIELD_ERRORS);
 	}
 
 	public Class<?> getFieldType(String field) {
-		return parseFieldExpression(fixedField(field), false).getValueType(boundObject);
+		return getValueType(fixedField(field));
 	}
 
 	public Object getFieldValue(String field) {
 		field = fixedField(field);
 		if (mappingResults != null) {
-			List<MappingResult> results = mappingResults.getResults(new FieldErrorResult(field));
-			if (!results.isEmpty()) {
-				MappingResult fieldError = results.get(0);
+			MappingResult fieldError = getMappingErrorsByField().get(field);
+			if (fieldError != null) {
 				return fieldError.getOriginalValue();
 			}
 		}
@@ -146,7 +177,7 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 	// not typically used by mvc views, but implemented to be on the safe side
 
 	public List<FieldError> getFieldErrors() {
-		return toErrors(messageContext.getMessagesByCriteria(ERRORS_FIELD_SOURCE), FIELD_ERRORS);
+		return toErrors(getFieldErrorMessages(), FIELD_ERRORS);
 	}
 
 	public String getObjectName() {
@@ -174,7 +205,7 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 	}
 
 	public Object getRawFieldValue(String field) {
-		return parseFieldExpression(fixedField(field), false).getValue(boundObject);
+		return getFieldExpression(fixedField(field), false).getValue(boundObject);
 	}
 
 	public PropertyEditor findEditor(String field, Class<?> valueType) {
@@ -216,6 +247,62 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 
 	// internal helpers
 
+	private Expression getFieldExpression(String field, boolean useResultTypeHint) {
+		Map<String, Expression> expressions = (useResultTypeHint ? formattedFieldExpressions : fieldExpressions);
+		Expression expression = expressions.get(field);
+		if (expression == null) {
+			expression = parseFieldExpression(field, useResultTypeHint);
+			expressions.put(field, expression);
+		}
+		return expression;
+	}
+
+	private Class<?> getValueType(String field) {
+		if (fieldTypes.containsKey(field)) {
+			return fieldTypes.get(field);
+		}
+		Class<?> valueType = getFieldExpression(field, false).getValueType(boundObject);
+		fieldTypes.put(field, valueType);
+		return valueType;
+	}
+
+	private TypeDescriptor getPropertyTypeDescriptor(String field) {
+		if (fieldTypeDescriptors.containsKey(field)) {
+			return fieldTypeDescriptors.get(field);
+		}
+		if (beanWrapper == null) {
+			beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(boundObject);
+		}
+		TypeDescriptor typeDescriptor = beanWrapper.getPropertyTypeDescriptor(field);
+		fieldTypeDescriptors.put(field, typeDescriptor);
+		return typeDescriptor;
+	}
+
+	private Message[] getFieldErrorMessages() {
+		if (fieldErrorMessages == null) {
+			fieldErrorMessages = messageContext.getMessagesByCriteria(ERRORS_FIELD_SOURCE);
+			fieldErrorMessagesByField = new HashMap<>();
+			for (Message message : fieldErrorMessages) {
+				if (message.getSource() instanceof String) {
+					fieldErrorMessagesByField.computeIfAbsent((String) message.getSource(), source -> new ArrayList<>())
+							.add(message);
+				}
+			}
+		}
+		return fieldErrorMessages;
+	}
+
+	private Map<String, MappingResult> getMappingErrorsByField() {
+		if (mappingErrorsByField == null) {
+			mappingErrorsByField = new HashMap<>();
+			for (MappingResult result : mappingResults.getErrorResults()) {
+				mappingErrorsByField.putIfAbsent(result.getMapping().getTargetExpression().getExpressionString(),
+						result);
+			}
+		}
+		return mappingErrorsByField;
+	}
+
 	private Expression parseFieldExpression(String field, boolean useResultTypeHint) {
 		FluentParserContext parserContext = new FluentParserContext().evaluate(boundObject.getClass());
 		if (useResultTypeHint) {
@@ -225,10 +312,10 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 	}
 
 	private Object getFormattedValue(String field) {
-		Expression fieldExpression = parseFieldExpression(field, true);
-		Class<?> valueType = fieldExpression.getValueType(boundObject);
+		Expression fieldExpression = getFieldExpression(field, true);
+		Class<?> valueType = getValueType(field);
 		if (isCustomConverterConfigured(field) || avoidConversion(valueType)) {
-			fieldExpression = parseFieldExpression(fieldExpression.getExpressionString(), false);
+			fieldExpression = getFieldExpression(field, false);
 		}
 		Object value = fieldExpression.getValue(boundObject);
 		if ((value instanceof String) == false) {
@@ -269,12 +356,11 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 					converterId = binderConfiguration.getConverterId(field);
 				}
 				if (valueType == null) {
-					valueType = parseFieldExpression(field, false).getValueType(boundObject);
+					valueType = getValueType(field);
 				}
 			}
 			if (valueType != null) {
-				BeanWrapper accessor = PropertyAccessorFactory.forBeanPropertyAccess(boundObject);
-				TypeDescriptor typeDescriptor = accessor.getPropertyTypeDescriptor(field);
+				TypeDescriptor typeDescriptor = getPropertyTypeDescriptor(field);
 				return new ConvertingPropertyEditorAdapter(conversionService, converterId, typeDescriptor);
 			} else {
 				return null;
@@ -298,23 +384,6 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 		return Collections.unmodifiableList(errors);
 	}
 
-	private static class FieldErrorResult implements MappingResultsCriteria {
-
-		private String field;
-
-		public FieldErrorResult(String field) {
-			this.field = field;
-		}
-
-		public boolean test(MappingResult result) {
-			if (result.isError() && field.equals(result.getMapping().getTargetExpression().getExpressionString())) {
-				return true;
-			} else {
-				return false;
-			}
-		}
-	}
-
 	private static final MessageCriteria ERRORS_ANY_SOURCE =
 			message -> message.getSeverity() == Severity.ERROR;
 
@@ -324,19 +393,6 @@ public class BindingModel extends AbstractErrors implements BindingResult {
 	private static final MessageCriteria ERRORS_FIELD_SOURCE =
 			message -> (message.hasField() && message.getSeverity() == Severity.ERROR);
 
-	private static class FieldErrorMessage implements MessageCriteria {
-		private String field;
-
-		public FieldErrorMessage(String field) {
-			Assert.hasText(field, "The field name is required");
-			this.field = field;
-		}
-
-		public boolean test(Message message) {
-			return message.getSeverity() == Severity.ERROR && field.equals(message.getSource());
-		}
-	}
-
 	private static class FieldPrefixErrorMessage implements MessageCriteria {
 		private String fieldPrefix;
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.mvc.view;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.binding.mapping.impl.DefaultMapper;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded cache of the binding plans of a view state. A binding plan is the {@link DefaultMapper} built by an
+ * {@link AbstractMvcView} for a model type and a set of request parameter names, with the target expressions already
+ * parsed and property types and converters already resolved. Views that bind the same parameters to the same model
+ * type replay the plan instead of building it again. The least recently used plan is evicted once the limit is
+ * reached.
+ *
+ * @since 3.0
+ * @see AbstractMvcViewFactory
+ */
+class BindingPlanCache {
+
+	/**
+	 * The default maximum number of binding plans to cache.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 64;
+
+	private final int cacheLimit;
+
+	private final Map<PlanKey, DefaultMapper> plans;
+
+	/**
+	 * Create a cache holding up to {@link #DEFAULT_CACHE_LIMIT} plans.
+	 */
+	public BindingPlanCache() {
+		this(DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a cache holding up to the given number of plans.
+	 * @param cacheLimit the maximum number of plans to cache
+	 */
+	public BindingPlanCache(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "The cache limit must be greater than 0");
+		this.cacheLimit = cacheLimit;
+		this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<PlanKey, DefaultMapper> eldest) {
+				return size() > BindingPlanCache.this.cacheLimit;
+			}
+		};
+	}
+
+	/**
+	 * Returns the maximum number of plans to cache.
+	 */
+	public int getCacheLimit() {
+		return cacheLimit;
+	}
+
+	/**
+	 * Returns the number of cached plans.
+	 */
+	public synchronized int getCacheSize() {
+		return plans.size();
+	}
+
+	/**
+	 * Returns the plan cached for the given model type and request parameter names.
+	 * @param modelType the type of the model bound to
+	 * @param parameterNames the names of the request parameters being bound
+	 * @return the cached plan or null
+	 */
+	public synchronized DefaultMapper getPlan(Class<?> modelType, Set<String> parameterNames) {
+		return plans.get(new PlanKey(modelType, parameterNames));
+	}
+
+	/**
+	 * Caches the plan built for the given model type and request parameter names. The plan must not be modified
+	 * afterwards.
+	 * @param modelType the type of the model bound to
+	 * @param parameterNames the names of the request parameters being bound
+	 * @param plan the plan
+	 */
+	public void putPlan(Class<?> modelType, Set<String> parameterNames, DefaultMapper plan) {
+		PlanKey key = new PlanKey(modelType, Set.copyOf(parameterNames));
+		synchronized (this) {
+			plans.put(key, plan);
+		}
+	}
+
+	/**
+	 * Remove all cached plans.
+	 */
+	public synchronized void clear() {
+		plans.clear();
+	}
+
+	private static class PlanKey {
+
+		private final Class<?> modelType;
+
+		private final Set<String> parameterNames;
+
+		private final int hashCode;
+
+		PlanKey(Class<?> modelType, Set<String> parameterNames) {
+			this.modelType = modelType;
+			this.parameterNames = parameterNames;
+			this.hashCode = modelType.hashCode() * 31 + parameterNames.hashCode();
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof PlanKey)) {
+				return false;
+			}
+			PlanKey other = (PlanKey) o;
+			return modelType == other.modelType && parameterNames.equals(other.parameterNames);
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+}
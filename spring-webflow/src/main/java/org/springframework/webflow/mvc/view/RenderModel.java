@@ -0,0 +1,154 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.mvc.view;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The model of a rendered view, layered over the maps of the flow scopes instead of copying them. Entries are looked up
+ * in the order the layers were added, highest precedence first, so an attribute shadows attributes of the same name
+ * in layers added after it. Entries put into the model itself take precedence over all layers. The layers are never
+ * modified.
+ *
+ * @since 3.0
+ * @see AbstractMvcView#render()
+ */
+class RenderModel extends AbstractMap<String, Object> {
+
+	private final Map<String, Object> entries = new HashMap<>();
+
+	private final List<Map<String, ?>> layers = new ArrayList<>(6);
+
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	RenderModel() {
+		this.layers.add(entries);
+	}
+
+	/**
+	 * Add a layer with lower precedence than the layers added before.
+	 * @param layer the map to resolve entries from
+	 * @return this, to support call chaining
+	 */
+	RenderModel addLayer(Map<String, ?> layer) {
+		layers.add(layer);
+		return this;
+	}
+
+	public Object get(Object key) {
+		for (Map<String, ?> layer : layers) {
+			Object value = layer.get(key);
+			if (value != null || layer.containsKey(key)) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	public boolean containsKey(Object key) {
+		for (Map<String, ?> layer : layers) {
+			if (layer.containsKey(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public Object put(String key, Object value) {
+		Object previous = get(key);
+		entries.put(key, value);
+		return previous;
+	}
+
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private boolean isShadowed(String key, int layerIndex) {
+		for (int i = 0; i < layerIndex; i++) {
+			if (layers.get(i).containsKey(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+		public int size() {
+			int size = 0;
+			for (int i = 0; i < layers.size(); i++) {
+				for (String key : layers.get(i).keySet()) {
+					if (!isShadowed(key, i)) {
+						size++;
+					}
+				}
+			}
+			return size;
+		}
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+		private int layerIndex = -1;
+
+		private Iterator<? extends Map.Entry<String, ?>> layerIterator;
+
+		private Map.Entry<String, Object> next;
+
+		public boolean hasNext() {
+			while (next == null) {
+				if (layerIterator == null || !layerIterator.hasNext()) {
+					if (++layerIndex >= layers.size()) {
+						return false;
+					}
+					layerIterator = layers.get(layerIndex).entrySet().iterator();
+					continue;
+				}
+				Map.Entry<String, ?> entry = layerIterator.next();
+				if (!isShadowed(entry.getKey(), layerIndex)) {
+					next = new SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+				}
+			}
+			return true;
+		}
+
+		public Map.Entry<String, Object> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Map.Entry<String, Object> entry = next;
+			next = null;
+			return entry;
+		}
+	}
+
+}
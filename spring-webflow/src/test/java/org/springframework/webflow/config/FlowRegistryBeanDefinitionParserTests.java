@@ -1,16 +1,22 @@
 package org.springframework.webflow.config;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.binding.convert.service.DefaultConversionService;
 import org.springframework.binding.expression.spel.SpringELExpressionParser;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.engine.builder.support.FlowBuilderServices;
 import org.springframework.webflow.mvc.builder.MvcViewFactoryCreator;
 
@@ -33,4 +39,41 @@ public class FlowRegistryBeanDefinitionParserTests extends AbstractFlowRegistryC
 		}
 	}
 
+	@Test
+	public void testWatchFlowChanges() {
+		assertEquals("true", getRegistryPropertyValue("tunedRegistry", "watchFlowChanges"));
+		assertNull(getRegistryPropertyValue("flowRegistry", "watchFlowChanges"));
+	}
+
+	@Test
+	public void testWarmUp() {
+		assertEquals("true", getRegistryPropertyValue("tunedRegistry", "warmUp"));
+		assertNull(getRegistryPropertyValue("flowRegistry", "warmUp"));
+		FlowDefinitionRegistry tunedRegistry = (FlowDefinitionRegistry) context.getBean("tunedRegistry");
+		assertEquals("flow", tunedRegistry.getFlowDefinition("flow").getId());
+	}
+
+	@Test
+	public void testFlowModelCache() {
+		RuntimeBeanReference reference = (RuntimeBeanReference) getRegistryPropertyValue("cachedRegistry",
+				"flowModelCache");
+		assertEquals("flowModelCache", reference.getBeanName());
+		assertNull(getRegistryPropertyValue("flowRegistry", "flowModelCache"));
+		FlowDefinitionRegistry cachedRegistry = (FlowDefinitionRegistry) context.getBean("cachedRegistry");
+		assertEquals("flow", cachedRegistry.getFlowDefinition("flow").getId());
+	}
+
+	@Test
+	public void testStreamingXmlParsing() {
+		assertEquals("true", getRegistryPropertyValue("streamingRegistry", "streamingXmlParsing"));
+		assertNull(getRegistryPropertyValue("flowRegistry", "streamingXmlParsing"));
+		FlowDefinitionRegistry streamingRegistry = (FlowDefinitionRegistry) context.getBean("streamingRegistry");
+		assertEquals("flow", streamingRegistry.getFlowDefinition("flow").getId());
+	}
+
+	private Object getRegistryPropertyValue(String registryId, String propertyName) {
+		ConfigurableListableBeanFactory beanFactory = ((ConfigurableApplicationContext) context).getBeanFactory();
+		return beanFactory.getBeanDefinition(registryId).getPropertyValues().get(propertyName);
+	}
+
 }
@@ -2,6 +2,7 @@ package org.springframework.webflow.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashSet;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.webflow.definition.FlowDefinition;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
+import org.springframework.webflow.engine.builder.support.FlowBuilderServices;
 import org.springframework.webflow.test.TestFlowBuilderServicesFactory;
 
 public class FlowRegistryFactoryBeanTests {
@@ -75,4 +77,42 @@ public class FlowRegistryFactoryBeanTests {
 		assertEquals("flow", def.getId());
 		assertTrue(def.getAttributes().isEmpty());
 	}
+
+	@Test
+	public void testWatchFlowChanges() throws Exception {
+		FlowLocation location1 = new FlowLocation(null, "org/springframework/webflow/config/flow.xml", null);
+		FlowBuilderServices flowBuilderServices = TestFlowBuilderServicesFactory.getServices();
+		flowBuilderServices.setDevelopment(true);
+		factoryBean.setFlowLocations(location1);
+		factoryBean.setFlowBuilderServices(flowBuilderServices);
+		factoryBean.setWatchFlowChanges(true);
+		factoryBean.afterPropertiesSet();
+		DefaultFlowRegistry registry = (DefaultFlowRegistry) factoryBean.getObject();
+		assertNotNull(registry.getFlowChangeMonitor());
+		assertEquals(1, registry.getFlowChangeMonitor().getDirectoryCount());
+		assertEquals("flow", registry.getFlowDefinition("flow").getId());
+	}
+
+	@Test
+	public void testWatchFlowChangesNotInDevelopment() throws Exception {
+		FlowLocation location1 = new FlowLocation(null, "org/springframework/webflow/config/flow.xml", null);
+		factoryBean.setFlowLocations(location1);
+		factoryBean.setFlowBuilderServices(TestFlowBuilderServicesFactory.getServices());
+		factoryBean.setWatchFlowChanges(true);
+		factoryBean.afterPropertiesSet();
+		assertNull(((DefaultFlowRegistry) factoryBean.getObject()).getFlowChangeMonitor());
+	}
+
+	@Test
+	public void testWarmUp() throws Exception {
+		FlowLocation location1 = new FlowLocation("flow1", "org/springframework/webflow/config/flow.xml", null);
+		FlowLocation location2 = new FlowLocation("flow2", "org/springframework/webflow/config/flow.xml", null);
+		factoryBean.setFlowLocations(location1, location2);
+		factoryBean.setFlowBuilderServices(TestFlowBuilderServicesFactory.getServices());
+		factoryBean.setWarmUp(true);
+		factoryBean.afterPropertiesSet();
+		DefaultFlowRegistry registry = (DefaultFlowRegistry) factoryBean.getObject();
+		assertEquals(2, registry.warmUp().size());
+		assertEquals("flow1", registry.getFlowDefinition("flow1").getId());
+	}
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.context.servlet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+
+/**
+ * Unit tests for {@link HttpServletRequestParameterSnapshot}.
+ */
+public class HttpServletRequestParameterSnapshotTests {
+
+	private MockHttpServletRequest request;
+
+	@BeforeEach
+	public void setUp() {
+		request = new MockHttpServletRequest();
+	}
+
+	@Test
+	public void testParameterValues() {
+		request.addParameter("name", "Keith");
+		request.addParameter("colors", "red", "green");
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		assertEquals("Keith", snapshot.get("name"));
+		assertEquals("Keith", snapshot.asMap().get("name"));
+		assertArrayEquals(new String[] { "red", "green" }, snapshot.getArray("colors"));
+		assertEquals("red", snapshot.getParameter("colors"));
+		assertNull(snapshot.get("missing"));
+		assertEquals(2, snapshot.size());
+	}
+
+	@Test
+	public void testParameterNamesByPrefix() {
+		request.addParameter("_eventId_submit", "");
+		request.addParameter("_name", "");
+		request.addParameter("name", "Keith");
+		request.addParameter("execution", "e1s1");
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		assertEquals(Arrays.asList("_eventId_submit", "_name"), List.copyOf(snapshot.getParameterNames("_")));
+		assertEquals(Arrays.asList("name"), List.copyOf(snapshot.getParameterNames("n")));
+		assertTrue(snapshot.getParameterNames("x").isEmpty());
+	}
+
+	@Test
+	public void testMarkedFields() {
+		request.addParameter("_subscribed", "");
+		request.addParameter("_colors", "");
+		request.addParameter("name", "Keith");
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		Set<String> fields = snapshot.getMarkedFields("_");
+		assertEquals(Set.of("subscribed", "colors"), fields);
+		assertTrue(snapshot.hasFieldMarker("_", "subscribed"));
+		assertSame(fields, snapshot.getMarkedFields("_"));
+		assertTrue(snapshot.getMarkedFields("!").isEmpty());
+	}
+
+	@Test
+	public void testFindParameterValue() {
+		request.addParameter("_eventId_submit", "Submit");
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		assertEquals("submit", snapshot.findParameterValue("_eventId"));
+		assertNull(snapshot.findParameterValue("execution"));
+	}
+
+	@Test
+	public void testFindParameterValueExactMatch() {
+		request.addParameter("_eventId", "proceed");
+		request.addParameter("_eventId_submit", "Submit");
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		assertEquals("proceed", snapshot.findParameterValue("_eventId"));
+	}
+
+	@Test
+	public void testFindParameterValueImageButton() {
+		request.addParameter("_eventId_cancel.x", "12");
+		request.addParameter("_eventId_cancel.y", "4");
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		assertEquals("cancel", snapshot.findParameterValue("_eventId"));
+	}
+
+	@Test
+	public void testSnapshotSharedForRequest() {
+		request.addParameter("execution", "e1s1");
+		HttpServletRequestParameterSnapshot snapshot = HttpServletRequestParameterSnapshot.of(request);
+		assertSame(snapshot, HttpServletRequestParameterSnapshot.of(request));
+		assertEquals("e1s1", new DefaultFlowUrlHandler().getFlowExecutionKey(request));
+		assertSame(snapshot, HttpServletRequestParameterSnapshot.of(request));
+	}
+
+	@Test
+	public void testSnapshotRetakenForOtherDispatch() {
+		request.addParameter("execution", "e1s1");
+		HttpServletRequestParameterSnapshot snapshot = HttpServletRequestParameterSnapshot.of(request);
+		HttpServletRequest forwarded = new HttpServletRequestWrapper(request) {
+			public Map<String, String[]> getParameterMap() {
+				Map<String, String[]> parameters = new LinkedHashMap<>(super.getParameterMap());
+				parameters.put("_eventId", new String[] { "submit" });
+				return parameters;
+			}
+		};
+		HttpServletRequestParameterSnapshot snapshot2 = HttpServletRequestParameterSnapshot.of(forwarded);
+		assertNotSame(snapshot, snapshot2);
+		assertEquals("submit", snapshot2.get("_eventId"));
+		assertNull(snapshot.get("_eventId"));
+		assertSame(snapshot2, HttpServletRequestParameterSnapshot.of(forwarded));
+	}
+
+	@Test
+	public void testSnapshotReusedWithoutReadingParameters() {
+		AtomicInteger reads = new AtomicInteger();
+		MockHttpServletRequest request = new MockHttpServletRequest() {
+			public Map<String, String[]> getParameterMap() {
+				reads.incrementAndGet();
+				return super.getParameterMap();
+			}
+		};
+		request.addParameter("execution", "e1s1");
+		ServletExternalContext context = new ServletExternalContext(new MockServletContext(), request,
+				new MockHttpServletResponse());
+		assertEquals("e1s1", new DefaultFlowUrlHandler().getFlowExecutionKey(request));
+		assertSame(context.getRequestParameterMap(), HttpServletRequestParameterSnapshot.of(request));
+		assertSame(context.getRequestParameterMap(), context.getRequestParameterMap());
+		assertEquals(1, reads.get());
+	}
+
+	@Test
+	public void testMultipartRequest() {
+		MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+		MockMultipartFile file = new MockMultipartFile("upload", "data".getBytes());
+		request.addFile(file);
+		request.addParameter("name", "Keith");
+		HttpServletRequestParameterSnapshot snapshot = new HttpServletRequestParameterSnapshot(request);
+		assertSame(file, snapshot.asMap().get("upload"));
+		assertSame(file, snapshot.getMultipartFile("upload"));
+		assertEquals("Keith", snapshot.get("name"));
+		assertEquals(List.of("name", "upload"), List.copyOf(snapshot.getParameterNames("")));
+	}
+
+}
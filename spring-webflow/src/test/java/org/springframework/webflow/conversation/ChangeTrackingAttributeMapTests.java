@@ -0,0 +1,88 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+/**
+ * Unit tests for {@link ChangeTrackingAttributeMap}.
+ */
+public class ChangeTrackingAttributeMapTests {
+
+	private ChangeTrackingAttributeMap<Object> map = new ChangeTrackingAttributeMap<>();
+
+	@Test
+	public void testPutAndRemove() {
+		assertFalse(map.hasChanged());
+		map.put("foo", "bar");
+		assertTrue(map.hasChanged());
+		map.resetChanged();
+		map.put("foo", "bar");
+		map.remove("baz");
+		map.extract("baz");
+		assertFalse(map.hasChanged());
+		map.remove("foo");
+		assertTrue(map.hasChanged());
+		map.resetChanged();
+		map.clear();
+		assertFalse(map.hasChanged());
+	}
+
+	@Test
+	public void testChangesThroughMapView() {
+		map.put("foo", "bar");
+		map.put("count", 1);
+		map.resetChanged();
+		for (Map.Entry<String, Object> entry : map.asMap().entrySet()) {
+			entry.getValue();
+		}
+		assertFalse(map.hasChanged());
+		map.asMap().entrySet().iterator().next().setValue("changed");
+		assertTrue(map.hasChanged());
+		map.resetChanged();
+		Iterator<String> names = map.asMap().keySet().iterator();
+		names.next();
+		names.remove();
+		assertTrue(map.hasChanged());
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void testNestedValues() {
+		ChangeTrackingAttributeMap<Object> nested = new ChangeTrackingAttributeMap<>();
+		map.put("nested", nested);
+		map.put("empty", new LocalAttributeMap<>());
+		map.resetChanged();
+		assertFalse(map.hasChanged());
+		nested.put("foo", "bar");
+		assertTrue(map.hasChanged());
+		map.resetChanged();
+		assertFalse(nested.hasChanged());
+		map.put("bean", new StringBuilder());
+		map.resetChanged();
+		// values that may be modified in place are conservatively considered changed
+		assertTrue(map.hasChanged());
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.webflow.conversation.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -30,6 +31,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.conversation.ChangeTrackingAttributeMap;
 import org.springframework.webflow.conversation.Conversation;
 import org.springframework.webflow.conversation.ConversationException;
 import org.springframework.webflow.conversation.ConversationId;
@@ -142,6 +144,91 @@ public class SessionBindingConversationManagerTests {
 		assertNotNull(conversationManager.getConversation(conversation3.getId()));
 	}
 
+	@Test
+	public void testMaxConversationsEndsOldestRemaining() {
+		conversationManager.setMaxConversations(2);
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		Conversation conversation1 = conversationManager.beginConversation(new ConversationParameters("test", "test",
+				"test"));
+		Conversation conversation2 = conversationManager.beginConversation(new ConversationParameters("test", "test",
+				"test"));
+		conversation1.end();
+		Conversation conversation3 = conversationManager.beginConversation(new ConversationParameters("test", "test",
+				"test"));
+		assertEquals(2, conversationManager.getConversationContainer().size());
+		Conversation conversation4 = conversationManager.beginConversation(new ConversationParameters("test", "test",
+				"test"));
+		assertEquals(2, conversationManager.getConversationContainer().size());
+		try {
+			conversationManager.getConversation(conversation2.getId());
+			fail("Oldest remaining conversation should have been ended");
+		} catch (ConversationException e) {
+		}
+		assertSame(conversation3, conversationManager.getConversation(conversation3.getId()));
+		assertSame(conversation4, conversationManager.getConversation(conversation4.getId()));
+	}
+
+	@Test
+	public void testRebindOnlyChangedConversation() {
+		MockExternalContext context = new MockExternalContext();
+		ExternalContextHolder.setExternalContext(context);
+		Conversation conversation = conversationManager.beginConversation(new ConversationParameters("test", "test",
+				"test"));
+		String conversationKey = "webflowConversationContainer." + conversation.getId();
+		assertSame(conversation, context.getSessionMap().get(conversationKey));
+		conversation.lock();
+		conversation.unlock();
+
+		// unchanged conversation is not re-bound
+		context.getSessionMap().remove(conversationKey);
+		conversation.lock();
+		assertEquals("test", conversation.getAttribute("name"));
+		conversation.putAttribute("name", conversation.getAttribute("name"));
+		conversation.unlock();
+		assertNull(context.getSessionMap().get(conversationKey));
+
+		// changed conversation is re-bound
+		conversation.lock();
+		conversation.putAttribute("testAttribute", "testValue");
+		conversation.unlock();
+		assertSame(conversation, context.getSessionMap().get(conversationKey));
+
+		conversation.lock();
+		conversation.end();
+		conversation.unlock();
+		assertNull(context.getSessionMap().get(conversationKey));
+	}
+
+	@Test
+	public void testRebindOnlyChangedConversationScope() {
+		MockExternalContext context = new MockExternalContext();
+		ExternalContextHolder.setExternalContext(context);
+		Conversation conversation = conversationManager.beginConversation(new ConversationParameters("test", "test",
+				"test"));
+		String conversationKey = "webflowConversationContainer." + conversation.getId();
+		ChangeTrackingAttributeMap<Object> scope = new ChangeTrackingAttributeMap<>();
+		scope.put("flashScope", new ChangeTrackingAttributeMap<>());
+		scope.put("count", 1);
+		conversation.lock();
+		conversation.putAttribute("scope", scope);
+		conversation.unlock();
+
+		// a read-only request does not re-bind a conversation with a non-empty scope
+		context.getSessionMap().remove(conversationKey);
+		conversation.lock();
+		assertEquals(1, scope.get("count"));
+		((ChangeTrackingAttributeMap<?>) scope.get("flashScope")).clear();
+		conversation.putAttribute("scope", scope);
+		conversation.unlock();
+		assertNull(context.getSessionMap().get(conversationKey));
+
+		// a change to the scope does
+		conversation.lock();
+		scope.asMap().put("count", 2);
+		conversation.unlock();
+		assertSame(conversation, context.getSessionMap().get(conversationKey));
+	}
+
 	@Test
 	public void testCustomSessionKey() {
 		conversationManager.setSessionKey("foo");
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationId;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.test.MockExternalContext;
+
+/**
+ * Unit tests for {@link StoreBackedConversationManager}.
+ */
+public class StoreBackedConversationManagerTests {
+
+	private InMemoryConversationStore conversationStore;
+
+	private StoreBackedConversationManager conversationManager;
+
+	@BeforeEach
+	public void setUp() {
+		conversationStore = new InMemoryConversationStore();
+		conversationManager = new StoreBackedConversationManager(conversationStore);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		ExternalContextHolder.setExternalContext(null);
+	}
+
+	@Test
+	public void testConversationLifeCycle() {
+		MockExternalContext context = new MockExternalContext();
+		ExternalContextHolder.setExternalContext(context);
+		Conversation conversation = beginConversation();
+		ConversationId conversationId = conversation.getId();
+		assertTrue(context.getSessionMap().get("webflowConversationOwner") instanceof String);
+		assertSame(conversation, conversationManager.getConversation(conversationId));
+		conversation.lock();
+		conversation.putAttribute("testAttribute", "testValue");
+		conversation.unlock();
+		assertEquals("testValue", conversationManager.getConversation(conversationId).getAttribute("testAttribute"));
+		conversation.lock();
+		conversation.end();
+		conversation.unlock();
+		assertThrows(NoSuchConversationException.class, () -> conversationManager.getConversation(conversationId));
+		assertEquals(0, conversationStore.size());
+	}
+
+	@Test
+	public void testParseConversationId() {
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		ConversationId conversationId = beginConversation().getId();
+		assertEquals(conversationId, conversationManager.parseConversationId(conversationId.toString()));
+	}
+
+	@Test
+	public void testConversationOfOtherOwner() {
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		ConversationId conversationId = beginConversation().getId();
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		assertThrows(NoSuchConversationException.class, () -> conversationManager.getConversation(conversationId));
+	}
+
+	@Test
+	public void testMaxConversations() {
+		conversationManager.setMaxConversations(2);
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		Conversation conversation1 = beginConversation();
+		Conversation conversation2 = beginConversation();
+		Conversation conversation3 = beginConversation();
+		assertThrows(NoSuchConversationException.class,
+				() -> conversationManager.getConversation(conversation1.getId()));
+		assertNotNull(conversationManager.getConversation(conversation2.getId()));
+		assertNotNull(conversationManager.getConversation(conversation3.getId()));
+
+		// the cap applies per owner
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		beginConversation();
+		assertEquals(3, conversationStore.size());
+	}
+
+	@Test
+	public void testEndedConversationNotRevived() {
+		conversationManager.setMaxConversations(1);
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		Conversation conversation1 = beginConversation();
+		conversation1.lock();
+		beginConversation();
+		conversation1.unlock();
+		assertThrows(NoSuchConversationException.class,
+				() -> conversationManager.getConversation(conversation1.getId()));
+		assertEquals(1, conversationStore.size());
+	}
+
+	@Test
+	public void testExpiry() throws Exception {
+		conversationStore.setTimeToLiveSeconds(0);
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		ConversationId conversationId = beginConversation().getId();
+		Thread.sleep(1);
+		assertThrows(NoSuchConversationException.class, () -> conversationManager.getConversation(conversationId));
+		assertEquals(0, conversationStore.size());
+	}
+
+	@Test
+	public void testUnchangedConversationNotWrittenBack() {
+		CountingConversationStore store = new CountingConversationStore();
+		conversationManager = new StoreBackedConversationManager(store);
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		Conversation conversation = beginConversation();
+		conversation.lock();
+		conversation.getAttribute("name");
+		conversation.unlock();
+		assertEquals(0, store.updates);
+		assertEquals(1, store.touches);
+		conversation.lock();
+		conversation.putAttribute("testAttribute", "testValue");
+		conversation.unlock();
+		assertEquals(1, store.updates);
+		conversation.lock();
+		conversation.putAttribute("testAttribute", "testValue");
+		conversation.unlock();
+		assertEquals(1, store.updates);
+		assertEquals(2, store.touches);
+	}
+
+	@Test
+	public void testLockCreatedByStore() {
+		CountingConversationStore store = new CountingConversationStore();
+		conversationManager = new StoreBackedConversationManager(store);
+		ExternalContextHolder.setExternalContext(new MockExternalContext());
+		Conversation conversation = beginConversation();
+		assertEquals(conversation.getId(), store.lockedId);
+		conversation.lock();
+		conversation.unlock();
+		assertEquals(1, store.lock.locks);
+	}
+
+	private Conversation beginConversation() {
+		return conversationManager.beginConversation(new ConversationParameters("test", "test", "test"));
+	}
+
+	private static class CountingConversationStore extends InMemoryConversationStore {
+
+		private int updates;
+
+		private int touches;
+
+		private ConversationId lockedId;
+
+		private CountingLock lock;
+
+		public void updateConversation(StoredConversation conversation) {
+			updates++;
+			super.updateConversation(conversation);
+		}
+
+		public void touchConversation(StoredConversation conversation) {
+			touches++;
+			super.touchConversation(conversation);
+		}
+
+		public ConversationLock createLock(ConversationId id, int lockTimeoutSeconds) {
+			lockedId = id;
+			lock = new CountingLock();
+			return lock;
+		}
+	}
+
+	private static class CountingLock implements ConversationLock {
+
+		private int locks;
+
+		public void lock() {
+			locks++;
+		}
+
+		public void unlock() {
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.springframework.webflow.core.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class AttributeMapSnapshotTests {
+
+	@Test
+	public void testRestore() {
+		LocalAttributeMap<Object> map = new LocalAttributeMap<>();
+		map.put("foo", "bar");
+		AttributeMapSnapshot<Object> snapshot = AttributeMapSnapshot.of(map);
+		map.put("foo", "baz");
+		LocalAttributeMap<Object> restored = snapshot.restore();
+		assertEquals("bar", restored.get("foo"));
+		assertEquals(1, snapshot.size());
+	}
+
+	@Test
+	public void testUnchangedRestoredMapSharesSnapshot() {
+		LocalAttributeMap<Object> map = new LocalAttributeMap<>();
+		map.put("foo", "bar");
+		AttributeMapSnapshot<Object> snapshot = AttributeMapSnapshot.of(map);
+		LocalAttributeMap<Object> restored = snapshot.restore();
+		assertSame(snapshot, AttributeMapSnapshot.of(restored));
+		restored.remove("other");
+		assertSame(snapshot, AttributeMapSnapshot.of(restored));
+		restored.put("foo", "baz");
+		assertNotSame(snapshot, AttributeMapSnapshot.of(restored));
+		assertEquals("bar", snapshot.restore().get("foo"));
+	}
+
+	@Test
+	public void testChangeThroughIterator() {
+		LocalAttributeMap<Object> map = new LocalAttributeMap<>();
+		map.put("foo", "bar");
+		map.put("baz", "qux");
+		AttributeMapSnapshot<Object> snapshot = AttributeMapSnapshot.of(map);
+		LocalAttributeMap<Object> restored = snapshot.restore();
+		Iterator<Map.Entry<String, Object>> it = restored.asMap().entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, Object> entry = it.next();
+			if (entry.getKey().equals("foo")) {
+				it.remove();
+			} else {
+				entry.setValue("changed");
+			}
+		}
+		assertNull(restored.get("foo"));
+		assertEquals("changed", restored.get("baz"));
+		LocalAttributeMap<Object> restoredAgain = snapshot.restore();
+		assertEquals("bar", restoredAgain.get("foo"));
+		assertEquals("qux", restoredAgain.get("baz"));
+	}
+
+	@Test
+	public void testNestedMapsCopied() {
+		LocalAttributeMap<Object> nested = new LocalAttributeMap<>();
+		nested.put("count", 1);
+		LocalAttributeMap<Object> map = new LocalAttributeMap<>();
+		map.put("nested", nested);
+		AttributeMapSnapshot<Object> snapshot = AttributeMapSnapshot.of(map);
+		nested.put("count", 2);
+		LocalAttributeMap<Object> restored = snapshot.restore();
+		LocalAttributeMap<?> restoredNested = (LocalAttributeMap<?>) restored.get("nested");
+		assertEquals(1, restoredNested.get("count"));
+		assertFalse(restoredNested == nested);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFlowScopeWithViewScopeShared() {
+		LocalAttributeMap<Object> viewScope = new LocalAttributeMap<>();
+		viewScope.put("count", 1);
+		LocalAttributeMap<Object> flowScope = new LocalAttributeMap<>();
+		flowScope.put("foo", "bar");
+		flowScope.put("viewScope", viewScope);
+		AttributeMapSnapshot<Object> snapshot = AttributeMapSnapshot.of(flowScope);
+		LocalAttributeMap<Object> restored = snapshot.restore();
+		assertTrue(restored.getMapInternal() instanceof CopyOnWriteMap);
+		assertSame(snapshot, AttributeMapSnapshot.of(restored));
+		LocalAttributeMap<?> restoredViewScope = (LocalAttributeMap<?>) restored.get("viewScope");
+		assertSame(restoredViewScope, restored.get("viewScope"));
+		((LocalAttributeMap<Object>) restoredViewScope).put("count", 2);
+		AttributeMapSnapshot<Object> changed = AttributeMapSnapshot.of(restored);
+		assertNotSame(snapshot, changed);
+		assertTrue(restored.getMapInternal() instanceof CopyOnWriteMap);
+		assertEquals(1, ((LocalAttributeMap<?>) snapshot.restore().get("viewScope")).get("count"));
+		assertEquals(2, ((LocalAttributeMap<?>) changed.restore().get("viewScope")).get("count"));
+		assertEquals("bar", changed.restore().get("foo"));
+	}
+
+}
@@ -16,12 +16,14 @@
 package org.springframework.webflow.core.collection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.easymock.EasyMock;
@@ -292,4 +294,35 @@ public class LocalParameterMapTests {
 		AttributeMap<Object> map = parameterMap.asAttributeMap();
 		assertEquals(map.asMap(), parameterMap.asMap());
 	}
+
+	@Test
+	public void testGetParameterNamesByPrefix() {
+		assertEquals(List.of("string", "stringArray"), List.copyOf(parameterMap.getParameterNames("str")));
+		assertTrue(parameterMap.getParameterNames("bogus").isEmpty());
+	}
+
+	@Test
+	public void testFindParameterValue() {
+		assertEquals("A string", parameterMap.findParameterValue("string"));
+		assertEquals("1", parameterMap.findParameterValue("stringArray"));
+		assertNull(parameterMap.findParameterValue("emptyArray"));
+		assertNull(parameterMap.findParameterValue("bogus"));
+	}
+
+	@Test
+	public void testFindParameterValueFromImageButton() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("_eventId_submit.x", "10");
+		map.put("_eventId_submit.y", "12");
+		assertEquals("submit", new LocalParameterMap(map).findParameterValue("_eventId"));
+	}
+
+	@Test
+	public void testHasFieldMarker() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("_subscribed", "on");
+		LocalParameterMap markers = new LocalParameterMap(map);
+		assertTrue(markers.hasFieldMarker("_", "subscribed"));
+		assertFalse(markers.hasFieldMarker("_", "colors"));
+	}
 }
@@ -21,6 +21,13 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.ApplicationContext;
@@ -134,6 +141,85 @@ public class FlowDefinitionRegistryImplTests {
 		assertTrue(barFlow.destroyed);
 	}
 
+	@Test
+	public void testWarmUp() {
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		registry.registerFlowDefinition(new AssemblingFlowDefinitionHolder("foo", fooFlow, threads));
+		registry.registerFlowDefinition(new AssemblingFlowDefinitionHolder("bar", barFlow, threads));
+		registry.registerFlowDefinition(new AssemblingFlowDefinitionHolder("baz", null, threads));
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			Map<String, Long> assemblyTimes = registry.warmUp(pool);
+			assertEquals(2, assemblyTimes.size());
+			assertTrue(assemblyTimes.containsKey("foo"));
+			assertTrue(assemblyTimes.containsKey("bar"));
+		} finally {
+			pool.shutdown();
+		}
+		assertFalse(threads.contains(Thread.currentThread().getName()));
+		assertSame(fooFlow, registry.getFlowDefinition("foo"));
+	}
+
+	@Test
+	public void testWarmUpWithContextClassLoader() {
+		Set<ClassLoader> classLoaders = ConcurrentHashMap.newKeySet();
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		registry.registerFlowDefinition(new AssemblingFlowDefinitionHolder("foo", fooFlow, threads) {
+			public FlowDefinition getFlowDefinition() throws FlowDefinitionConstructionException {
+				classLoaders.add(Thread.currentThread().getContextClassLoader());
+				return super.getFlowDefinition();
+			}
+		});
+		ClassLoader previous = Thread.currentThread().getContextClassLoader();
+		ClassLoader classLoader = new URLClassLoader(new URL[0], previous);
+		Thread.currentThread().setContextClassLoader(classLoader);
+		ForkJoinPool pool = new ForkJoinPool(1);
+		try {
+			registry.warmUp(pool);
+		} finally {
+			Thread.currentThread().setContextClassLoader(previous);
+			pool.shutdown();
+		}
+		assertEquals(Set.of(classLoader), classLoaders);
+	}
+
+	private static class AssemblingFlowDefinitionHolder implements FlowDefinitionHolder {
+
+		private final String id;
+
+		private final FlowDefinition flowDefinition;
+
+		private final Set<String> threads;
+
+		AssemblingFlowDefinitionHolder(String id, FlowDefinition flowDefinition, Set<String> threads) {
+			this.id = id;
+			this.flowDefinition = flowDefinition;
+			this.threads = threads;
+		}
+
+		public String getFlowDefinitionId() {
+			return id;
+		}
+
+		public String getFlowDefinitionResourceString() {
+			return id;
+		}
+
+		public FlowDefinition getFlowDefinition() throws FlowDefinitionConstructionException {
+			threads.add(Thread.currentThread().getName());
+			if (flowDefinition == null) {
+				throw new FlowDefinitionConstructionException(id, new IllegalStateException("Broken"));
+			}
+			return flowDefinition;
+		}
+
+		public void refresh() throws FlowDefinitionConstructionException {
+		}
+
+		public void destroy() {
+		}
+	}
+
 	private static class FooFlow implements FlowDefinition {
 		private String id = "foo";
 
@@ -80,6 +80,19 @@ public class FlowTests {
 		assertEquals("myState2", flow.getState("myState2").getId(), "Wrong state:");
 	}
 
+	@Test
+	public void testGetStateInstanceManyStates() {
+		Flow flow = new Flow("myFlow");
+		for (int i = 0; i < 100; i++) {
+			new EndState(flow, "state" + i);
+		}
+		assertEquals(100, flow.getStateCount());
+		assertEquals("state57", flow.getStateInstance("state57").getId());
+		assertTrue(flow.containsState("state99"));
+		assertFalse(flow.containsState("state100"));
+		assertEquals("state0", flow.getStateIds()[0]);
+	}
+
 	@Test
 	public void testAddDuplicateState() {
 		Flow flow = new Flow("myFlow");
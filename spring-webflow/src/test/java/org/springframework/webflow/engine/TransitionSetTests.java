@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.engine.support.DefaultTargetStateResolver;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.test.MockRequestContext;
+
+public class TransitionSetTests {
+
+	private TransitionSet transitions = new TransitionSet();
+
+	private MockRequestContext context = new MockRequestContext();
+
+	@Test
+	public void testGetTransitionByEventId() {
+		Transition submit = transition(new EventIdTransitionCriteria("submit"));
+		Transition cancel = transition(new EventIdTransitionCriteria("cancel"));
+		transitions.addAll(submit, cancel, transition(new EventIdTransitionCriteria("submit")));
+		assertSame(submit, getTransition("submit"));
+		assertSame(cancel, getTransition("cancel"));
+		assertNull(getTransition("back"));
+		context.setCurrentEvent(null);
+		assertNull(transitions.getTransition(context));
+	}
+
+	@Test
+	public void testGetTransitionDeclaredOrder() {
+		Transition guarded = transition(context -> context.getFlowScope().contains("guard"));
+		Transition submit = transition(new EventIdTransitionCriteria("submit"));
+		Transition wildcard = transition(WildcardTransitionCriteria.INSTANCE);
+		Transition cancel = transition(new EventIdTransitionCriteria("cancel"));
+		transitions.addAll(guarded, submit, wildcard, cancel);
+		assertSame(submit, getTransition("submit"));
+		assertSame(wildcard, getTransition("cancel"));
+		assertSame(wildcard, getTransition("back"));
+		context.getFlowScope().put("guard", true);
+		assertSame(guarded, getTransition("submit"));
+	}
+
+	@Test
+	public void testGetTransitionAfterChange() {
+		Transition submit = transition(new EventIdTransitionCriteria("submit"));
+		transitions.add(submit);
+		assertSame(submit, getTransition("submit"));
+		Transition wildcard = transition(WildcardTransitionCriteria.INSTANCE);
+		transitions.add(wildcard);
+		assertSame(wildcard, getTransition("cancel"));
+		transitions.remove(submit);
+		assertSame(wildcard, getTransition("submit"));
+		Iterator<Transition> it = transitions.iterator();
+		it.next();
+		it.remove();
+		assertFalse(transitions.hasMatchingTransition(context));
+	}
+
+	private Transition getTransition(String eventId) {
+		context.setCurrentEvent(new Event(this, eventId));
+		return transitions.getTransition(context);
+	}
+
+	private Transition transition(TransitionCriteria criteria) {
+		return new Transition(criteria, new DefaultTargetStateResolver("target"));
+	}
+}
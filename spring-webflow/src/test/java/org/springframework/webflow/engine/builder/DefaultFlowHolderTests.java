@@ -1,6 +1,15 @@
 package org.springframework.webflow.engine.builder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +50,30 @@ public class DefaultFlowHolderTests {
 		assertEquals("end", flow.getStartState().getId());
 	}
 
+	@Test
+	public void testGetFlowDefinitionConcurrently() throws Exception {
+		CountingFlowBuilder builder = new CountingFlowBuilder();
+		MockFlowBuilderContext context = new MockFlowBuilderContext("flowId");
+		context.getFlowBuilderServices().setApplicationContext(new StaticApplicationContext());
+		holder = new DefaultFlowHolder(new FlowAssembler(builder, context));
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<FlowDefinition>> tasks = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				tasks.add(holder::getFlowDefinition);
+			}
+			FlowDefinition flow = holder.getFlowDefinition();
+			for (Future<FlowDefinition> result : executor.invokeAll(tasks)) {
+				assertSame(flow, result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, builder.builds.get());
+		holder.refresh();
+		assertEquals(2, builder.builds.get());
+	}
+
 	@Test
 	public void testDestroyNotInitialized() {
 		holder.destroy();
@@ -64,6 +97,15 @@ public class DefaultFlowHolderTests {
 
 	}
 
+	public class CountingFlowBuilder extends SimpleFlowBuilder {
+		private AtomicInteger builds = new AtomicInteger();
+
+		protected Flow createFlow() {
+			builds.incrementAndGet();
+			return super.createFlow();
+		}
+	}
+
 	public class ChangeDetectableFlowBuilder extends SimpleFlowBuilder {
 		private FileSystemResource resource = new FileSystemResource("file.txt");
 
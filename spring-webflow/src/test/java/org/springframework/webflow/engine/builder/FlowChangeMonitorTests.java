@@ -0,0 +1,124 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.definition.FlowDefinition;
+import org.springframework.webflow.engine.EndState;
+import org.springframework.webflow.engine.Flow;
+import org.springframework.webflow.engine.builder.support.AbstractFlowBuilder;
+import org.springframework.webflow.test.MockFlowBuilderContext;
+
+public class FlowChangeMonitorTests {
+
+	@TempDir
+	File directory;
+
+	private FlowChangeMonitor monitor = new FlowChangeMonitor();
+
+	private ChangingFlowBuilder builder = new ChangingFlowBuilder();
+
+	private DefaultFlowHolder holder;
+
+	@BeforeEach
+	public void setUp() {
+		MockFlowBuilderContext context = new MockFlowBuilderContext("flowId", new LocalAttributeMap<>("development",
+				true));
+		context.getFlowBuilderServices().setApplicationContext(new StaticApplicationContext());
+		holder = new DefaultFlowHolder(new FlowAssembler(builder, context));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		monitor.destroy();
+	}
+
+	@Test
+	public void testRegisterResourceNotInFileSystem() {
+		assertFalse(monitor.register(holder, new ByteArrayResource(new byte[0])));
+		assertEquals(0, monitor.getDirectoryCount());
+		FlowDefinition flow = holder.getFlowDefinition();
+		builder.changed = true;
+		assertNotSame(flow, holder.getFlowDefinition());
+	}
+
+	@Test
+	public void testRefreshChangedFlows() throws Exception {
+		File file = new File(directory, "flow.xml");
+		Files.writeString(file.toPath(), "<flow/>");
+		assertTrue(monitor.register(holder, new FileSystemResource(file)));
+		assertTrue(monitor.register(holder, new FileSystemResource(new File(directory, "other.xml"))));
+		assertEquals(1, monitor.getDirectoryCount());
+		FlowDefinition flow = holder.getFlowDefinition();
+		builder.changed = true;
+		assertSame(flow, holder.getFlowDefinition());
+		monitor.refreshChangedFlows();
+		assertNotSame(flow, holder.getFlowDefinition());
+		flow = holder.getFlowDefinition();
+		monitor.refreshChangedFlows();
+		assertSame(flow, holder.getFlowDefinition());
+	}
+
+	@Test
+	public void testChangeDetectedInBackground() throws Exception {
+		File file = new File(directory, "flow.xml");
+		Files.writeString(file.toPath(), "<flow/>");
+		monitor.setQuietPeriod(10);
+		assertTrue(monitor.register(holder, new FileSystemResource(file)));
+		FlowDefinition flow = holder.getFlowDefinition();
+		builder.changed = true;
+		Files.writeString(file.toPath(), "<flow start-state=\"end\"/>");
+		long deadline = System.currentTimeMillis() + 30000;
+		while (holder.getFlowDefinition() == flow && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertNotSame(flow, holder.getFlowDefinition());
+	}
+
+	private static class ChangingFlowBuilder extends AbstractFlowBuilder {
+
+		private volatile boolean changed;
+
+		public void buildStates() throws FlowBuilderException {
+			changed = false;
+			new EndState(getFlow(), "end");
+		}
+
+		protected Flow createFlow() {
+			return Flow.create(getContext().getFlowId(), getContext().getFlowAttributes());
+		}
+
+		public boolean hasFlowChanged() {
+			return changed;
+		}
+	}
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.webflow.engine.builder.support;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -22,9 +23,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.binding.expression.support.StaticExpression;
+import org.springframework.webflow.engine.EventIdTransitionCriteria;
 import org.springframework.webflow.engine.Flow;
 import org.springframework.webflow.engine.TransitionCriteria;
 import org.springframework.webflow.engine.WildcardTransitionCriteria;
+import org.springframework.webflow.engine.support.DefaultTransitionCriteria;
 import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.execution.RequestContext;
 import org.springframework.webflow.execution.RequestContextHolder;
@@ -63,6 +66,16 @@ public class TextToTransitionCriteriaTests {
 				TransitionCriteria.class);
 		RequestContext ctx = getRequestContext();
 		assertTrue(criterion.test(ctx), "Criterion should evaluate to true");
+		assertEquals("sample", ((EventIdTransitionCriteria) criterion).getEventId());
+		assertEquals("sample", criterion.toString());
+	}
+
+	@Test
+	public void testTemplateEventIdNotLiteral() throws Exception {
+		TransitionCriteria criterion = (TransitionCriteria) converter.convertSourceToTargetClass("sam#{'ple'}",
+				TransitionCriteria.class);
+		assertTrue(criterion instanceof DefaultTransitionCriteria);
+		assertTrue(criterion.test(getRequestContext()), "Criterion should evaluate to true");
 	}
 
 	@Test
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.engine.Flow;
+import org.springframework.webflow.engine.RequestControlContext;
+import org.springframework.webflow.engine.State;
+import org.springframework.webflow.execution.FlowExecutionException;
+import org.springframework.webflow.test.MockExternalContext;
+
+/**
+ * Unit tests for {@link CompactFlowExecutionSerializer}.
+ */
+public class CompactFlowExecutionSerializerTests {
+
+	private CompactFlowExecutionSerializer serializer = new CompactFlowExecutionSerializer();
+
+	private FlowExecutionImpl execution;
+
+	@BeforeEach
+	public void setUp() {
+		Flow flow = new Flow("myFlow");
+		new State(flow, "state") {
+			protected void doEnter(RequestControlContext context) throws FlowExecutionException {
+			}
+		};
+		execution = (FlowExecutionImpl) new FlowExecutionImplFactory().createFlowExecution(flow);
+		execution.start(null, new MockExternalContext());
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		List<String> list = new ArrayList<>();
+		list.add("item");
+		MutableAttributeMap<Object> scope = execution.getActiveSession().getScope();
+		scope.put("string", "bar");
+		scope.put("integer", -42);
+		scope.put("long", 42L);
+		scope.put("boolean", true);
+		scope.put("null", null);
+		scope.put("nested", new LocalAttributeMap<>("foo", "bar"));
+		scope.put("list", list);
+		scope.put("sameList", list);
+
+		FlowExecutionImpl execution2 = roundTrip();
+		assertNotSame(execution, execution2);
+		assertEquals(FlowExecutionStatus.ACTIVE, execution2.getStatus());
+		assertEquals(1, execution2.getFlowSessions().size());
+		FlowSessionImpl session = execution2.getFlowSessions().getFirst();
+		assertEquals("myFlow", session.getFlowId());
+		assertEquals("state", session.getStateId());
+		assertNull(session.getParent());
+		MutableAttributeMap<Object> scope2 = session.getScope();
+		assertEquals(scope.size(), scope2.size());
+		assertEquals("bar", scope2.get("string"));
+		assertEquals(-42, scope2.get("integer"));
+		assertEquals(42L, scope2.get("long"));
+		assertEquals(true, scope2.get("boolean"));
+		assertTrue(scope2.contains("null"));
+		assertEquals("bar", ((LocalAttributeMap<?>) scope2.get("nested")).get("foo"));
+		assertEquals(list, scope2.get("list"));
+		assertSame(scope2.get("list"), scope2.get("sameList"));
+	}
+
+	@Test
+	public void testRoundTripSubflowSessions() throws Exception {
+		FlowSessionImpl root = execution.getFlowSessions().getFirst();
+		FlowSessionImpl subflowSession = new FlowSessionImpl("subflow", "subflowState", new LocalAttributeMap<>(),
+				root);
+		subflowSession.getScope().put("foo", "bar");
+		execution.getFlowSessions().add(subflowSession);
+
+		FlowExecutionImpl execution2 = roundTrip();
+		assertEquals(2, execution2.getFlowSessions().size());
+		FlowSessionImpl subflowSession2 = execution2.getFlowSessions().getLast();
+		assertEquals("subflow", subflowSession2.getFlowId());
+		assertEquals("subflowState", subflowSession2.getStateId());
+		assertSame(execution2.getFlowSessions().getFirst(), subflowSession2.getParent());
+		assertEquals("bar", subflowSession2.getScope().get("foo"));
+	}
+
+	@Test
+	public void testSmallerThanJavaSerialization() throws Exception {
+		execution.getActiveSession().getScope().put("foo", "bar");
+		execution.getActiveSession().getScope().put("counter", 1);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(execution);
+		}
+		assertTrue(serializer.serialize(execution).length < bytes.size());
+	}
+
+	@Test
+	public void testDeserializeJavaSerialization() throws Exception {
+		execution.getActiveSession().getScope().put("foo", "bar");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(execution);
+		}
+		FlowExecutionImpl execution2 = (FlowExecutionImpl) serializer.deserialize(bytes.toByteArray(),
+				getClass().getClassLoader());
+		assertEquals("bar", execution2.getFlowSessions().getFirst().getScope().get("foo"));
+	}
+
+	private FlowExecutionImpl roundTrip() throws Exception {
+		byte[] data = serializer.serialize(execution);
+		return (FlowExecutionImpl) serializer.deserialize(data, getClass().getClassLoader());
+	}
+
+}
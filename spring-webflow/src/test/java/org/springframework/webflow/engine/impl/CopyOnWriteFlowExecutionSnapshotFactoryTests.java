@@ -0,0 +1,90 @@
+package org.springframework.webflow.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.definition.registry.FlowDefinitionLocator;
+import org.springframework.webflow.engine.Flow;
+import org.springframework.webflow.engine.RequestControlContext;
+import org.springframework.webflow.engine.State;
+import org.springframework.webflow.execution.FlowExecutionException;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.test.MockExternalContext;
+
+public class CopyOnWriteFlowExecutionSnapshotFactoryTests {
+	private Flow flow;
+	private CopyOnWriteFlowExecutionSnapshotFactory factory;
+	private FlowExecutionImplFactory executionFactory;
+
+	@BeforeEach
+	public void setUp() {
+		flow = new Flow("myFlow");
+		new State(flow, "state") {
+			protected void doEnter(RequestControlContext context) throws FlowExecutionException {
+			}
+		};
+		FlowDefinitionLocator locator = flowId -> flow;
+		executionFactory = new FlowExecutionImplFactory();
+		executionFactory.setExecutionKeyFactory(null);
+		factory = new CopyOnWriteFlowExecutionSnapshotFactory(executionFactory, locator);
+	}
+
+	@Test
+	public void testCreateSnapshot() {
+		FlowExecutionImpl flowExecution = (FlowExecutionImpl) executionFactory.createFlowExecution(flow);
+		flowExecution.start(null, new MockExternalContext());
+		flowExecution.getActiveSession().getScope().put("foo", "bar");
+		FlowExecutionSnapshot snapshot = factory.createSnapshot(flowExecution);
+		FlowExecutionImpl flowExecution2 = (FlowExecutionImpl) factory.restoreExecution(snapshot, "myFlow", null,
+				flowExecution.getConversationScope(), null);
+		assertNotSame(flowExecution, flowExecution2);
+		assertEquals(flowExecution.getDefinition().getId(), flowExecution2.getDefinition().getId());
+		assertEquals("bar", flowExecution2.getActiveSession().getScope().get("foo"));
+		assertEquals(flowExecution.getActiveSession().getState().getId(), flowExecution2.getActiveSession().getState()
+				.getId());
+		assertNull(flowExecution2.getKey());
+		assertSame(flowExecution.getConversationScope(), flowExecution2.getConversationScope());
+	}
+
+	@Test
+	public void testHistoryIsolated() {
+		FlowExecutionImpl flowExecution = (FlowExecutionImpl) executionFactory.createFlowExecution(flow);
+		flowExecution.start(null, new MockExternalContext());
+		MutableAttributeMap<Object> nested = new LocalAttributeMap<>();
+		nested.put("count", 1);
+		flowExecution.getActiveSession().getScope().put("foo", "bar");
+		flowExecution.getActiveSession().getScope().put("nested", nested);
+		FlowExecutionSnapshot snapshot = factory.createSnapshot(flowExecution);
+		flowExecution.getActiveSession().getScope().put("foo", "baz");
+		nested.put("count", 2);
+		FlowExecutionImpl restored = (FlowExecutionImpl) factory.restoreExecution(snapshot, "myFlow", null,
+				flowExecution.getConversationScope(), null);
+		MutableAttributeMap<Object> scope = restored.getActiveSession().getScope();
+		assertEquals("bar", scope.get("foo"));
+		assertEquals(1, ((MutableAttributeMap<?>) scope.get("nested")).get("count"));
+		scope.put("foo", "qux");
+		FlowExecutionImpl restoredAgain = (FlowExecutionImpl) factory.restoreExecution(snapshot, "myFlow", null,
+				flowExecution.getConversationScope(), null);
+		assertEquals("bar", restoredAgain.getActiveSession().getScope().get("foo"));
+	}
+
+	@Test
+	public void testUnchangedExecutionSharesSnapshot() {
+		FlowExecutionImpl flowExecution = (FlowExecutionImpl) executionFactory.createFlowExecution(flow);
+		flowExecution.start(null, new MockExternalContext());
+		flowExecution.getActiveSession().getScope().put("foo", "bar");
+		FlowExecutionSnapshot snapshot = factory.createSnapshot(flowExecution);
+		FlowExecutionImpl restored = (FlowExecutionImpl) factory.restoreExecution(snapshot, "myFlow", null,
+				flowExecution.getConversationScope(), null);
+		assertEquals(snapshot, factory.createSnapshot(restored));
+		restored.getActiveSession().getScope().put("foo", "baz");
+		assertNotEquals(snapshot, factory.createSnapshot(restored));
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.model.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.builder.xml.DefaultDocumentLoader;
+import org.springframework.webflow.engine.model.builder.xml.XmlFlowModelBuilder;
+import org.springframework.webflow.engine.model.registry.FlowModelHolder;
+import org.springframework.webflow.engine.model.registry.FlowModelRegistryImpl;
+
+public class FlowModelCacheTests {
+
+	@TempDir
+	File directory;
+
+	private FlowModelCache cache;
+
+	private List<String> parsed = new ArrayList<>();
+
+	private Resource parentResource;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		cache = new FlowModelCache(new File(directory, "cache"));
+		parentResource = new FileSystemResource(new File(directory, "parent.xml"));
+		Files.copy(new ClassPathResource("xml/flow-inheritance-parent.xml", getClass()).getInputStream(),
+				parentResource.getFile().toPath());
+	}
+
+	@Test
+	public void testGetNotCached() {
+		assertNull(cache.get("missing"));
+	}
+
+	@Test
+	public void testMergedModelCached() {
+		FlowModel flow = createRegistry().getFlowModel("child");
+		assertEquals(2, flow.getStates().size());
+		assertEquals(List.of("child", "parent"), parsed);
+		parsed.clear();
+		flow = createRegistry().getFlowModel("child");
+		assertEquals(2, flow.getStates().size());
+		assertEquals(1, flow.getGlobalTransitions().size());
+		assertEquals("view", flow.getStates().get(0).getId());
+		assertEquals(List.of(), parsed);
+	}
+
+	@Test
+	public void testParentChanged() throws Exception {
+		createRegistry().getFlowModel("child");
+		String parent = Files.readString(parentResource.getFile().toPath());
+		Files.writeString(parentResource.getFile().toPath(), parent.replace("id=\"end\"", "id=\"finish\""));
+		parsed.clear();
+		FlowModel flow = createRegistry().getFlowModel("child");
+		assertEquals(List.of("parent", "child"), parsed);
+		assertEquals("finish", flow.getStates().get(1).getId());
+	}
+
+	@Test
+	public void testKeyAndDigest() throws Exception {
+		Resource child = new ClassPathResource("xml/flow-inheritance-child.xml", getClass());
+		assertEquals(cache.getKey(child), cache.getKey(child));
+		assertNotEquals(cache.getKey(child), cache.getKey(parentResource));
+		FlowModel flow = createRegistry().getFlowModel("parent");
+		assertEquals(cache.getDigest(flow), cache.getDigest(createRegistry().getFlowModel("parent")));
+		cache.put("key", flow, Map.of("parent", cache.getDigest(flow)));
+		assertNotNull(cache.get("key"));
+		assertEquals(cache.getDigest(flow), cache.get("key").getDependencies().get("parent"));
+	}
+
+	private FlowModelRegistryImpl createRegistry() {
+		FlowModelRegistryImpl registry = new FlowModelRegistryImpl();
+		registry.registerFlowModel("child", createHolder("child",
+				new ClassPathResource("xml/flow-inheritance-child.xml", getClass()), registry));
+		registry.registerFlowModel("parent", createHolder("parent", parentResource, registry));
+		return registry;
+	}
+
+	private FlowModelHolder createHolder(String id, Resource resource, FlowModelRegistryImpl registry) {
+		XmlFlowModelBuilder builder = new XmlFlowModelBuilder(resource, registry);
+		builder.setFlowModelCache(cache);
+		builder.setDocumentLoader(documentResource -> {
+			parsed.add(id);
+			return new DefaultDocumentLoader().loadDocument(documentResource);
+		});
+		return new DefaultFlowModelHolder(builder);
+	}
+}
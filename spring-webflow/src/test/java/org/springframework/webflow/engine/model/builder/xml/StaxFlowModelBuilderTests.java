@@ -0,0 +1,136 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.model.builder.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.ViewStateModel;
+import org.springframework.webflow.engine.model.builder.DefaultFlowModelHolder;
+import org.springframework.webflow.engine.model.builder.FlowModelBuilder;
+import org.springframework.webflow.engine.model.builder.FlowModelBuilderException;
+import org.springframework.webflow.engine.model.builder.FlowModelCache;
+import org.springframework.webflow.engine.model.registry.FlowModelRegistry;
+import org.springframework.webflow.engine.model.registry.FlowModelRegistryImpl;
+
+public class StaxFlowModelBuilderTests {
+
+	private static final String[] FLOWS = { "flow-action-evaluate-action.xml", "flow-custom-attribute.xml",
+			"flow-empty.xml", "flow-endstate.xml", "flow-exception-handler.xml",
+			"flow-formaction-validatormethod.xml", "flow-inputoutput.xml", "flow-persistencecontext.xml",
+			"flow-secured-state.xml", "flow-secured-transition.xml", "flow-secured.xml",
+			"flow-startstate-attribute.xml", "flow-startstate-default.xml", "flow-validation-hints.xml",
+			"flow-var.xml", "flow-viewstate-externalredirect.xml", "flow-viewstate-flowredirect.xml",
+			"flow-viewstate-model-binding.xml", "flow-viewstate-popup.xml", "flow-viewstate-redirect.xml",
+			"flow-viewstate-var.xml", "flow-viewstate-view.xml" };
+
+	@TempDir
+	File directory;
+
+	private FlowModelCache cache;
+
+	private FlowModelRegistry registry;
+
+	@BeforeEach
+	public void setUp() {
+		cache = new FlowModelCache(directory);
+		registry = new FlowModelRegistryImpl();
+	}
+
+	@Test
+	public void testSameFlowModelAsDom() {
+		for (String flow : FLOWS) {
+			Resource resource = new ClassPathResource(flow, getClass());
+			FlowModel domModel = build(new XmlFlowModelBuilder(resource, registry));
+			FlowModel staxModel = build(new StaxFlowModelBuilder(resource, registry));
+			assertEquals(cache.getDigest(domModel), cache.getDigest(staxModel), flow);
+		}
+	}
+
+	@Test
+	public void testSameFlowModelAsDomNotValidating() {
+		Resource resource = new ClassPathResource("flow-action-evaluate-bean.xml", getClass());
+		XmlFlowModelBuilder domBuilder = new XmlFlowModelBuilder(resource, registry);
+		DefaultDocumentLoader documentLoader = new DefaultDocumentLoader();
+		documentLoader.setValidating(false);
+		domBuilder.setDocumentLoader(documentLoader);
+		StaxFlowModelBuilder staxBuilder = new StaxFlowModelBuilder(resource, registry);
+		staxBuilder.setValidating(false);
+		assertEquals(cache.getDigest(build(domBuilder)), cache.getDigest(build(staxBuilder)));
+	}
+
+	@Test
+	public void testValidationError() {
+		Resource resource = new ClassPathResource("flow-action-evaluate-bean.xml", getClass());
+		try {
+			new StaxFlowModelBuilder(resource, registry).init();
+			fail("A FlowModelBuilderException was expected");
+		} catch (FlowModelBuilderException e) {
+			// we want this
+		}
+	}
+
+	@Test
+	public void testBuildBeforeInit() {
+		FlowModelBuilder builder = new StaxFlowModelBuilder(new ClassPathResource("flow-empty.xml", getClass()));
+		try {
+			builder.build();
+			fail("A FlowModelBuilderException was expected");
+		} catch (FlowModelBuilderException e) {
+			// we want this
+		}
+	}
+
+	@Test
+	public void testMergeParent() {
+		registry.registerFlowModel("child", new DefaultFlowModelHolder(new StaxFlowModelBuilder(
+				new ClassPathResource("flow-inheritance-child.xml", getClass()), registry)));
+		registry.registerFlowModel("parent", new DefaultFlowModelHolder(new StaxFlowModelBuilder(
+				new ClassPathResource("flow-inheritance-parent.xml", getClass()), registry)));
+		FlowModel flow = registry.getFlowModel("child");
+		assertNull(flow.getParent());
+		assertEquals(1, flow.getGlobalTransitions().size());
+		assertEquals(2, flow.getStates().size());
+		assertEquals("view", flow.getStates().get(0).getId());
+	}
+
+	@Test
+	public void testMergeParentState() {
+		registry.registerFlowModel("child", new DefaultFlowModelHolder(new StaxFlowModelBuilder(
+				new ClassPathResource("flow-inheritance-state-child.xml", getClass()), registry)));
+		registry.registerFlowModel("parent", new DefaultFlowModelHolder(new StaxFlowModelBuilder(
+				new ClassPathResource("flow-inheritance-state-parent.xml", getClass()), registry)));
+		FlowModel flow = registry.getFlowModel("child");
+		assertEquals(1, flow.getStates().size());
+		assertEquals("otherview", ((ViewStateModel) flow.getStates().get(0)).getView());
+	}
+
+	private FlowModel build(FlowModelBuilder builder) {
+		builder.init();
+		builder.build();
+		return builder.getFlowModel();
+	}
+
+}
@@ -4,10 +4,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -163,6 +167,40 @@ public class DefaultFlowExecutionRepositoryTests {
 		}
 	}
 
+	@Test
+	public void testRetainedSnapshotBytes() {
+		repository.setMaxTotalSnapshotBytes(1024 * 1024);
+		assertEquals(0, repository.getRetainedSnapshotBytes());
+		FlowExecution execution = executionFactory.createFlowExecution(flow);
+		execution.start(null, new MockExternalContext());
+		repository.putFlowExecution(execution);
+		assertTrue(repository.getRetainedSnapshotBytes() > 0);
+		repository.removeFlowExecution(execution);
+		assertEquals(0, repository.getRetainedSnapshotBytes());
+	}
+
+	@Test
+	public void testPutFlowExecutionInBackground() {
+		repository.setSnapshotExecutor(task -> new Thread(task).start());
+		FlowExecution execution = executionFactory.createFlowExecution(flow);
+		execution.start(null, new MockExternalContext());
+		repository.putFlowExecution(execution);
+		FlowExecution execution2 = repository.getFlowExecution(execution.getKey());
+		assertNotSame(execution, execution2);
+		assertEquals(execution.getActiveSession().getState().getId(), execution2.getActiveSession().getState().getId());
+	}
+
+	@Test
+	public void testPutFlowExecutionSnapshotRejected() {
+		repository.setSnapshotExecutor(task -> {
+			throw new RejectedExecutionException();
+		});
+		FlowExecution execution = executionFactory.createFlowExecution(flow);
+		execution.start(null, new MockExternalContext());
+		repository.putFlowExecution(execution);
+		assertNotNull(repository.getFlowExecution(execution.getKey()));
+	}
+
 	@Test
 	public void testRemoveKeyNotSet() {
 		FlowExecution execution = executionFactory.createFlowExecution(flow);
@@ -235,6 +273,16 @@ public class DefaultFlowExecutionRepositoryTests {
 
 	}
 
+	@Test
+	public void testIncrementalSnapshotsWithSnapshotStoreRejected() {
+		MappedSnapshotStore store = new MappedSnapshotStore(new File("snapshots"));
+		repository.setFullSnapshotInterval(5);
+		assertThrows(IllegalStateException.class, () -> repository.setSnapshotStore(store));
+		repository.setFullSnapshotInterval(1);
+		repository.setSnapshotStore(store);
+		assertThrows(IllegalStateException.class, () -> repository.setFullSnapshotInterval(5));
+	}
+
 	@Test
 	public void testUpdateNothingToDo() {
 		FlowExecution execution = executionFactory.createFlowExecution(flow);
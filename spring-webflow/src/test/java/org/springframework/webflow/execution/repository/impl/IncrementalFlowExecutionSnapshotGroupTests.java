@@ -0,0 +1,109 @@
+package org.springframework.webflow.execution.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+
+public class IncrementalFlowExecutionSnapshotGroupTests {
+
+	private IncrementalFlowExecutionSnapshotGroup group = new IncrementalFlowExecutionSnapshotGroup();
+
+	@BeforeEach
+	public void setUp() {
+		group.setFullSnapshotInterval(3);
+	}
+
+	@Test
+	public void testDeltas() {
+		for (int i = 1; i <= 5; i++) {
+			group.addSnapshot(group.nextSnapshotId(), snapshot(i));
+		}
+		assertTrue(((IncrementalFlowExecutionSnapshot) group.peekSnapshot(1)).isBase());
+		assertFalse(((IncrementalFlowExecutionSnapshot) group.peekSnapshot(2)).isBase());
+		assertFalse(((IncrementalFlowExecutionSnapshot) group.peekSnapshot(3)).isBase());
+		assertTrue(((IncrementalFlowExecutionSnapshot) group.peekSnapshot(4)).isBase());
+		assertTrue(group.peekSnapshot(2).getSize() < 100);
+		for (int i = 1; i <= 5; i++) {
+			assertArrayEquals(snapshot(i).getSnapshotData(), data(group, i));
+		}
+	}
+
+	@Test
+	public void testRemovedBaseStillRebuilds() {
+		group.setMaxSnapshots(2);
+		for (int i = 1; i <= 3; i++) {
+			group.addSnapshot(group.nextSnapshotId(), snapshot(i));
+		}
+		assertEquals(2, group.getSnapshotCount());
+		assertArrayEquals(snapshot(3).getSnapshotData(), data(group, 3));
+	}
+
+	@Test
+	public void testRemovedBaseRebasesChild() {
+		group.setMaxSnapshots(2);
+		for (int i = 1; i <= 3; i++) {
+			group.addSnapshot(group.nextSnapshotId(), snapshot(i));
+		}
+		IncrementalFlowExecutionSnapshot oldest = (IncrementalFlowExecutionSnapshot) group.peekSnapshot(2);
+		assertTrue(oldest.isBase());
+		assertEquals(1, ((IncrementalFlowExecutionSnapshot) group.peekSnapshot(3)).getDepth());
+		assertEquals(oldest.getSize() + group.peekSnapshot(3).getSize(), group.getSnapshotBytes());
+		assertArrayEquals(snapshot(2).getSnapshotData(), data(group, 2));
+		assertArrayEquals(snapshot(3).getSnapshotData(), data(group, 3));
+	}
+
+	@Test
+	public void testRemovedDeltaRebasesChildOntoParent() {
+		for (int i = 1; i <= 3; i++) {
+			group.addSnapshot(group.nextSnapshotId(), snapshot(i));
+		}
+		group.removeSnapshot(2);
+		IncrementalFlowExecutionSnapshot youngest = (IncrementalFlowExecutionSnapshot) group.peekSnapshot(3);
+		assertEquals(1, youngest.getDepth());
+		assertEquals(group.peekSnapshot(1).getSize() + youngest.getSize(), group.getSnapshotBytes());
+		assertArrayEquals(snapshot(3).getSnapshotData(), data(group, 3));
+	}
+
+	@Test
+	public void testReAddIdenticalSnapshot() {
+		Serializable id = group.nextSnapshotId();
+		group.addSnapshot(id, snapshot(1));
+		group.resetChanged();
+		group.addSnapshot(id, snapshot(1));
+		assertFalse(group.hasChanged());
+	}
+
+	@Test
+	public void testUpdateSnapshot() {
+		group.addSnapshot(group.nextSnapshotId(), snapshot(1));
+		Serializable id = group.nextSnapshotId();
+		group.addSnapshot(id, snapshot(2));
+		SerializedFlowExecutionSnapshot updated = snapshot(7);
+		group.updateSnapshot(id, updated);
+		assertSame(updated, group.getSnapshot(id));
+		group.addSnapshot(group.nextSnapshotId(), snapshot(3));
+		assertTrue(((IncrementalFlowExecutionSnapshot) group.peekSnapshot(3)).isBase());
+	}
+
+	private byte[] data(IncrementalFlowExecutionSnapshotGroup group, int snapshotId) {
+		return ((SerializedFlowExecutionSnapshot) group.getSnapshot(snapshotId)).getSnapshotData();
+	}
+
+	private SerializedFlowExecutionSnapshot snapshot(int version) {
+		byte[] data = new byte[1000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 7);
+		}
+		data[500] = (byte) version;
+		return new SerializedFlowExecutionSnapshot(data, false);
+	}
+
+}
@@ -0,0 +1,117 @@
+package org.springframework.webflow.execution.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedSnapshotStoreTests {
+
+	@TempDir
+	File directory;
+
+	private MappedSnapshotStore store;
+
+	@BeforeEach
+	public void setUp() {
+		store = new MappedSnapshotStore(directory);
+		store.setSegmentSize(100);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		store.destroy();
+	}
+
+	@Test
+	public void testWriteRead() throws Exception {
+		long id1 = store.write(data(40, 1));
+		long id2 = store.write(data(40, 2));
+		assertArrayEquals(data(40, 1), store.read(id1));
+		assertArrayEquals(data(40, 2), store.read(id2));
+		assertEquals(2, store.getEntryCount());
+		assertEquals(1, store.getSegmentCount());
+	}
+
+	@Test
+	public void testRelease() throws Exception {
+		long id = store.write(data(40, 1));
+		store.release(id);
+		assertNull(store.read(id));
+		assertEquals(0, store.getEntryCount());
+		store.release(id);
+	}
+
+	@Test
+	public void testEntryLargerThanSegment() throws Exception {
+		long id = store.write(data(250, 1));
+		assertArrayEquals(data(250, 1), store.read(id));
+	}
+
+	@Test
+	public void testReleasedSegmentDeleted() throws Exception {
+		long id1 = store.write(data(60, 1));
+		long id2 = store.write(data(60, 2));
+		assertEquals(2, store.getSegmentCount());
+		store.release(id1);
+		assertEquals(1, store.getSegmentCount());
+		assertEquals(1, directory.list().length);
+		assertArrayEquals(data(60, 2), store.read(id2));
+	}
+
+	@Test
+	public void testCompact() throws Exception {
+		long id1 = store.write(data(30, 1));
+		long id2 = store.write(data(30, 2));
+		long id3 = store.write(data(30, 3));
+		long id4 = store.write(data(30, 4));
+		assertEquals(2, store.getSegmentCount());
+		store.release(id1);
+		store.release(id2);
+		store.compact();
+		assertEquals(1, store.getSegmentCount());
+		assertArrayEquals(data(30, 3), store.read(id3));
+		assertArrayEquals(data(30, 4), store.read(id4));
+	}
+
+	@Test
+	public void testCompactIntoNewSegment() throws Exception {
+		long id1 = store.write(data(30, 1));
+		long id2 = store.write(data(30, 2));
+		long id3 = store.write(data(30, 3));
+		long id4 = store.write(data(90, 4));
+		store.release(id1);
+		store.release(id2);
+		store.compact();
+		assertEquals(2, store.getSegmentCount());
+		assertEquals(2, directory.list().length);
+		assertArrayEquals(data(30, 3), store.read(id3));
+		assertArrayEquals(data(90, 4), store.read(id4));
+		store.release(id4);
+		assertEquals(1, store.getSegmentCount());
+		assertArrayEquals(data(30, 3), store.read(id3));
+	}
+
+	@Test
+	public void testDestroy() throws Exception {
+		store.write(data(60, 1));
+		store.write(data(60, 2));
+		store.destroy();
+		assertEquals(0, store.getSegmentCount());
+		assertEquals(0, directory.list().length);
+	}
+
+	private byte[] data(int length, int value) {
+		byte[] data = new byte[length];
+		Arrays.fill(data, (byte) value);
+		return data;
+	}
+
+}
@@ -1,10 +1,17 @@
 package org.springframework.webflow.execution.repository.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
@@ -127,4 +134,117 @@ public class SimpleFlowExecutionSnapshotGroupTests {
 		assertEquals(0, group.getSnapshotCount());
 	}
 
+	@Test
+	public void testChangeTracking() {
+		assertFalse(group.hasChanged());
+		Serializable id = group.nextSnapshotId();
+		group.addSnapshot(id, snapshot);
+		assertTrue(group.hasChanged());
+		group.resetChanged();
+		group.addSnapshot(id, snapshot);
+		assertFalse(group.hasChanged());
+		group.updateSnapshot(id, snapshot);
+		assertFalse(group.hasChanged());
+		group.updateSnapshot(id, snapshot2);
+		assertTrue(group.hasChanged());
+		group.resetChanged();
+		group.removeSnapshot(id);
+		assertTrue(group.hasChanged());
+	}
+
+	@Test
+	public void testAddMaximumBytesReached() {
+		group.setMaxSnapshotBytes(250);
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		assertEquals(200, group.getSnapshotBytes());
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		assertEquals(2, group.getSnapshotCount());
+		assertEquals(200, group.getSnapshotBytes());
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(300));
+		assertEquals(1, group.getSnapshotCount());
+		assertEquals(300, group.getSnapshotBytes());
+		group.removeAllSnapshots();
+		assertEquals(0, group.getSnapshotBytes());
+	}
+
+	@Test
+	public void testMemoryBudgetShared() {
+		SnapshotMemoryBudget budget = new SnapshotMemoryBudget(250);
+		SimpleFlowExecutionSnapshotGroup group2 = new SimpleFlowExecutionSnapshotGroup();
+		group.setMemoryBudget(budget);
+		group2.setMemoryBudget(budget);
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		assertEquals(200, budget.getRetainedBytes());
+		group2.addSnapshot(group2.nextSnapshotId(), new SizedSnapshot(100));
+		assertEquals(300, budget.getRetainedBytes());
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		assertEquals(1, group.getSnapshotCount());
+		assertEquals(200, budget.getRetainedBytes());
+		Serializable id = group2.nextSnapshotId();
+		group2.addSnapshot(id, new SizedSnapshot(100));
+		group2.updateSnapshot(id, new SizedSnapshot(50));
+		assertEquals(250, budget.getRetainedBytes());
+		group2.removeSnapshot(id);
+		assertEquals(200, budget.getRetainedBytes());
+	}
+
+	@Test
+	public void testMemoryBudgetEnforcedOnWrite() {
+		SnapshotMemoryBudget budget = new SnapshotMemoryBudget(250);
+		SimpleFlowExecutionSnapshotGroup group2 = new SimpleFlowExecutionSnapshotGroup();
+		group.setMemoryBudget(budget);
+		group2.setMemoryBudget(budget);
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		group2.addSnapshot(group2.nextSnapshotId(), new SizedSnapshot(100));
+		assertTrue(budget.isExceeded());
+		assertEquals(2, group.getSnapshotCount());
+		assertEquals(1, group2.getSnapshotCount());
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		assertEquals(1, group.getSnapshotCount());
+		assertEquals(200, budget.getRetainedBytes());
+		assertFalse(budget.isExceeded());
+	}
+
+	@Test
+	public void testSerializeWithPendingSnapshot() throws Exception {
+		group.addSnapshot(group.nextSnapshotId(), new SizedSnapshot(100));
+		group.resetChanged();
+		Serializable id = group.nextSnapshotId();
+		group.resetChanged();
+		group.addPendingSnapshot(id, CompletableFuture.completedFuture(new SizedSnapshot(50)));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(group);
+		}
+		assertEquals(1, group.getSnapshotCount());
+		assertEquals(100, group.getSnapshotBytes());
+		assertFalse(group.hasChanged());
+		SimpleFlowExecutionSnapshotGroup copy;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (SimpleFlowExecutionSnapshotGroup) in.readObject();
+		}
+		assertEquals(1, copy.getSnapshotCount());
+		copy.completePendingSnapshot();
+		assertEquals(2, copy.getSnapshotCount());
+		assertEquals(50, copy.getSnapshot(id).getSize());
+		group.completePendingSnapshot();
+		assertEquals(2, group.getSnapshotCount());
+	}
+
+	private static class SizedSnapshot extends FlowExecutionSnapshot {
+
+		private final long size;
+
+		SizedSnapshot(long size) {
+			this.size = size;
+		}
+
+		public long getSize() {
+			return size;
+		}
+	}
+
 }
@@ -0,0 +1,92 @@
+package org.springframework.webflow.execution.repository.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+
+public class TieredFlowExecutionSnapshotGroupTests {
+
+	@TempDir
+	File directory;
+
+	private MappedSnapshotStore store;
+
+	private TieredFlowExecutionSnapshotGroup group = new TieredFlowExecutionSnapshotGroup();
+
+	@BeforeEach
+	public void setUp() {
+		store = new MappedSnapshotStore(directory);
+		group.setMaxHeapSnapshots(2);
+		group.setSnapshotStore(store);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		store.destroy();
+	}
+
+	@Test
+	public void testSpillOldSnapshots() {
+		SerializedFlowExecutionSnapshot snapshot1 = snapshot(1);
+		SerializedFlowExecutionSnapshot snapshot3 = snapshot(3);
+		group.addSnapshot(group.nextSnapshotId(), snapshot1);
+		group.addSnapshot(group.nextSnapshotId(), snapshot(2));
+		group.addSnapshot(group.nextSnapshotId(), snapshot3);
+		assertEquals(3, group.getSnapshotCount());
+		assertEquals(1, store.getEntryCount());
+		assertTrue(group.peekSnapshot(1) instanceof SpilledFlowExecutionSnapshot);
+		assertEquals(snapshot1, group.getSnapshot(1));
+		assertSame(snapshot3, group.getSnapshot(3));
+		assertEquals(20, group.getSnapshotBytes());
+	}
+
+	@Test
+	public void testRemoveReleasesSpilledSnapshot() {
+		group.addSnapshot(group.nextSnapshotId(), snapshot(1));
+		group.addSnapshot(group.nextSnapshotId(), snapshot(2));
+		group.addSnapshot(group.nextSnapshotId(), snapshot(3));
+		group.removeSnapshot(1);
+		assertEquals(0, store.getEntryCount());
+		group.addSnapshot(group.nextSnapshotId(), snapshot(4));
+		group.removeAllSnapshots();
+		assertEquals(0, store.getEntryCount());
+	}
+
+	@Test
+	public void testSerializeSpilledSnapshots() throws Exception {
+		group.addSnapshot(group.nextSnapshotId(), snapshot(1));
+		group.addSnapshot(group.nextSnapshotId(), snapshot(2));
+		group.addSnapshot(group.nextSnapshotId(), snapshot(3));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(group);
+		}
+		TieredFlowExecutionSnapshotGroup copy;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (TieredFlowExecutionSnapshotGroup) in.readObject();
+		}
+		assertTrue(copy.peekSnapshot(1) instanceof SerializedFlowExecutionSnapshot);
+		assertArrayEquals(snapshot(1).getSnapshotData(),
+				((SerializedFlowExecutionSnapshot) copy.getSnapshot(1)).getSnapshotData());
+	}
+
+	private SerializedFlowExecutionSnapshot snapshot(int value) {
+		byte[] data = new byte[10];
+		data[0] = (byte) value;
+		return new SerializedFlowExecutionSnapshot(data, false);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DeflaterSnapshotCompressor}.
+ */
+public class DeflaterSnapshotCompressorTests {
+
+	private DeflaterSnapshotCompressor compressor = new DeflaterSnapshotCompressor(1);
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		byte[] data = repeat("flowScope.order=", 200);
+		byte[] compressed = compressor.compress(data);
+		assertTrue(compressed.length < data.length);
+		assertArrayEquals(data, compressor.decompress(compressed));
+		// pooled deflater and inflater are reused
+		assertArrayEquals(data, compressor.decompress(compressor.compress(data)));
+	}
+
+	@Test
+	public void testRoundTripIncompressible() throws IOException {
+		byte[] data = new byte[10000];
+		new Random(1).nextBytes(data);
+		assertArrayEquals(data, compressor.decompress(compressor.compress(data)));
+	}
+
+	@Test
+	public void testDictionary() throws IOException {
+		byte[] data = "org.springframework.webflow.core.collection.LocalAttributeMap"
+				.getBytes(StandardCharsets.UTF_8);
+		byte[] withoutDictionary = compressor.compress(data);
+		compressor.setDictionary(data);
+		byte[] withDictionary = compressor.compress(data);
+		assertTrue(withDictionary.length < withoutDictionary.length);
+		assertArrayEquals(data, compressor.decompress(withDictionary));
+	}
+
+	@Test
+	public void testDecompressCorrupt() throws IOException {
+		byte[] compressed = compressor.compress(repeat("abc", 100));
+		assertThrows(IOException.class, () -> compressor.decompress(Arrays.copyOf(compressed, compressed.length - 2)));
+	}
+
+	private byte[] repeat(String value, int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			builder.append(value).append(i);
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,4 +52,18 @@ public class SerializedFlowExecutionSnapshotFactoryTests {
 		assertNull(flowExecution2.getKey());
 		assertSame(flowExecution.getConversationScope(), flowExecution2.getConversationScope());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testCreateSnapshotWithCompressor() {
+		factory.setCompressor(new DeflaterSnapshotCompressor());
+		FlowExecutionImpl flowExecution = (FlowExecutionImpl) executionFactory.createFlowExecution(flow);
+		flowExecution.start(null, new MockExternalContext());
+		flowExecution.getActiveSession().getScope().put("foo", "bar");
+		SerializedFlowExecutionSnapshot snapshot = (SerializedFlowExecutionSnapshot) factory
+				.createSnapshot(flowExecution);
+		assertTrue(snapshot.isCompressed());
+		FlowExecutionImpl flowExecution2 = (FlowExecutionImpl) factory.restoreExecution(snapshot, "myFlow", null,
+				flowExecution.getConversationScope(), null);
+		assertEquals("bar", flowExecution2.getActiveSession().getScope().get("foo"));
+	}
+}
@@ -16,6 +16,8 @@
 package org.springframework.webflow.expression.spel;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Locale;
 
@@ -24,9 +26,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.binding.expression.Expression;
 import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.spel.SpringELExpression;
 import org.springframework.binding.expression.support.FluentParserContext;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.context.support.StaticMessageSource;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.webflow.engine.Flow;
 import org.springframework.webflow.execution.RequestContextHolder;
@@ -77,4 +81,46 @@ public class WebFlowSpringELExpressionParserTests {
 		assertEquals("myCode myCode message", exp.getValue(requestContext));
 	}
 
+	@Test
+	public void testCompiledScopeAndVariableRead() {
+		WebFlowSpringELExpressionParser parser = new WebFlowSpringELExpressionParser(new SpelExpressionParser());
+		parser.setCompilerMode(SpelCompilerMode.IMMEDIATE);
+		requestContext.getFlowScope().put("foo", "bar");
+
+		SpringELExpression exp = (SpringELExpression) parser.parseExpression("foo", null);
+		assertEquals("bar", exp.getValue(requestContext));
+		assertTrue(exp.isCompiled());
+		assertEquals("bar", exp.getValue(requestContext));
+		assertEquals(1, exp.getCompiledCount());
+
+		exp = (SpringELExpression) parser.parseExpression("flowScope.foo", null);
+		assertEquals("bar", exp.getValue(requestContext));
+		assertTrue(exp.isCompiled());
+		assertEquals("bar", exp.getValue(requestContext));
+
+		exp = (SpringELExpression) parser.parseExpression("flowRequestContext", null);
+		assertSame(requestContext, exp.getValue(requestContext));
+		assertTrue(exp.isCompiled());
+		assertSame(requestContext, exp.getValue(requestContext));
+		assertEquals(1, exp.getCompiledCount());
+	}
+
+	@Test
+	public void testCompiledResourceBundleRead() {
+		MockExternalContext externalContext = (MockExternalContext) requestContext.getExternalContext();
+		externalContext.setLocale(Locale.ENGLISH);
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.getStaticMessageSource().addMessage("myCode", Locale.ENGLISH, "myCode message");
+		applicationContext.refresh();
+		((Flow) requestContext.getActiveFlow()).setApplicationContext(applicationContext);
+
+		WebFlowSpringELExpressionParser parser = new WebFlowSpringELExpressionParser(new SpelExpressionParser());
+		parser.setCompilerMode(SpelCompilerMode.IMMEDIATE);
+		SpringELExpression exp = (SpringELExpression) parser.parseExpression("resourceBundle.myCode", null);
+		assertEquals("myCode message", exp.getValue(requestContext));
+		assertTrue(exp.isCompiled());
+		assertEquals("myCode message", exp.getValue(requestContext));
+		assertEquals(1, exp.getCompiledCount());
+	}
+
 }
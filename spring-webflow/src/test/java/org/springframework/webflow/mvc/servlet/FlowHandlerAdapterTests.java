@@ -2,22 +2,38 @@ package org.springframework.webflow.mvc.servlet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.FlashMap;
@@ -27,11 +43,15 @@ import org.springframework.webflow.context.servlet.ServletExternalContext;
 import org.springframework.webflow.core.FlowException;
 import org.springframework.webflow.core.collection.LocalAttributeMap;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.engine.Flow;
 import org.springframework.webflow.execution.FlowExecutionOutcome;
 import org.springframework.webflow.execution.repository.NoSuchFlowExecutionException;
 import org.springframework.webflow.executor.FlowExecutionResult;
 import org.springframework.webflow.executor.FlowExecutor;
+import org.springframework.webflow.security.SecurityFlowExecutionListener;
+import org.springframework.webflow.security.SecurityRule;
 import org.springframework.webflow.test.MockFlowExecutionKey;
+import org.springframework.webflow.test.MockRequestContext;
 
 public class FlowHandlerAdapterTests {
 	private FlowHandlerAdapter flowHandlerAdapter;
@@ -523,6 +543,128 @@ public class FlowHandlerAdapterTests {
 		EasyMock.verify(flowExecutor);
 	}
 
+	@Test
+	public void testLaunchFlowRequestAsync() throws Exception {
+		flowHandlerAdapter.setAsyncProcessing(true);
+		flowHandlerAdapter.setAsyncExecutor(new SyncTaskExecutor());
+		request.setAsyncSupported(true);
+		setupRequest("/springtravel", "/app", "/whatever", "GET");
+		flowExecutor.launchExecution("foo", flowInput, context);
+		LocalAttributeMap<Object> output = new LocalAttributeMap<>();
+		output.put("bar", "baz");
+		FlowExecutionOutcome outcome = new FlowExecutionOutcome("finish", output);
+		FlowExecutionResult result = FlowExecutionResult.createEndedResult("foo", outcome);
+		EasyMock.expectLastCall().andReturn(result);
+		EasyMock.replay(flowExecutor);
+		flowHandlerAdapter.handle(request, response, flowHandler);
+		assertNotNull(request.getAsyncContext());
+		assertFalse(request.isAsyncStarted());
+		assertEquals("/springtravel/app/foo?bar=baz", response.getRedirectedUrl());
+		EasyMock.verify(flowExecutor);
+	}
+
+	@Test
+	public void testLaunchFlowRequestAsyncNotSupported() throws Exception {
+		flowHandlerAdapter.setAsyncProcessing(true);
+		flowHandlerAdapter.afterPropertiesSet();
+		assertNotNull(flowHandlerAdapter.getAsyncExecutor());
+		setupRequest("/springtravel", "/app", "/whatever", "GET");
+		flowExecutor.launchExecution("foo", flowInput, context);
+		FlowExecutionResult result = FlowExecutionResult.createPausedResult("foo", "12345");
+		EasyMock.expectLastCall().andReturn(result);
+		EasyMock.replay(flowExecutor);
+		flowHandlerAdapter.handle(request, response, flowHandler);
+		assertNull(request.getAsyncContext());
+		EasyMock.verify(flowExecutor);
+	}
+
+	@Test
+	public void testLaunchFlowRequestAsyncFailureRethrownOnDispatch() throws Exception {
+		flowHandlerAdapter.setAsyncProcessing(true);
+		flowHandlerAdapter.setAsyncExecutor(new SyncTaskExecutor());
+		request.setAsyncSupported(true);
+		setupRequest("/springtravel", "/app", "/whatever", "GET");
+		flowExecutor.launchExecution("foo", flowInput, context);
+		IllegalStateException failure = new IllegalStateException("Oops");
+		EasyMock.expectLastCall().andThrow(failure);
+		EasyMock.replay(flowExecutor);
+		flowHandlerAdapter.handle(request, response, flowHandler);
+		MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+		assertEquals("/springtravel/app/whatever", asyncContext.getDispatchedPath());
+		request.setAsyncStarted(false);
+		request.setDispatcherType(DispatcherType.ASYNC);
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> flowHandlerAdapter.handle(request, response, flowHandler));
+		assertSame(failure, e);
+		EasyMock.verify(flowExecutor);
+	}
+
+	@Test
+	public void testLaunchSecuredFlowRequestAsync() throws Exception {
+		flowHandlerAdapter.setAsyncProcessing(true);
+		flowHandlerAdapter.setAsyncExecutor(task -> {
+			Thread thread = new Thread(task);
+			thread.start();
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		request.setAsyncSupported(true);
+		setupRequest("/springtravel", "/app", "/whatever", "GET");
+		Flow flow = new Flow("foo");
+		SecurityRule rule = new SecurityRule();
+		rule.setComparisonType(SecurityRule.COMPARISON_ANY);
+		rule.setAttributes(Set.of("ROLE_USER"));
+		flow.getAttributes().put(SecurityRule.SECURITY_ATTRIBUTE_NAME, rule);
+		flowExecutor.launchExecution("foo", flowInput, context);
+		FlowExecutionResult result = FlowExecutionResult.createPausedResult("foo", "12345");
+		EasyMock.expectLastCall().andAnswer(() -> {
+			new SecurityFlowExecutionListener().sessionCreating(new MockRequestContext(), flow);
+			return result;
+		});
+		EasyMock.replay(flowExecutor);
+		SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken("user",
+				"password", List.of(new SimpleGrantedAuthority("ROLE_USER")))));
+		try {
+			flowHandlerAdapter.handle(request, response, flowHandler);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+		assertNull(((MockAsyncContext) request.getAsyncContext()).getDispatchedPath());
+		assertFalse(request.isAsyncStarted());
+		EasyMock.verify(flowExecutor);
+	}
+
+	@Test
+	public void testLaunchFlowRequestAsyncTimeout() throws Exception {
+		List<Runnable> tasks = new ArrayList<>();
+		flowHandlerAdapter.setAsyncProcessing(true);
+		flowHandlerAdapter.setAsyncExecutor(tasks::add);
+		request.setAsyncSupported(true);
+		setupRequest("/springtravel", "/app", "/whatever", "GET");
+		flowExecutor.launchExecution("foo", flowInput, context);
+		FlowExecutionOutcome outcome = new FlowExecutionOutcome("finish", new LocalAttributeMap<>());
+		FlowExecutionResult result = FlowExecutionResult.createEndedResult("foo", outcome);
+		EasyMock.expectLastCall().andReturn(result);
+		EasyMock.replay(flowExecutor);
+		flowHandlerAdapter.handle(request, response, flowHandler);
+		MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+		for (AsyncListener listener : asyncContext.getListeners()) {
+			listener.onTimeout(new AsyncEvent(asyncContext));
+		}
+		assertEquals("/springtravel/app/whatever", asyncContext.getDispatchedPath());
+		tasks.get(0).run();
+		assertNull(response.getRedirectedUrl());
+		assertTrue(request.isAsyncStarted());
+		request.setAsyncStarted(false);
+		request.setDispatcherType(DispatcherType.ASYNC);
+		assertThrows(AsyncRequestTimeoutException.class,
+				() -> flowHandlerAdapter.handle(request, response, flowHandler));
+		EasyMock.verify(flowExecutor);
+	}
+
 	private void setupRequest(String contextPath, String servletPath, String pathInfo, String method) {
 		request.setContextPath(contextPath);
 		request.setServletPath(servletPath);
@@ -153,6 +153,37 @@ public abstract class AbstractBindingModelTests {
 		assertEquals("Error", error.getDefaultMessage());
 	}
 
+	@Test
+	public void testGetFieldErrorsIndexedByField() {
+		messages.addMessage(new MessageBuilder().source("datum2").error().defaultText("Error 1").build());
+		messages.addMessage(new MessageBuilder().source("datum1").error().defaultText("Error 2").build());
+		messages.addMessage(new MessageBuilder().source("datum2").error().defaultText("Error 3").build());
+		messages.addMessage(new MessageBuilder().source("datum1").info().defaultText("Info").build());
+		assertEquals(2, model.getFieldErrorCount("datum2"));
+		assertEquals("Error 3", model.getFieldErrors("datum2").get(1).getDefaultMessage());
+		assertEquals(1, model.getFieldErrorCount("datum1"));
+		assertEquals(0, model.getFieldErrorCount("datum3"));
+		assertEquals(3, model.getFieldErrorCount("datum*"));
+		assertEquals(3, model.getFieldErrors().size());
+	}
+
+	@Test
+	public void testFieldExpressionsParsedOnce() {
+		List<String> parsed = new ArrayList<>();
+		ExpressionParser countingParser = (expression, context) -> {
+			parsed.add(expression);
+			return expressionParser.parseExpression(expression, context);
+		};
+		model = new BindingModel("testBean", testBean, countingParser, conversionService, messages);
+		testBean.datum2 = 3;
+		for (int i = 0; i < 3; i++) {
+			assertEquals("3", model.getFieldValue("datum2"));
+			assertEquals(3, model.getRawFieldValue("datum2"));
+			assertNotNull(model.findEditor("datum2", null));
+		}
+		assertEquals(2, parsed.size());
+	}
+
 	@Test
 	public void testFindPropertyEditor() {
 		PropertyEditor editor = model.findEditor("datum2", Integer.class);
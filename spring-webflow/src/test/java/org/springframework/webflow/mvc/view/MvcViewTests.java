@@ -22,11 +22,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.binding.convert.converters.Converter;
 import org.springframework.binding.convert.converters.StringToDate;
 import org.springframework.binding.convert.service.DefaultConversionService;
 import org.springframework.binding.convert.service.GenericConversionService;
 import org.springframework.binding.expression.EvaluationException;
 import org.springframework.binding.expression.Expression;
+import org.springframework.binding.expression.beanwrapper.BeanWrapperExpressionParser;
 import org.springframework.binding.expression.spel.SpringELExpressionParser;
 import org.springframework.binding.expression.support.StaticExpression;
 import org.springframework.binding.validation.ValidationContext;
@@ -502,6 +504,59 @@ public class MvcViewTests {
 		assertEquals(cal.getTime(), bindBean.getDateProperty());
 	}
 
+	@Test
+	public void testResumeEventBindingPlanReused() {
+		BindingPlanCache cache = new BindingPlanCache();
+		BindBean bindBean = new BindBean();
+		AbstractMvcView view = createBindingView(bindBean, cache, "foo", "5");
+		view.processUserEvent();
+		assertEquals("foo", bindBean.getStringProperty());
+		assertEquals(1, cache.getCacheSize());
+
+		BindBean bindBean2 = new BindBean();
+		view = createBindingView(bindBean2, cache, "bar", "6");
+		view.processUserEvent();
+		assertEquals("bar", bindBean2.getStringProperty());
+		assertEquals(Integer.valueOf(6), bindBean2.getIntegerProperty());
+		assertEquals(1, cache.getCacheSize());
+
+		BindBean bindBean3 = new BindBean();
+		view = createBindingView(bindBean3, cache, "baz", "7");
+		((MockRequestContext) view.getRequestContext()).putRequestParameter("beanProperty.name", "foo");
+		view.processUserEvent();
+		assertEquals("foo", bindBean3.getBeanProperty().getName());
+		assertEquals(2, cache.getCacheSize());
+	}
+
+	@Test
+	public void testResumeEventBindingPlanNotCachedForNullNestedPath() {
+		BindingPlanCache cache = new BindingPlanCache();
+		BindBean bindBean = new BindBean();
+		bindBean.setBeanProperty(null);
+		AbstractMvcView view = createBindingView(bindBean, cache, "foo", "5");
+		((MockRequestContext) view.getRequestContext()).putRequestParameter("_beanProperty.name", "whatever");
+		view.processUserEvent();
+		assertEquals("foo", bindBean.getStringProperty());
+		assertEquals(0, cache.getCacheSize());
+	}
+
+	@Test
+	public void testResumeEventConverterBindingPlanNotCachedForNullNestedPath() {
+		BindingPlanCache cache = new BindingPlanCache();
+		BindBean bindBean = new BindBean();
+		bindBean.setBeanProperty(null);
+		AbstractMvcView view = createConverterBindingView(bindBean, cache);
+		view.processUserEvent();
+		assertEquals("foo", bindBean.getBeanProperty().getName());
+		assertEquals(0, cache.getCacheSize());
+
+		BindBean bindBean2 = new BindBean();
+		view = createConverterBindingView(bindBean2, cache);
+		view.processUserEvent();
+		assertEquals("FOO", bindBean2.getBeanProperty().getName());
+		assertEquals(1, cache.getCacheSize());
+	}
+
 	@Test
 	public void testResumeEventModelBindingFieldMarker() {
 		MockRequestContext context = new MockRequestContext();
@@ -715,6 +770,37 @@ public class MvcViewTests {
 		assertTrue(validator.invoked);
 	}
 
+	private AbstractMvcView createBindingView(BindBean bindBean, BindingPlanCache cache, String stringValue,
+			String integerValue) {
+		MockRequestContext context = new MockRequestContext();
+		context.putRequestParameter("_eventId", "submit");
+		context.putRequestParameter("stringProperty", stringValue);
+		context.putRequestParameter("integerProperty", integerValue);
+		StaticExpression modelObject = new StaticExpression(bindBean);
+		modelObject.setExpressionString("bindBean");
+		context.getCurrentState().getAttributes().put("model", modelObject);
+		context.getFlowScope().put("bindBean", bindBean);
+		AbstractMvcView view = new MockMvcView(new MockView(), context);
+		view.setExpressionParser(createExpressionParser());
+		view.setBindingPlanCache(cache);
+		return view;
+	}
+
+	private AbstractMvcView createConverterBindingView(BindBean bindBean, BindingPlanCache cache) {
+		AbstractMvcView view = createBindingView(bindBean, cache, "bar", "6");
+		((MockRequestContext) view.getRequestContext()).putRequestParameter("beanProperty.name", "foo");
+		BeanWrapperExpressionParser expressionParser = new BeanWrapperExpressionParser();
+		expressionParser.setAutoGrowNestedPaths(true);
+		view.setExpressionParser(expressionParser);
+		DefaultConversionService conversionService = new DefaultConversionService();
+		conversionService.addConverter("upperCase", new StringToUpperCase());
+		view.setConversionService(conversionService);
+		BinderConfiguration binderConfiguration = new BinderConfiguration();
+		binderConfiguration.addBinding(new Binding("beanProperty.name", "upperCase", false));
+		view.setBinderConfiguration(binderConfiguration);
+		return view;
+	}
+
 	private SpringELExpressionParser createExpressionParser() {
 		StringToDate c = new StringToDate();
 		c.setPattern("yyyy-MM-dd");
@@ -880,6 +966,21 @@ public class MvcViewTests {
 		}
 	}
 
+	private static class StringToUpperCase implements Converter {
+
+		public Class<?> getSourceClass() {
+			return String.class;
+		}
+
+		public Class<?> getTargetClass() {
+			return String.class;
+		}
+
+		public Object convertSourceToTargetClass(Object source, Class<?> targetClass) {
+			return ((String) source).toUpperCase();
+		}
+	}
+
 	public static class NestedBean {
 		private String name;
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.mvc.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RenderModelTests {
+
+	private Map<String, Object> requestScope = new HashMap<>();
+
+	private Map<String, Object> flowScope = new HashMap<>();
+
+	private RenderModel model = new RenderModel();
+
+	@BeforeEach
+	public void setUp() {
+		requestScope.put("foo", "request");
+		requestScope.put("empty", null);
+		flowScope.put("foo", "flow");
+		flowScope.put("bar", "flow");
+		flowScope.put("empty", "flow");
+		model.addLayer(requestScope).addLayer(flowScope);
+	}
+
+	@Test
+	public void testGetShadowed() {
+		assertEquals("request", model.get("foo"));
+		assertEquals("flow", model.get("bar"));
+		assertNull(model.get("empty"));
+		assertTrue(model.containsKey("empty"));
+		assertFalse(model.containsKey("bogus"));
+	}
+
+	@Test
+	public void testEntries() {
+		assertEquals(3, model.size());
+		Map<String, Object> copy = new HashMap<>(model);
+		assertEquals(3, copy.size());
+		assertEquals("request", copy.get("foo"));
+		assertEquals("flow", copy.get("bar"));
+		assertTrue(copy.containsKey("empty"));
+		assertNull(copy.get("empty"));
+	}
+
+	@Test
+	public void testPut() {
+		assertEquals("request", model.put("foo", "model"));
+		model.put("baz", "model");
+		assertEquals("model", model.get("foo"));
+		assertEquals(4, model.size());
+		assertEquals("request", requestScope.get("foo"));
+		assertFalse(requestScope.containsKey("baz"));
+		assertEquals(model, new HashMap<>(model));
+	}
+
+}